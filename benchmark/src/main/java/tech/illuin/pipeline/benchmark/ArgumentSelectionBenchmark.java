@@ -0,0 +1,89 @@
+package tech.illuin.pipeline.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.illuin.pipeline.execution.phase.impl.ArgumentPool;
+import tech.illuin.pipeline.input.indexer.IndexContainer;
+import tech.illuin.pipeline.input.indexer.Indexable;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the selection of step arguments over a large index, between the former rescan of the index against a set of discarded items and the {@link ArgumentPool}.
+ * Each invocation simulates a step phase: every step selects its arguments, every tenth argument gets discarded, and the last step discards everything.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgumentSelectionBenchmark
+{
+    @Param({ "10000" })
+    private int items;
+
+    @Param({ "10" })
+    private int steps;
+
+    private IndexContainer index;
+
+    @Setup
+    public void setup()
+    {
+        this.index = new IndexContainer();
+        for (int i = 0 ; i < this.items ; ++i)
+            this.index.index(new Item("item-" + i, i));
+    }
+
+    @Benchmark
+    public void rescan(Blackhole blackhole)
+    {
+        Set<Indexable> discarded = new HashSet<>();
+        for (int s = 0 ; s < this.steps ; ++s)
+        {
+            int modulo = s + 2;
+            List<Indexable> arguments = this.index.stream()
+                .filter(idx -> !discarded.contains(idx))
+                .filter(idx -> ((Item) idx).value() % modulo != 0)
+                .toList()
+            ;
+            for (int a = 0 ; a < arguments.size() ; a += 10)
+                discarded.add(arguments.get(a));
+            blackhole.consume(arguments);
+        }
+        discarded.addAll(this.index.stream().toList());
+        blackhole.consume(discarded);
+    }
+
+    @Benchmark
+    public void pool(Blackhole blackhole)
+    {
+        ArgumentPool pool = new ArgumentPool(this.index);
+        for (int s = 0 ; s < this.steps ; ++s)
+        {
+            int modulo = s + 2;
+            ArgumentPool.Selection selection = pool.select(false, idx -> ((Item) idx).value() % modulo != 0);
+            for (int a = 0 ; a < selection.positions().length ; a += 10)
+                pool.discard(selection.positions()[a]);
+            blackhole.consume(selection);
+        }
+        pool.discardAll();
+        blackhole.consume(pool);
+    }
+}
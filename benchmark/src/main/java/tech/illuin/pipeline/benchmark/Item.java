@@ -0,0 +1,11 @@
+package tech.illuin.pipeline.benchmark;
+
+import tech.illuin.pipeline.input.indexer.Indexable;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public record Item(
+    String uid,
+    int value
+) implements Indexable {}
@@ -0,0 +1,85 @@
+package tech.illuin.pipeline.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.illuin.pipeline.builder.runner_compiler.CompiledArguments;
+import tech.illuin.pipeline.builder.runner_compiler.MethodInvoker;
+import tech.illuin.pipeline.builder.runner_compiler.argument_resolver.mapper_factory.MethodArgumentMapper;
+import tech.illuin.pipeline.builder.runner_compiler.argument_resolver.method_arguments.MissingArgument;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the invocation of a runner method, between the former stream-based argument mapping followed by {@link Method#invoke(Object, Object...)} and the {@link CompiledArguments} and {@link MethodInvoker} pair.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RunnerInvocationBenchmark
+{
+    private Target target;
+    private Method method;
+    private List<MethodArgumentMapper<Item, Object>> mappers;
+    private MethodInvoker invoker;
+    private CompiledArguments<Item, Object> arguments;
+
+    @Setup
+    public void setup() throws NoSuchMethodException
+    {
+        this.target = new Target();
+        this.method = Target.class.getMethod("process", Item.class, String.class, int.class);
+        this.mappers = List.of(
+            args -> new Item("item", 1),
+            args -> "tag",
+            args -> 2
+        );
+        this.invoker = MethodInvoker.of(this.target, this.method);
+        this.arguments = new CompiledArguments<>(this.mappers);
+    }
+
+    @Benchmark
+    public Object reflection() throws Exception
+    {
+        List<MissingArgument> missing = new ArrayList<>();
+        Object[] values = this.mappers.stream()
+            .map(mapper -> mapper.map(null))
+            .peek(arg -> {
+                if (arg instanceof MissingArgument m)
+                    missing.add(m);
+            })
+            .toArray()
+        ;
+        return missing.isEmpty() ? this.method.invoke(this.target, values) : null;
+    }
+
+    @Benchmark
+    public Object compiled() throws Exception
+    {
+        Object[] values = this.arguments.map(null);
+        return CompiledArguments.missing(values).isEmpty() ? this.invoker.invoke(values) : null;
+    }
+
+    public static class Target
+    {
+        public int process(Item item, String tag, int factor)
+        {
+            return item.value() * factor + tag.length();
+        }
+    }
+}
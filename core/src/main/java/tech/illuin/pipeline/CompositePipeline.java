@@ -4,22 +4,36 @@ import io.micrometer.tracing.Span;
 import io.micrometer.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import tech.illuin.pipeline.close.OnCloseHandler;
 import tech.illuin.pipeline.context.Context;
+import tech.illuin.pipeline.context.NestedContext;
+import tech.illuin.pipeline.context.SimpleContext;
+import tech.illuin.pipeline.execution.async.AsyncRunConfig;
+import tech.illuin.pipeline.execution.async.AsyncRunner;
+import tech.illuin.pipeline.execution.checkpoint.Checkpoint;
+import tech.illuin.pipeline.execution.checkpoint.CheckpointJournal;
+import tech.illuin.pipeline.execution.checkpoint.Checkpointer;
 import tech.illuin.pipeline.execution.error.PipelineErrorHandler;
 import tech.illuin.pipeline.execution.phase.IO;
 import tech.illuin.pipeline.execution.phase.PipelinePhase;
 import tech.illuin.pipeline.execution.phase.PipelineStrategy;
+import tech.illuin.pipeline.execution.phase.StepScheduling;
 import tech.illuin.pipeline.execution.phase.impl.InitializerPhase;
 import tech.illuin.pipeline.execution.phase.impl.SinkPhase;
 import tech.illuin.pipeline.execution.phase.impl.StepPhase;
+import tech.illuin.pipeline.execution.stream.PipelinePublisher;
 import tech.illuin.pipeline.input.author_resolver.AuthorResolver;
 import tech.illuin.pipeline.input.indexer.Indexable;
 import tech.illuin.pipeline.input.indexer.Indexer;
 import tech.illuin.pipeline.input.initializer.builder.InitializerDescriptor;
 import tech.illuin.pipeline.input.uid_generator.UIDGenerator;
+import tech.illuin.pipeline.metering.MeterCache;
+import tech.illuin.pipeline.metering.PipelineBatchMetrics;
 import tech.illuin.pipeline.metering.PipelineMarkerManager;
 import tech.illuin.pipeline.metering.PipelineMetrics;
+import tech.illuin.pipeline.metering.TracingFunctions;
+import tech.illuin.pipeline.metering.manager.ObservabilityLevel;
 import tech.illuin.pipeline.metering.manager.ObservabilityManager;
 import tech.illuin.pipeline.metering.tag.MetricTags;
 import tech.illuin.pipeline.metering.tag.TagResolver;
@@ -32,9 +46,19 @@ import tech.illuin.pipeline.output.factory.OutputFactory;
 import tech.illuin.pipeline.sink.builder.SinkDescriptor;
 import tech.illuin.pipeline.step.builder.StepDescriptor;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -47,6 +71,7 @@ import java.util.stream.Stream;
  *     <li>0 to n {@link tech.illuin.pipeline.sink.Sink} performing terminal operations, expected to be external side effects, they can be executed in a synchronous or asynchronous fashion</li>
  *     <li>0 to 1 {@link tech.illuin.pipeline.execution.error.PipelineErrorHandler} responsible for handling and possibly recovering from exceptions occurring during the pipeline's execution</li>
  *     <li>0 to n {@link tech.illuin.pipeline.close.OnCloseHandler} responsible for cleaning up when tearing down the pipeline</li>
+ *     <li>0 to 1 {@link tech.illuin.pipeline.execution.checkpoint.CheckpointJournal} recording the progress of runs, so that a run that did not complete can be resumed</li>
  * </ul>
  * <p>The pipeline references an {@link java.util.concurrent.ExecutorService} which the pipeline will attempt to close when its own close() method is called.</p>
  * <p>It will additionally handle a variety of {@link io.micrometer.core.instrument.MeterRegistry} counters reflecting the activity of its components.</p>
@@ -59,12 +84,16 @@ public final class CompositePipeline<I> implements Pipeline<I>
     private final UIDGenerator uidGenerator;
     private final AuthorResolver<I> authorResolver;
     private final List<PipelinePhase<I>> phases;
+    private final AsyncRunner<I> asyncRunner;
+    private final CheckpointJournal checkpointJournal;
     private final PipelineErrorHandler errorHandler;
     private final List<OnCloseHandler> onCloseHandlers;
     private final ObservabilityManager observabilityManager;
+    private final MeterCache meterCache;
     private final TagResolver<I> tagResolver;
     private final DescriptorObserver descriptorObserver;
     private final List<Observer> observers;
+    private ExecutorService batchExecutor;
 
     private static final Logger logger = LoggerFactory.getLogger(CompositePipeline.class);
 
@@ -78,7 +107,11 @@ public final class CompositePipeline<I> implements Pipeline<I>
         OutputFactory<I> outputFactory,
         List<StepDescriptor<Indexable, I>> steps,
         List<SinkDescriptor> sinks,
+        StepScheduling stepScheduling,
+        Supplier<ExecutorService> stepExecutorProvider,
         Supplier<ExecutorService> sinkExecutorProvider,
+        AsyncRunConfig asyncRunConfig,
+        CheckpointJournal checkpointJournal,
         PipelineErrorHandler errorHandler,
         int closeTimeout,
         List<OnCloseHandler> onCloseHandlers,
@@ -89,9 +122,12 @@ public final class CompositePipeline<I> implements Pipeline<I>
         this.id = id;
         this.uidGenerator = uidGenerator;
         this.authorResolver = authorResolver;
+        this.checkpointJournal = checkpointJournal;
         this.errorHandler = errorHandler;
         this.onCloseHandlers = onCloseHandlers;
         this.observabilityManager = observabilityManager;
+        /* Meters are resolved lazily and then kept for the lifetime of the pipeline, keyed by their resolved tags */
+        this.meterCache = new MeterCache(observabilityManager.meterRegistry());
         this.tagResolver = tagResolver;
         this.descriptorObserver = new DescriptorObserver();
         this.observers = Stream.concat(
@@ -102,10 +138,11 @@ public final class CompositePipeline<I> implements Pipeline<I>
             id, initializer, steps, sinks, errorHandler, onCloseHandlers, observabilityManager.meterRegistry()
         ));
         this.phases = List.of(
-            new InitializerPhase<>(initializer, tagResolver, indexers, outputFactory, uidGenerator, observabilityManager),
-            new StepPhase<>(steps, uidGenerator, observabilityManager),
-            new SinkPhase<>(id, sinks, sinkExecutorProvider, closeTimeout, uidGenerator, observabilityManager)
+            new InitializerPhase<>(initializer, tagResolver, indexers, outputFactory, uidGenerator, observabilityManager, this.meterCache),
+            new StepPhase<>(id, steps, stepScheduling, stepExecutorProvider, closeTimeout, uidGenerator, observabilityManager, this.meterCache),
+            new SinkPhase<>(id, sinks, sinkExecutorProvider, closeTimeout, uidGenerator, observabilityManager, this.meterCache)
         );
+        this.asyncRunner = new AsyncRunner<>(this, asyncRunConfig, closeTimeout, observabilityManager);
     }
 
     @Override
@@ -115,62 +152,288 @@ public final class CompositePipeline<I> implements Pipeline<I>
     }
 
     @Override
-    @SuppressWarnings("IllegalCatch")
     public Output run(I input, Context context) throws PipelineException
     {
         PipelineTag tag = this.createTag(input, context);
+        return this.run(tag, input, context, null, this.traceRun(context));
+    }
+
+    /**
+     * Resumes a run from the last checkpoint found in the pipeline's {@link CheckpointJournal}: the initialization phase and the steps completed before the checkpoint are skipped, remaining steps and sinks are run as usual.
+     * The resumed run keeps the original run's tag, while the uids of its new components and results are scoped to a new key as the original run's sequence cannot be recovered.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Output resume(String runUid, Context context) throws PipelineException
+    {
+        if (this.checkpointJournal == null)
+            throw new IllegalStateException("The pipeline " + this.id() + " has no checkpoint journal, its runs cannot be resumed");
+
+        Checkpoint checkpoint;
+        try {
+            checkpoint = this.checkpointJournal.last(runUid).orElseThrow(() -> new IllegalArgumentException("No checkpoint could be found for run " + runUid + " of pipeline " + this.id()));
+        }
+        catch (IOException e) {
+            throw new PipelineException(null, context, "The checkpoints of run " + runUid + " could not be read", e);
+        }
+        logger.debug("{}#{}: resuming run after {} completed steps", this.id(), runUid, checkpoint.completedSteps().cardinality());
+        return this.run(checkpoint.output().tag(), (I) checkpoint.input(), context, checkpoint, this.traceRun(context));
+    }
+
+    @SuppressWarnings("IllegalCatch")
+    private Output run(PipelineTag tag, I input, Context context, Checkpoint checkpoint, boolean traced) throws PipelineException
+    {
         MetricTags metricTags = new MetricTags();
         this.tagResolver.resolve(metricTags, input, context);
         PipelineMarkerManager markerManager = new PipelineMarkerManager(tag, metricTags);
-        PipelineMetrics metrics = new PipelineMetrics(this.observabilityManager.meterRegistry(), markerManager);
-        IO<I> io = new IO<>(tag, input);
+        PipelineMetrics metrics = this.meterCache.pipelineMetrics(markerManager);
+        /* Nested runs reuse the span and MDC of the enclosing run instead of opening their own */
+        NestedContext nested = context instanceof NestedContext nestedContext ? nestedContext : null;
+        IO<I> io = this.createIO(tag, input, traced, checkpoint);
 
         long start = System.nanoTime();
-        metrics.setMDC();
-        Span span = this.observabilityManager.tracer().nextSpan().name(tag.pipeline());
-        try (Tracer.SpanInScope scope = this.observabilityManager.tracer().withSpan(span.start()))
+        if (io.isTraced() && nested == null)
+            metrics.setMDC();
+        Span span = nested == null ? TracingFunctions.nextSpan(this.observabilityManager, io.isTraced(), tag.pipeline()) : nested.span();
+        try (Tracer.SpanInScope scope = nested == null ? TracingFunctions.start(this.observabilityManager, span) : TracingFunctions.inScope(this.observabilityManager, span))
         {
-            span.tag("uid", tag.uid());
-            span.tag("input_type", io.input() == null ? "null" : io.input().getClass().getName());
-            metricTags.asMarker().forEach(span::tag);
+            if (io.isTraced() && nested == null)
+            {
+                span.tag("uid", tag.uid());
+                span.tag("input_type", io.input() == null ? "null" : io.input().getClass().getName());
+                metricTags.asMarker().forEach(span::tag);
+            }
 
             logger.debug("{}: launching pipeline over input of type {}", this.id(), input != null ? input.getClass().getName() : "null");
 
             /* We will go iteratively through each phase, if one requires a pipeline exit we will skip remaining phases */
             for (PipelinePhase<I> phase : this.phases)
             {
-                span.event("pipeline:phase:" + phase.getClass().getName());
+                if (io.isTraced())
+                    span.event("pipeline:phase:" + phase.getClass().getName());
                 PipelineStrategy strategy = phase.run(io, context, metricTags);
 
-                span.event("pipeline:phase:evaluate_strategy:" + strategy.name());
+                if (io.isTraced())
+                    span.event("pipeline:phase:evaluate_strategy:" + strategy.name());
                 if (strategy == PipelineStrategy.EXIT)
                     break;
             }
 
             logger.trace("{}#{} finished", this.id(), io.output().tag().uid());
             metrics.successCounter().increment();
+            this.completeCheckpoints(io);
 
             return io.output();
         }
         catch (Exception e) {
-            metrics.setMDC(e);
+            if (io.isTraced() && nested == null)
+                metrics.setMDC(e);
             span.event("pipeline:error");
             metrics.failureCounter().increment();
             metrics.errorCounter(e).increment();
             logger.error("{}: {}", this.id(), e.getMessage());
-            return this.errorHandler.handle(e, io.output(), input, context, tag);
+            Output recovered = this.errorHandler.handle(e, io.output(), input, context, tag);
+            /* The error handler recovered the run, it won't be resumed */
+            this.completeCheckpoints(io);
+            return recovered;
+        }
+        finally {
+            metrics.runTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            metrics.totalCounter().increment();
+            if (nested == null)
+            {
+                if (io.isTraced())
+                    metrics.unsetMDC();
+                span.end();
+            }
+        }
+    }
+
+    /**
+     * Submits the run to the pipeline's {@link AsyncRunner}, which enforces the maximum number of in-flight runs and applies the configured rejection policy beyond it.
+     */
+    @Override
+    public CompletableFuture<Output> runAsync(I input, Context context)
+    {
+        return this.asyncRunner.submit(input, context);
+    }
+
+    /**
+     * Runs the pipeline over a batch of inputs, within a batch-level span and with batch-level metrics.
+     * The tracing decision is taken once for the whole batch and followed by all of its runs.
+     * Run meters are shared with other runs through the pipeline's meter cache, metric tags are still resolved for each input as they may depend on it.
+     * Runs are distributed over a thread pool owned by the pipeline when the parallelism is above 1: the pool is created upon the first such batch, reused by the following ones and shut down when the pipeline is closed.
+     * The first failing run (i.e. one whose error handler throws) interrupts the submission of remaining inputs and its exception is rethrown once in-flight runs are done.
+     */
+    @Override
+    @SuppressWarnings("IllegalCatch")
+    public List<Output> runAll(Stream<I> inputs, int parallelism) throws PipelineException
+    {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("The batch parallelism has to be strictly positive");
+
+        PipelineTag tag = new PipelineTag(this.uidGenerator.generate(), this.id(), null);
+        PipelineMarkerManager markerManager = new PipelineMarkerManager(tag, new MetricTags());
+        PipelineBatchMetrics metrics = new PipelineBatchMetrics(this.observabilityManager.meterRegistry(), markerManager);
+        boolean traced = this.observabilityManager.traceRun();
+
+        long start = System.nanoTime();
+        Span span = TracingFunctions.nextSpan(this.observabilityManager, traced, this.id() + ":batch");
+        try (Tracer.SpanInScope scope = TracingFunctions.start(this.observabilityManager, span))
+        {
+            span.tag("uid", tag.uid());
+            span.tag("parallelism", String.valueOf(parallelism));
+            logger.debug("{}#{}: launching batch with parallelism {}", this.id(), tag.uid(), parallelism);
+
+            List<Output> outputs = parallelism == 1
+                ? this.runBatchSequentially(inputs, metrics, traced)
+                : this.runBatchConcurrently(inputs, parallelism, metrics, span, traced)
+            ;
+
+            span.tag("size", String.valueOf(outputs.size()));
+            logger.trace("{}#{} batch finished over {} inputs", this.id(), tag.uid(), outputs.size());
+            metrics.successCounter().increment();
+            return outputs;
+        }
+        catch (Exception e) {
+            span.event("pipeline:batch:error");
+            metrics.failureCounter().increment();
+            metrics.errorCounter(e).increment();
+            throw e;
         }
         finally {
             metrics.runTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             metrics.totalCounter().increment();
-            metrics.unsetMDC();
             span.end();
         }
     }
 
+    private List<Output> runBatchSequentially(Stream<I> inputs, PipelineBatchMetrics metrics, boolean traced) throws PipelineException
+    {
+        List<Output> outputs = new ArrayList<>();
+        for (Iterator<I> iterator = inputs.iterator() ; iterator.hasNext() ;)
+        {
+            metrics.inputCounter().increment();
+            outputs.add(this.runInBatch(iterator.next(), traced));
+        }
+        return outputs;
+    }
+
+    private List<Output> runBatchConcurrently(Stream<I> inputs, int parallelism, PipelineBatchMetrics metrics, Span batchSpan, boolean traced) throws PipelineException
+    {
+        ExecutorService executor = this.batchExecutor();
+        /* Permits bound the number of pending runs, so that lazy input streams are not drained ahead of the workers */
+        Semaphore permits = new Semaphore(parallelism);
+        AtomicBoolean failed = new AtomicBoolean(false);
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        List<CompletableFuture<Output>> futures = new ArrayList<>();
+        try {
+            for (Iterator<I> iterator = inputs.iterator() ; iterator.hasNext() && !failed.get() ;)
+            {
+                permits.acquire();
+                I input = iterator.next();
+                metrics.inputCounter().increment();
+                futures.add(CompletableFuture
+                    .supplyAsync(() -> this.runInBatch(input, mdc, batchSpan, traced), executor)
+                    .whenComplete((output, ex) -> {
+                        if (ex != null)
+                            failed.set(true);
+                        permits.release();
+                    })
+                );
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PipelineException(null, null, "The batch was interrupted while waiting for runs to complete", e);
+        }
+
+        List<Output> outputs = new ArrayList<>(futures.size());
+        for (CompletableFuture<Output> future : futures)
+            outputs.add(joinBatchRun(future));
+        return outputs;
+    }
+
+    private Output runInBatch(I input, Map<String, String> mdc, Span batchSpan, boolean traced)
+    {
+        if (mdc != null)
+            MDC.setContextMap(mdc);
+        try (Tracer.SpanInScope scope = TracingFunctions.inScope(this.observabilityManager, batchSpan))
+        {
+            return this.runInBatch(input, traced);
+        }
+        catch (PipelineException e) {
+            throw new CompletionException(e);
+        }
+        finally {
+            MDC.clear();
+        }
+    }
+
+    private Output runInBatch(I input, boolean traced) throws PipelineException
+    {
+        Context context = new SimpleContext();
+        return this.run(this.createTag(input, context), input, context, null, traced);
+    }
+
+    /* Batch runs are bounded by their own permits, so the pool can grow on demand and its idle threads are reused across batches */
+    private synchronized ExecutorService batchExecutor()
+    {
+        if (this.batchExecutor == null)
+            this.batchExecutor = Executors.newCachedThreadPool();
+        return this.batchExecutor;
+    }
+
+    private static Output joinBatchRun(CompletableFuture<Output> future) throws PipelineException
+    {
+        try {
+            return future.join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof PipelineException pe)
+                throw pe;
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw e;
+        }
+    }
+
+    /**
+     * Streams inputs through the pipeline, each input going through a regular run.
+     * Runs are attached to the span that is current when this method is called.
+     */
+    @Override
+    public Flow.Publisher<Output> runStream(Flow.Publisher<I> inputs, int concurrency, int bufferSize)
+    {
+        Span parentSpan = this.observabilityManager.level() == ObservabilityLevel.METRICS_ONLY
+            ? Span.NOOP
+            : this.observabilityManager.tracer().currentSpan()
+        ;
+        Pipeline<I> runner = (input, context) -> this.runInStream(input, context, parentSpan);
+        return new PipelinePublisher<>(runner, inputs, concurrency, bufferSize);
+    }
+
+    private Output runInStream(I input, Context context, Span parentSpan) throws PipelineException
+    {
+        try (Tracer.SpanInScope scope = TracingFunctions.inScope(this.observabilityManager, parentSpan))
+        {
+            return this.run(input, context);
+        }
+    }
+
     @Override
     public synchronized void close() throws Exception
     {
+        logger.trace("{} closing, waiting for in-flight asynchronous runs", this.id());
+        this.asyncRunner.close();
+
+        if (this.batchExecutor != null)
+        {
+            logger.trace("{} closing, shutting down the batch executor", this.id());
+            this.batchExecutor.shutdown();
+        }
+
         logger.trace("{} closing, launching {} on-close handlers", this.id(), this.onCloseHandlers.size());
         for (OnCloseHandler handler : this.onCloseHandlers)
             handler.execute();
@@ -184,6 +447,33 @@ public final class CompositePipeline<I> implements Pipeline<I>
             observer.close();
     }
 
+    private IO<I> createIO(PipelineTag tag, I input, boolean traced, Checkpoint checkpoint)
+    {
+        if (checkpoint == null)
+            return new IO<>(tag, input, traced, this.uidGenerator.forRun(tag.uid()), Checkpointer.of(this.checkpointJournal, tag.uid(), input));
+
+        IO<I> io = new IO<>(tag, input, traced, this.uidGenerator.forRun(this.uidGenerator.generate()), Checkpointer.resume(this.checkpointJournal, checkpoint));
+        io.setOutput(checkpoint.output());
+        return io;
+    }
+
+    /* The run has completed (or was recovered by the error handler) at this point, failing to drop its checkpoints should not make it fail */
+    private void completeCheckpoints(IO<I> io)
+    {
+        try {
+            io.checkpointer().complete();
+        }
+        catch (IOException e) {
+            logger.warn("{}#{}: the run's checkpoints could not be dropped: {}", this.id(), io.tag().uid(), e.getMessage());
+        }
+    }
+
+    /* Nested runs follow the tracing decision of the enclosing run */
+    private boolean traceRun(Context context)
+    {
+        return context instanceof NestedContext nested ? nested.isTraced() : this.observabilityManager.traceRun();
+    }
+
     private PipelineTag createTag(I input, Context context)
     {
         return new PipelineTag(this.uidGenerator.generate(), this.id(), this.authorResolver.resolve(input, context));
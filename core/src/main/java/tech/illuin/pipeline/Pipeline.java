@@ -5,6 +5,8 @@ import tech.illuin.pipeline.builder.PayloadPipelineBuilder;
 import tech.illuin.pipeline.builder.SimplePipelineBuilder;
 import tech.illuin.pipeline.context.Context;
 import tech.illuin.pipeline.context.SimpleContext;
+import tech.illuin.pipeline.execution.stream.IteratorPublisher;
+import tech.illuin.pipeline.execution.stream.PipelinePublisher;
 import tech.illuin.pipeline.input.initializer.Initializer;
 import tech.illuin.pipeline.input.initializer.builder.InitializerAssembler;
 import tech.illuin.pipeline.observer.descriptor.DescriptionNotAvailableException;
@@ -14,8 +16,15 @@ import tech.illuin.pipeline.step.Step;
 import tech.illuin.pipeline.step.result.Result;
 import tech.illuin.pipeline.step.variant.PipelineStep;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * The Pipeline interface is both the top-level type for Pipeline implementations, and the entrypoint for the creation of pipeline builders via the {@link Pipeline#of} methods.
@@ -80,6 +89,169 @@ public interface Pipeline<I> extends AutoCloseable
         return this.run(input, new SimpleContext());
     }
 
+    /**
+     * Resumes a run that did not complete (e.g. it failed or its process was lost) from its last checkpoint, the pipeline has to be configured with a {@link tech.illuin.pipeline.execution.checkpoint.CheckpointJournal}.
+     * The default implementation does not support checkpoints and throws an {@link UnsupportedOperationException}.
+     *
+     * @param runUid the uid of the run to resume, as found in its {@link tech.illuin.pipeline.output.PipelineTag}
+     * @param context the context of the resumed run, the original run's context is not part of its checkpoints
+     * @return the Pipeline's output
+     * @throws PipelineException
+     */
+    default Output resume(String runUid, Context context) throws PipelineException
+    {
+        throw new UnsupportedOperationException("The pipeline " + this.id() + " does not support resuming runs");
+    }
+
+    /**
+     * Resumes a run with an empty {@link SimpleContext}.
+     *
+     * @see #resume(String, Context)
+     */
+    default Output resume(String runUid) throws PipelineException
+    {
+        return this.resume(runUid, new SimpleContext());
+    }
+
+    /**
+     * Runs the Pipeline without blocking the calling thread, the returned future completes with the run's {@link Output} or with the exception it raised.
+     * Implementations may bound the number of concurrent runs, in which case the future can complete exceptionally with a {@link tech.illuin.pipeline.execution.async.RunRejectedException}.
+     * The default implementation performs the run synchronously and returns an already completed future.
+     *
+     * @param input an input value which can be directly processed by {@link Step} or can contribute to the initialization of a payload
+     * @param context an optional {@link Context} instance providing information related tu current and eventual previous runs
+     * @return a future of the Pipeline's output
+     */
+    default CompletableFuture<Output> runAsync(I input, Context context)
+    {
+        try {
+            return CompletableFuture.completedFuture(this.run(input, context));
+        }
+        catch (PipelineException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * @see #runAsync(Object, Context)
+     */
+    default CompletableFuture<Output> runAsync(I input, Consumer<Context> setup)
+    {
+        Context context = new SimpleContext();
+        setup.accept(context);
+        return this.runAsync(input, context);
+    }
+
+    /**
+     * @see #runAsync(Object, Context)
+     */
+    default CompletableFuture<Output> runAsync(I input)
+    {
+        return this.runAsync(input, new SimpleContext());
+    }
+
+    /**
+     * Runs the Pipeline over each input of a collection, producing one {@link Output} per input in the same order.
+     *
+     * @see #runAll(Stream, int)
+     */
+    default List<Output> runAll(Collection<I> inputs) throws PipelineException
+    {
+        return this.runAll(inputs.stream(), 1);
+    }
+
+    /**
+     * @see #runAll(Stream, int)
+     */
+    default List<Output> runAll(Collection<I> inputs, int parallelism) throws PipelineException
+    {
+        return this.runAll(inputs.stream(), parallelism);
+    }
+
+    /**
+     * @see #runAll(Stream, int)
+     */
+    default List<Output> runAll(Stream<I> inputs) throws PipelineException
+    {
+        return this.runAll(inputs, 1);
+    }
+
+    /**
+     * Runs the Pipeline over each input of a stream, each with its own empty {@link SimpleContext}.
+     * Implementations may share per-batch resources across runs, the default implementation simply runs inputs one after the other.
+     *
+     * @param inputs the inputs to be processed
+     * @param parallelism the maximum number of runs performed concurrently
+     * @return the outputs, in the order of their inputs
+     * @throws PipelineException
+     */
+    default List<Output> runAll(Stream<I> inputs, int parallelism) throws PipelineException
+    {
+        List<Output> outputs = new ArrayList<>();
+        for (Iterator<I> iterator = inputs.iterator() ; iterator.hasNext() ;)
+            outputs.add(this.run(iterator.next()));
+        return outputs;
+    }
+
+    /**
+     * @see #runStream(Flow.Publisher, int, int)
+     */
+    default Flow.Publisher<Output> runStream(Flow.Publisher<I> inputs)
+    {
+        return this.runStream(inputs, 1);
+    }
+
+    /**
+     * Streams inputs through the Pipeline with a buffer of twice the given concurrency.
+     *
+     * @see #runStream(Flow.Publisher, int, int)
+     */
+    default Flow.Publisher<Output> runStream(Flow.Publisher<I> inputs, int concurrency)
+    {
+        return this.runStream(inputs, concurrency, concurrency * 2);
+    }
+
+    /**
+     * Returns a {@link Flow.Publisher} running the Pipeline over each input emitted by the provided publisher, each with its own empty {@link Context}.
+     * Outputs are emitted in the order of their inputs, and inputs are only requested as downstream demand and buffer capacity allow.
+     *
+     * @param inputs the publisher of inputs to be processed
+     * @param concurrency the maximum number of runs performed concurrently
+     * @param bufferSize the maximum number of inputs held at any time, including the ones being run and those whose output awaits downstream demand
+     * @return a publisher of the Pipeline's outputs
+     * @see PipelinePublisher
+     */
+    default Flow.Publisher<Output> runStream(Flow.Publisher<I> inputs, int concurrency, int bufferSize)
+    {
+        return new PipelinePublisher<>(this, inputs, concurrency, bufferSize);
+    }
+
+    /**
+     * @see #runStream(Flow.Publisher, int, int)
+     */
+    default Flow.Publisher<Output> runStream(Iterator<I> inputs)
+    {
+        return this.runStream(new IteratorPublisher<>(inputs), 1);
+    }
+
+    /**
+     * Streams inputs pulled from an {@link Iterator}, which is only advanced as inputs are requested.
+     *
+     * @see #runStream(Flow.Publisher, int, int)
+     */
+    default Flow.Publisher<Output> runStream(Iterator<I> inputs, int concurrency)
+    {
+        return this.runStream(new IteratorPublisher<>(inputs), concurrency);
+    }
+
+    /**
+     * @see #runStream(Flow.Publisher, int, int)
+     */
+    default Flow.Publisher<Output> runStream(Iterator<I> inputs, int concurrency, int bufferSize)
+    {
+        return this.runStream(new IteratorPublisher<>(inputs), concurrency, bufferSize);
+    }
+
     @Override
     default void close() throws Exception {}
 
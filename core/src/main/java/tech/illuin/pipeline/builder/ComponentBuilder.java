@@ -1,5 +1,6 @@
 package tech.illuin.pipeline.builder;
 
+import tech.illuin.pipeline.builder.runner_compiler.AdapterRunnerCompiler;
 import tech.illuin.pipeline.builder.runner_compiler.GenericRunnerCompiler;
 import tech.illuin.pipeline.builder.runner_compiler.MethodValidator;
 import tech.illuin.pipeline.builder.runner_compiler.RunnerCompiler;
@@ -18,7 +19,11 @@ public abstract class ComponentBuilder<T, I, CD, CC extends Annotation>
 
     protected ComponentBuilder(Class<CC> configType, MethodArgumentResolver<T, I> methodArgumentResolver, MethodValidator methodValidator)
     {
-        this.compiler = new GenericRunnerCompiler<>(configType, methodArgumentResolver, methodValidator);
+        this.compiler = new AdapterRunnerCompiler<>(
+            configType,
+            new GenericRunnerCompiler<>(configType, methodArgumentResolver, methodValidator),
+            methodValidator
+        );
         this.configType = configType;
     }
 
@@ -6,7 +6,12 @@ import io.micrometer.tracing.Tracer;
 import tech.illuin.pipeline.CompositePipeline;
 import tech.illuin.pipeline.Pipeline;
 import tech.illuin.pipeline.close.OnCloseHandler;
+import tech.illuin.pipeline.commons.VirtualThreads;
+import tech.illuin.pipeline.execution.async.AsyncRunConfig;
+import tech.illuin.pipeline.execution.async.RejectionPolicy;
+import tech.illuin.pipeline.execution.checkpoint.CheckpointJournal;
 import tech.illuin.pipeline.execution.error.PipelineErrorHandler;
+import tech.illuin.pipeline.execution.phase.StepScheduling;
 import tech.illuin.pipeline.input.author_resolver.AuthorResolver;
 import tech.illuin.pipeline.input.indexer.*;
 import tech.illuin.pipeline.input.initializer.Initializer;
@@ -17,10 +22,12 @@ import tech.illuin.pipeline.input.initializer.runner.InitializerRunner;
 import tech.illuin.pipeline.input.uid_generator.KSUIDGenerator;
 import tech.illuin.pipeline.input.uid_generator.UIDGenerator;
 import tech.illuin.pipeline.metering.manager.DefaultObservabilityManager;
+import tech.illuin.pipeline.metering.manager.ObservabilityLevel;
 import tech.illuin.pipeline.metering.manager.ObservabilityManager;
 import tech.illuin.pipeline.metering.tag.MetricTags;
 import tech.illuin.pipeline.metering.tag.TagResolver;
 import tech.illuin.pipeline.observer.Observer;
+import tech.illuin.pipeline.output.factory.ConcurrentOutputFactory;
 import tech.illuin.pipeline.output.factory.DefaultOutputFactory;
 import tech.illuin.pipeline.output.factory.OutputFactory;
 import tech.illuin.pipeline.sink.Sink;
@@ -57,7 +64,14 @@ public final class PayloadPipelineBuilder<I>
     private UIDGenerator uidGenerator;
     private final List<StepAssembler<Indexable, I>> steps;
     private final List<SinkAssembler> sinks;
+    private StepScheduling stepScheduling;
+    private Supplier<ExecutorService> stepExecutorProvider;
     private Supplier<ExecutorService> sinkExecutorProvider;
+    private Supplier<ExecutorService> asyncExecutorProvider;
+    private int maxInFlightRuns;
+    private int runQueueCapacity;
+    private RejectionPolicy rejectionPolicy;
+    private CheckpointJournal checkpointJournal;
     private int closeTimeout;
     private final List<OnCloseHandler> onCloseHandlers;
     private ResultEvaluator defaultEvaluator;
@@ -75,7 +89,12 @@ public final class PayloadPipelineBuilder<I>
         this.authorResolver = AuthorResolver::anonymous;
         this.outputFactory = new DefaultOutputFactory<>();
         this.uidGenerator = KSUIDGenerator.INSTANCE;
+        this.stepScheduling = StepScheduling.SEQUENTIAL;
+        this.stepExecutorProvider = () -> Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
         this.sinkExecutorProvider = () -> Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.maxInFlightRuns = Runtime.getRuntime().availableProcessors();
+        this.runQueueCapacity = Integer.MAX_VALUE;
+        this.rejectionPolicy = RejectionPolicy.QUEUE;
         this.steps = new ArrayList<>();
         this.sinks = new ArrayList<>();
         this.errorHandler = PipelineErrorHandler::wrapChecked;
@@ -98,16 +117,21 @@ public final class PayloadPipelineBuilder<I>
         if (this.id == null)
             throw new IllegalStateException("The pipeline id cannot be null");
 
+        List<StepDescriptor<Indexable, I>> steps = this.buildSteps();
         return new CompositePipeline<>(
             this.id(),
             this.uidGenerator(),
             this.buildInitializer(),
             this.authorResolver(),
             this.indexers(),
-            this.outputFactory(),
-            this.buildSteps(),
+            this.buildOutputFactory(steps),
+            steps,
             this.buildSinks(),
+            this.stepScheduling(),
+            this.stepExecutorProvider(),
             this.sinkExecutorProvider(),
+            this.buildAsyncRunConfig(),
+            this.checkpointJournal(),
             this.errorHandler(),
             this.closeTimeout(),
             this.onCloseHandlers(),
@@ -122,6 +146,28 @@ public final class PayloadPipelineBuilder<I>
         return this.initializer.build(new InitializerBuilder<>());
     }
 
+    private AsyncRunConfig buildAsyncRunConfig()
+    {
+        int maxInFlight = this.maxInFlightRuns();
+        return new AsyncRunConfig(
+            maxInFlight,
+            this.runQueueCapacity(),
+            this.rejectionPolicy(),
+            this.asyncExecutorProvider() == null ? () -> Executors.newFixedThreadPool(maxInFlight) : this.asyncExecutorProvider()
+        );
+    }
+
+    /**
+     * Steps scheduled concurrently read results while the step phase registers new ones: unless a custom factory was provided, such pipelines produce a concurrent output.
+     */
+    private OutputFactory<I> buildOutputFactory(List<StepDescriptor<Indexable, I>> steps)
+    {
+        boolean concurrent = this.stepScheduling() == StepScheduling.DEPENDENCY_GRAPH || steps.stream().anyMatch(StepDescriptor::isParallel);
+        if (concurrent && this.outputFactory().getClass() == DefaultOutputFactory.class)
+            return new ConcurrentOutputFactory<>();
+        return this.outputFactory();
+    }
+
     private List<StepDescriptor<Indexable, I>> buildSteps()
     {
         return this.steps.stream().map(assembler -> {
@@ -286,6 +332,55 @@ public final class PayloadPipelineBuilder<I>
         sinkBuilder.withErrorHandler(this.defaultSinkErrorHandler());
     }
 
+    public StepScheduling stepScheduling()
+    {
+        return this.stepScheduling;
+    }
+
+    public PayloadPipelineBuilder<I> setStepScheduling(StepScheduling stepScheduling)
+    {
+        this.stepScheduling = stepScheduling;
+        return this;
+    }
+
+    public Supplier<ExecutorService> stepExecutorProvider()
+    {
+        return this.stepExecutorProvider;
+    }
+
+    public PayloadPipelineBuilder<I> setStepExecutorProvider(Supplier<ExecutorService> stepExecutorProvider)
+    {
+        this.stepExecutorProvider = stepExecutorProvider;
+        return this;
+    }
+
+    public PayloadPipelineBuilder<I> setStepExecutor(ExecutorService stepExecutor)
+    {
+        this.stepExecutorProvider = () -> stepExecutor;
+        return this;
+    }
+
+    /**
+     * Switches the step and sink executors to virtual threads (or back to the default fixed-size platform thread pools).
+     * On runtimes without virtual threads (before Java 21) a warning is logged and the executors configured beforehand are used instead.
+     * Executors set afterwards through {@link #setStepExecutor} or {@link #setSinkExecutor} (and their provider counterparts) take precedence.
+     */
+    public PayloadPipelineBuilder<I> setVirtualThreads(boolean enabled)
+    {
+        if (enabled)
+        {
+            Supplier<ExecutorService> stepFallback = this.stepExecutorProvider;
+            Supplier<ExecutorService> sinkFallback = this.sinkExecutorProvider;
+            this.stepExecutorProvider = () -> VirtualThreads.newExecutor(stepFallback);
+            this.sinkExecutorProvider = () -> VirtualThreads.newExecutor(sinkFallback);
+        }
+        else {
+            this.stepExecutorProvider = () -> Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            this.sinkExecutorProvider = () -> Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+        return this;
+    }
+
     public Supplier<ExecutorService> sinkExecutorProvider()
     {
         return this.sinkExecutorProvider;
@@ -303,6 +398,79 @@ public final class PayloadPipelineBuilder<I>
         return this;
     }
 
+    public Supplier<ExecutorService> asyncExecutorProvider()
+    {
+        return this.asyncExecutorProvider;
+    }
+
+    /**
+     * Sets the provider of the executor performing {@link Pipeline#runAsync} runs, by default a fixed thread pool sized after the maximum number of in-flight runs.
+     */
+    public PayloadPipelineBuilder<I> setAsyncExecutorProvider(Supplier<ExecutorService> asyncExecutorProvider)
+    {
+        this.asyncExecutorProvider = asyncExecutorProvider;
+        return this;
+    }
+
+    public PayloadPipelineBuilder<I> setAsyncExecutor(ExecutorService asyncExecutor)
+    {
+        this.asyncExecutorProvider = () -> asyncExecutor;
+        return this;
+    }
+
+    public int maxInFlightRuns()
+    {
+        return this.maxInFlightRuns;
+    }
+
+    /**
+     * Sets the maximum number of {@link Pipeline#runAsync} runs executed at the same time, defaults to the number of available processors.
+     */
+    public PayloadPipelineBuilder<I> setMaxInFlightRuns(int maxInFlightRuns)
+    {
+        this.maxInFlightRuns = maxInFlightRuns;
+        return this;
+    }
+
+    public int runQueueCapacity()
+    {
+        return this.runQueueCapacity;
+    }
+
+    /**
+     * Sets the maximum number of {@link Pipeline#runAsync} runs waiting for an in-flight slot when using the {@link RejectionPolicy#QUEUE} policy, unbounded by default.
+     */
+    public PayloadPipelineBuilder<I> setRunQueueCapacity(int runQueueCapacity)
+    {
+        this.runQueueCapacity = runQueueCapacity;
+        return this;
+    }
+
+    public RejectionPolicy rejectionPolicy()
+    {
+        return this.rejectionPolicy;
+    }
+
+    public PayloadPipelineBuilder<I> setRejectionPolicy(RejectionPolicy rejectionPolicy)
+    {
+        this.rejectionPolicy = rejectionPolicy;
+        return this;
+    }
+
+    public CheckpointJournal checkpointJournal()
+    {
+        return this.checkpointJournal;
+    }
+
+    /**
+     * Sets the journal recording the progress of runs after the initialization phase and after each step, which allows for resuming runs that did not complete with {@link Pipeline#resume}; checkpointing is disabled by default.
+     */
+    public PayloadPipelineBuilder<I> setCheckpointJournal(CheckpointJournal checkpointJournal)
+    {
+        this.checkpointJournal = checkpointJournal;
+        return this;
+    }
+
     public List<OnCloseHandler> onCloseHandlers()
     {
         return this.onCloseHandlers;
@@ -411,6 +579,26 @@ public final class PayloadPipelineBuilder<I>
         return this;
     }
 
+    /**
+     * Sets how much of the pipeline's runs are traced, see {@link ObservabilityLevel}; metrics are recorded regardless of the level.
+     * Unless a sampling rate is provided, the {@link ObservabilityLevel#SAMPLED} level traces every run.
+     */
+    public PayloadPipelineBuilder<I> setObservabilityLevel(ObservabilityLevel level)
+    {
+        this.observabilityManagerBuilder.setLevel(level);
+        return this;
+    }
+
+    /**
+     * Sets the fraction of runs that are traced when using the {@link ObservabilityLevel#SAMPLED} level.
+     */
+    public PayloadPipelineBuilder<I> setObservabilityLevel(ObservabilityLevel level, double samplingRate)
+    {
+        this.observabilityManagerBuilder.setLevel(level);
+        this.observabilityManagerBuilder.setSamplingRate(samplingRate);
+        return this;
+    }
+
     public TagResolver<I> tagResolver()
     {
         return tagResolver;
@@ -0,0 +1,36 @@
+package tech.illuin.pipeline.builder.runner_compiler;
+
+import java.lang.annotation.Annotation;
+import java.util.Optional;
+
+/**
+ * Compiles targets through their generated {@link RunnerAdapter} when there is one, and falls back to another compiler (e.g. the reflection-based {@link GenericRunnerCompiler}) otherwise.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class AdapterRunnerCompiler<C extends Annotation, T, I> implements RunnerCompiler<C, T, I>
+{
+    private final Class<C> configType;
+    private final RunnerCompiler<C, T, I> fallback;
+    private final MethodValidator methodValidator;
+
+    public AdapterRunnerCompiler(Class<C> configType, RunnerCompiler<C, T, I> fallback, MethodValidator methodValidator)
+    {
+        this.configType = configType;
+        this.fallback = fallback;
+        this.methodValidator = methodValidator;
+    }
+
+    @Override
+    public CompiledMethod<C, T, I> compile(Object target)
+    {
+        Optional<RunnerAdapter<C, T, I>> adapter = RunnerAdapters.find(target.getClass(), this.configType);
+        if (adapter.isEmpty())
+            return this.fallback.compile(target);
+
+        CompiledMethod<C, T, I> compiled = adapter.get().compile(target);
+        if (!this.methodValidator.validate(compiled.method()))
+            throw new IllegalStateException(this.methodValidator.description());
+        return compiled;
+    }
+}
@@ -0,0 +1,52 @@
+package tech.illuin.pipeline.builder.runner_compiler;
+
+import tech.illuin.pipeline.builder.runner_compiler.argument_resolver.mapper_factory.MethodArgumentMapper;
+import tech.illuin.pipeline.builder.runner_compiler.argument_resolver.method_arguments.MethodArguments;
+import tech.illuin.pipeline.builder.runner_compiler.argument_resolver.method_arguments.MissingArgument;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Maps the arguments of a compiled runner method, in a plain indexed loop over its {@link MethodArgumentMapper}.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public final class CompiledArguments<T, I>
+{
+    private final MethodArgumentMapper<T, I>[] mappers;
+
+    @SuppressWarnings("unchecked")
+    public CompiledArguments(List<MethodArgumentMapper<T, I>> mappers)
+    {
+        this.mappers = mappers.toArray(new MethodArgumentMapper[0]);
+    }
+
+    public Object[] map(MethodArguments<T, I> arguments)
+    {
+        Object[] values = new Object[this.mappers.length];
+        for (int i = 0 ; i < this.mappers.length ; ++i)
+            values[i] = this.mappers[i].map(arguments);
+        return values;
+    }
+
+    /**
+     * @param values the mapped arguments
+     * @return the arguments that could not be resolved, if any
+     */
+    public static List<MissingArgument> missing(Object[] values)
+    {
+        List<MissingArgument> missing = null;
+        for (Object value : values)
+        {
+            if (value instanceof MissingArgument missingArgument)
+            {
+                if (missing == null)
+                    missing = new ArrayList<>();
+                missing.add(missingArgument);
+            }
+        }
+        return missing == null ? Collections.emptyList() : missing;
+    }
+}
@@ -12,5 +12,6 @@ import java.util.List;
 public record CompiledMethod<C extends Annotation, T, I>(
     Method method,
     List<MethodArgumentMapper<T, I>> mappers,
-    C config
+    C config,
+    MethodInvoker invoker
 ) {}
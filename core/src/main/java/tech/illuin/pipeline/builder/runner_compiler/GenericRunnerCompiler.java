@@ -56,7 +56,8 @@ public class GenericRunnerCompiler<C extends Annotation, T, I> implements Runner
         return new CompiledMethod<>(
             candidate.method(),
             this.compileArguments(candidate),
-            candidate.config()
+            candidate.config(),
+            MethodInvoker.of(target, candidate.method())
         );
     }
 
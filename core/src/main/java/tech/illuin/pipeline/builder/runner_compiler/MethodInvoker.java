@@ -0,0 +1,69 @@
+package tech.illuin.pipeline.builder.runner_compiler;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Invokes a compiled runner method over its target.
+ * Exceptions thrown by the method are wrapped in an {@link InvocationTargetException}, same as with {@link Method#invoke(Object, Object...)}, so that runners can tell them apart from invocation failures.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+@FunctionalInterface
+public interface MethodInvoker
+{
+    Object invoke(Object[] arguments) throws InvocationTargetException, IllegalAccessException;
+
+    /**
+     * Returns an invoker backed by a {@link MethodHandle} bound to the target and spreading an argument array, which skips the access checks and argument array copies of {@link Method#invoke(Object, Object...)}.
+     * Methods which cannot be unreflected from the library (e.g. public methods of a non-public class) fall back to reflective invocation.
+     *
+     * @param target the runner's target, ignored for static methods
+     * @param method the method to invoke
+     * @return the invoker
+     */
+    static MethodInvoker of(Object target, Method method)
+    {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method);
+        }
+        catch (IllegalAccessException e) {
+            return reflective(target, method);
+        }
+
+        if (!Modifier.isStatic(method.getModifiers()))
+            handle = handle.bindTo(target);
+        MethodHandle invoker = handle
+            .asSpreader(Object[].class, method.getParameterCount())
+            .asType(MethodType.methodType(Object.class, Object[].class))
+        ;
+
+        return arguments -> invokeHandle(invoker, arguments);
+    }
+
+    /**
+     * @param target the runner's target, ignored for static methods
+     * @param method the method to invoke
+     * @return an invoker relying on {@link Method#invoke(Object, Object...)}
+     */
+    static MethodInvoker reflective(Object target, Method method)
+    {
+        return arguments -> method.invoke(target, arguments);
+    }
+
+    @SuppressWarnings("IllegalCatch")
+    private static Object invokeHandle(MethodHandle invoker, Object[] arguments) throws InvocationTargetException
+    {
+        try {
+            return (Object) invoker.invokeExact(arguments);
+        }
+        catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package tech.illuin.pipeline.builder.runner_compiler;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * A {@link RunnerCompiler} dedicated to a single target class, usually generated at compile-time by the data-pipeline-processor annotation processor.
+ * Adapters map arguments and invoke the target method with direct calls, instead of resolving them through reflection when the pipeline is built.
+ * They are looked up by name, see {@link RunnerAdapters#adapterName(Class, Class)}.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public interface RunnerAdapter<C extends Annotation, T, I> extends RunnerCompiler<C, T, I>
+{
+}
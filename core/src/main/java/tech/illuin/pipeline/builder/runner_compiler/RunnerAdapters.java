@@ -0,0 +1,83 @@
+package tech.illuin.pipeline.builder.runner_compiler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the {@link RunnerAdapter} generated for a target class, if any.
+ * Adapters are expected to be named after their target and config annotation, e.g. {@code com.acme.Outer_MyStep_StepConfigAdapter} for a {@code @StepConfig} method in {@code com.acme.Outer.MyStep}, and to expose a public no-arg constructor.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public final class RunnerAdapters
+{
+    private static final ClassValue<Map<Class<?>, Optional<RunnerAdapter<?, ?, ?>>>> ADAPTERS = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, Optional<RunnerAdapter<?, ?, ?>>> computeValue(Class<?> type)
+        {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final Logger logger = LoggerFactory.getLogger(RunnerAdapters.class);
+
+    private RunnerAdapters() {}
+
+    @SuppressWarnings("unchecked")
+    public static <C extends Annotation, T, I> Optional<RunnerAdapter<C, T, I>> find(Class<?> targetType, Class<C> configType)
+    {
+        Optional<RunnerAdapter<?, ?, ?>> adapter = ADAPTERS.get(targetType).computeIfAbsent(configType, c -> load(targetType, configType));
+        return adapter.map(a -> (RunnerAdapter<C, T, I>) a);
+    }
+
+    public static String adapterName(Class<?> targetType, Class<? extends Annotation> configType)
+    {
+        return targetType.getName().replace('$', '_') + "_" + configType.getSimpleName() + "Adapter";
+    }
+
+    /**
+     * Used by generated adapters for retrieving their target method.
+     *
+     * @param targetType the class declaring the method
+     * @param name the method name
+     * @param parameterTypes the method's parameter types
+     * @return the declared method
+     */
+    public static Method method(Class<?> targetType, String name, Class<?>... parameterTypes)
+    {
+        try {
+            return targetType.getDeclaredMethod(name, parameterTypes);
+        }
+        catch (NoSuchMethodException e) {
+            throw new IllegalStateException("The adapted method " + name + " could not be found in target class " + targetType.getName(), e);
+        }
+    }
+
+    private static Optional<RunnerAdapter<?, ?, ?>> load(Class<?> targetType, Class<? extends Annotation> configType)
+    {
+        if (targetType.isAnonymousClass() || targetType.isLocalClass() || targetType.isHidden())
+            return Optional.empty();
+
+        String name = adapterName(targetType, configType);
+        try {
+            Class<?> adapterType = Class.forName(name, true, targetType.getClassLoader());
+            if (!RunnerAdapter.class.isAssignableFrom(adapterType))
+                return Optional.empty();
+            logger.trace("{}: Found runner adapter {}", configType.getSimpleName(), name);
+            return Optional.of((RunnerAdapter<?, ?, ?>) adapterType.getConstructor().newInstance());
+        }
+        catch (ClassNotFoundException e) {
+            return Optional.empty();
+        }
+        catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("The runner adapter " + name + " could not be instantiated", e);
+        }
+    }
+}
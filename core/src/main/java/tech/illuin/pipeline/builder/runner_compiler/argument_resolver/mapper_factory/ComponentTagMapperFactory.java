@@ -19,7 +19,11 @@ public class ComponentTagMapperFactory<T, I> implements MethodArgumentMapperFact
     @Override
     public MethodArgumentMapper<T, I> produce(Annotation category, Parameter parameter)
     {
-        Class<?> parameterType = parameter.getType();
+        return of(parameter.getType());
+    }
+
+    public static <T, I> MethodArgumentMapper<T, I> of(Class<?> parameterType)
+    {
         return args -> {
             if (!parameterType.isAssignableFrom(args.componentTag().getClass()))
                 throw new IllegalArgumentException("This component expects the component tag to be a subtype of " + parameterType.getSimpleName() + " actual tag is of type " + args.componentTag().getClass().getSimpleName());
@@ -25,13 +25,27 @@ public class ContextKeyMapperFactory<T, I> implements MethodArgumentMapperFactor
 
         Optional<Class<?>> optionalArg = Reflection.getOptionalParameter(parameter, Object.class);
         if (optionalArg.isPresent())
-            return args -> args.context().get(context.value(), optionalArg.get());
+            return optional(context.value(), optionalArg.get());
 
         Class<?> type = parameter.getType().isPrimitive()
             ? Reflection.getWrapperType(parameter.getType())
             : parameter.getType()
         ;
 
-        return args -> args.context().get(context.value(), type).orElseThrow();
+        return required(context.value(), type);
+    }
+
+    public static <T, I> MethodArgumentMapper<T, I> optional(String key, Class<?> type)
+    {
+        return args -> args.context().get(key, type);
+    }
+
+    /**
+     * @param key the context key
+     * @param type the expected value type, primitive types are expected to be provided as their wrapper type
+     */
+    public static <T, I> MethodArgumentMapper<T, I> required(String key, Class<?> type)
+    {
+        return args -> args.context().get(key, type).orElseThrow();
     }
 }
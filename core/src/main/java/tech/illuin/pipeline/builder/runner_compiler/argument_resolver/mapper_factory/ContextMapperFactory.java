@@ -19,7 +19,11 @@ public class ContextMapperFactory<T, I> implements MethodArgumentMapperFactory<T
     @Override
     public MethodArgumentMapper<T, I> produce(Annotation category, Parameter parameter)
     {
-        Class<?> parameterType = parameter.getType();
+        return of(parameter.getType());
+    }
+
+    public static <T, I> MethodArgumentMapper<T, I> of(Class<?> parameterType)
+    {
         return args -> {
             if (!parameterType.isAssignableFrom(args.context().getClass()))
                 throw new IllegalArgumentException("This component expects the context to be a subtype of " + parameterType.getSimpleName() + " actual context is of type " + args.context().getClass().getSimpleName());
@@ -28,51 +28,71 @@ public class CurrentMapperFactory<T, I> implements MethodArgumentMapperFactory<T
     public MethodArgumentMapper<T, I> produce(Annotation category, Parameter parameter)
     {
         Current current = (Current) category;
-        boolean filterByName = current.name() != null && !current.name().isBlank();
 
         if (Result.class.isAssignableFrom(parameter.getType()))
-        {
-            /* If a name was specified, we rely on it for filtering */
-            if (filterByName)
-            {
-                return args -> getResults(args, current)
-                    .current(current.name())
-                    .or(() -> Optional.of(new MissingArgument("@Current argument with name " + current.name() + " is missing but not marked as required")).filter(ma -> !current.required()))
-                    .orElseThrow(() -> new NoSuchElementException("@Current argument with type " + current.name() + " is missing"));
-            }
-            /* Otherwise, we filter by argument type */
-            return args -> getResults(args, current)
-                .current((Class<Result>) parameter.getType())
-                .or(() -> Optional.of(new MissingArgument("@Current argument with type " + parameter.getType() + " is missing but not marked as required")).filter(ma -> !current.required()))
-                .orElseThrow(() -> new NoSuchElementException("@Current argument with type " + parameter.getType() + " is missing"));
-        }
+            return single(current.name(), current.required(), current.self(), (Class<? extends Result>) parameter.getType());
 
         Optional<Class<? extends Result>> optionalArg = Reflection.getOptionalParameter(parameter, Result.class);
         if (optionalArg.isPresent())
-        {
-            /* If a name was specified, we rely on it for filtering */
-            if (filterByName)
-                return args -> getResults(args, current).current(current.name());
-            /* Otherwise, we filter by argument type */
-            return args -> getResults(args, current).current(optionalArg.get());
-        }
+            return optional(current.name(), current.self(), optionalArg.get());
 
         Optional<Class<? extends Result>> streamArg = Reflection.getStreamParameter(parameter, Result.class);
         if (streamArg.isPresent())
+            return stream(current.name(), current.self(), streamArg.get());
+
+        throw new IllegalStateException("@Current can only be assigned to a Result subtype or an Optional or Stream of a Result subtype");
+    }
+
+    /**
+     * @param name the result name to filter on, a blank name filters on the result type instead
+     * @param required whether a missing result should fail the execution instead of skipping it
+     * @param self whether the lookup is restricted to the results of the current object
+     * @param type the expected result type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, I> MethodArgumentMapper<T, I> single(String name, boolean required, boolean self, Class<? extends Result> type)
+    {
+        /* If a name was specified, we rely on it for filtering */
+        if (isNamed(name))
         {
-            /* If a name was specified, we rely on it for filtering */
-            if (filterByName)
-                return args -> getResults(args, current).current().filter(r -> current.name().equals(r.name()));
-            /* Otherwise, we filter by argument type */
-            return args -> getResults(args, current).current().filter(r -> streamArg.get().isInstance(r));
+            return args -> getResults(args, self)
+                .current(name)
+                .or(() -> Optional.of(new MissingArgument("@Current argument with name " + name + " is missing but not marked as required")).filter(ma -> !required))
+                .orElseThrow(() -> new NoSuchElementException("@Current argument with type " + name + " is missing"));
         }
+        /* Otherwise, we filter by argument type */
+        return args -> getResults(args, self)
+            .current((Class<Result>) type)
+            .or(() -> Optional.of(new MissingArgument("@Current argument with type " + type + " is missing but not marked as required")).filter(ma -> !required))
+            .orElseThrow(() -> new NoSuchElementException("@Current argument with type " + type + " is missing"));
+    }
 
-        throw new IllegalStateException("@Current can only be assigned to a Result subtype or an Optional or Stream of a Result subtype");
+    public static <T, I> MethodArgumentMapper<T, I> optional(String name, boolean self, Class<? extends Result> type)
+    {
+        /* If a name was specified, we rely on it for filtering */
+        if (isNamed(name))
+            return args -> getResults(args, self).current(name);
+        /* Otherwise, we filter by argument type */
+        return args -> getResults(args, self).current(type);
+    }
+
+    public static <T, I> MethodArgumentMapper<T, I> stream(String name, boolean self, Class<? extends Result> type)
+    {
+        /* If a name was specified, we rely on it for filtering */
+        if (isNamed(name))
+            return args -> getResults(args, self).current().filter(r -> name.equals(r.name()));
+        /* Otherwise, we filter by argument type */
+        return args -> getResults(args, self).current().filter(type::isInstance);
+    }
+
+    private static boolean isNamed(String name)
+    {
+        return name != null && !name.isBlank();
     }
 
-    private static Results getResults(MethodArguments<?, ?> args, Current current)
+    private static Results getResults(MethodArguments<?, ?> args, boolean self)
     {
-        if (current.self())
+        if (self)
             return args.resultView().self();
         return args.results();
     }
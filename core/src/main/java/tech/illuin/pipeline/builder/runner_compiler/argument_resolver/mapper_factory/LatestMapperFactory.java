@@ -28,51 +28,71 @@ public class LatestMapperFactory<T, I> implements MethodArgumentMapperFactory<T,
     public MethodArgumentMapper<T, I> produce(Annotation category, Parameter parameter)
     {
         Latest latest = (Latest) category;
-        boolean filterByName = latest.name() != null && !latest.name().isBlank();
 
         if (Result.class.isAssignableFrom(parameter.getType()))
-        {
-            /* If a name was specified, we rely on it for filtering */
-            if (filterByName)
-            {
-                return args -> getResults(args, latest)
-                    .latest(latest.name())
-                    .or(() -> Optional.of(new MissingArgument("@Latest argument with name " + latest.name() + " is missing but not marked as required")).filter(ma -> !latest.required()))
-                    .orElseThrow(() -> new NoSuchElementException("@Latest argument with type " + latest.name() + " is missing"));
-            }
-            /* Otherwise, we filter by argument type */
-            return args -> getResults(args, latest)
-                .latest((Class<Result>) parameter.getType())
-                .or(() -> Optional.of(new MissingArgument("@Latest argument with type " + parameter.getType() + " is missing but not marked as required")).filter(ma -> !latest.required()))
-                .orElseThrow(() -> new NoSuchElementException("@Latest argument with type " + parameter.getType() + " is missing"));
-        }
+            return single(latest.name(), latest.required(), latest.self(), (Class<? extends Result>) parameter.getType());
 
         Optional<Class<? extends Result>> optionalArg = Reflection.getOptionalParameter(parameter, Result.class);
         if (optionalArg.isPresent())
-        {
-            /* If a name was specified, we rely on it for filtering */
-            if (filterByName)
-                return args -> getResults(args, latest).latest(latest.name());
-            /* Otherwise, we filter by argument type */
-            return args -> getResults(args, latest).latest(optionalArg.get());
-        }
+            return optional(latest.name(), latest.self(), optionalArg.get());
 
         Optional<Class<? extends Result>> streamArg = Reflection.getStreamParameter(parameter, Result.class);
         if (streamArg.isPresent())
+            return stream(latest.name(), latest.self(), streamArg.get());
+
+        throw new IllegalStateException("@Latest can only be assigned to a Result subtype or an Optional or Stream of a Result subtype");
+    }
+
+    /**
+     * @param name the result name to filter on, a blank name filters on the result type instead
+     * @param required whether a missing result should fail the execution instead of skipping it
+     * @param self whether the lookup is restricted to the results of the current object
+     * @param type the expected result type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, I> MethodArgumentMapper<T, I> single(String name, boolean required, boolean self, Class<? extends Result> type)
+    {
+        /* If a name was specified, we rely on it for filtering */
+        if (isNamed(name))
         {
-            /* If a name was specified, we rely on it for filtering */
-            if (filterByName)
-                return args -> getResults(args, latest).stream().filter(r -> latest.name().equals(r.name()));
-            /* Otherwise, we filter by argument type */
-            return args -> getResults(args, latest).stream().filter(r -> streamArg.get().isInstance(r));
+            return args -> getResults(args, self)
+                .latest(name)
+                .or(() -> Optional.of(new MissingArgument("@Latest argument with name " + name + " is missing but not marked as required")).filter(ma -> !required))
+                .orElseThrow(() -> new NoSuchElementException("@Latest argument with type " + name + " is missing"));
         }
+        /* Otherwise, we filter by argument type */
+        return args -> getResults(args, self)
+            .latest((Class<Result>) type)
+            .or(() -> Optional.of(new MissingArgument("@Latest argument with type " + type + " is missing but not marked as required")).filter(ma -> !required))
+            .orElseThrow(() -> new NoSuchElementException("@Latest argument with type " + type + " is missing"));
+    }
 
-        throw new IllegalStateException("@Latest can only be assigned to a Result subtype or an Optional or Stream of a Result subtype");
+    public static <T, I> MethodArgumentMapper<T, I> optional(String name, boolean self, Class<? extends Result> type)
+    {
+        /* If a name was specified, we rely on it for filtering */
+        if (isNamed(name))
+            return args -> getResults(args, self).latest(name);
+        /* Otherwise, we filter by argument type */
+        return args -> getResults(args, self).latest(type);
+    }
+
+    public static <T, I> MethodArgumentMapper<T, I> stream(String name, boolean self, Class<? extends Result> type)
+    {
+        /* If a name was specified, we rely on it for filtering */
+        if (isNamed(name))
+            return args -> getResults(args, self).stream().filter(r -> name.equals(r.name()));
+        /* Otherwise, we filter by argument type */
+        return args -> getResults(args, self).stream().filter(type::isInstance);
+    }
+
+    private static boolean isNamed(String name)
+    {
+        return name != null && !name.isBlank();
     }
 
-    private static Results getResults(MethodArguments<?, ?> args, Latest latest)
+    private static Results getResults(MethodArguments<?, ?> args, boolean self)
     {
-        if (latest.self())
+        if (self)
             return args.resultView().self();
         return args.results();
     }
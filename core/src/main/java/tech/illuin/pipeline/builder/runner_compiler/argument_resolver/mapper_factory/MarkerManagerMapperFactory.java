@@ -19,7 +19,11 @@ public class MarkerManagerMapperFactory<T, I> implements MethodArgumentMapperFac
     @Override
     public MethodArgumentMapper<T, I> produce(Annotation category, Parameter parameter)
     {
-        Class<?> parameterType = parameter.getType();
+        return of(parameter.getType());
+    }
+
+    public static <T, I> MethodArgumentMapper<T, I> of(Class<?> parameterType)
+    {
         return args -> {
             if (!parameterType.isAssignableFrom(args.markerManager().getClass()))
                 throw new IllegalArgumentException("This component expects the marker generator to be a subtype of " + parameterType.getSimpleName() + " actual manager is of type " + args.markerManager().getClass().getSimpleName());
@@ -19,7 +19,11 @@ public class ObservabilityManagerMapperFactory<T, I> implements MethodArgumentMa
     @Override
     public MethodArgumentMapper<T, I> produce(Annotation category, Parameter parameter)
     {
-        Class<?> parameterType = parameter.getType();
+        return of(parameter.getType());
+    }
+
+    public static <T, I> MethodArgumentMapper<T, I> of(Class<?> parameterType)
+    {
         return args -> {
             if (!parameterType.isAssignableFrom(args.observabilityManager().getClass()))
                 throw new IllegalArgumentException("This component expects the observability manager to be a subtype of " + parameterType.getSimpleName() + " actual manager is of type " + args.observabilityManager().getClass().getSimpleName());
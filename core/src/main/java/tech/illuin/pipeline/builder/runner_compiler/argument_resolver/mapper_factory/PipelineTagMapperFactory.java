@@ -19,7 +19,11 @@ public class PipelineTagMapperFactory<T, I> implements MethodArgumentMapperFacto
     @Override
     public MethodArgumentMapper<T, I> produce(Annotation category, Parameter parameter)
     {
-        Class<?> parameterType = parameter.getType();
+        return of(parameter.getType());
+    }
+
+    public static <T, I> MethodArgumentMapper<T, I> of(Class<?> parameterType)
+    {
         return args -> {
             if (!parameterType.isAssignableFrom(args.pipelineTag().getClass()))
                 throw new IllegalArgumentException("This component expects the pipeline tag to be a subtype of " + parameterType.getSimpleName() + " actual tag is of type " + args.pipelineTag().getClass().getSimpleName());
@@ -19,7 +19,11 @@ public class ResultViewMapperFactory<T, I> implements MethodArgumentMapperFactor
     @Override
     public MethodArgumentMapper<T, I> produce(Annotation category, Parameter parameter)
     {
-        Class<?> parameterType = parameter.getType();
+        return of(parameter.getType());
+    }
+
+    public static <T, I> MethodArgumentMapper<T, I> of(Class<?> parameterType)
+    {
         return args -> {
             if (!parameterType.isAssignableFrom(args.resultView().getClass()))
                 throw new IllegalArgumentException("This step expects the results to be a subtype of " + parameterType.getSimpleName() + " actual result is of type " + args.results().getClass().getSimpleName());
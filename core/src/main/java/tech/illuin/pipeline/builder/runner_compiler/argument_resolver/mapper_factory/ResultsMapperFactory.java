@@ -19,7 +19,11 @@ public class ResultsMapperFactory<T, I> implements MethodArgumentMapperFactory<T
     @Override
     public MethodArgumentMapper<T, I> produce(Annotation category, Parameter parameter)
     {
-        Class<?> parameterType = parameter.getType();
+        return of(parameter.getType());
+    }
+
+    public static <T, I> MethodArgumentMapper<T, I> of(Class<?> parameterType)
+    {
         return args -> {
             if (!parameterType.isAssignableFrom(args.results().getClass()))
                 throw new IllegalArgumentException("This component expects the results to be a subtype of " + parameterType.getSimpleName() + " actual result is of type " + args.results().getClass().getSimpleName());
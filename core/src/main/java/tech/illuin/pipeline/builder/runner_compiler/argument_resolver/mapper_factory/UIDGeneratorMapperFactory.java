@@ -19,7 +19,11 @@ public class UIDGeneratorMapperFactory<T, I> implements MethodArgumentMapperFact
     @Override
     public MethodArgumentMapper<T, I> produce(Annotation category, Parameter parameter)
     {
-        Class<?> parameterType = parameter.getType();
+        return of(parameter.getType());
+    }
+
+    public static <T, I> MethodArgumentMapper<T, I> of(Class<?> parameterType)
+    {
         return args -> {
             if (!parameterType.isAssignableFrom(args.uidGenerator().getClass()))
                 throw new IllegalArgumentException("This component expects the UID generator to be a subtype of " + parameterType.getSimpleName() + " actual generator is of type " + args.uidGenerator().getClass().getSimpleName());
@@ -0,0 +1,155 @@
+package tech.illuin.pipeline.commons;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+
+/**
+ * A list with lock-free snapshot reads, which are published through a single volatile state.
+ * Writers are serialized on the list's own monitor, while readers only go through a single volatile read and never block.
+ * Iterating over the list iterates over a snapshot of the elements present when the iteration started, later changes are not visible to it.
+ * Appending is amortized O(1) as it fills the free slots of the backing array, whereas inserting, replacing or removing elements copies the whole array (copy-on-write) and is expected to be rare.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public final class SnapshotList<T> extends AbstractList<T>
+{
+    /* Slots below the published size are never written again, so a published state can be read without any lock */
+    private volatile State state;
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    public SnapshotList()
+    {
+        this.state = new State(new Object[DEFAULT_CAPACITY], 0);
+    }
+
+    @Override
+    public synchronized boolean add(T element)
+    {
+        State current = this.state;
+        Object[] array = current.size() == current.array().length
+            ? Arrays.copyOf(current.array(), current.size() * 2)
+            : current.array()
+        ;
+        array[current.size()] = element;
+        this.state = new State(array, current.size() + 1);
+        return true;
+    }
+
+    @Override
+    public synchronized void add(int index, T element)
+    {
+        State current = this.state;
+        if (index < 0 || index > current.size())
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + current.size());
+
+        Object[] array = new Object[Math.max(current.array().length, current.size() + 1)];
+        System.arraycopy(current.array(), 0, array, 0, index);
+        array[index] = element;
+        System.arraycopy(current.array(), index, array, index + 1, current.size() - index);
+        this.state = new State(array, current.size() + 1);
+    }
+
+    @Override
+    public synchronized T set(int index, T element)
+    {
+        State current = this.state;
+        checkIndex(index, current.size());
+
+        Object[] array = Arrays.copyOf(current.array(), current.array().length);
+        T previous = cast(array[index]);
+        array[index] = element;
+        this.state = new State(array, current.size());
+        return previous;
+    }
+
+    @Override
+    public synchronized boolean removeIf(Predicate<? super T> filter)
+    {
+        State current = this.state;
+        Object[] array = new Object[current.array().length];
+        int size = 0;
+        for (int i = 0 ; i < current.size() ; ++i)
+        {
+            T element = cast(current.array()[i]);
+            if (!filter.test(element))
+                array[size++] = element;
+        }
+        if (size == current.size())
+            return false;
+
+        this.state = new State(array, size);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean remove(Object o)
+    {
+        boolean[] removed = { false };
+        return this.removeIf(element -> {
+            if (removed[0] || !Objects.equals(element, o))
+                return false;
+            removed[0] = true;
+            return true;
+        });
+    }
+
+    @Override
+    public T get(int index)
+    {
+        State current = this.state;
+        checkIndex(index, current.size());
+        return cast(current.array()[index]);
+    }
+
+    @Override
+    public int size()
+    {
+        return this.state.size();
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return this.snapshot().iterator();
+    }
+
+    @Override
+    public Spliterator<T> spliterator()
+    {
+        return this.snapshot().spliterator();
+    }
+
+    /**
+     * @return an immutable view over the elements currently in the list, obtained in O(1)
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> snapshot()
+    {
+        State current = this.state;
+        return Collections.unmodifiableList((List<T>) Arrays.asList(current.array()).subList(0, current.size()));
+    }
+
+    private static void checkIndex(int index, int size)
+    {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object element)
+    {
+        return (T) element;
+    }
+
+    private record State(
+        Object[] array,
+        int size
+    ) {}
+}
@@ -0,0 +1,65 @@
+package tech.illuin.pipeline.commons;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Provides virtual-thread executors when the runtime supports them (Java 21+).
+ * The library targets Java 17, so the JDK factory is resolved reflectively ; on older runtimes the caller-provided fallback executor is used instead, so that the number of platform threads remains bounded.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public final class VirtualThreads
+{
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreads.class);
+    private static final Method FACTORY = lookupFactory();
+
+    private VirtualThreads() {}
+
+    public static boolean isAvailable()
+    {
+        return FACTORY != null;
+    }
+
+    /**
+     * Returns a new executor creating one virtual thread per task, or the fallback's executor if virtual threads are not available.
+     *
+     * @param fallback provides the executor used on runtimes without virtual threads, typically the executor provider that virtual threads replace
+     */
+    public static ExecutorService newExecutor(Supplier<ExecutorService> fallback)
+    {
+        return newExecutor(FACTORY, fallback);
+    }
+
+    static ExecutorService newExecutor(Method factory, Supplier<ExecutorService> fallback)
+    {
+        if (factory == null)
+        {
+            logger.warn("Virtual threads are not supported by the current runtime (Java {}), falling back to the platform thread executor", Runtime.version().feature());
+            return fallback.get();
+        }
+
+        try {
+            return (ExecutorService) factory.invoke(null);
+        }
+        catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("An error occurred while attempting to create a virtual thread executor", e);
+        }
+    }
+
+    private static Method lookupFactory()
+    {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        }
+        catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package tech.illuin.pipeline.context;
+
+import io.micrometer.tracing.Span;
+import tech.illuin.pipeline.output.Output;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Context of a pipeline run nested within a step of another pipeline (e.g. a {@link tech.illuin.pipeline.step.variant.PipelineStep}).
+ * The outer context is referenced instead of being copied: reads fall through to it, while writes remain local to the nested run.
+ * It also carries the span of the enclosing step, which nested runs reuse instead of opening a pipeline span of their own; a {@link Span#NOOP} span denotes an untraced enclosing run.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class NestedContext implements Context
+{
+    private final Output parent;
+    private final Context outer;
+    private final Span span;
+    private final Map<String, Object> metadata;
+
+    public NestedContext(Output parent, Context outer, Span span)
+    {
+        this.parent = parent;
+        this.outer = outer;
+        this.span = span;
+        this.metadata = new HashMap<>();
+    }
+
+    @Override
+    public Optional<Output> parent()
+    {
+        return Optional.ofNullable(this.parent);
+    }
+
+    public Span span()
+    {
+        return this.span;
+    }
+
+    public boolean isTraced()
+    {
+        return this.span != Span.NOOP;
+    }
+
+    @Override
+    public Context set(String key, Object value)
+    {
+        this.metadata.put(key, value);
+        return this;
+    }
+
+    @Override
+    public Context copyFrom(Context other)
+    {
+        for (String key : other.keys())
+            this.set(key, other.get(key).orElse(null));
+        return this;
+    }
+
+    @Override
+    public boolean has(String key)
+    {
+        return this.metadata.containsKey(key) || this.outer.has(key);
+    }
+
+    @Override
+    public Set<String> keys()
+    {
+        Set<String> keys = new HashSet<>(this.outer.keys());
+        keys.addAll(this.metadata.keySet());
+        return keys;
+    }
+
+    @Override
+    public Optional<Object> get(String key)
+    {
+        if (this.metadata.containsKey(key))
+            return Optional.ofNullable(this.metadata.get(key));
+        return this.outer.get(key);
+    }
+
+    @Override
+    public <T> Optional<T> get(String key, Class<T> type)
+    {
+        return this.get(key).map(type::cast);
+    }
+}
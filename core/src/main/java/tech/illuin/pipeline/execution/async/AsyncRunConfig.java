@@ -0,0 +1,27 @@
+package tech.illuin.pipeline.execution.async;
+
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * @param maxInFlight the maximum number of asynchronous runs being executed at the same time
+ * @param queueCapacity the maximum number of runs waiting for a slot, only relevant with the {@link RejectionPolicy#QUEUE} policy
+ * @param rejectionPolicy the behaviour to adopt when the maximum number of in-flight runs is reached
+ * @param executorProvider a provider for the executor performing asynchronous runs, only called upon the first submitted run
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public record AsyncRunConfig(
+    int maxInFlight,
+    int queueCapacity,
+    RejectionPolicy rejectionPolicy,
+    Supplier<ExecutorService> executorProvider
+) {
+    public AsyncRunConfig
+    {
+        if (maxInFlight < 1)
+            throw new IllegalArgumentException("The maximum number of in-flight runs has to be strictly positive");
+        if (queueCapacity < 0)
+            throw new IllegalArgumentException("The run queue capacity cannot be negative");
+    }
+}
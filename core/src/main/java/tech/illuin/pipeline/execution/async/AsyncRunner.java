@@ -0,0 +1,203 @@
+package tech.illuin.pipeline.execution.async;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.context.Context;
+import tech.illuin.pipeline.metering.PipelineAsyncMetrics;
+import tech.illuin.pipeline.metering.TracingFunctions;
+import tech.illuin.pipeline.metering.manager.ObservabilityLevel;
+import tech.illuin.pipeline.metering.manager.ObservabilityManager;
+import tech.illuin.pipeline.output.Output;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Performs asynchronous runs of a {@link Pipeline} on a dedicated executor, while keeping the number of in-flight runs under a configured limit.
+ * Runs submitted beyond that limit are handled according to the configured {@link RejectionPolicy}, queued runs are started in submission order as slots are released.
+ * The MDC and current span of the submitting thread are carried over to the thread performing the run.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public final class AsyncRunner<I> implements AutoCloseable
+{
+    private final Pipeline<I> pipeline;
+    private final AsyncRunConfig config;
+    private final int closeTimeout;
+    private final ObservabilityManager observabilityManager;
+    private final PipelineAsyncMetrics metrics;
+    private final Deque<PendingRun<I>> queue;
+    private ExecutorService executor;
+    private int inFlight;
+    private boolean closed;
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncRunner.class);
+
+    public AsyncRunner(Pipeline<I> pipeline, AsyncRunConfig config, int closeTimeout, ObservabilityManager observabilityManager)
+    {
+        this.pipeline = pipeline;
+        this.config = config;
+        this.closeTimeout = closeTimeout;
+        this.observabilityManager = observabilityManager;
+        this.queue = new ArrayDeque<>();
+        this.metrics = new PipelineAsyncMetrics(observabilityManager.meterRegistry(), pipeline.id(), this);
+    }
+
+    public CompletableFuture<Output> submit(I input, Context context)
+    {
+        /* The submitter's MDC and span are only carried over when tracing is enabled */
+        boolean traced = this.observabilityManager.level() != ObservabilityLevel.METRICS_ONLY;
+        PendingRun<I> run = new PendingRun<>(
+            input,
+            context,
+            new CompletableFuture<>(),
+            traced ? MDC.getCopyOfContextMap() : null,
+            traced ? this.observabilityManager.tracer().currentSpan() : Span.NOOP,
+            System.nanoTime()
+        );
+
+        boolean runsOnCaller = false;
+        synchronized (this)
+        {
+            if (this.closed)
+                this.reject(run, "the pipeline is closed");
+            else if (this.inFlight < this.config.maxInFlight())
+            {
+                this.inFlight++;
+                this.launch(run);
+            }
+            else if (this.config.rejectionPolicy() == RejectionPolicy.QUEUE && this.queue.size() < this.config.queueCapacity())
+                this.queue.add(run);
+            else if (this.config.rejectionPolicy() == RejectionPolicy.CALLER_RUNS)
+                runsOnCaller = true;
+            else
+                this.reject(run, "the maximum of " + this.config.maxInFlight() + " in-flight runs has been reached");
+        }
+
+        /* The caller-runs fallback happens outside the lock, as it blocks the submitting thread for the whole run */
+        if (runsOnCaller)
+            this.execute(run);
+
+        return run.future();
+    }
+
+    public synchronized int inFlight()
+    {
+        return this.inFlight;
+    }
+
+    public synchronized int queueSize()
+    {
+        return this.queue.size();
+    }
+
+    /* Expects the lock to be held */
+    private void launch(PendingRun<I> run)
+    {
+        if (this.executor == null)
+            this.executor = this.config.executorProvider().get();
+        try {
+            this.executor.execute(() -> this.executeAndRelease(run));
+        }
+        catch (RejectedExecutionException e) {
+            this.inFlight--;
+            this.reject(run, "the executor refused the run (" + e.getMessage() + ")");
+        }
+    }
+
+    /* Expects the lock to be held */
+    private void reject(PendingRun<I> run, String reason)
+    {
+        this.metrics.rejectedCounter().increment();
+        logger.debug("{}: rejecting asynchronous run, {}", this.pipeline.id(), reason);
+        run.future().completeExceptionally(new RunRejectedException(run.context(), "Asynchronous run rejected: " + reason));
+    }
+
+    private void executeAndRelease(PendingRun<I> run)
+    {
+        try {
+            this.execute(run);
+        }
+        finally {
+            this.release();
+        }
+    }
+
+    @SuppressWarnings("IllegalCatch")
+    private void execute(PendingRun<I> run)
+    {
+        this.metrics.waitTimer().record(System.nanoTime() - run.submittedAt(), TimeUnit.NANOSECONDS);
+        Map<String, String> previousMdc = run.mdc() != null ? MDC.getCopyOfContextMap() : null;
+        if (run.mdc() != null)
+            MDC.setContextMap(run.mdc());
+        try (Tracer.SpanInScope scope = TracingFunctions.inScope(this.observabilityManager, run.span()))
+        {
+            run.future().complete(this.pipeline.run(run.input(), run.context()));
+        }
+        /* Errors are caught as well, otherwise the run's future would never complete */
+        catch (Throwable e) {
+            run.future().completeExceptionally(e);
+        }
+        finally {
+            if (previousMdc != null)
+                MDC.setContextMap(previousMdc);
+            else if (run.mdc() != null)
+                MDC.clear();
+        }
+    }
+
+    private synchronized void release()
+    {
+        PendingRun<I> next = this.queue.poll();
+        if (next == null)
+            this.inFlight--;
+        else
+            this.launch(next);
+    }
+
+    @Override
+    public void close() throws Exception
+    {
+        ExecutorService executor;
+        List<PendingRun<I>> pending;
+        synchronized (this)
+        {
+            if (this.closed)
+                return;
+            this.closed = true;
+            executor = this.executor;
+            pending = new ArrayList<>(this.queue);
+            this.queue.clear();
+            pending.forEach(run -> this.reject(run, "the pipeline is closing"));
+        }
+
+        if (executor == null)
+            return;
+
+        executor.shutdown();
+        boolean success = executor.awaitTermination(this.closeTimeout, TimeUnit.SECONDS);
+        var status = success ? "done" : "timeout after " + this.closeTimeout + " seconds";
+
+        logger.info("{} async runner closed (executor termination status: {})", this.pipeline.id(), status);
+    }
+
+    private record PendingRun<I>(
+        I input,
+        Context context,
+        CompletableFuture<Output> future,
+        Map<String, String> mdc,
+        Span span,
+        long submittedAt
+    ) {}
+}
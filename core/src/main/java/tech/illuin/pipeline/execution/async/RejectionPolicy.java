@@ -0,0 +1,16 @@
+package tech.illuin.pipeline.execution.async;
+
+/**
+ * Determines what happens to an asynchronous run submitted while the maximum number of in-flight runs is already reached.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public enum RejectionPolicy
+{
+    /** The run waits in a bounded queue until a slot is released, it is rejected if the queue is full */
+    QUEUE,
+    /** The run is rejected right away */
+    REJECT,
+    /** The run is performed synchronously by the submitting thread, which naturally slows down the producer */
+    CALLER_RUNS,
+}
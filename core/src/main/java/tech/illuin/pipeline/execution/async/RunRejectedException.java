@@ -0,0 +1,17 @@
+package tech.illuin.pipeline.execution.async;
+
+import tech.illuin.pipeline.PipelineException;
+import tech.illuin.pipeline.context.Context;
+
+/**
+ * Signals that an asynchronous run could not be accepted, either because the pipeline is saturated or because it is closing down.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class RunRejectedException extends PipelineException
+{
+    public RunRejectedException(Context context, String message)
+    {
+        super(null, context, message, null);
+    }
+}
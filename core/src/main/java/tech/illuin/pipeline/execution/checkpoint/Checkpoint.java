@@ -0,0 +1,18 @@
+package tech.illuin.pipeline.execution.checkpoint;
+
+import tech.illuin.pipeline.output.Output;
+
+import java.util.BitSet;
+
+/**
+ * The state of a run at a given point: the output as it was after the initialization phase or after a step, the positions of the steps that were completed and those of the discarded arguments.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public record Checkpoint(
+    String runUid,
+    Object input,
+    BitSet completedSteps,
+    BitSet discarded,
+    Output output
+) {}
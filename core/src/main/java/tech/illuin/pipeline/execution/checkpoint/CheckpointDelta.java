@@ -0,0 +1,18 @@
+package tech.illuin.pipeline.execution.checkpoint;
+
+import tech.illuin.pipeline.step.result.ResultContainer;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The progress of a run since its previous checkpoint: the results registered by the steps completed in between, along with the positions of all completed steps and discarded arguments.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public record CheckpointDelta(
+    String runUid,
+    BitSet completedSteps,
+    BitSet discarded,
+    List<ResultContainer.Entry> results
+) {}
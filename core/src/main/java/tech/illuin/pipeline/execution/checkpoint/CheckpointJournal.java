@@ -0,0 +1,35 @@
+package tech.illuin.pipeline.execution.checkpoint;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * A durable record of the checkpoints of in-progress runs, used by {@link tech.illuin.pipeline.Pipeline#resume(String)} for restarting a run that failed or whose process was lost.
+ * A run's journal starts with a full checkpoint recorded after its initialization, then each completed step only appends a {@link CheckpointDelta} with the results it registered.
+ * Checkpoints of a given run are always appended from a single thread, checkpoints of different runs can be appended concurrently.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public interface CheckpointJournal
+{
+    /**
+     * Records the full state of a run, which supersedes its previous checkpoints.
+     */
+    void append(Checkpoint checkpoint) throws IOException;
+
+    /**
+     * Records the progress of a run since its previous checkpoint.
+     */
+    void append(CheckpointDelta delta) throws IOException;
+
+    /**
+     * @param runUid the uid of the run, as found in its {@link tech.illuin.pipeline.output.PipelineTag}
+     * @return the state of the run as of its last checkpoint, i.e. its last full checkpoint with the subsequent deltas applied, if the run has not completed since
+     */
+    Optional<Checkpoint> last(String runUid) throws IOException;
+
+    /**
+     * Signals that the run completed, its checkpoints can be dropped.
+     */
+    void complete(String runUid) throws IOException;
+}
@@ -0,0 +1,119 @@
+package tech.illuin.pipeline.execution.checkpoint;
+
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.step.result.ResultContainer;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The checkpointing state of a single run, through which phases record their progress and find out what a resumed run has already completed.
+ * The output is recorded in full once initialized, completed steps then only record the results registered since the previous checkpoint.
+ * When checkpointing is disabled all recording methods are no-ops and nothing is considered completed.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public final class Checkpointer
+{
+    private final CheckpointJournal journal;
+    private final String runUid;
+    private final Object input;
+    private final BitSet completedSteps;
+    private final BitSet discarded;
+    /* The sequence number of the last result recorded in the journal */
+    private long recordedSequence;
+
+    public static final Checkpointer DISABLED = new Checkpointer(null, null, null, new BitSet(), new BitSet(), 0);
+
+    private Checkpointer(CheckpointJournal journal, String runUid, Object input, BitSet completedSteps, BitSet discarded, long recordedSequence)
+    {
+        this.journal = journal;
+        this.runUid = runUid;
+        this.input = input;
+        this.completedSteps = completedSteps;
+        this.discarded = discarded;
+        this.recordedSequence = recordedSequence;
+    }
+
+    /**
+     * @param journal the journal to record checkpoints in, or null if checkpointing is disabled
+     */
+    public static Checkpointer of(CheckpointJournal journal, String runUid, Object input)
+    {
+        if (journal == null)
+            return DISABLED;
+        return new Checkpointer(journal, runUid, input, new BitSet(), new BitSet(), 0);
+    }
+
+    public static Checkpointer resume(CheckpointJournal journal, Checkpoint checkpoint)
+    {
+        return new Checkpointer(
+            journal,
+            checkpoint.runUid(),
+            checkpoint.input(),
+            (BitSet) checkpoint.completedSteps().clone(),
+            (BitSet) checkpoint.discarded().clone(),
+            lastSequence(checkpoint.output().results())
+        );
+    }
+
+    public boolean isEnabled()
+    {
+        return this.journal != null;
+    }
+
+    public synchronized boolean isCompleted(int step)
+    {
+        return this.completedSteps.get(step);
+    }
+
+    /**
+     * @return the positions of the arguments discarded by the completed steps
+     */
+    public synchronized BitSet discarded()
+    {
+        return (BitSet) this.discarded.clone();
+    }
+
+    /**
+     * Records the whole output, as it was initialized.
+     */
+    public synchronized void initialized(Output output) throws IOException
+    {
+        if (this.journal == null)
+            return;
+
+        this.journal.append(new Checkpoint(this.runUid, this.input, (BitSet) this.completedSteps.clone(), (BitSet) this.discarded.clone(), output));
+        this.recordedSequence = lastSequence(output.results());
+    }
+
+    /**
+     * Records the steps of positions {@code from} (inclusive) to {@code to} (exclusive) as completed, along with the results registered in the output since the previous checkpoint.
+     */
+    public synchronized void stepsCompleted(int from, int to, Output output, BitSet discarded) throws IOException
+    {
+        if (this.journal == null)
+            return;
+
+        this.completedSteps.set(from, to);
+        this.discarded.clear();
+        this.discarded.or(discarded);
+        List<ResultContainer.Entry> results = output.results().currentEntries(this.recordedSequence).toList();
+        this.journal.append(new CheckpointDelta(this.runUid, (BitSet) this.completedSteps.clone(), (BitSet) this.discarded.clone(), results));
+        if (!results.isEmpty())
+            this.recordedSequence = results.get(results.size() - 1).descriptor().sequence();
+    }
+
+    public void complete() throws IOException
+    {
+        if (this.journal == null)
+            return;
+        this.journal.complete(this.runUid);
+    }
+
+    private static long lastSequence(ResultContainer results)
+    {
+        return results.currentEntries().mapToLong(entry -> entry.descriptor().sequence()).max().orElse(0);
+    }
+}
@@ -0,0 +1,224 @@
+package tech.illuin.pipeline.execution.checkpoint;
+
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.output.codec.OutputCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * A {@link CheckpointJournal} keeping an append-only file per run in a local directory, the file is deleted once the run completes.
+ * Each checkpoint is written as a length-prefixed and checksummed record and synced to the disk before the run goes on, so that a checkpoint survives the loss of the process right after it.
+ * Only the full checkpoint recorded after the initialization holds the run's input and output, subsequent records only hold the results registered by completed steps and are replayed over it when reading.
+ * Files are memory-mapped when read; a truncated record left by an interrupted write is ignored and cut off from the file, so that subsequent checkpoints of a resumed run can be appended.
+ * Outputs and run inputs are encoded with the provided {@link OutputCodec}: their types (along with the types of indexed objects and results) have to be registered in its registry.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class FileCheckpointJournal implements CheckpointJournal
+{
+    private final Path directory;
+    private final OutputCodec codec;
+
+    private static final String EXTENSION = ".checkpoints";
+    private static final Pattern FILE_NAME_SAFE = Pattern.compile("[A-Za-z0-9._-]+");
+    private static final byte RECORD_FULL = 0;
+    private static final byte RECORD_DELTA = 1;
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES * 2;
+
+    public FileCheckpointJournal(Path directory, OutputCodec codec)
+    {
+        this.directory = directory;
+        this.codec = codec;
+    }
+
+    @Override
+    public void append(Checkpoint checkpoint) throws IOException
+    {
+        this.write(checkpoint.runUid(), this.encode(checkpoint));
+    }
+
+    @Override
+    public void append(CheckpointDelta delta) throws IOException
+    {
+        this.write(delta.runUid(), this.encode(delta));
+    }
+
+    private void write(String runUid, byte[] body) throws IOException
+    {
+        Path file = this.file(runUid);
+        Files.createDirectories(this.directory);
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + body.length)
+            .putInt(body.length)
+            .putInt((int) crc.getValue())
+            .put(body)
+            .flip()
+        ;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public Optional<Checkpoint> last(String runUid) throws IOException
+    {
+        Path file = this.file(runUid);
+        if (!Files.exists(file))
+            return Optional.empty();
+
+        /* Only the last full record and the deltas following it are kept */
+        byte[] full = null;
+        List<byte[]> deltas = new ArrayList<>();
+        long valid = 0;
+        long size;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            size = channel.size();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            while (buffer.remaining() >= RECORD_HEADER_SIZE)
+            {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length < 1 || length > buffer.remaining())
+                    break;
+
+                byte[] body = new byte[length];
+                buffer.get(body);
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                if ((int) crc.getValue() != checksum)
+                    break;
+
+                if (body[0] == RECORD_FULL)
+                {
+                    full = body;
+                    deltas.clear();
+                }
+                else
+                    deltas.add(body);
+                valid = buffer.position();
+            }
+        }
+
+        if (valid < size)
+        {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+            }
+        }
+        if (full == null && deltas.isEmpty())
+            return Optional.empty();
+        if (full == null)
+            throw new IOException("The checkpoints of run " + runUid + " do not include the run's initial state");
+
+        return Optional.of(this.decode(runUid, full, deltas));
+    }
+
+    @Override
+    public void complete(String runUid) throws IOException
+    {
+        Files.deleteIfExists(this.file(runUid));
+    }
+
+    private byte[] encode(Checkpoint checkpoint) throws IOException
+    {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeByte(RECORD_FULL);
+        writeBytes(out, this.codec.encodeValue(checkpoint.input()));
+        writeBitSet(out, checkpoint.completedSteps());
+        writeBitSet(out, checkpoint.discarded());
+        writeBytes(out, this.codec.encode(checkpoint.output()));
+        out.flush();
+        return stream.toByteArray();
+    }
+
+    private byte[] encode(CheckpointDelta delta) throws IOException
+    {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeByte(RECORD_DELTA);
+        writeBitSet(out, delta.completedSteps());
+        writeBitSet(out, delta.discarded());
+        writeBytes(out, this.codec.encodeResults(delta.results()));
+        out.flush();
+        return stream.toByteArray();
+    }
+
+    private Checkpoint decode(String runUid, byte[] full, List<byte[]> deltas) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(full, 1, full.length - 1);
+        Object input = this.codec.decodeValue(readBytes(buffer));
+        BitSet completedSteps = readBitSet(buffer);
+        BitSet discarded = readBitSet(buffer);
+        Output output = this.codec.decode(readBytes(buffer));
+
+        for (byte[] delta : deltas)
+        {
+            ByteBuffer deltaBuffer = ByteBuffer.wrap(delta, 1, delta.length - 1);
+            completedSteps = readBitSet(deltaBuffer);
+            discarded = readBitSet(deltaBuffer);
+            this.codec.decodeResults(readBytes(deltaBuffer), (uid, descriptor, current) -> output.results().register(uid, descriptor));
+        }
+
+        return new Checkpoint(runUid, input, completedSteps, discarded, output);
+    }
+
+    private Path file(String runUid)
+    {
+        /* Uids that are not safe to use as a file name are encoded, the prefix is outside the safe alphabet so that both forms cannot collide */
+        String name = FILE_NAME_SAFE.matcher(runUid).matches()
+            ? runUid
+            : "~" + Base64.getUrlEncoder().withoutPadding().encodeToString(runUid.getBytes(StandardCharsets.UTF_8))
+        ;
+        return this.directory.resolve(name + EXTENSION);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException
+    {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer)
+    {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static void writeBitSet(DataOutputStream out, BitSet bits) throws IOException
+    {
+        long[] words = bits.toLongArray();
+        out.writeInt(words.length);
+        for (long word : words)
+            out.writeLong(word);
+    }
+
+    private static BitSet readBitSet(ByteBuffer buffer)
+    {
+        long[] words = new long[buffer.getInt()];
+        for (int i = 0 ; i < words.length ; ++i)
+            words[i] = buffer.getLong();
+        return BitSet.valueOf(words);
+    }
+}
@@ -1,5 +1,8 @@
 package tech.illuin.pipeline.execution.phase;
 
+import tech.illuin.pipeline.execution.checkpoint.Checkpointer;
+import tech.illuin.pipeline.input.uid_generator.KSUIDGenerator;
+import tech.illuin.pipeline.input.uid_generator.UIDGenerator;
 import tech.illuin.pipeline.output.Output;
 import tech.illuin.pipeline.output.PipelineTag;
 
@@ -7,12 +10,33 @@ public class IO<I>
 {
     private final PipelineTag tag;
     private final I input;
+    private final boolean traced;
+    private final UIDGenerator uidGenerator;
+    private final Checkpointer checkpointer;
     private Output output;
 
     public IO(PipelineTag tag, I input)
+    {
+        this(tag, input, true);
+    }
+
+    public IO(PipelineTag tag, I input, boolean traced)
+    {
+        this(tag, input, traced, KSUIDGenerator.INSTANCE);
+    }
+
+    public IO(PipelineTag tag, I input, boolean traced, UIDGenerator uidGenerator)
+    {
+        this(tag, input, traced, uidGenerator, Checkpointer.DISABLED);
+    }
+
+    public IO(PipelineTag tag, I input, boolean traced, UIDGenerator uidGenerator, Checkpointer checkpointer)
     {
         this.tag = tag;
         this.input = input;
+        this.traced = traced;
+        this.uidGenerator = uidGenerator;
+        this.checkpointer = checkpointer;
     }
 
     public PipelineTag tag()
@@ -25,6 +49,30 @@ public class IO<I>
         return this.input;
     }
 
+    /**
+     * Whether the run is traced, as determined by the {@link tech.illuin.pipeline.metering.manager.ObservabilityLevel}; phases are expected to skip spans and MDC markers for untraced runs.
+     */
+    public boolean isTraced()
+    {
+        return this.traced;
+    }
+
+    /**
+     * The generator for the uids of the run's component tags and result descriptors, see {@link UIDGenerator#forRun(String)}.
+     */
+    public UIDGenerator uidGenerator()
+    {
+        return this.uidGenerator;
+    }
+
+    /**
+     * The checkpointing state of the run, phases are expected to record their progress through it and to skip what a resumed run has already completed.
+     */
+    public Checkpointer checkpointer()
+    {
+        return this.checkpointer;
+    }
+
     public Output output()
     {
         return this.output;
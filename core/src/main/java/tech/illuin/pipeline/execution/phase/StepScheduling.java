@@ -0,0 +1,12 @@
+package tech.illuin.pipeline.execution.phase;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public enum StepScheduling
+{
+    /* Steps are run one after the other in declaration order */
+    SEQUENTIAL,
+    /* Steps are run as soon as the steps they depend on are done, independent steps being run concurrently */
+    DEPENDENCY_GRAPH,
+}
@@ -0,0 +1,110 @@
+package tech.illuin.pipeline.execution.phase.impl;
+
+import tech.illuin.pipeline.input.indexer.IndexContainer;
+import tech.illuin.pipeline.input.indexer.Indexable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Pool of the indexed items a step phase can run its steps over, addressed by their position in the {@link IndexContainer}.
+ * Discarded items are tracked in a bitset so that discarding is O(1) (O(n/64) for a whole-index discard) and selecting the arguments of a step does not require any hashing.
+ * The pool is not thread-safe, it is expected to be read and updated from the phase thread only.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public final class ArgumentPool
+{
+    private final IndexContainer index;
+    private final BitSet discarded;
+
+    public ArgumentPool(IndexContainer index)
+    {
+        this(index, new BitSet());
+    }
+
+    /**
+     * @param discarded the positions of items that were already discarded, e.g. by the steps of a run before it was checkpointed
+     */
+    public ArgumentPool(IndexContainer index, BitSet discarded)
+    {
+        this.index = index;
+        this.discarded = discarded;
+    }
+
+    /**
+     * @see #select(boolean, Class, Predicate)
+     */
+    public Selection select(boolean includeDiscarded, Predicate<Indexable> predicate)
+    {
+        return this.select(includeDiscarded, Indexable.class, predicate);
+    }
+
+    /**
+     * Selects the arguments of a step, in index order.
+     * Only the index partitions matching the provided type are iterated over.
+     *
+     * @param includeDiscarded whether discarded items are eligible (e.g. for pinned steps)
+     * @param type the type of items the step accepts
+     * @param predicate the step's execution predicate
+     * @return the selected items along with their positions
+     */
+    public Selection select(boolean includeDiscarded, Class<? extends Indexable> type, Predicate<Indexable> predicate)
+    {
+        List<IndexContainer.Entry<?>> entries = this.index.entries(type);
+
+        List<Indexable> arguments = new ArrayList<>();
+        int[] positions = new int[entries.size()];
+        int size = 0;
+        for (IndexContainer.Entry<?> entry : entries)
+        {
+            if (!includeDiscarded && this.discarded.get(entry.position()))
+                continue;
+            if (predicate.test(entry.data()))
+            {
+                arguments.add(entry.data());
+                positions[size++] = entry.position();
+            }
+        }
+        return new Selection(arguments, Arrays.copyOf(positions, size));
+    }
+
+    public void discard(int position)
+    {
+        this.discarded.set(position);
+    }
+
+    /**
+     * Discards all the items that are currently indexed, items indexed afterward remain eligible.
+     */
+    public void discardAll()
+    {
+        this.discarded.set(0, this.index.size());
+    }
+
+    public boolean isDiscarded(int position)
+    {
+        return this.discarded.get(position);
+    }
+
+    /**
+     * @return the positions of discarded items, the returned bitset is the pool's own and must not be modified
+     */
+    public BitSet discarded()
+    {
+        return this.discarded;
+    }
+
+    public int size()
+    {
+        return this.index.size();
+    }
+
+    public record Selection(
+        List<Indexable> arguments,
+        int[] positions
+    ) {}
+}
@@ -15,6 +15,8 @@ import tech.illuin.pipeline.input.initializer.builder.InitializerDescriptor;
 import tech.illuin.pipeline.input.initializer.metering.InitializationMarkerManager;
 import tech.illuin.pipeline.input.initializer.metering.InitializationMetrics;
 import tech.illuin.pipeline.input.uid_generator.UIDGenerator;
+import tech.illuin.pipeline.metering.MeterCache;
+import tech.illuin.pipeline.metering.TracingFunctions;
 import tech.illuin.pipeline.metering.manager.ObservabilityManager;
 import tech.illuin.pipeline.metering.tag.MetricTags;
 import tech.illuin.pipeline.metering.tag.TagResolver;
@@ -35,6 +37,7 @@ public class InitializerPhase<I> implements PipelinePhase<I>
     private final OutputFactory<I> outputFactory;
     private final UIDGenerator uidGenerator;
     private final ObservabilityManager observabilityManager;
+    private final MeterCache meterCache;
 
     private static final Logger logger = LoggerFactory.getLogger(InitializerPhase.class);
 
@@ -44,7 +47,8 @@ public class InitializerPhase<I> implements PipelinePhase<I>
         List<Indexer<?>> indexers,
         OutputFactory<I> outputFactory,
         UIDGenerator uidGenerator,
-        ObservabilityManager observabilityManager
+        ObservabilityManager observabilityManager,
+        MeterCache meterCache
     ) {
         this.initializer = initializer;
         this.tagResolver = tagResolver;
@@ -52,6 +56,7 @@ public class InitializerPhase<I> implements PipelinePhase<I>
         this.outputFactory = outputFactory;
         this.uidGenerator = uidGenerator;
         this.observabilityManager = observabilityManager;
+        this.meterCache = meterCache;
     }
 
     @Override
@@ -60,32 +65,38 @@ public class InitializerPhase<I> implements PipelinePhase<I>
     {
         if (context == null)
             throw new IllegalArgumentException("Runtime context cannot be null");
+        /* A run resumed from a checkpoint comes with its output already initialized */
+        if (io.output() != null)
+            return PipelineStrategy.CONTINUE;
 
-        ComponentTag tag = this.createTag(io.tag(), this.initializer);
+        ComponentTag tag = this.createTag(io.uidGenerator(), io.tag(), this.initializer);
         MetricTags metricTags = new MetricTags();
         this.tagResolver.resolve(metricTags, io.input(), context);
         InitializationMarkerManager markerManager = new InitializationMarkerManager(tag, metricTags);
-        InitializationMetrics metrics = new InitializationMetrics(this.observabilityManager.meterRegistry(), markerManager);
+        InitializationMetrics metrics = this.meterCache.initializationMetrics(markerManager);
         LocalContext localContext = new ComponentContext(context, io.input(), tag, this.uidGenerator, this.observabilityManager, markerManager);
 
         long start = System.nanoTime();
-        metrics.setMDC();
-        Span span = this.observabilityManager.tracer().nextSpan().name("initialization_phase");
-        try (Tracer.SpanInScope scope = this.observabilityManager.tracer().withSpan(span.start()))
+        if (io.isTraced())
+            metrics.setMDC();
+        Span span = TracingFunctions.nextSpan(this.observabilityManager, io.isTraced(), "initialization_phase");
+        try (Tracer.SpanInScope scope = TracingFunctions.start(this.observabilityManager, span))
         {
             span.tag("uid", tag.pipelineTag().uid());
 
-            Object payload = this.runInitializer(io.input(), tag, localContext, metrics);
-            Output output = this.runOutputFactory(io.input(), io.tag(), payload, localContext);
-            this.runIndexers(io.tag(), payload, output);
+            Object payload = this.runInitializer(io, tag, localContext, metrics);
+            Output output = this.runOutputFactory(io, payload, localContext);
+            this.runIndexers(io, payload, output);
 
             metrics.successCounter().increment();
             io.setOutput(output);
+            io.checkpointer().initialized(output);
 
             return PipelineStrategy.CONTINUE;
         }
         catch (Exception e) {
-            metrics.setMDC(e);
+            if (io.isTraced())
+                metrics.setMDC(e);
             span.event("initialization:error");
             metrics.failureCounter().increment();
             metrics.errorCounter(e).increment();
@@ -94,28 +105,31 @@ public class InitializerPhase<I> implements PipelinePhase<I>
         finally {
             metrics.runTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             metrics.totalCounter().increment();
-            metrics.unsetMDC();
+            if (io.isTraced())
+                metrics.unsetMDC();
             span.end();
         }
     }
 
     @SuppressWarnings("IllegalCatch")
-    private Object runInitializer(I input, ComponentTag tag, LocalContext context, InitializationMetrics metrics) throws Exception
+    private Object runInitializer(IO<I> io, ComponentTag tag, LocalContext context, InitializationMetrics metrics) throws Exception
     {
-        Span span = this.observabilityManager.tracer().nextSpan().name(tag.id());
-        try (Tracer.SpanInScope scope = this.observabilityManager.tracer().withSpan(span.start()))
+        Span span = TracingFunctions.nextSpan(this.observabilityManager, io.isTraced(), tag.id());
+        try (Tracer.SpanInScope scope = TracingFunctions.start(this.observabilityManager, span))
         {
             span.tag("uid", tag.uid());
 
             span.event("initializer:run");
             logger.trace("{}#{} initializing payload", tag.pipelineTag().pipeline(), tag.pipelineTag().uid());
-            Object payload = this.initializer.execute(input, context, this.uidGenerator);
-            span.tag("payload_type", payload == null ? "null" : payload.getClass().getName());
+            Object payload = this.initializer.execute(io.input(), context, this.uidGenerator);
+            if (io.isTraced())
+                span.tag("payload_type", payload == null ? "null" : payload.getClass().getName());
 
             return payload;
         }
         catch (Exception e) {
-            metrics.setMDC(e);
+            if (io.isTraced())
+                metrics.setMDC(e);
             span.event("initializer:error");
             logger.error("{}#{} initializer {} threw an {}: {}", tag.pipelineTag().pipeline(), tag.pipelineTag().uid(), tag.id(), e.getClass().getName(), e.getMessage());
             return this.initializer.handleException(e, context, this.uidGenerator);
@@ -125,14 +139,15 @@ public class InitializerPhase<I> implements PipelinePhase<I>
         }
     }
 
-    private Output runOutputFactory(I input, PipelineTag tag, Object payload, LocalContext context)
+    private Output runOutputFactory(IO<I> io, Object payload, LocalContext context)
     {
-        Span span = this.observabilityManager.tracer().nextSpan().name("output_factory");
-        try (Tracer.SpanInScope scope = this.observabilityManager.tracer().withSpan(span.start()))
+        Span span = TracingFunctions.nextSpan(this.observabilityManager, io.isTraced(), "output_factory");
+        try (Tracer.SpanInScope scope = TracingFunctions.start(this.observabilityManager, span))
         {
             span.event("output_factory:run");
-            Output output = this.outputFactory.create(tag, input, payload, context);
-            span.tag("output_type", output == null ? "null" : output.getClass().getName());
+            Output output = this.outputFactory.create(io.tag(), io.input(), payload, context);
+            if (io.isTraced())
+                span.tag("output_type", output == null ? "null" : output.getClass().getName());
 
             return output;
         }
@@ -141,16 +156,18 @@ public class InitializerPhase<I> implements PipelinePhase<I>
         }
     }
 
-    private void runIndexers(PipelineTag tag, Object payload, Output output)
+    private void runIndexers(IO<I> io, Object payload, Output output)
     {
-        Span span = this.observabilityManager.tracer().nextSpan().name("payload_indexers");
-        try (Tracer.SpanInScope scope = this.observabilityManager.tracer().withSpan(span.start()))
+        PipelineTag tag = io.tag();
+        Span span = TracingFunctions.nextSpan(this.observabilityManager, io.isTraced(), "payload_indexers");
+        try (Tracer.SpanInScope scope = TracingFunctions.start(this.observabilityManager, span))
         {
             for (Indexer<?> indexer : this.indexers)
             {
                 @SuppressWarnings("unchecked")
                 Indexer<Object> objectIndexer = (Indexer<Object>) indexer;
-                span.event("indexer:run:" + indexer.getClass().getName());
+                if (io.isTraced())
+                    span.event("indexer:run:" + indexer.getClass().getName());
                 logger.trace("{}#{} launching indexer {}", tag.pipeline(), tag.uid(), indexer.getClass().getName());
                 objectIndexer.index(payload, output.index());
             }
@@ -160,8 +177,8 @@ public class InitializerPhase<I> implements PipelinePhase<I>
         }
     }
 
-    private ComponentTag createTag(PipelineTag pipelineTag, InitializerDescriptor<?> initializer)
+    private ComponentTag createTag(UIDGenerator uidGenerator, PipelineTag pipelineTag, InitializerDescriptor<?> initializer)
     {
-        return new ComponentTag(this.uidGenerator.generate(), pipelineTag, initializer.id(), ComponentFamily.INITIALIZER);
+        return new ComponentTag(uidGenerator.generate(), pipelineTag, initializer.id(), ComponentFamily.INITIALIZER);
     }
 }
@@ -12,6 +12,8 @@ import tech.illuin.pipeline.execution.phase.IO;
 import tech.illuin.pipeline.execution.phase.PipelinePhase;
 import tech.illuin.pipeline.execution.phase.PipelineStrategy;
 import tech.illuin.pipeline.input.uid_generator.UIDGenerator;
+import tech.illuin.pipeline.metering.MeterCache;
+import tech.illuin.pipeline.metering.TracingFunctions;
 import tech.illuin.pipeline.metering.manager.ObservabilityManager;
 import tech.illuin.pipeline.metering.tag.MetricTags;
 import tech.illuin.pipeline.output.ComponentFamily;
@@ -40,6 +42,7 @@ public class SinkPhase<I> implements PipelinePhase<I>
     private final int closeTimeout;
     private final UIDGenerator uidGenerator;
     private final ObservabilityManager observabilityManager;
+    private final MeterCache meterCache;
 
     private static final Logger logger = LoggerFactory.getLogger(SinkPhase.class);
 
@@ -49,7 +52,8 @@ public class SinkPhase<I> implements PipelinePhase<I>
         Supplier<ExecutorService> sinkExecutorProvider,
         int closeTimeout,
         UIDGenerator uidGenerator,
-        ObservabilityManager observabilityManager
+        ObservabilityManager observabilityManager,
+        MeterCache meterCache
     ) {
         this.pipelineId = pipelineId;
         this.sinks = sinks;
@@ -57,19 +61,20 @@ public class SinkPhase<I> implements PipelinePhase<I>
         this.closeTimeout = closeTimeout;
         this.uidGenerator = uidGenerator;
         this.observabilityManager = observabilityManager;
+        this.meterCache = meterCache;
     }
 
     @Override
     public PipelineStrategy run(IO<I> io, Context context, MetricTags metricTags) throws Exception
     {
-        Span span = this.observabilityManager.tracer().nextSpan().name("sink_phase");
-        try (Tracer.SpanInScope scope = this.observabilityManager.tracer().withSpan(span.start()))
+        Span span = TracingFunctions.nextSpan(this.observabilityManager, io.isTraced(), "sink_phase");
+        try (Tracer.SpanInScope scope = TracingFunctions.start(this.observabilityManager, span))
         {
             for (SinkDescriptor descriptor : this.sinks)
             {
-                ComponentTag tag = this.createTag(io.output().tag(), descriptor);
+                ComponentTag tag = this.createTag(io.uidGenerator(), io.output().tag(), descriptor);
                 SinkMarkerManager markerManager = new SinkMarkerManager(tag, metricTags);
-                SinkMetrics metrics = new SinkMetrics(this.observabilityManager.meterRegistry(), markerManager);
+                SinkMetrics metrics = this.meterCache.sinkMetrics(markerManager);
                 LocalContext localContext = new ComponentContext(context, io.input(), tag, this.uidGenerator, this.observabilityManager, markerManager);
 
                 if (descriptor.isAsync())
@@ -89,9 +94,10 @@ public class SinkPhase<I> implements PipelinePhase<I>
     private void runSinkSynchronously(SinkDescriptor sink, ComponentTag tag, IO<I> io, LocalContext context, SinkMetrics metrics) throws Exception
     {
         long start = System.nanoTime();
-        metrics.setMDC();
-        Span span = this.observabilityManager.tracer().nextSpan().name(tag.id());
-        try (Tracer.SpanInScope scope = this.observabilityManager.tracer().withSpan(span.start()))
+        if (io.isTraced())
+            metrics.setMDC();
+        Span span = TracingFunctions.nextSpan(this.observabilityManager, io.isTraced(), tag.id());
+        try (Tracer.SpanInScope scope = TracingFunctions.start(this.observabilityManager, span))
         {
             span.tag("uid", tag.uid());
 
@@ -101,7 +107,8 @@ public class SinkPhase<I> implements PipelinePhase<I>
             metrics.successCounter().increment();
         }
         catch (Exception e) {
-            metrics.setMDC(e);
+            if (io.isTraced())
+                metrics.setMDC(e);
             span.event("sink:error");
             logger.error("{}#{} sink {} threw an {}: {}", tag.pipelineTag().pipeline(), tag.pipelineTag().uid(), tag.id(), e.getClass().getName(), e.getMessage());
             metrics.failureCounter().increment();
@@ -111,7 +118,8 @@ public class SinkPhase<I> implements PipelinePhase<I>
         finally {
             metrics.runTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             metrics.totalCounter().increment();
-            metrics.unsetMDC();
+            if (io.isTraced())
+                metrics.unsetMDC();
             span.end();
         }
     }
@@ -123,13 +131,16 @@ public class SinkPhase<I> implements PipelinePhase<I>
             throw new IllegalStateException("An asynchronous run has been initiated but there is no active executor");
 
         logger.trace("{}#{} queuing sink {}", tag.pipelineTag().pipeline(), tag.pipelineTag().uid(), tag.id());
-        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Map<String, String> mdc = io.isTraced() ? MDC.getCopyOfContextMap() : null;
         CompletableFuture.runAsync(() -> {
             long start = System.nanoTime();
-            MDC.setContextMap(mdc);
-            metrics.setMDC();
-            Span span = this.observabilityManager.tracer().nextSpan(phaseSpan).name(tag.id());
-            try (Tracer.SpanInScope scope = this.observabilityManager.tracer().withSpan(span.start()))
+            if (io.isTraced())
+            {
+                MDC.setContextMap(mdc);
+                metrics.setMDC();
+            }
+            Span span = TracingFunctions.nextSpan(this.observabilityManager, io.isTraced(), phaseSpan, tag.id());
+            try (Tracer.SpanInScope scope = TracingFunctions.start(this.observabilityManager, span))
             {
                 span.tag("uid", tag.uid());
 
@@ -139,7 +150,8 @@ public class SinkPhase<I> implements PipelinePhase<I>
                 metrics.successCounter().increment();
             }
             catch (Exception e) {
-                metrics.setMDC(e);
+                if (io.isTraced())
+                    metrics.setMDC(e);
                 span.event("sink:error");
                 logger.error("{}#{} sink {} threw an {}: {}", tag.pipelineTag().pipeline(), tag.pipelineTag().uid(), tag.id(), e.getClass().getName(), e.getMessage());
                 metrics.failureCounter().increment();
@@ -149,15 +161,16 @@ public class SinkPhase<I> implements PipelinePhase<I>
             finally {
                 metrics.runTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
                 metrics.totalCounter().increment();
-                metrics.unsetMDC();
+                if (io.isTraced())
+                    metrics.unsetMDC();
                 span.end();
             }
         }, this.sinkExecutor);
     }
 
-    private ComponentTag createTag(PipelineTag pipelineTag, SinkDescriptor sink)
+    private ComponentTag createTag(UIDGenerator uidGenerator, PipelineTag pipelineTag, SinkDescriptor sink)
     {
-        return new ComponentTag(this.uidGenerator.generate(), pipelineTag, sink.id(), ComponentFamily.SINK);
+        return new ComponentTag(uidGenerator.generate(), pipelineTag, sink.id(), ComponentFamily.SINK);
     }
 
     private ExecutorService initExecutor(Supplier<ExecutorService> provider)
@@ -167,8 +180,17 @@ public class SinkPhase<I> implements PipelinePhase<I>
         return null;
     }
 
+    /**
+     * Shuts down the sink executor, then closes the sinks registered to be closed along with the pipeline (e.g. a {@link tech.illuin.pipeline.sink.BatchingSink} flushing its buffer).
+     */
     @Override
     public void close() throws Exception
+    {
+        this.closeExecutor();
+        this.closeSinks();
+    }
+
+    private void closeExecutor() throws InterruptedException
     {
         if (this.sinkExecutor == null)
             return;
@@ -181,4 +203,20 @@ public class SinkPhase<I> implements PipelinePhase<I>
 
         logger.info("{} closed (executor termination status: {})", this.pipelineId, status);
     }
+
+    @SuppressWarnings("IllegalCatch")
+    private void closeSinks()
+    {
+        for (SinkDescriptor descriptor : this.sinks)
+        {
+            if (!descriptor.closeWithPipeline())
+                continue;
+            try {
+                ((AutoCloseable) descriptor.sink()).close();
+            }
+            catch (Exception e) {
+                logger.error("{} sink {} could not be closed: {}", this.pipelineId, descriptor.id(), e.getMessage());
+            }
+        }
+    }
 }
@@ -0,0 +1,64 @@
+package tech.illuin.pipeline.execution.phase.impl;
+
+import tech.illuin.pipeline.context.Context;
+import tech.illuin.pipeline.input.indexer.Indexable;
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.step.execution.fingerprint.StepFingerprinter;
+import tech.illuin.pipeline.step.result.MultiResult;
+import tech.illuin.pipeline.step.result.Result;
+import tech.illuin.pipeline.step.result.ResultContainer;
+import tech.illuin.pipeline.step.result.ResultDescriptor;
+
+import java.util.List;
+import java.util.Optional;
+
+import static tech.illuin.pipeline.step.result.ResultDescriptor.NO_FINGERPRINT;
+
+/**
+ * Fingerprints the arguments of incremental steps, and looks up the results a parent run produced for the same fingerprint.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+final class StepFingerprints
+{
+    private StepFingerprints() {}
+
+    /**
+     * Upstream results are only covered through the argument's current scope, results carried over from the parent are the same instances and fingerprint alike.
+     */
+    static long compute(StepFingerprinter fingerprinter, Indexable argument, ResultContainer results)
+    {
+        long hash = fingerprinter.fingerprint(argument, results.of(argument));
+        return hash == NO_FINGERPRINT ? 1 : hash;
+    }
+
+    /**
+     * A fingerprint match is only trusted if the parent run indexed an equal argument, which rules out collisions over the argument itself.
+     *
+     * @return the result the step produced over the argument in the latest parent run with a matching fingerprint, if any
+     */
+    static Optional<Result> previous(String stepId, Indexable argument, long fingerprint, Context context)
+    {
+        Optional<Output> parent = context.parent();
+        if (parent.isEmpty())
+            return Optional.empty();
+        if (!parent.get().index().get(argument.uid()).map(argument::equals).orElse(false))
+            return Optional.empty();
+
+        List<ResultDescriptor<?>> matching = parent.get().results().of(argument).descriptors().stream()
+            .filter(rd -> rd.fingerprint() == fingerprint && rd.tag().id().equals(stepId))
+            .toList()
+        ;
+        if (matching.isEmpty())
+            return Optional.empty();
+
+        /* Descriptors sharing the component tag of the latest match were produced by the same execution, e.g. from a MultiResult */
+        String execution = matching.get(matching.size() - 1).tag().uid();
+        List<Result> results = matching.stream()
+            .filter(rd -> rd.tag().uid().equals(execution))
+            .<Result>map(ResultDescriptor::result)
+            .toList()
+        ;
+        return Optional.of(results.size() == 1 ? results.get(0) : MultiResult.of(results));
+    }
+}
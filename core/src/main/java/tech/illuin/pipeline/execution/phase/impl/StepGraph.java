@@ -0,0 +1,84 @@
+package tech.illuin.pipeline.execution.phase.impl;
+
+import tech.illuin.pipeline.step.builder.StepDescriptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Dependency graph of a pipeline's steps, each step referencing the (earlier-declared) steps it has to wait for.
+ * Dependencies are either declared explicitly on the step or inferred from the {@link tech.illuin.pipeline.step.builder.StepSignature} of each step.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public final class StepGraph
+{
+    private final List<Set<Integer>> upstream;
+
+    private StepGraph(List<Set<Integer>> upstream)
+    {
+        this.upstream = upstream;
+    }
+
+    public static StepGraph of(List<? extends StepDescriptor<?, ?>> steps)
+    {
+        List<Set<Integer>> upstream = new ArrayList<>(steps.size());
+        for (int i = 0 ; i < steps.size() ; ++i)
+        {
+            StepDescriptor<?, ?> step = steps.get(i);
+            Set<Integer> dependencies = step.dependencies().isPresent()
+                ? resolveDeclared(steps, i)
+                : resolveInferred(steps, i)
+            ;
+            upstream.add(Collections.unmodifiableSet(dependencies));
+        }
+        return new StepGraph(Collections.unmodifiableList(upstream));
+    }
+
+    public Set<Integer> upstream(int index)
+    {
+        return this.upstream.get(index);
+    }
+
+    public int size()
+    {
+        return this.upstream.size();
+    }
+
+    private static Set<Integer> resolveDeclared(List<? extends StepDescriptor<?, ?>> steps, int index)
+    {
+        StepDescriptor<?, ?> step = steps.get(index);
+        Set<Integer> dependencies = new HashSet<>();
+        for (String id : step.dependencies().orElseThrow())
+        {
+            boolean found = false;
+            /* Only earlier steps can be referenced, which rules out cycles by construction */
+            for (int j = 0 ; j < index ; ++j)
+            {
+                if (steps.get(j).id().equals(id))
+                {
+                    dependencies.add(j);
+                    found = true;
+                }
+            }
+            if (!found)
+                throw new IllegalStateException("Step " + step.id() + " depends on " + id + " which does not match any step declared before it");
+        }
+        return dependencies;
+    }
+
+    private static Set<Integer> resolveInferred(List<? extends StepDescriptor<?, ?>> steps, int index)
+    {
+        StepDescriptor<?, ?> step = steps.get(index);
+        Set<Integer> dependencies = new HashSet<>();
+        for (int j = 0 ; j < index ; ++j)
+        {
+            if (steps.get(j).signature().mayProduceFor(step.signature()))
+                dependencies.add(j);
+        }
+        return dependencies;
+    }
+}
@@ -4,6 +4,7 @@ import io.micrometer.tracing.Span;
 import io.micrometer.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import tech.illuin.pipeline.PipelineResult;
 import tech.illuin.pipeline.context.ComponentContext;
 import tech.illuin.pipeline.context.Context;
@@ -11,8 +12,11 @@ import tech.illuin.pipeline.context.LocalContext;
 import tech.illuin.pipeline.execution.phase.IO;
 import tech.illuin.pipeline.execution.phase.PipelinePhase;
 import tech.illuin.pipeline.execution.phase.PipelineStrategy;
+import tech.illuin.pipeline.execution.phase.StepScheduling;
 import tech.illuin.pipeline.input.indexer.Indexable;
 import tech.illuin.pipeline.input.uid_generator.UIDGenerator;
+import tech.illuin.pipeline.metering.MeterCache;
+import tech.illuin.pipeline.metering.TracingFunctions;
 import tech.illuin.pipeline.metering.manager.ObservabilityManager;
 import tech.illuin.pipeline.metering.tag.MetricTags;
 import tech.illuin.pipeline.output.ComponentFamily;
@@ -27,10 +31,21 @@ import tech.illuin.pipeline.step.result.Result;
 import tech.illuin.pipeline.step.result.ResultDescriptor;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import static tech.illuin.pipeline.step.execution.evaluator.StrategyBehaviour.*;
 
@@ -39,84 +54,90 @@ import static tech.illuin.pipeline.step.execution.evaluator.StrategyBehaviour.*;
  */
 public class StepPhase<I> implements PipelinePhase<I>
 {
+    private final String pipelineId;
     private final List<StepDescriptor<Indexable, I>> steps;
+    private final StepGraph graph;
+    /* Same caveat as for the SinkPhase executor, a ForkJoinPool does not play nice with the Spring ClassLoader. */
+    private final ExecutorService stepExecutor;
+    private final int closeTimeout;
     private final UIDGenerator uidGenerator;
     private final ObservabilityManager observabilityManager;
+    private final MeterCache meterCache;
     
     private static final Logger logger = LoggerFactory.getLogger(StepPhase.class);
 
-    public StepPhase(List<StepDescriptor<Indexable, I>> steps, UIDGenerator uidGenerator, ObservabilityManager observabilityManager)
-    {
+    public StepPhase(
+        String pipelineId,
+        List<StepDescriptor<Indexable, I>> steps,
+        StepScheduling scheduling,
+        Supplier<ExecutorService> stepExecutorProvider,
+        int closeTimeout,
+        UIDGenerator uidGenerator,
+        ObservabilityManager observabilityManager,
+        MeterCache meterCache
+    ) {
+        this.pipelineId = pipelineId;
         this.steps = steps;
+        this.graph = scheduling == StepScheduling.DEPENDENCY_GRAPH ? StepGraph.of(steps) : null;
+        this.stepExecutor = this.initExecutor(stepExecutorProvider);
+        this.closeTimeout = closeTimeout;
         this.uidGenerator = uidGenerator;
         this.observabilityManager = observabilityManager;
+        this.meterCache = meterCache;
     }
 
     @Override
     public PipelineStrategy run(IO<I> io, Context context, MetricTags metricTags) throws Exception
     {
-        Span span = this.observabilityManager.tracer().nextSpan().name("step_phase");
-        try (Tracer.SpanInScope scope = this.observabilityManager.tracer().withSpan(span.start()))
+        Span span = TracingFunctions.nextSpan(this.observabilityManager, io.isTraced(), "step_phase");
+        try (Tracer.SpanInScope scope = TracingFunctions.start(this.observabilityManager, span))
         {
-            Set<Indexable> discarded = new HashSet<>();
-            STEP_LOOP: for (StepDescriptor<Indexable, I> step : this.steps)
+            if (this.graph != null)
+                return this.runGraph(io, context, metricTags, span);
+
+            ArgumentPool pool = new ArgumentPool(io.output().index(), io.checkpointer().discarded());
+            for (int s = 0 ; s < this.steps.size() ; ++s)
             {
-                ComponentTag tag = this.createTag(io.output().tag(), step);
-                StepMarkerManager markerManager = new StepMarkerManager(tag, metricTags);
-                StepMetrics metrics = new StepMetrics(this.observabilityManager.meterRegistry(), markerManager);
-                span.event("step_phase:select_step:" + tag.id());
-
-                /* Arguments are a list of Indexable which satisfy the step's execution predicate */
-                List<Indexable> arguments = io.output().index().stream()
-                    .filter(idx -> !discarded.contains(idx) || step.isPinned())
-                    .filter(idx -> step.canExecute(idx, context))
-                    .toList();
-                logger.trace("{}#{} retrieved {} arguments for step {}", tag.pipelineTag().pipeline(), tag.pipelineTag().uid(), arguments.size(), tag.id());
+                /* Steps completed before a run was checkpointed are skipped when it is resumed */
+                if (io.checkpointer().isCompleted(s))
+                    continue;
 
-                /* For each argument we perform the step and register the produced Result */
-                for (Indexable indexed : arguments)
-                {
-                    LocalContext localContext = new ComponentContext(context, io.input(), tag, this.uidGenerator, this.observabilityManager, markerManager);
-                    Result result = this.runStep(step, tag, indexed, io, localContext, metrics);
+                StepDescriptor<Indexable, I> step = this.steps.get(s);
+                StepRun<I> run = this.prepare(step, io, context, metricTags, pool, span);
 
-                    if (result instanceof MultiResult multi)
-                        multi.results().forEach(r -> metrics.resultCounter(r).increment());
-                    else
-                        metrics.resultCounter(result).increment();
+                /* Batch and parallel steps are run upfront, their outcomes are then consumed in argument order as if they were run sequentially */
+                List<StepExecution> executions = null;
+                if (step.isBatch())
+                    executions = this.executeBatch(run, io, context);
+                else if (step.isParallel())
+                    executions = this.runParallel(run, io, context, span).join();
 
-                    StepStrategy strategy = step.postEvaluation(result, indexed, io.input(), localContext);
-                    logger.trace("{}#{} received {} signal after step {} over argument {}", tag.pipelineTag().pipeline(), tag.pipelineTag().uid(), strategy, tag.id(), indexed.uid());
-                    span.event("step_phase:evaluate_strategy:" + strategy.name());
+                /* For each argument we perform the step and register the produced Result */
+                boolean halted = false;
+                for (int i = 0 ; i < run.arguments().size() ; ++i)
+                {
+                    Indexable indexed = run.arguments().get(i);
+                    StepExecution execution = executions == null
+                        ? this.execute(run, indexed, io, context)
+                        : executions.get(i).orThrow()
+                    ;
+                    StepStrategy strategy = this.consume(run, i, execution, io, pool, span);
 
-                    if (strategy.hasBehaviour(REGISTER_RESULT))
-                    {
-                        if (result instanceof PipelineResult pResult)
-                            pResult.output().results().descriptors().current().forEach(rd -> io.output().results().register(indexed.uid(), rd));
-                        else if (result instanceof MultiResult mResult)
-                            mResult.results().forEach(r -> {
-                                io.output().results().register(
-                                    indexed.uid(),
-                                    new ResultDescriptor<>(this.uidGenerator.generate(), tag, Instant.now(), r)
-                                );
-                            });
-                        else {
-                            io.output().results().register(
-                                indexed.uid(),
-                                new ResultDescriptor<>(this.uidGenerator.generate(), tag, Instant.now(), result)
-                            );
-                        }
-                    }
                     if (strategy.hasBehaviour(EXIT_PIPELINE))
                         return PipelineStrategy.EXIT;
-                    if (strategy.hasBehaviour(DISCARD_CURRENT))
-                        discarded.add(indexed);
-                    if (strategy.hasBehaviour(DISCARD_ALL))
-                        discarded.addAll(io.output().index().stream().toList());
                     if (strategy.hasBehaviour(STOP_CURRENT))
                         break;
                     if (strategy.hasBehaviour(STOP_ALL))
-                        break STEP_LOOP;
+                    {
+                        halted = true;
+                        break;
+                    }
                 }
+
+                /* A halted phase is recorded as fully completed, so that a resumed run doesn't execute the steps the original run skipped */
+                io.checkpointer().stepsCompleted(halted ? 0 : s, halted ? this.steps.size() : s + 1, io.output(), pool.discarded());
+                if (halted)
+                    break;
             }
 
             return PipelineStrategy.CONTINUE;
@@ -127,15 +148,297 @@ public class StepPhase<I> implements PipelinePhase<I>
         }
     }
 
+    /**
+     * Runs the steps following the dependency graph: a step is launched as soon as all of its upstream steps have been consumed, and step outcomes are consumed on the phase thread as they complete.
+     * Discard and stop signals only affect the steps launched after them, steps already in-flight are awaited and consumed before the phase ends but no step is launched after a STOP_ALL signal.
+     */
+    private PipelineStrategy runGraph(IO<I> io, Context context, MetricTags metricTags, Span span) throws Exception
+    {
+        ArgumentPool pool = new ArgumentPool(io.output().index(), io.checkpointer().discarded());
+        List<StepRun<I>> runs = new ArrayList<>(Collections.nCopies(this.steps.size(), null));
+        List<CompletableFuture<List<StepExecution>>> futures = new ArrayList<>(Collections.nCopies(this.steps.size(), null));
+        Set<Integer> consumed = new HashSet<>();
+        BlockingQueue<Integer> completed = new LinkedBlockingQueue<>();
+        for (int i = 0 ; i < this.steps.size() ; ++i)
+        {
+            if (io.checkpointer().isCompleted(i))
+                consumed.add(i);
+        }
+
+        try {
+            /* Once a step halts the phase, no other step is launched and the steps still in-flight are only drained */
+            boolean halted = false;
+            int inFlight = this.launchReady(runs, futures, consumed, completed, io, context, metricTags, pool, span);
+            while (inFlight > 0)
+            {
+                int index = completed.take();
+                --inFlight;
+
+                StepRun<I> run = runs.get(index);
+                List<StepExecution> executions = futures.get(index).join();
+                boolean halts = false;
+                for (int i = 0 ; i < run.arguments().size() ; ++i)
+                {
+                    StepStrategy strategy = this.consume(run, i, executions.get(i).orThrow(), io, pool, span);
+
+                    if (strategy.hasBehaviour(EXIT_PIPELINE))
+                        return PipelineStrategy.EXIT;
+                    if (strategy.hasBehaviour(STOP_CURRENT))
+                        break;
+                    if (strategy.hasBehaviour(STOP_ALL))
+                    {
+                        halts = true;
+                        break;
+                    }
+                }
+                consumed.add(index);
+                io.checkpointer().stepsCompleted(halts ? 0 : index, halts ? this.steps.size() : index + 1, io.output(), pool.discarded());
+
+                halted |= halts;
+                if (!halted)
+                    inFlight += this.launchReady(runs, futures, consumed, completed, io, context, metricTags, pool, span);
+            }
+
+            return PipelineStrategy.CONTINUE;
+        }
+        finally {
+            CompletableFuture.allOf(futures.stream().filter(Objects::nonNull).toArray(CompletableFuture[]::new))
+                .exceptionally(e -> null)
+                .join()
+            ;
+        }
+    }
+
+    @SuppressWarnings("ParameterNumber")
+    private int launchReady(
+        List<StepRun<I>> runs,
+        List<CompletableFuture<List<StepExecution>>> futures,
+        Set<Integer> consumed,
+        BlockingQueue<Integer> completed,
+        IO<I> io,
+        Context context,
+        MetricTags metricTags,
+        ArgumentPool pool,
+        Span span
+    ) {
+        int launched = 0;
+        for (int i = 0 ; i < this.steps.size() ; ++i)
+        {
+            if (runs.get(i) != null || consumed.contains(i) || !consumed.containsAll(this.graph.upstream(i)))
+                continue;
+
+            int index = i;
+            StepRun<I> run = this.prepare(this.steps.get(i), io, context, metricTags, pool, span);
+            CompletableFuture<List<StepExecution>> future = run.step().isParallel() && !run.step().isBatch()
+                ? this.runParallel(run, io, context, span)
+                : this.runSequentialAsync(run, io, context, span)
+            ;
+            runs.set(index, run);
+            futures.set(index, future);
+            future.whenComplete((r, e) -> completed.add(index));
+            ++launched;
+        }
+        return launched;
+    }
+
+    private StepRun<I> prepare(StepDescriptor<Indexable, I> step, IO<I> io, Context context, MetricTags metricTags, ArgumentPool pool, Span span)
+    {
+        ComponentTag tag = this.createTag(io.uidGenerator(), io.output().tag(), step);
+        StepMarkerManager markerManager = new StepMarkerManager(tag, metricTags);
+        StepMetrics metrics = this.meterCache.stepMetrics(markerManager);
+        if (io.isTraced())
+            span.event("step_phase:select_step:" + tag.id());
+
+        /* Arguments are a list of Indexable which satisfy the step's execution predicate */
+        ArgumentPool.Selection selection = pool.select(step.isPinned(), step.argumentType(), idx -> step.canExecute(idx, context));
+        logger.trace("{}#{} retrieved {} arguments for step {}", tag.pipelineTag().pipeline(), tag.pipelineTag().uid(), selection.arguments().size(), tag.id());
+
+        return new StepRun<>(step, tag, markerManager, metrics, selection.arguments(), selection.positions());
+    }
+
+    private StepStrategy consume(StepRun<I> run, int argument, StepExecution execution, IO<I> io, ArgumentPool pool, Span span)
+    {
+        ComponentTag tag = run.tag();
+        Indexable indexed = run.arguments().get(argument);
+        Result result = execution.result();
+        StepStrategy strategy = execution.strategy();
+
+        if (result instanceof MultiResult multi)
+            multi.results().forEach(r -> run.metrics().resultCounter(r).increment());
+        else
+            run.metrics().resultCounter(result).increment();
+
+        logger.trace("{}#{} received {} signal after step {} over argument {}", tag.pipelineTag().pipeline(), tag.pipelineTag().uid(), strategy, tag.id(), indexed.uid());
+        if (io.isTraced())
+            span.event("step_phase:evaluate_strategy:" + strategy.name());
+
+        if (strategy.hasBehaviour(REGISTER_RESULT))
+        {
+            if (result instanceof PipelineResult pResult)
+                pResult.output().results().descriptors().current().forEach(rd -> io.output().results().register(indexed.uid(), rd));
+            else if (result instanceof MultiResult mResult)
+            {
+                /* Results are ordered by their sequence, a single timestamp is enough for all results of the same step */
+                Instant createdAt = Instant.now();
+                mResult.results().forEach(r -> io.output().results().register(indexed.uid(), describe(io, tag, createdAt, r, execution.fingerprint())));
+            }
+            else {
+                io.output().results().register(indexed.uid(), describe(io, tag, Instant.now(), result, execution.fingerprint()));
+            }
+        }
+        if (strategy.hasBehaviour(DISCARD_CURRENT))
+            pool.discard(run.positions()[argument]);
+        if (strategy.hasBehaviour(DISCARD_ALL))
+            pool.discardAll();
+
+        return strategy;
+    }
+
+    private StepExecution execute(StepRun<I> run, Indexable indexed, IO<I> io, Context context) throws Exception
+    {
+        LocalContext localContext = new ComponentContext(context, io.input(), run.tag(), this.uidGenerator, this.observabilityManager, run.markerManager());
+        long fingerprint = run.step().isIncremental() ? StepFingerprints.compute(run.step().fingerprinter(), indexed, io.output().results()) : ResultDescriptor.NO_FINGERPRINT;
+        Result previous = fingerprint == ResultDescriptor.NO_FINGERPRINT ? null : StepFingerprints.previous(run.step().id(), indexed, fingerprint, context).orElse(null);
+        if (previous != null)
+            logger.trace("{}#{} carried over step {} over argument {} from its parent (unchanged fingerprint)", run.tag().pipelineTag().pipeline(), run.tag().pipelineTag().uid(), run.tag().id(), indexed.uid());
+
+        Result result = previous != null ? previous : this.runStep(run.step(), run.tag(), indexed, io, localContext, run.metrics());
+        StepStrategy strategy = run.step().postEvaluation(result, indexed, io.input(), localContext);
+
+        return new StepExecution(result, strategy, null, fingerprint);
+    }
+
+    /**
+     * Runs a batch step once over all of its arguments, then evaluates each argument's result separately.
+     */
+    private List<StepExecution> executeBatch(StepRun<I> run, IO<I> io, Context context) throws Exception
+    {
+        if (run.arguments().isEmpty())
+            return List.of();
+
+        LocalContext localContext = new ComponentContext(context, io.input(), run.tag(), this.uidGenerator, this.observabilityManager, run.markerManager());
+        Map<String, Result> results = this.runBatchStep(run, io, localContext);
+
+        List<StepExecution> executions = new ArrayList<>(run.arguments().size());
+        for (Indexable indexed : run.arguments())
+        {
+            Result result = results.get(indexed.uid());
+            if (result == null)
+                result = MultiResult.empty();
+            StepStrategy strategy = run.step().postEvaluation(result, indexed, io.input(), localContext);
+            executions.add(new StepExecution(result, strategy, null));
+        }
+        return executions;
+    }
+
+    @SuppressWarnings("IllegalCatch")
+    private List<StepExecution> executeBatchOrCapture(StepRun<I> run, IO<I> io, Context context)
+    {
+        try {
+            return this.executeBatch(run, io, context);
+        }
+        catch (Exception e) {
+            return Collections.nCopies(run.arguments().size(), new StepExecution(null, null, e));
+        }
+    }
+
+    private CompletableFuture<List<StepExecution>> runParallel(StepRun<I> run, IO<I> io, Context context, Span phaseSpan)
+    {
+        if (this.stepExecutor == null)
+            throw new IllegalStateException("A parallel run has been initiated but there is no active executor");
+
+        ComponentTag tag = run.tag();
+        logger.trace("{}#{} queuing {} arguments for parallel step {}", tag.pipelineTag().pipeline(), tag.pipelineTag().uid(), run.arguments().size(), tag.id());
+        /* Lowest position at which the sequential loop would stop, arguments beyond it need not be run */
+        AtomicInteger haltPosition = new AtomicInteger(Integer.MAX_VALUE);
+        Map<String, String> mdc = io.isTraced() ? MDC.getCopyOfContextMap() : null;
+
+        List<CompletableFuture<StepExecution>> futures = new ArrayList<>(run.arguments().size());
+        for (int i = 0 ; i < run.arguments().size() ; ++i)
+        {
+            int position = i;
+            Indexable indexed = run.arguments().get(i);
+            futures.add(CompletableFuture.supplyAsync(
+                () -> this.executeAsync(run, indexed, position, haltPosition, io, context, mdc, phaseSpan),
+                this.stepExecutor
+            ));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+            .thenApply(v -> futures.stream().map(CompletableFuture::join).toList())
+        ;
+    }
+
+    @SuppressWarnings("ParameterNumber")
+    private StepExecution executeAsync(StepRun<I> run, Indexable indexed, int position, AtomicInteger haltPosition, IO<I> io, Context context, Map<String, String> mdc, Span phaseSpan)
+    {
+        if (position > haltPosition.get())
+            return StepExecution.SKIPPED;
+
+        if (mdc != null)
+            MDC.setContextMap(mdc);
+        try (Tracer.SpanInScope scope = TracingFunctions.inScope(this.observabilityManager, phaseSpan))
+        {
+            StepExecution execution = this.executeOrCapture(run, indexed, io, context);
+            if (execution.halts())
+                haltPosition.accumulateAndGet(position, Math::min);
+            return execution;
+        }
+        finally {
+            MDC.clear();
+        }
+    }
+
+    private CompletableFuture<List<StepExecution>> runSequentialAsync(StepRun<I> run, IO<I> io, Context context, Span phaseSpan)
+    {
+        if (this.stepExecutor == null)
+            throw new IllegalStateException("A graph run has been initiated but there is no active executor");
+
+        Map<String, String> mdc = io.isTraced() ? MDC.getCopyOfContextMap() : null;
+        return CompletableFuture.supplyAsync(() -> {
+            if (mdc != null)
+                MDC.setContextMap(mdc);
+            try (Tracer.SpanInScope scope = TracingFunctions.inScope(this.observabilityManager, phaseSpan))
+            {
+                if (run.step().isBatch())
+                    return this.executeBatchOrCapture(run, io, context);
+
+                List<StepExecution> executions = new ArrayList<>(run.arguments().size());
+                for (Indexable indexed : run.arguments())
+                {
+                    /* Once a halting signal is met, the remaining arguments are left out as they would be in a sequential run */
+                    boolean halted = !executions.isEmpty() && executions.get(executions.size() - 1).halts();
+                    executions.add(halted ? StepExecution.SKIPPED : this.executeOrCapture(run, indexed, io, context));
+                }
+                return executions;
+            }
+            finally {
+                MDC.clear();
+            }
+        }, this.stepExecutor);
+    }
+
+    @SuppressWarnings("IllegalCatch")
+    private StepExecution executeOrCapture(StepRun<I> run, Indexable indexed, IO<I> io, Context context)
+    {
+        try {
+            return this.execute(run, indexed, io, context);
+        }
+        catch (Exception e) {
+            return new StepExecution(null, null, e);
+        }
+    }
+
     @SuppressWarnings("IllegalCatch")
     private Result runStep(StepDescriptor<Indexable, I> step, ComponentTag tag, Indexable indexed, IO<I> io, LocalContext context, StepMetrics metrics) throws Exception
     {
         String name = getPrintableName(step);
 
         long start = System.nanoTime();
-        metrics.setMDC();
-        Span span = this.observabilityManager.tracer().nextSpan().name(tag.id());
-        try (Tracer.SpanInScope scope = this.observabilityManager.tracer().withSpan(span.start()))
+        if (io.isTraced())
+            metrics.setMDC();
+        Span span = TracingFunctions.nextSpan(this.observabilityManager, io.isTraced(), tag.id());
+        try (Tracer.SpanInScope scope = TracingFunctions.start(this.observabilityManager, span))
         {
             span.tag("uid", tag.uid());
 
@@ -148,7 +451,8 @@ public class StepPhase<I> implements PipelinePhase<I>
             return result;
         }
         catch (Exception e) {
-            metrics.setMDC(e);
+            if (io.isTraced())
+                metrics.setMDC(e);
             span.event("step:error");
             logger.error("{}#{} step {} threw an {}: {}", tag.pipelineTag().pipeline(), tag.pipelineTag().uid(), name, e.getClass().getName(), e.getMessage());
             metrics.failureCounter().increment();
@@ -158,18 +462,134 @@ public class StepPhase<I> implements PipelinePhase<I>
         finally {
             metrics.runTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             metrics.totalCounter().increment();
-            metrics.unsetMDC();
+            if (io.isTraced())
+                metrics.unsetMDC();
+            span.end();
+        }
+    }
+
+    @SuppressWarnings("IllegalCatch")
+    private Map<String, Result> runBatchStep(StepRun<I> run, IO<I> io, LocalContext context) throws Exception
+    {
+        StepDescriptor<Indexable, I> step = run.step();
+        ComponentTag tag = run.tag();
+        StepMetrics metrics = run.metrics();
+        String name = getPrintableName(step);
+
+        long start = System.nanoTime();
+        if (io.isTraced())
+            metrics.setMDC();
+        Span span = TracingFunctions.nextSpan(this.observabilityManager, io.isTraced(), tag.id());
+        try (Tracer.SpanInScope scope = TracingFunctions.start(this.observabilityManager, span))
+        {
+            span.tag("uid", tag.uid());
+            if (io.isTraced())
+                span.tag("batch_size", String.valueOf(run.arguments().size()));
+
+            span.event("step:run");
+            logger.trace("{}#{} running batch step {} over {} arguments", tag.pipelineTag().pipeline(), tag.pipelineTag().uid(), name, run.arguments().size());
+            Map<String, Result> results = step.executeBatch(run.arguments(), io.input(), io.output(), context);
+
+            metrics.successCounter().increment();
+            return results;
+        }
+        catch (Exception e) {
+            if (io.isTraced())
+                metrics.setMDC(e);
+            span.event("step:error");
+            logger.error("{}#{} batch step {} threw an {}: {}", tag.pipelineTag().pipeline(), tag.pipelineTag().uid(), name, e.getClass().getName(), e.getMessage());
+            metrics.failureCounter().increment();
+            metrics.errorCounter(e).increment();
+            /* The error handler is called once for the whole batch, its result stands for every argument */
+            Result result = step.handleException(e, io.input(), io.output().payload(), io.output().results(), context);
+            Map<String, Result> results = new HashMap<>();
+            run.arguments().forEach(indexed -> results.put(indexed.uid(), result));
+            return results;
+        }
+        finally {
+            metrics.runTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            metrics.totalCounter().increment();
+            if (io.isTraced())
+                metrics.unsetMDC();
             span.end();
         }
     }
 
-    private ComponentTag createTag(PipelineTag pipelineTag, StepDescriptor<?, ?> step)
+    private static ResultDescriptor<?> describe(IO<?> io, ComponentTag tag, Instant createdAt, Result result, long fingerprint)
+    {
+        ResultDescriptor<?> descriptor = new ResultDescriptor<>(io.uidGenerator().generate(), tag, createdAt, result);
+        return fingerprint == ResultDescriptor.NO_FINGERPRINT ? descriptor : descriptor.withFingerprint(fingerprint);
+    }
+
+    private ComponentTag createTag(UIDGenerator uidGenerator, PipelineTag pipelineTag, StepDescriptor<?, ?> step)
+    {
+        return new ComponentTag(uidGenerator.generate(), pipelineTag, step.id(), ComponentFamily.STEP);
+    }
+
+    private ExecutorService initExecutor(Supplier<ExecutorService> provider)
+    {
+        if (this.graph != null || this.steps.stream().anyMatch(step -> step.isParallel() && !step.isBatch()))
+            return provider.get();
+        return null;
+    }
+
+    @Override
+    public void close() throws Exception
     {
-        return new ComponentTag(this.uidGenerator.generate(), pipelineTag, step.id(), ComponentFamily.STEP);
+        if (this.stepExecutor == null)
+            return;
+        if (this.stepExecutor.isShutdown())
+            return;
+
+        this.stepExecutor.shutdown();
+        boolean success = this.stepExecutor.awaitTermination(this.closeTimeout, TimeUnit.SECONDS);
+        var status = success ? "done" : "timeout after " + this.closeTimeout + " seconds";
+
+        logger.info("{} step phase closed (executor termination status: {})", this.pipelineId, status);
     }
 
     private static String getPrintableName(StepDescriptor<?, ?> step)
     {
         return step.id() + (step.isPinned() ? " (pinned)" : "");
     }
+
+    private record StepRun<I>(
+        StepDescriptor<Indexable, I> step,
+        ComponentTag tag,
+        StepMarkerManager markerManager,
+        StepMetrics metrics,
+        List<Indexable> arguments,
+        int[] positions
+    ) {}
+
+    private record StepExecution(
+        Result result,
+        StepStrategy strategy,
+        Exception error,
+        long fingerprint
+    ) {
+        private static final StepExecution SKIPPED = new StepExecution(null, null, null);
+
+        StepExecution(Result result, StepStrategy strategy, Exception error)
+        {
+            this(result, strategy, error, ResultDescriptor.NO_FINGERPRINT);
+        }
+
+        boolean halts()
+        {
+            return this.error != null
+                || this.strategy == null
+                || this.strategy.hasBehaviour(STOP_CURRENT)
+                || this.strategy.hasBehaviour(STOP_ALL)
+                || this.strategy.hasBehaviour(EXIT_PIPELINE)
+            ;
+        }
+
+        StepExecution orThrow() throws Exception
+        {
+            if (this.error != null)
+                throw this.error;
+            return this;
+        }
+    }
 }
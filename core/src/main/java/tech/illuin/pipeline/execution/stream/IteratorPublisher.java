@@ -0,0 +1,106 @@
+package tech.illuin.pipeline.execution.stream;
+
+import java.util.Iterator;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exposes an {@link Iterator} as a {@link Flow.Publisher}, items are pulled from the iterator only as they are requested by the subscriber.
+ * As an iterator can only be consumed once, the publisher accepts a single subscriber.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public final class IteratorPublisher<T> implements Flow.Publisher<T>
+{
+    private final Iterator<T> iterator;
+    private final AtomicBoolean subscribed;
+
+    public IteratorPublisher(Iterator<T> iterator)
+    {
+        this.iterator = iterator;
+        this.subscribed = new AtomicBoolean(false);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber)
+    {
+        if (!this.subscribed.compareAndSet(false, true))
+        {
+            subscriber.onSubscribe(new IteratorSubscription<>(null, subscriber));
+            subscriber.onError(new IllegalStateException("An IteratorPublisher only accepts a single subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new IteratorSubscription<>(this.iterator, subscriber));
+    }
+
+    private static final class IteratorSubscription<T> implements Flow.Subscription
+    {
+        private final Iterator<T> iterator;
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand;
+        /* Work-in-progress counter, it makes sure a single thread pulls from the iterator even if request is called reentrantly from onNext */
+        private final AtomicInteger wip;
+        private volatile boolean done;
+
+        private IteratorSubscription(Iterator<T> iterator, Flow.Subscriber<? super T> subscriber)
+        {
+            this.iterator = iterator;
+            this.subscriber = subscriber;
+            this.demand = new AtomicLong(0);
+            this.wip = new AtomicInteger(0);
+            this.done = iterator == null;
+        }
+
+        @Override
+        public void request(long n)
+        {
+            if (this.done)
+                return;
+            if (n <= 0)
+            {
+                this.done = true;
+                this.subscriber.onError(new IllegalArgumentException("The requested amount has to be strictly positive, got " + n));
+                return;
+            }
+            this.demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            this.drain();
+        }
+
+        @Override
+        public void cancel()
+        {
+            this.done = true;
+        }
+
+        @SuppressWarnings("IllegalCatch")
+        private void drain()
+        {
+            if (this.wip.getAndIncrement() != 0)
+                return;
+
+            int missed = 1;
+            do {
+                try {
+                    while (!this.done && this.demand.get() > 0 && this.iterator.hasNext())
+                    {
+                        this.demand.decrementAndGet();
+                        this.subscriber.onNext(this.iterator.next());
+                    }
+                    if (!this.done && !this.iterator.hasNext())
+                    {
+                        this.done = true;
+                        this.subscriber.onComplete();
+                    }
+                }
+                catch (RuntimeException e) {
+                    this.done = true;
+                    this.subscriber.onError(e);
+                }
+                missed = this.wip.addAndGet(-missed);
+            }
+            while (missed != 0);
+        }
+    }
+}
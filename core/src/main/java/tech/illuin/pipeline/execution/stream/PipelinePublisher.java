@@ -0,0 +1,320 @@
+package tech.illuin.pipeline.execution.stream;
+
+import org.slf4j.MDC;
+import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.output.Output;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+
+/**
+ * Runs a {@link Pipeline} over each input emitted by a source {@link Flow.Publisher}, and publishes the resulting {@link Output} in the order of their inputs.
+ * <ul>
+ *     <li>Inputs are only requested from the source when there is room for them: at most {@code bufferSize} inputs are held at any time, whether they are waiting, being run or waiting for downstream demand.</li>
+ *     <li>At most {@code concurrency} runs are performed at the same time, on a thread pool scoped to the subscription.</li>
+ *     <li>Outputs are only emitted as requested by the subscriber, a slow subscriber eventually stops the consumption of the source.</li>
+ *     <li>A failing run (i.e. one whose error handler throws) terminates the stream with its exception, once preceding outputs have been emitted.</li>
+ * </ul>
+ * Each subscription triggers a new subscription to the source.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public final class PipelinePublisher<I> implements Flow.Publisher<Output>
+{
+    private final Pipeline<I> pipeline;
+    private final Flow.Publisher<I> source;
+    private final int concurrency;
+    private final int bufferSize;
+
+    public PipelinePublisher(Pipeline<I> pipeline, Flow.Publisher<I> source, int concurrency, int bufferSize)
+    {
+        if (concurrency < 1)
+            throw new IllegalArgumentException("The stream concurrency has to be strictly positive");
+        if (bufferSize < concurrency)
+            throw new IllegalArgumentException("The stream buffer size cannot be lower than its concurrency");
+        this.pipeline = pipeline;
+        this.source = source;
+        this.concurrency = concurrency;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Output> subscriber)
+    {
+        StreamSubscription subscription = new StreamSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        this.source.subscribe(subscription);
+    }
+
+    /**
+     * Acts both as the subscription handed to the downstream subscriber and as the subscriber of the source.
+     * All state changes happen under the subscription's lock, while signals (downstream emissions, upstream requests) are performed outside of it by a single draining thread at a time.
+     */
+    private final class StreamSubscription implements Flow.Subscription, Flow.Subscriber<I>
+    {
+        private final Flow.Subscriber<? super Output> downstream;
+        private final ExecutorService executor;
+        private final Map<String, String> mdc;
+        /* Inputs in reception order, from their arrival until their output is emitted */
+        private final Deque<Slot<I>> slots;
+        /* Inputs which have not been submitted to the executor yet */
+        private final Deque<Slot<I>> pending;
+        private Flow.Subscription upstream;
+        private long demand;
+        private long outstanding;
+        private int running;
+        private boolean upstreamDone;
+        private Throwable upstreamError;
+        private Throwable failure;
+        private boolean cancelled;
+        private boolean terminated;
+        private boolean draining;
+        private boolean missed;
+
+        private StreamSubscription(Flow.Subscriber<? super Output> downstream)
+        {
+            this.downstream = downstream;
+            this.executor = Executors.newFixedThreadPool(PipelinePublisher.this.concurrency);
+            this.mdc = MDC.getCopyOfContextMap();
+            this.slots = new ArrayDeque<>();
+            this.pending = new ArrayDeque<>();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription)
+        {
+            synchronized (this)
+            {
+                if (this.upstream != null || this.cancelled)
+                {
+                    subscription.cancel();
+                    return;
+                }
+                this.upstream = subscription;
+            }
+            this.drain();
+        }
+
+        @Override
+        public void onNext(I item)
+        {
+            synchronized (this)
+            {
+                if (this.terminated || this.cancelled)
+                    return;
+                this.outstanding--;
+                Slot<I> slot = new Slot<>(item);
+                this.slots.add(slot);
+                this.pending.add(slot);
+            }
+            this.drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable)
+        {
+            synchronized (this)
+            {
+                this.upstreamDone = true;
+                this.upstreamError = throwable;
+            }
+            this.drain();
+        }
+
+        @Override
+        public void onComplete()
+        {
+            synchronized (this)
+            {
+                this.upstreamDone = true;
+            }
+            this.drain();
+        }
+
+        @Override
+        public void request(long n)
+        {
+            synchronized (this)
+            {
+                if (n <= 0)
+                    this.failure = new IllegalArgumentException("The requested amount has to be strictly positive, got " + n);
+                else
+                    this.demand = this.demand + n < 0 ? Long.MAX_VALUE : this.demand + n;
+            }
+            this.drain();
+        }
+
+        @Override
+        public void cancel()
+        {
+            synchronized (this)
+            {
+                this.cancelled = true;
+                this.slots.clear();
+                this.pending.clear();
+            }
+            this.drain();
+        }
+
+        @SuppressWarnings("IllegalCatch")
+        private void run(Slot<I> slot)
+        {
+            Output output = null;
+            Throwable error = null;
+            if (this.mdc != null)
+                MDC.setContextMap(this.mdc);
+            try {
+                output = PipelinePublisher.this.pipeline.run(slot.input, PipelinePublisher.this.pipeline.newContext());
+            }
+            /* Errors are caught as well, otherwise the slot would never complete and the subscriber would hang */
+            catch (Throwable e) {
+                error = e;
+            }
+            finally {
+                MDC.clear();
+            }
+
+            synchronized (this)
+            {
+                slot.output = output;
+                slot.error = error;
+                slot.done = true;
+                this.running--;
+            }
+            this.drain();
+        }
+
+        private void drain()
+        {
+            synchronized (this)
+            {
+                if (this.draining)
+                {
+                    this.missed = true;
+                    return;
+                }
+                this.draining = true;
+            }
+
+            while (true)
+            {
+                Signals<I> signals = this.collectSignals();
+                this.perform(signals);
+
+                synchronized (this)
+                {
+                    if (!this.missed)
+                    {
+                        this.draining = false;
+                        return;
+                    }
+                    this.missed = false;
+                }
+            }
+        }
+
+        private synchronized Signals<I> collectSignals()
+        {
+            Signals<I> signals = new Signals<>();
+            if (this.terminated)
+                return signals;
+
+            if (this.cancelled)
+            {
+                this.terminated = true;
+                signals.terminate = true;
+                signals.cancelUpstream = true;
+                return signals;
+            }
+
+            while (this.failure == null && this.demand > 0 && !this.slots.isEmpty() && this.slots.peek().done)
+            {
+                Slot<I> slot = this.slots.poll();
+                if (slot.error != null)
+                    this.failure = slot.error;
+                else {
+                    signals.outputs.add(slot.output);
+                    this.demand--;
+                }
+            }
+
+            if (this.failure != null)
+            {
+                this.terminated = true;
+                signals.terminate = true;
+                signals.error = this.failure;
+                signals.cancelUpstream = true;
+            }
+            else if (this.upstreamDone && this.slots.isEmpty())
+            {
+                this.terminated = true;
+                signals.terminate = true;
+                signals.error = this.upstreamError;
+                signals.complete = this.upstreamError == null;
+            }
+            else {
+                while (this.running < PipelinePublisher.this.concurrency && !this.pending.isEmpty())
+                {
+                    this.running++;
+                    signals.launches.add(this.pending.poll());
+                }
+                long room = PipelinePublisher.this.bufferSize - this.slots.size() - this.outstanding;
+                if (!this.upstreamDone && this.upstream != null && room > 0)
+                {
+                    this.outstanding += room;
+                    signals.request = room;
+                }
+            }
+            return signals;
+        }
+
+        private void perform(Signals<I> signals)
+        {
+            for (Output output : signals.outputs)
+                this.downstream.onNext(output);
+            for (Slot<I> slot : signals.launches)
+                this.executor.execute(() -> this.run(slot));
+            if (signals.request > 0)
+                this.upstream.request(signals.request);
+
+            if (signals.cancelUpstream && this.upstream != null)
+                this.upstream.cancel();
+            if (signals.error != null)
+                this.downstream.onError(signals.error);
+            else if (signals.complete)
+                this.downstream.onComplete();
+            if (signals.terminate)
+                this.executor.shutdown();
+        }
+    }
+
+    private static final class Slot<I>
+    {
+        private final I input;
+        private Output output;
+        private Throwable error;
+        private boolean done;
+
+        private Slot(I input)
+        {
+            this.input = input;
+        }
+    }
+
+    private static final class Signals<I>
+    {
+        private final List<Output> outputs = new ArrayList<>();
+        private final List<Slot<I>> launches = new ArrayList<>();
+        private long request;
+        private Throwable error;
+        private boolean complete;
+        private boolean cancelUpstream;
+        private boolean terminate;
+    }
+}
@@ -0,0 +1,26 @@
+package tech.illuin.pipeline.input.indexer;
+
+import tech.illuin.pipeline.commons.SnapshotList;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe {@link IndexContainer}: lookups go through a {@link ConcurrentHashMap}, and entries as well as type partitions are {@link SnapshotList}.
+ * Readers never block and iterate over a snapshot of the index, writers are serialized.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class ConcurrentIndexContainer extends IndexContainer
+{
+    public ConcurrentIndexContainer()
+    {
+        super(new ConcurrentHashMap<>(), new SnapshotList<>(), new ConcurrentHashMap<>(), SnapshotList::new);
+    }
+
+    /* Positions are allocated from the number of entries, hence the need for serializing writers */
+    @Override
+    public synchronized IndexContainer index(Indexable data)
+    {
+        return super.index(data);
+    }
+}
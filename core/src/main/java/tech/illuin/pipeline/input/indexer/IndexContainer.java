@@ -1,21 +1,42 @@
 package tech.illuin.pipeline.input.indexer;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
+ * Entries are kept in insertion order, along with a partition per concrete {@link Indexable} type.
+ * Re-indexing an uid replaces its data but keeps its original position.
+ *
  * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
  */
 public class IndexContainer
 {
     private final Map<String, Entry<?>> index;
+    private final List<Entry<?>> entries;
+    private final Map<Class<?>, List<Entry<?>>> partitions;
+    private final Supplier<List<Entry<?>>> partitionFactory;
+
+    private static final Comparator<Entry<?>> POSITION_ORDER = Comparator.comparingInt(Entry::position);
 
     public IndexContainer()
     {
-        this.index = new HashMap<>();
+        this(new HashMap<>(), new ArrayList<>(), new LinkedHashMap<>(), ArrayList::new);
+    }
+
+    protected IndexContainer(Map<String, Entry<?>> index, List<Entry<?>> entries, Map<Class<?>, List<Entry<?>>> partitions, Supplier<List<Entry<?>>> partitionFactory)
+    {
+        this.index = index;
+        this.entries = entries;
+        this.partitions = partitions;
+        this.partitionFactory = partitionFactory;
     }
 
     public boolean contains(String uid)
@@ -41,12 +62,57 @@ public class IndexContainer
         return Optional.ofNullable(entry).map(e -> type.cast(entry.data()));
     }
 
+    public int size()
+    {
+        return this.entries.size();
+    }
+
     public Stream<Indexable> stream()
     {
-        return this.index.values().stream()
-            .sorted(Comparator.comparingInt(Entry::position))
-            .map(Entry::data)
-        ;
+        return this.entries.stream().map(Entry::data);
+    }
+
+    public <T extends Indexable> Stream<T> stream(Class<T> type)
+    {
+        return this.entries(type).stream().map(e -> type.cast(e.data()));
+    }
+
+    /**
+     * @return a read-only view over all entries, in insertion order
+     */
+    public List<Entry<?>> entries()
+    {
+        return Collections.unmodifiableList(this.entries);
+    }
+
+    /**
+     * Returns the entries whose type is assignable to the requested one, in insertion order.
+     * When a single partition matches (e.g. the requested type is a concrete class) it is returned as is, without any scan of the other entries.
+     *
+     * @param type the requested type
+     * @return a read-only list of matching entries
+     */
+    public List<Entry<?>> entries(Class<? extends Indexable> type)
+    {
+        if (type == Indexable.class)
+            return this.entries();
+
+        List<List<Entry<?>>> matching = new ArrayList<>();
+        for (Map.Entry<Class<?>, List<Entry<?>>> partition : this.partitions.entrySet())
+        {
+            if (type.isAssignableFrom(partition.getKey()))
+                matching.add(partition.getValue());
+        }
+
+        if (matching.isEmpty())
+            return Collections.emptyList();
+        if (matching.size() == 1)
+            return Collections.unmodifiableList(matching.get(0));
+
+        List<Entry<?>> merged = new ArrayList<>();
+        matching.forEach(merged::addAll);
+        merged.sort(POSITION_ORDER);
+        return merged;
     }
 
     public IndexContainer index(Indexable data)
@@ -54,11 +120,31 @@ public class IndexContainer
         if (data == null)
             throw new IllegalArgumentException("An Indexer returned a null reference.");
 
-        Entry<Indexable> entry = new Entry<>(data, data.getClass(), this.index.size());
-        this.index.put(data.uid(), entry);
+        Entry<?> previous = this.index.get(data.uid());
+        Entry<Indexable> entry = new Entry<>(data, data.getClass(), previous == null ? this.entries.size() : previous.position());
+
+        if (previous == null)
+        {
+            this.entries.add(entry);
+            this.partition(entry.type()).add(entry);
+            this.index.put(data.uid(), entry);
+        }
+        else {
+            this.index.put(data.uid(), entry);
+            this.entries.set(entry.position(), entry);
+            this.partitions.get(previous.type()).remove(previous);
+            List<Entry<?>> partition = this.partition(entry.type());
+            int insertion = Collections.binarySearch(partition, entry, POSITION_ORDER);
+            partition.add(-insertion - 1, entry);
+        }
         return this;
     }
 
+    private List<Entry<?>> partition(Class<?> type)
+    {
+        return this.partitions.computeIfAbsent(type, t -> this.partitionFactory.get());
+    }
+
     public record Entry<T extends Indexable>(
         T data,
         Class<? extends T> type,
@@ -2,8 +2,9 @@ package tech.illuin.pipeline.input.initializer.runner;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import tech.illuin.pipeline.builder.runner_compiler.CompiledArguments;
 import tech.illuin.pipeline.builder.runner_compiler.CompiledMethod;
-import tech.illuin.pipeline.builder.runner_compiler.argument_resolver.mapper_factory.MethodArgumentMapper;
+import tech.illuin.pipeline.builder.runner_compiler.MethodInvoker;
 import tech.illuin.pipeline.builder.runner_compiler.argument_resolver.method_arguments.MethodArguments;
 import tech.illuin.pipeline.commons.Reflection;
 import tech.illuin.pipeline.context.LocalContext;
@@ -24,7 +25,9 @@ public class InitializerRunner<I> implements Initializer<I>, Describable
 {
     private final Object target;
     private Method method;
-    private List<MethodArgumentMapper<Object, I>> argumentMappers;
+    private String signature;
+    private MethodInvoker invoker;
+    private CompiledArguments<Object, I> arguments;
 
     private static final Logger logger = LoggerFactory.getLogger(InitializerRunner.class);
 
@@ -38,7 +41,7 @@ public class InitializerRunner<I> implements Initializer<I>, Describable
     @Override
     public Object initialize(I input, LocalContext context, UIDGenerator generator) throws Exception
     {
-        logger.trace("{}#{} launching initializer over target {}#{}", context.pipelineTag().pipeline(), context.pipelineTag().uid(), this.target.getClass().getName(), Reflection.getMethodSignature(this.method));
+        logger.trace("{}#{} launching initializer over target {}#{}", context.pipelineTag().pipeline(), context.pipelineTag().uid(), this.target.getClass().getName(), this.signature);
 
         try {
             MethodArguments<Object, I> originalArguments = new MethodArguments<>(
@@ -55,12 +58,9 @@ public class InitializerRunner<I> implements Initializer<I>, Describable
                 context.observabilityManager(),
                 context.markerManager()
             );
-            Object[] arguments = this.argumentMappers.stream()
-                .map(mapper -> mapper.map(originalArguments))
-                .toArray()
-            ;
+            Object[] arguments = this.arguments.map(originalArguments);
 
-            return this.method.invoke(this.target, arguments);
+            return this.invoker.invoke(arguments);
         }
         catch (InvocationTargetException e) {
             if (e.getTargetException() instanceof Exception)
@@ -93,7 +93,9 @@ public class InitializerRunner<I> implements Initializer<I>, Describable
     public void build(CompiledMethod<InitializerConfig, Object, I> compiled)
     {
         this.method = compiled.method();
-        this.argumentMappers = compiled.mappers();
+        this.signature = Reflection.getMethodSignature(compiled.method());
+        this.invoker = compiled.invoker();
+        this.arguments = new CompiledArguments<>(compiled.mappers());
     }
 
     @Override
@@ -0,0 +1,68 @@
+package tech.illuin.pipeline.input.uid_generator;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Only runs get a uid from the underlying generator, the uids of their components and results are derived from it with a sequence number (e.g. {@code <run-uid>-3}).
+ * These uids are unique across runs but cheaper to produce, which matters for runs producing a large amount of results.
+ * Components are still provided with the underlying generator for the uids they generate themselves.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class RunScopedUIDGenerator implements UIDGenerator
+{
+    private final UIDGenerator delegate;
+
+    public RunScopedUIDGenerator()
+    {
+        this(KSUIDGenerator.INSTANCE);
+    }
+
+    public RunScopedUIDGenerator(UIDGenerator delegate)
+    {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String generate()
+    {
+        return this.delegate.generate();
+    }
+
+    @Override
+    public String generate(Instant creationTime)
+    {
+        return this.delegate.generate(creationTime);
+    }
+
+    @Override
+    public UIDGenerator forRun(String runUid)
+    {
+        return new RunSequence(runUid);
+    }
+
+    private static final class RunSequence implements UIDGenerator
+    {
+        private final String prefix;
+        private final AtomicLong sequence;
+
+        private RunSequence(String runUid)
+        {
+            this.prefix = runUid + "-";
+            this.sequence = new AtomicLong();
+        }
+
+        @Override
+        public String generate()
+        {
+            return this.prefix + this.sequence.incrementAndGet();
+        }
+
+        @Override
+        public UIDGenerator forRun(String runUid)
+        {
+            return new RunSequence(runUid);
+        }
+    }
+}
@@ -18,4 +18,15 @@ public interface UIDGenerator
     {
         return this.generate();
     }
+
+    /**
+     * Returns the generator used for the uids of a run's components and results, by default this generator itself.
+     *
+     * @param runUid the uid of the run, as produced by this generator
+     * @return a generator for the uids within the run
+     */
+    default UIDGenerator forRun(String runUid)
+    {
+        return this;
+    }
 }
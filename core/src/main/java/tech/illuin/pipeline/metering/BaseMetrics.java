@@ -2,18 +2,23 @@ package tech.illuin.pipeline.metering;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
 import tech.illuin.pipeline.metering.mdc.DefaultMDCManager;
 import tech.illuin.pipeline.metering.mdc.MDCManager;
 
+import java.util.Collection;
 import java.util.stream.Stream;
 
+import static tech.illuin.pipeline.metering.MeterRegistryKey.fill;
+
 public abstract class BaseMetrics implements Metrics
 {
     protected final MeterRegistry meterRegistry;
     protected final MarkerManager markerManager;
     protected final MDCManager mdc;
     private final ConstantMeters constantMeters;
+    private final MeterCache meterCache;
 
     public BaseMetrics(MeterRegistry meterRegistry, MarkerManager markerManager)
     {
@@ -26,6 +31,19 @@ public abstract class BaseMetrics implements Metrics
         this.markerManager = markerManager;
         this.mdc = mdc;
         this.constantMeters = this.initializeConstantMeters(meterRegistry, markerManager);
+        this.meterCache = null;
+    }
+
+    /**
+     * Builds metrics around constant meters resolved beforehand, other counters are then looked up through the provided {@link MeterCache}.
+     */
+    protected BaseMetrics(MeterCache meterCache, MarkerManager markerManager, MDCManager mdc, ConstantMeters constantMeters)
+    {
+        this.meterRegistry = meterCache.meterRegistry();
+        this.markerManager = markerManager;
+        this.mdc = mdc;
+        this.constantMeters = constantMeters;
+        this.meterCache = meterCache;
     }
 
     public final void setMDC()
@@ -48,6 +66,18 @@ public abstract class BaseMetrics implements Metrics
 
     protected abstract ConstantMeters initializeConstantMeters(MeterRegistry meterRegistry, MarkerManager markerManager);
 
+    protected Counter counter(MeterRegistryKey key, Collection<Tag> tags)
+    {
+        if (this.meterCache != null)
+            return this.meterCache.counter(key, tags);
+        return this.meterRegistry.counter(key.id(), fill(key, tags));
+    }
+
+    public ConstantMeters constantMeters()
+    {
+        return this.constantMeters;
+    }
+
     @Override
     public Timer runTimer()
     {
@@ -0,0 +1,93 @@
+package tech.illuin.pipeline.metering;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import tech.illuin.pipeline.input.initializer.metering.InitializationMarkerManager;
+import tech.illuin.pipeline.input.initializer.metering.InitializationMetrics;
+import tech.illuin.pipeline.metering.BaseMetrics.ConstantMeters;
+import tech.illuin.pipeline.sink.metering.SinkMarkerManager;
+import tech.illuin.pipeline.sink.metering.SinkMetrics;
+import tech.illuin.pipeline.step.metering.StepMarkerManager;
+import tech.illuin.pipeline.step.metering.StepMetrics;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static tech.illuin.pipeline.metering.MeterRegistryKey.fill;
+
+/**
+ * Caches meters by tag set, so that runs sharing the same resolved tags do not perform the same registry lookups over and over.
+ * A pipeline holds a single cache for its whole lifetime, it covers the constant meters of the pipeline and of each of its components, as well as the counters whose tags depend on the run outcome (results, errors).
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class MeterCache
+{
+    private final MeterRegistry meterRegistry;
+    private final Map<MeterKey, ConstantMeters> constantMeters;
+    private final Map<MeterKey, Counter> counters;
+
+    public MeterCache(MeterRegistry meterRegistry)
+    {
+        this.meterRegistry = meterRegistry;
+        this.constantMeters = new ConcurrentHashMap<>();
+        this.counters = new ConcurrentHashMap<>();
+    }
+
+    public PipelineMetrics pipelineMetrics(PipelineMarkerManager markerManager)
+    {
+        ConstantMeters meters = this.constantMeters.computeIfAbsent(
+            new MeterKey(PipelineMetrics.class, markerManager.tags()),
+            key -> new PipelineMetrics(this.meterRegistry, markerManager).constantMeters()
+        );
+        return new PipelineMetrics(this, markerManager, meters);
+    }
+
+    public InitializationMetrics initializationMetrics(InitializationMarkerManager markerManager)
+    {
+        ConstantMeters meters = this.constantMeters.computeIfAbsent(
+            new MeterKey(InitializationMetrics.class, markerManager.tags()),
+            key -> new InitializationMetrics(this.meterRegistry, markerManager).constantMeters()
+        );
+        return new InitializationMetrics(this, markerManager, meters);
+    }
+
+    public StepMetrics stepMetrics(StepMarkerManager markerManager)
+    {
+        ConstantMeters meters = this.constantMeters.computeIfAbsent(
+            new MeterKey(StepMetrics.class, markerManager.tags()),
+            key -> new StepMetrics(this.meterRegistry, markerManager).constantMeters()
+        );
+        return new StepMetrics(this, markerManager, meters);
+    }
+
+    public SinkMetrics sinkMetrics(SinkMarkerManager markerManager)
+    {
+        ConstantMeters meters = this.constantMeters.computeIfAbsent(
+            new MeterKey(SinkMetrics.class, markerManager.tags()),
+            key -> new SinkMetrics(this.meterRegistry, markerManager).constantMeters()
+        );
+        return new SinkMetrics(this, markerManager, meters);
+    }
+
+    public Counter counter(MeterRegistryKey key, Collection<Tag> tags)
+    {
+        return this.counters.computeIfAbsent(
+            new MeterKey(key, Set.copyOf(tags)),
+            k -> this.meterRegistry.counter(key.id(), fill(key, tags))
+        );
+    }
+
+    public MeterRegistry meterRegistry()
+    {
+        return this.meterRegistry;
+    }
+
+    private record MeterKey(
+        Object family,
+        Set<Tag> tags
+    ) {}
+}
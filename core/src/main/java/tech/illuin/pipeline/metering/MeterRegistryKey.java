@@ -17,6 +17,18 @@ public enum MeterRegistryKey
     PIPELINE_RUN_SUCCESS_KEY("pipeline.run.success"),
     PIPELINE_RUN_FAILURE_KEY("pipeline.run.failure"),
     PIPELINE_RUN_ERROR_TOTAL_KEY("pipeline.run.error.total"),
+    /* Batch Metrics */
+    PIPELINE_BATCH_RUN_KEY("pipeline.batch.run"),
+    PIPELINE_BATCH_RUN_TOTAL_KEY("pipeline.batch.run.total"),
+    PIPELINE_BATCH_RUN_SUCCESS_KEY("pipeline.batch.run.success"),
+    PIPELINE_BATCH_RUN_FAILURE_KEY("pipeline.batch.run.failure"),
+    PIPELINE_BATCH_ERROR_TOTAL_KEY("pipeline.batch.error.total"),
+    PIPELINE_BATCH_INPUT_TOTAL_KEY("pipeline.batch.input.total"),
+    /* Async Metrics */
+    PIPELINE_ASYNC_IN_FLIGHT_KEY("pipeline.async.in_flight"),
+    PIPELINE_ASYNC_QUEUE_SIZE_KEY("pipeline.async.queue.size"),
+    PIPELINE_ASYNC_WAIT_KEY("pipeline.async.wait"),
+    PIPELINE_ASYNC_REJECTED_TOTAL_KEY("pipeline.async.rejected.total"),
     /* Initialization Metrics */
     PIPELINE_INITIALIZATION_RUN_KEY("pipeline.initialization.run"),
     PIPELINE_INITIALIZATION_RUN_TOTAL_KEY("pipeline.initialization.run.total"),
@@ -36,6 +48,12 @@ public enum MeterRegistryKey
     PIPELINE_SINK_RUN_SUCCESS_KEY("pipeline.sink.run.success"),
     PIPELINE_SINK_RUN_FAILURE_KEY("pipeline.sink.run.failure"),
     PIPELINE_SINK_ERROR_TOTAL_KEY("pipeline.sink.error.total"),
+    /* Batching Sink Metrics */
+    PIPELINE_SINK_BATCH_SIZE_KEY("pipeline.sink.batch.size"),
+    PIPELINE_SINK_BATCH_PENDING_KEY("pipeline.sink.batch.pending"),
+    PIPELINE_SINK_BATCH_FLUSH_KEY("pipeline.sink.batch.flush"),
+    PIPELINE_SINK_BATCH_WAIT_KEY("pipeline.sink.batch.wait"),
+    PIPELINE_SINK_BATCH_FAILURE_KEY("pipeline.sink.batch.failure"),
     ;
     
     private final String id;
@@ -0,0 +1,46 @@
+package tech.illuin.pipeline.metering;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import tech.illuin.pipeline.execution.async.AsyncRunner;
+
+import java.util.Set;
+
+import static tech.illuin.pipeline.metering.MeterRegistryKey.*;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class PipelineAsyncMetrics
+{
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public PipelineAsyncMetrics(MeterRegistry meterRegistry, String pipelineId, AsyncRunner<?> runner)
+    {
+        Set<Tag> tags = Set.of(Tag.of("pipeline", pipelineId));
+        Gauge.builder(PIPELINE_ASYNC_IN_FLIGHT_KEY.id(), runner, AsyncRunner::inFlight)
+            .tags(fill(PIPELINE_ASYNC_IN_FLIGHT_KEY, tags))
+            .register(meterRegistry)
+        ;
+        Gauge.builder(PIPELINE_ASYNC_QUEUE_SIZE_KEY.id(), runner, AsyncRunner::queueSize)
+            .tags(fill(PIPELINE_ASYNC_QUEUE_SIZE_KEY, tags))
+            .register(meterRegistry)
+        ;
+        this.waitTimer = meterRegistry.timer(PIPELINE_ASYNC_WAIT_KEY.id(), fill(PIPELINE_ASYNC_WAIT_KEY, tags));
+        this.rejectedCounter = meterRegistry.counter(PIPELINE_ASYNC_REJECTED_TOTAL_KEY.id(), fill(PIPELINE_ASYNC_REJECTED_TOTAL_KEY, tags));
+    }
+
+    public Timer waitTimer()
+    {
+        return this.waitTimer;
+    }
+
+    public Counter rejectedCounter()
+    {
+        return this.rejectedCounter;
+    }
+}
@@ -0,0 +1,52 @@
+package tech.illuin.pipeline.metering;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+
+import java.util.Collection;
+
+import static tech.illuin.pipeline.metering.MeterRegistryKey.*;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class PipelineBatchMetrics extends BaseMetrics
+{
+    private final Counter inputCounter;
+
+    public PipelineBatchMetrics(MeterRegistry meterRegistry, PipelineMarkerManager markerManager)
+    {
+        super(meterRegistry, markerManager);
+        this.inputCounter = meterRegistry.counter(PIPELINE_BATCH_INPUT_TOTAL_KEY.id(), fill(PIPELINE_BATCH_INPUT_TOTAL_KEY, markerManager.tags()));
+    }
+
+    @Override
+    protected ConstantMeters initializeConstantMeters(MeterRegistry meterRegistry, MarkerManager markerManager)
+    {
+        Collection<Tag> meterTags = this.markerManager.tags();
+        return new ConstantMeters(
+            meterRegistry.timer(PIPELINE_BATCH_RUN_KEY.id(), fill(PIPELINE_BATCH_RUN_KEY, meterTags)),
+            meterRegistry.counter(PIPELINE_BATCH_RUN_TOTAL_KEY.id(), fill(PIPELINE_BATCH_RUN_TOTAL_KEY, meterTags)),
+            meterRegistry.counter(PIPELINE_BATCH_RUN_SUCCESS_KEY.id(), fill(PIPELINE_BATCH_RUN_SUCCESS_KEY, meterTags)),
+            meterRegistry.counter(PIPELINE_BATCH_RUN_FAILURE_KEY.id(), fill(PIPELINE_BATCH_RUN_FAILURE_KEY, meterTags))
+        );
+    }
+
+    public Counter inputCounter()
+    {
+        return this.inputCounter;
+    }
+
+    @Override
+    public Counter errorCounter(Exception exception)
+    {
+        return this.meterRegistry.counter(
+            PIPELINE_BATCH_ERROR_TOTAL_KEY.id(),
+            fill(
+                PIPELINE_BATCH_ERROR_TOTAL_KEY,
+                this.markerManager.tags(Tag.of("error", exception.getClass().getName()))
+            )
+        );
+    }
+}
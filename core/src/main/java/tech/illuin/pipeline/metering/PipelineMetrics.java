@@ -3,6 +3,7 @@ package tech.illuin.pipeline.metering;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import tech.illuin.pipeline.metering.mdc.DefaultMDCManager;
 import tech.illuin.pipeline.metering.mdc.MDCManager;
 
 import java.util.Collection;
@@ -24,6 +25,11 @@ public class PipelineMetrics extends BaseMetrics
         super(meterRegistry, markerManager, mdc);
     }
 
+    public PipelineMetrics(MeterCache meterCache, PipelineMarkerManager markerManager, ConstantMeters constantMeters)
+    {
+        super(meterCache, markerManager, new DefaultMDCManager(), constantMeters);
+    }
+
     @Override
     protected ConstantMeters initializeConstantMeters(MeterRegistry meterRegistry, MarkerManager markerManager)
     {
@@ -38,12 +44,9 @@ public class PipelineMetrics extends BaseMetrics
 
     public Counter errorCounter(Exception exception)
     {
-        return this.meterRegistry.counter(
-            PIPELINE_RUN_ERROR_TOTAL_KEY.id(),
-            fill(
-                PIPELINE_RUN_ERROR_TOTAL_KEY,
-                this.markerManager.tags(Tag.of("error", exception.getClass().getName()))
-            )
+        return this.counter(
+            PIPELINE_RUN_ERROR_TOTAL_KEY,
+            this.markerManager.tags(Tag.of("error", exception.getClass().getName()))
         );
     }
 }
@@ -0,0 +1,66 @@
+package tech.illuin.pipeline.metering;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import tech.illuin.pipeline.metering.manager.ObservabilityManager;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public final class TracingFunctions
+{
+    private static final Tracer.SpanInScope NOOP_SCOPE = () -> {};
+
+    private TracingFunctions() {}
+
+    /**
+     * Creates the next span for a run, untraced runs do not reach the tracer at all and get {@link Span#NOOP} instead.
+     *
+     * @param observabilityManager the pipeline's observability manager
+     * @param traced whether the run is traced
+     * @param name the span name
+     * @return the span, not started yet
+     */
+    public static Span nextSpan(ObservabilityManager observabilityManager, boolean traced, String name)
+    {
+        return traced ? observabilityManager.tracer().nextSpan().name(name) : Span.NOOP;
+    }
+
+    /**
+     * Creates the next span for a run as a child of the provided parent span, untraced runs do not reach the tracer at all and get {@link Span#NOOP} instead.
+     *
+     * @param observabilityManager the pipeline's observability manager
+     * @param traced whether the run is traced
+     * @param parent the parent span
+     * @param name the span name
+     * @return the span, not started yet
+     */
+    public static Span nextSpan(ObservabilityManager observabilityManager, boolean traced, Span parent, String name)
+    {
+        return traced ? observabilityManager.tracer().nextSpan(parent).name(name) : Span.NOOP;
+    }
+
+    /**
+     * Starts the span and puts it in scope, this is a no-op for {@link Span#NOOP}.
+     *
+     * @param observabilityManager the pipeline's observability manager
+     * @param span the span to start
+     * @return the scope to close when the span's work is done
+     */
+    public static Tracer.SpanInScope start(ObservabilityManager observabilityManager, Span span)
+    {
+        return span == Span.NOOP ? NOOP_SCOPE : observabilityManager.tracer().withSpan(span.start());
+    }
+
+    /**
+     * Puts an already started span in scope (e.g. on another thread), this is a no-op for {@link Span#NOOP}.
+     *
+     * @param observabilityManager the pipeline's observability manager
+     * @param span the span to put in scope
+     * @return the scope to close when the span's work is done
+     */
+    public static Tracer.SpanInScope inScope(ObservabilityManager observabilityManager, Span span)
+    {
+        return span == Span.NOOP ? NOOP_SCOPE : observabilityManager.tracer().withSpan(span);
+    }
+}
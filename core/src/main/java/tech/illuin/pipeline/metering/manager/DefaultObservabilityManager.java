@@ -7,11 +7,24 @@ public class DefaultObservabilityManager implements ObservabilityManager
 {
     private final MeterRegistry meterRegistry;
     private final Tracer tracer;
+    private final ObservabilityLevel level;
+    private final double samplingRate;
 
     public DefaultObservabilityManager(MeterRegistry meterRegistry, Tracer tracer)
     {
+        this(meterRegistry, tracer, ObservabilityLevel.FULL, 1);
+    }
+
+    public DefaultObservabilityManager(MeterRegistry meterRegistry, Tracer tracer, ObservabilityLevel level, double samplingRate)
+    {
+        if (level == null)
+            throw new IllegalArgumentException("The observability level cannot be null");
+        if (samplingRate < 0 || samplingRate > 1)
+            throw new IllegalArgumentException("The sampling rate has to be between 0 and 1");
         this.meterRegistry = meterRegistry;
         this.tracer = tracer;
+        this.level = level;
+        this.samplingRate = samplingRate;
     }
 
     @Override
@@ -26,10 +39,25 @@ public class DefaultObservabilityManager implements ObservabilityManager
         return this.tracer;
     }
 
+    @Override
+    public ObservabilityLevel level()
+    {
+        return this.level;
+    }
+
+    @Override
+    public double samplingRate()
+    {
+        return this.samplingRate;
+    }
+
     public static class Builder implements ObservabilityManager.Builder
     {
         private MeterRegistry meterRegistry;
         private Tracer tracer;
+        private ObservabilityLevel level = ObservabilityLevel.FULL;
+        /* Consistent with ObservabilityManager's default rate, the SAMPLED level is expected to come with its own rate */
+        private double samplingRate = 1;
 
         public Builder() {}
 
@@ -57,10 +85,34 @@ public class DefaultObservabilityManager implements ObservabilityManager
             this.tracer = tracer;
         }
 
+        @Override
+        public ObservabilityLevel level()
+        {
+            return this.level;
+        }
+
+        @Override
+        public void setLevel(ObservabilityLevel level)
+        {
+            this.level = level;
+        }
+
+        @Override
+        public double samplingRate()
+        {
+            return this.samplingRate;
+        }
+
+        @Override
+        public void setSamplingRate(double samplingRate)
+        {
+            this.samplingRate = samplingRate;
+        }
+
         @Override
         public ObservabilityManager build()
         {
-            return new DefaultObservabilityManager(this.meterRegistry, this.tracer);
+            return new DefaultObservabilityManager(this.meterRegistry, this.tracer, this.level, this.samplingRate);
         }
     }
 
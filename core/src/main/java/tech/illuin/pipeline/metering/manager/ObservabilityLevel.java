@@ -0,0 +1,17 @@
+package tech.illuin.pipeline.metering.manager;
+
+/**
+ * Determines how much instrumentation pipeline runs are subjected to.
+ * Metrics are always recorded, the level governs tracing spans and MDC markers which are the costliest part of the instrumentation for short-lived runs.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public enum ObservabilityLevel
+{
+    /** Every run is traced, with a span for each component and MDC markers set during their execution */
+    FULL,
+    /** Runs only record metrics, no span is created and the MDC is left untouched */
+    METRICS_ONLY,
+    /** A random fraction of runs is fully traced (according to the sampling rate), other runs only record metrics */
+    SAMPLED
+}
@@ -3,12 +3,36 @@ package tech.illuin.pipeline.metering.manager;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.tracing.Tracer;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 public interface ObservabilityManager
 {
     MeterRegistry meterRegistry();
 
     Tracer tracer();
 
+    default ObservabilityLevel level()
+    {
+        return ObservabilityLevel.FULL;
+    }
+
+    default double samplingRate()
+    {
+        return 1;
+    }
+
+    /**
+     * Decides whether a new run should be traced, this is evaluated once per run and the outcome applies to all of its components.
+     */
+    default boolean traceRun()
+    {
+        return switch (this.level()) {
+            case FULL -> true;
+            case METRICS_ONLY -> false;
+            case SAMPLED -> ThreadLocalRandom.current().nextDouble() < this.samplingRate();
+        };
+    }
+
     interface Builder
     {
         MeterRegistry meterRegistry();
@@ -19,6 +43,28 @@ public interface ObservabilityManager
 
         void setTracer(Tracer tracer);
 
+        /* Builders that don't support observability levels produce managers tracing every run, and reject any attempt at configuring them */
+
+        default ObservabilityLevel level()
+        {
+            return ObservabilityLevel.FULL;
+        }
+
+        default void setLevel(ObservabilityLevel level)
+        {
+            throw new UnsupportedOperationException(this.getClass().getName() + " does not support observability levels");
+        }
+
+        default double samplingRate()
+        {
+            return 1;
+        }
+
+        default void setSamplingRate(double samplingRate)
+        {
+            throw new UnsupportedOperationException(this.getClass().getName() + " does not support sampling rates");
+        }
+
         ObservabilityManager build();
     }
 }
@@ -94,6 +94,7 @@ public class DescriptorObserver implements Observer
                 sd.id(),
                 compileDescription(sd.step()),
                 sd.isPinned(),
+                sd.isParallel(),
                 compileDescription(sd.executionWrapper()),
                 compileDescription(sd.activationPredicate()),
                 compileDescription(sd.resultEvaluator()),
@@ -6,6 +6,7 @@ public record StepDescription(
     String id,
     Object step,
     boolean pinned,
+    boolean parallel,
     Object executionWrapper,
     Object condition,
     Object resultEvaluator,
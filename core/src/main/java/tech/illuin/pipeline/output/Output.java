@@ -30,14 +30,19 @@ public class Output implements Comparable<Output>
     }
 
     public Output(PipelineTag tag, Instant createdAt, Object payload, Context context)
+    {
+        this(tag, createdAt, payload, context, new IndexContainer(), new ResultContainer());
+    }
+
+    public Output(PipelineTag tag, Instant createdAt, Object payload, Context context, IndexContainer index, ResultContainer results)
     {
         this.tag = tag;
         this.payload = payload;
         this.context = context;
         this.createdAt = createdAt;
-        this.index = new IndexContainer();
-        this.results = new ResultContainer();
-        context.parent().ifPresent(parent -> this.results().register(parent.results()));
+        this.index = index;
+        this.results = results;
+        context.parent().ifPresent(parent -> this.results().inherit(parent.results()));
     }
 
     public PipelineTag tag()
@@ -50,10 +55,15 @@ public class Output implements Comparable<Output>
         return this.createdAt;
     }
 
-    public synchronized Output finish()
+    public Output finish()
+    {
+        return this.finish(Instant.now());
+    }
+
+    public synchronized Output finish(Instant finishedAt)
     {
         if (this.finishedAt == null)
-            this.finishedAt = Instant.now();
+            this.finishedAt = finishedAt;
         return this;
     }
 
@@ -0,0 +1,90 @@
+package tech.illuin.pipeline.output.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Variable-length primitives shared by the output writer and reader.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+final class Binary
+{
+    private Binary() {}
+
+    static void writeVarLong(DataOutput out, long value) throws IOException
+    {
+        while ((value & ~0x7FL) != 0)
+        {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(DataInput in) throws IOException
+    {
+        long value = 0;
+        for (int shift = 0 ; shift < 64 ; shift += 7)
+        {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("Malformed variable-length number");
+    }
+
+    static void writeVarInt(DataOutput out, int value) throws IOException
+    {
+        writeVarLong(out, Integer.toUnsignedLong(value));
+    }
+
+    static int readVarInt(DataInput in) throws IOException
+    {
+        long value = readVarLong(in);
+        if (value > 0xFFFFFFFFL)
+            throw new IOException("Malformed variable-length number");
+        return (int) value;
+    }
+
+    /* Null strings are written as a zero length, and other strings with their length shifted by one */
+    static void writeString(DataOutput out, String value) throws IOException
+    {
+        if (value == null)
+        {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException
+    {
+        int length = readVarInt(in);
+        if (length == 0)
+            return null;
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeInstant(DataOutput out, Instant instant) throws IOException
+    {
+        long seconds = instant.getEpochSecond();
+        writeVarLong(out, (seconds << 1) ^ (seconds >> 63));
+        writeVarInt(out, instant.getNano());
+    }
+
+    static Instant readInstant(DataInput in) throws IOException
+    {
+        long zigzag = readVarLong(in);
+        long seconds = (zigzag >>> 1) ^ -(zigzag & 1);
+        return Instant.ofEpochSecond(seconds, readVarInt(in));
+    }
+}
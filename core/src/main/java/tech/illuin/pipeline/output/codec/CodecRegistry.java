@@ -0,0 +1,62 @@
+package tech.illuin.pipeline.output.codec;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Associates the types found in outputs with a {@link ValueCodec} and a numeric id, which is what gets written instead of the type name.
+ * Ids are part of the binary format: they have to remain stable across processes and versions reading the same data.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public final class CodecRegistry
+{
+    private final Map<Integer, Registration<?>> byId;
+    private final Map<Class<?>, Registration<?>> byType;
+
+    public CodecRegistry()
+    {
+        this.byId = new HashMap<>();
+        this.byType = new HashMap<>();
+    }
+
+    /**
+     * @param id a positive or zero id, unique within the registry
+     * @param type the exact type handled by the codec, subtypes have to be registered separately
+     * @param codec the codec to use for the type
+     * @return this registry
+     */
+    public <T> CodecRegistry register(int id, Class<T> type, ValueCodec<T> codec)
+    {
+        if (id < 0)
+            throw new IllegalArgumentException("Codec ids cannot be negative, " + id + " was provided for " + type.getName());
+        if (this.byId.containsKey(id))
+            throw new IllegalArgumentException("Codec id " + id + " is already registered for " + this.byId.get(id).type().getName());
+        if (this.byType.containsKey(type))
+            throw new IllegalArgumentException("A codec is already registered for " + type.getName());
+
+        Registration<T> registration = new Registration<>(id, type, codec);
+        this.byId.put(id, registration);
+        this.byType.put(type, registration);
+        return this;
+    }
+
+    Registration<?> get(Class<?> type)
+    {
+        Registration<?> registration = this.byType.get(type);
+        if (registration == null)
+            throw new IllegalArgumentException("No codec is registered for " + type.getName());
+        return registration;
+    }
+
+    Registration<?> get(int id)
+    {
+        return this.byId.get(id);
+    }
+
+    record Registration<T>(
+        int id,
+        Class<T> type,
+        ValueCodec<T> codec
+    ) {}
+}
@@ -0,0 +1,281 @@
+package tech.illuin.pipeline.output.codec;
+
+import tech.illuin.pipeline.input.indexer.IndexContainer;
+import tech.illuin.pipeline.output.ComponentTag;
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.output.PipelineTag;
+import tech.illuin.pipeline.step.result.ResultContainer;
+import tech.illuin.pipeline.step.result.ResultDescriptor;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import static tech.illuin.pipeline.output.codec.Binary.*;
+
+/**
+ * A compact binary format for {@link Output} instances, user-defined types (payloads, indexed objects and results) are handled by the codecs of a {@link CodecRegistry}.
+ * An encoded output is laid out as follows:
+ * <ul>
+ *     <li>a header with the format version and whether the remainder is compressed</li>
+ *     <li>the pipeline tag, creation and completion dates</li>
+ *     <li>the payload</li>
+ *     <li>the indexed objects, in insertion order</li>
+ *     <li>the inherited results, then the current ones, in registration order; tags and uids repeated across results are only written once</li>
+ * </ul>
+ * Each user-defined value is prefixed with its length, so an {@link OutputReader} can skip the sections it is not interested in without decoding them.
+ * The output's context is not encoded, decoded outputs get an empty one.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class OutputCodec
+{
+    private final CodecRegistry registry;
+    private final boolean compress;
+
+    static final int MAGIC = 0x44504F43;
+    static final int VERSION = 1;
+    static final int FLAG_COMPRESSED = 1;
+
+    public OutputCodec(CodecRegistry registry)
+    {
+        this(registry, false);
+    }
+
+    /**
+     * @param registry the codecs for user-defined types
+     * @param compress whether outputs should be deflate-compressed upon writing, reading supports both regardless of this setting
+     */
+    public OutputCodec(CodecRegistry registry, boolean compress)
+    {
+        this.registry = registry;
+        this.compress = compress;
+    }
+
+    /**
+     * Writes the output to the provided stream, which is flushed but left open.
+     */
+    public void write(Output output, OutputStream stream) throws IOException
+    {
+        DataOutputStream header = new DataOutputStream(stream);
+        header.writeInt(MAGIC);
+        header.writeByte(VERSION);
+        header.writeByte(this.compress ? FLAG_COMPRESSED : 0);
+        header.flush();
+
+        Deflater deflater = this.compress ? new Deflater() : null;
+        try {
+            DeflaterOutputStream deflated = deflater == null ? null : new DeflaterOutputStream(stream, deflater);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(deflated == null ? stream : deflated));
+            new Writer(out).write(output);
+            out.flush();
+            if (deflated != null)
+                deflated.finish();
+            stream.flush();
+        }
+        finally {
+            if (deflater != null)
+                deflater.end();
+        }
+    }
+
+    public byte[] encode(Output output) throws IOException
+    {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        this.write(output, stream);
+        return stream.toByteArray();
+    }
+
+    /**
+     * Opens the provided stream for reading an output section by section, the stream is left open when the reader is closed.
+     */
+    public OutputReader open(InputStream stream) throws IOException
+    {
+        return new OutputReader(stream, this.registry);
+    }
+
+    public Output read(InputStream stream) throws IOException
+    {
+        try (OutputReader reader = this.open(stream)) {
+            return reader.output();
+        }
+    }
+
+    public Output decode(byte[] bytes) throws IOException
+    {
+        return this.read(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Encodes a standalone value (e.g. a pipeline input) with the registry's codecs, null values are supported.
+     */
+    public byte[] encodeValue(Object value) throws IOException
+    {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(stream);
+        if (value == null)
+            writeVarInt(out, 0);
+        else {
+            CodecRegistry.Registration<?> registration = this.registry.get(value.getClass());
+            writeVarInt(out, registration.id() + 1);
+            encode(registration, value, out);
+        }
+        out.flush();
+        return stream.toByteArray();
+    }
+
+    public Object decodeValue(byte[] bytes) throws IOException
+    {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        int id = readVarInt(in);
+        if (id == 0)
+            return null;
+        CodecRegistry.Registration<?> registration = this.registry.get(id - 1);
+        if (registration == null)
+            throw new IOException("No codec is registered for id " + (id - 1));
+        return registration.codec().read(in);
+    }
+
+    /**
+     * Encodes a standalone list of results (e.g. those registered by a step), without the output's header nor its other sections.
+     */
+    public byte[] encodeResults(List<ResultContainer.Entry> entries) throws IOException
+    {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(stream);
+        new Writer(out).writeResults(entries);
+        out.flush();
+        return stream.toByteArray();
+    }
+
+    /**
+     * Decodes a list of results encoded by {@link #encodeResults(List)}, they are all reported as current.
+     */
+    public void decodeResults(byte[] bytes, OutputReader.ResultConsumer consumer) throws IOException
+    {
+        OutputReader.readResults(new DataInputStream(new ByteArrayInputStream(bytes)), this.registry, consumer);
+    }
+
+    private final class Writer
+    {
+        private final DataOutputStream out;
+        private final ByteArrayOutputStream buffer;
+        private final DataOutputStream bufferOut;
+        private final Map<PipelineTag, Integer> pipelineTags;
+        private final Map<ComponentTag, Integer> componentTags;
+        private final Map<String, Integer> scopes;
+
+        private Writer(DataOutputStream out)
+        {
+            this.out = out;
+            this.buffer = new ByteArrayOutputStream();
+            this.bufferOut = new DataOutputStream(this.buffer);
+            this.pipelineTags = new HashMap<>();
+            this.componentTags = new HashMap<>();
+            this.scopes = new HashMap<>();
+        }
+
+        private void write(Output output) throws IOException
+        {
+            this.writePipelineTag(output.tag());
+            writeInstant(this.out, output.createdAt());
+            this.out.writeBoolean(output.finishedAt().isPresent());
+            if (output.finishedAt().isPresent())
+                writeInstant(this.out, output.finishedAt().get());
+
+            this.writeValue(output.payload());
+
+            List<IndexContainer.Entry<?>> entries = output.index().entries();
+            writeVarInt(this.out, entries.size());
+            for (IndexContainer.Entry<?> entry : entries)
+                this.writeValue(entry.data());
+
+            ResultContainer results = output.results();
+            this.writeResults(results.inheritedEntries().toList());
+            this.writeResults(results.currentEntries().toList());
+        }
+
+        private void writeResults(List<ResultContainer.Entry> entries) throws IOException
+        {
+            writeVarInt(this.out, entries.size());
+            for (ResultContainer.Entry entry : entries)
+            {
+                ResultDescriptor<?> descriptor = entry.descriptor();
+                this.writeScope(entry.uid());
+                writeString(this.out, descriptor.uid());
+                this.writeComponentTag(descriptor.tag());
+                writeInstant(this.out, descriptor.createdAt());
+                writeVarLong(this.out, descriptor.fingerprint());
+                this.writeValue(descriptor.result());
+            }
+        }
+
+        /* Repeated references are written as their position in the order of first appearance, shifted by one, zero announcing a new one */
+        private void writeScope(String uid) throws IOException
+        {
+            Integer ref = this.scopes.get(uid);
+            writeVarInt(this.out, ref == null ? 0 : ref + 1);
+            if (ref != null)
+                return;
+            this.scopes.put(uid, this.scopes.size());
+            writeString(this.out, uid);
+        }
+
+        private void writePipelineTag(PipelineTag tag) throws IOException
+        {
+            Integer ref = this.pipelineTags.get(tag);
+            writeVarInt(this.out, ref == null ? 0 : ref + 1);
+            if (ref != null)
+                return;
+            this.pipelineTags.put(tag, this.pipelineTags.size());
+            writeString(this.out, tag.uid());
+            writeString(this.out, tag.pipeline());
+            writeString(this.out, tag.author());
+        }
+
+        private void writeComponentTag(ComponentTag tag) throws IOException
+        {
+            Integer ref = this.componentTags.get(tag);
+            writeVarInt(this.out, ref == null ? 0 : ref + 1);
+            if (ref != null)
+                return;
+            this.componentTags.put(tag, this.componentTags.size());
+            writeString(this.out, tag.uid());
+            this.writePipelineTag(tag.pipelineTag());
+            writeString(this.out, tag.id());
+            writeVarInt(this.out, tag.family().ordinal());
+        }
+
+        private void writeValue(Object value) throws IOException
+        {
+            if (value == null)
+            {
+                writeVarInt(this.out, 0);
+                return;
+            }
+            CodecRegistry.Registration<?> registration = OutputCodec.this.registry.get(value.getClass());
+            this.buffer.reset();
+            encode(registration, value, this.bufferOut);
+            this.bufferOut.flush();
+
+            writeVarInt(this.out, registration.id() + 1);
+            writeVarInt(this.out, this.buffer.size());
+            this.buffer.writeTo(this.out);
+        }
+    }
+
+    private static <T> void encode(CodecRegistry.Registration<T> registration, Object value, DataOutputStream out) throws IOException
+    {
+        registration.codec().write(registration.type().cast(value), out);
+    }
+}
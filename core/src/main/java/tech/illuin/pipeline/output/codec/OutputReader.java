@@ -0,0 +1,282 @@
+package tech.illuin.pipeline.output.codec;
+
+import tech.illuin.pipeline.context.SimpleContext;
+import tech.illuin.pipeline.input.indexer.IndexContainer;
+import tech.illuin.pipeline.input.indexer.Indexable;
+import tech.illuin.pipeline.output.ComponentFamily;
+import tech.illuin.pipeline.output.ComponentTag;
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.output.PipelineTag;
+import tech.illuin.pipeline.step.result.Result;
+import tech.illuin.pipeline.step.result.ResultContainer;
+import tech.illuin.pipeline.step.result.ResultDescriptor;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import static tech.illuin.pipeline.output.codec.Binary.*;
+
+/**
+ * Reads an output encoded by an {@link OutputCodec} section by section: the tag and dates are read upon opening, then the payload, indexed objects and results can be read in that order.
+ * Reading a section skips the previous ones if they weren't read, without decoding their values; sections cannot be read twice.
+ * Decoded results are registered again in their original order, inherited results into a read-only layer so that they are not current.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public final class OutputReader implements AutoCloseable
+{
+    private final CodecRegistry registry;
+    private final Inflater inflater;
+    private final DataInputStream in;
+    private final PipelineTag tag;
+    private final Instant createdAt;
+    private final Instant finishedAt;
+    private final List<PipelineTag> pipelineTags;
+    private final List<ComponentTag> componentTags;
+    private final List<String> scopes;
+    private Section section;
+
+    private static final ComponentFamily[] FAMILIES = ComponentFamily.values();
+
+    OutputReader(InputStream stream, CodecRegistry registry) throws IOException
+    {
+        this.registry = registry;
+        DataInputStream header = new DataInputStream(stream);
+        if (header.readInt() != OutputCodec.MAGIC)
+            throw new IOException("The provided stream does not contain an encoded output");
+        int version = header.readUnsignedByte();
+        if (version != OutputCodec.VERSION)
+            throw new IOException("Unsupported output encoding version " + version);
+        boolean compressed = (header.readUnsignedByte() & OutputCodec.FLAG_COMPRESSED) != 0;
+
+        this.inflater = compressed ? new Inflater() : null;
+        this.in = new DataInputStream(new BufferedInputStream(compressed ? new InflaterInputStream(stream, this.inflater) : stream));
+        this.pipelineTags = new ArrayList<>();
+        this.componentTags = new ArrayList<>();
+        this.scopes = new ArrayList<>();
+
+        this.tag = this.readPipelineTag();
+        this.createdAt = readInstant(this.in);
+        this.finishedAt = this.in.readBoolean() ? readInstant(this.in) : null;
+        this.section = Section.PAYLOAD;
+    }
+
+    /* Reads a standalone list of results, as encoded by OutputCodec#encodeResults */
+    private OutputReader(DataInputStream in, CodecRegistry registry)
+    {
+        this.registry = registry;
+        this.inflater = null;
+        this.in = in;
+        this.pipelineTags = new ArrayList<>();
+        this.componentTags = new ArrayList<>();
+        this.scopes = new ArrayList<>();
+        this.tag = null;
+        this.createdAt = null;
+        this.finishedAt = null;
+        this.section = Section.RESULTS;
+    }
+
+    static void readResults(DataInputStream in, CodecRegistry registry, ResultConsumer consumer) throws IOException
+    {
+        new OutputReader(in, registry).readResults(consumer, true);
+    }
+
+    public PipelineTag tag()
+    {
+        return this.tag;
+    }
+
+    public Instant createdAt()
+    {
+        return this.createdAt;
+    }
+
+    public Optional<Instant> finishedAt()
+    {
+        return Optional.ofNullable(this.finishedAt);
+    }
+
+    public Object payload() throws IOException
+    {
+        this.moveTo(Section.PAYLOAD);
+        Object payload = this.readValue();
+        this.section = Section.INDEX;
+        return payload;
+    }
+
+    public void index(Consumer<Indexable> consumer) throws IOException
+    {
+        this.moveTo(Section.INDEX);
+        int count = readVarInt(this.in);
+        for (int i = 0 ; i < count ; ++i)
+        {
+            if (!(this.readValue() instanceof Indexable indexable))
+                throw new IOException("An indexed value was decoded into a non-Indexable type");
+            consumer.accept(indexable);
+        }
+        this.section = Section.RESULTS;
+    }
+
+    public void results(ResultConsumer consumer) throws IOException
+    {
+        this.moveTo(Section.RESULTS);
+        this.readResults(consumer, false);
+        this.readResults(consumer, true);
+        this.section = Section.END;
+    }
+
+    /**
+     * Reads the remainder of the stream into an {@link Output}, inherited results are placed in a read-only layer of its result container.
+     */
+    public Output output() throws IOException
+    {
+        Object payload = this.payload();
+
+        IndexContainer index = new IndexContainer();
+        this.index(index::index);
+
+        this.moveTo(Section.RESULTS);
+        ResultContainer inherited = new ResultContainer();
+        this.readResults((uid, descriptor, current) -> inherited.register(uid, descriptor), false);
+        /* Only the results registered in the container itself are current, inherited ones are kept in a layer */
+        ResultContainer results = new ResultContainer();
+        if (inherited.size() > 0)
+            results.inherit(inherited);
+        this.readResults((uid, descriptor, current) -> results.register(uid, descriptor), true);
+        this.section = Section.END;
+
+        Output output = new Output(this.tag, this.createdAt, payload, new SimpleContext(), index, results);
+        if (this.finishedAt != null)
+            output.finish(this.finishedAt);
+        return output;
+    }
+
+    private void readResults(ResultConsumer consumer, boolean current) throws IOException
+    {
+        int count = readVarInt(this.in);
+        for (int i = 0 ; i < count ; ++i)
+        {
+            String scope = this.readScope();
+            String uid = readString(this.in);
+            ComponentTag componentTag = this.readComponentTag();
+            Instant resultCreatedAt = readInstant(this.in);
+            long fingerprint = readVarLong(this.in);
+            if (!(this.readValue() instanceof Result result))
+                throw new IOException("A result value was decoded into a non-Result type");
+
+            ResultDescriptor<?> descriptor = new ResultDescriptor<>(uid, componentTag, resultCreatedAt, result);
+            consumer.accept(scope, fingerprint == ResultDescriptor.NO_FINGERPRINT ? descriptor : descriptor.withFingerprint(fingerprint), current);
+        }
+    }
+
+    private void moveTo(Section target) throws IOException
+    {
+        if (this.section.ordinal() > target.ordinal())
+            throw new IllegalStateException("The " + target + " section has already been read");
+        if (this.section == Section.PAYLOAD && target != Section.PAYLOAD)
+        {
+            this.skipValue();
+            this.section = Section.INDEX;
+        }
+        if (this.section == Section.INDEX && target != Section.INDEX)
+        {
+            int count = readVarInt(this.in);
+            for (int i = 0 ; i < count ; ++i)
+                this.skipValue();
+            this.section = Section.RESULTS;
+        }
+    }
+
+    private Object readValue() throws IOException
+    {
+        int id = readVarInt(this.in);
+        if (id == 0)
+            return null;
+        CodecRegistry.Registration<?> registration = this.registry.get(id - 1);
+        if (registration == null)
+            throw new IOException("No codec is registered for id " + (id - 1));
+        int length = readVarInt(this.in);
+        byte[] bytes = new byte[length];
+        this.in.readFully(bytes);
+        return registration.codec().read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    private void skipValue() throws IOException
+    {
+        if (readVarInt(this.in) == 0)
+            return;
+        this.in.skipNBytes(readVarInt(this.in));
+    }
+
+    private String readScope() throws IOException
+    {
+        int ref = readVarInt(this.in);
+        if (ref > 0)
+            return this.scopes.get(ref - 1);
+        String scope = readString(this.in);
+        this.scopes.add(scope);
+        return scope;
+    }
+
+    private PipelineTag readPipelineTag() throws IOException
+    {
+        int ref = readVarInt(this.in);
+        if (ref > 0)
+            return this.pipelineTags.get(ref - 1);
+        PipelineTag pipelineTag = new PipelineTag(readString(this.in), readString(this.in), readString(this.in));
+        this.pipelineTags.add(pipelineTag);
+        return pipelineTag;
+    }
+
+    private ComponentTag readComponentTag() throws IOException
+    {
+        int ref = readVarInt(this.in);
+        if (ref > 0)
+            return this.componentTags.get(ref - 1);
+        String uid = readString(this.in);
+        PipelineTag pipelineTag = this.readPipelineTag();
+        String id = readString(this.in);
+        ComponentTag componentTag = new ComponentTag(uid, pipelineTag, id, FAMILIES[readVarInt(this.in)]);
+        this.componentTags.add(componentTag);
+        return componentTag;
+    }
+
+    /**
+     * Releases the resources held by the reader, the underlying stream is left open.
+     */
+    @Override
+    public void close()
+    {
+        if (this.inflater != null)
+            this.inflater.end();
+    }
+
+    @FunctionalInterface
+    public interface ResultConsumer
+    {
+        /**
+         * @param uid the uid of the object the result is attached to
+         * @param descriptor the decoded descriptor
+         * @param current whether the result was produced by the encoded run itself, as opposed to inherited from a parent run
+         */
+        void accept(String uid, ResultDescriptor<?> descriptor, boolean current);
+    }
+
+    private enum Section
+    {
+        PAYLOAD,
+        INDEX,
+        RESULTS,
+        END,
+    }
+}
@@ -0,0 +1,17 @@
+package tech.illuin.pipeline.output.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary representation of a user-defined type (e.g. a payload, an {@link tech.illuin.pipeline.input.indexer.Indexable} or a {@link tech.illuin.pipeline.step.result.Result}), as registered in a {@link CodecRegistry}.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public interface ValueCodec<T>
+{
+    void write(T value, DataOutput out) throws IOException;
+
+    T read(DataInput in) throws IOException;
+}
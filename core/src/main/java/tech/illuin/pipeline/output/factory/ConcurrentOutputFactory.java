@@ -0,0 +1,23 @@
+package tech.illuin.pipeline.output.factory;
+
+import tech.illuin.pipeline.context.Context;
+import tech.illuin.pipeline.input.indexer.ConcurrentIndexContainer;
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.output.PipelineTag;
+import tech.illuin.pipeline.step.result.ConcurrentResultContainer;
+
+import java.time.Instant;
+
+/**
+ * Produces outputs which index and results can be safely read and written from several threads, e.g. when steps and sinks are run concurrently.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class ConcurrentOutputFactory<I> implements OutputFactory<I>
+{
+    @Override
+    public Output create(PipelineTag tag, I input, Object payload, Context context)
+    {
+        return new Output(tag, Instant.now(), payload, context, new ConcurrentIndexContainer(), new ConcurrentResultContainer());
+    }
+}
@@ -0,0 +1,370 @@
+package tech.illuin.pipeline.sink;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tech.illuin.pipeline.context.LocalContext;
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.sink.metering.SinkBatchMetrics;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link Sink} buffering outputs (or projections of them) across runs and handing them over to a delegate in batches.
+ * A batch is flushed when it reaches its maximum size, when the estimated size of buffered items reaches the memory bound, or when its oldest item has waited for the maximum latency.
+ * Size and memory-triggered flushes are performed by the run that filled the buffer, which slows down producers when the delegate can't keep up; latency-triggered flushes are performed by a dedicated thread.
+ * Batches are handed over one at a time and in the order their items were received.
+ * A batch the delegate failed to accept is handed over to the failure handler, so that its items can be retried, stored elsewhere or knowingly dropped.
+ * The sink is closed along with the pipeline it is registered in, remaining items are then flushed.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public final class BatchingSink<T> implements Sink, AutoCloseable
+{
+    private final String id;
+    private final Function<Output, T> projection;
+    private final BatchConsumer<T> delegate;
+    private final BatchFailureHandler<T> failureHandler;
+    private final int maxBatchSize;
+    private final long maxLatency;
+    private final long maxBytes;
+    private final ToLongFunction<T> sizeEstimator;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService scheduler;
+    private final Deque<Entry<T>> buffer;
+    /* Held while a batch is drained and delivered, so that batches cannot overtake each other */
+    private final Object flushLock;
+    /* Bound upon the first execution, before any item is buffered; it is then read by flushes after draining the buffer under the sink's monitor */
+    private SinkBatchMetrics metrics;
+    private long bufferedBytes;
+    private boolean scheduled;
+    private boolean closed;
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchingSink.class);
+
+    private BatchingSink(Builder<T> builder)
+    {
+        if (builder.delegate == null)
+            throw new IllegalArgumentException("A batching sink requires a delegate");
+        if (builder.failureHandler == null)
+            throw new IllegalArgumentException("A batching sink requires a failure handler");
+        if (builder.maxBatchSize < 1)
+            throw new IllegalArgumentException("The maximum batch size has to be strictly positive");
+        if (builder.maxLatency != null && (builder.maxLatency.isNegative() || builder.maxLatency.isZero()))
+            throw new IllegalArgumentException("The maximum latency has to be strictly positive");
+
+        this.id = builder.id;
+        this.projection = builder.projection;
+        this.delegate = builder.delegate;
+        this.failureHandler = builder.failureHandler;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxLatency = builder.maxLatency == null ? -1 : builder.maxLatency.toNanos();
+        this.maxBytes = builder.sizeEstimator == null ? Long.MAX_VALUE : builder.maxBytes;
+        this.sizeEstimator = builder.sizeEstimator;
+        this.buffer = new ArrayDeque<>();
+        this.flushLock = new Object();
+        this.meterRegistry = builder.meterRegistry;
+        this.scheduler = this.maxLatency < 0 ? null : Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "batching-sink-" + this.id);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void execute(Output output, LocalContext context) throws Exception
+    {
+        T item = this.projection.apply(output);
+        if (item == null)
+            return;
+
+        boolean full;
+        synchronized (this)
+        {
+            if (this.closed)
+                throw new IllegalStateException("The batching sink " + this.id + " has been closed");
+            if (this.metrics == null)
+                this.metrics = new SinkBatchMetrics(this.meterRegistry != null ? this.meterRegistry : context.observabilityManager().meterRegistry(), this.id, this);
+
+            long bytes = this.sizeEstimator == null ? 0 : this.sizeEstimator.applyAsLong(item);
+            this.buffer.addLast(new Entry<>(item, bytes, System.nanoTime()));
+            this.bufferedBytes += bytes;
+            full = this.buffer.size() >= this.maxBatchSize || this.bufferedBytes >= this.maxBytes;
+            this.schedule();
+        }
+        if (full)
+            this.flush(false);
+    }
+
+    @Override
+    public String defaultId()
+    {
+        return this.id;
+    }
+
+    /**
+     * @return the number of items waiting to be flushed
+     */
+    public synchronized int pending()
+    {
+        return this.buffer.size();
+    }
+
+    /**
+     * Flushes all buffered items, in as many batches as required by the size bounds.
+     */
+    public void flush() throws Exception
+    {
+        boolean flushed = true;
+        while (flushed)
+            flushed = this.flush(true);
+    }
+
+    /**
+     * @param force whether the batch should be flushed even though it is not full
+     * @return whether a batch was flushed
+     */
+    private boolean flush(boolean force) throws Exception
+    {
+        synchronized (this.flushLock)
+        {
+            List<T> batch;
+            long oldest;
+            synchronized (this)
+            {
+                boolean full = this.buffer.size() >= this.maxBatchSize || this.bufferedBytes >= this.maxBytes;
+                if (this.buffer.isEmpty() || (!force && !full))
+                    return false;
+                oldest = this.buffer.peekFirst().receivedAt();
+                batch = this.drain();
+            }
+            this.deliver(batch, oldest);
+            return true;
+        }
+    }
+
+    /* Takes items up to the maximum batch size, and up to the memory bound unless it would leave the batch empty */
+    private List<T> drain()
+    {
+        List<T> batch = new ArrayList<>(Math.min(this.buffer.size(), this.maxBatchSize));
+        long bytes = 0;
+        while (!this.buffer.isEmpty() && batch.size() < this.maxBatchSize)
+        {
+            Entry<T> entry = this.buffer.peekFirst();
+            if (!batch.isEmpty() && bytes + entry.bytes() > this.maxBytes)
+                break;
+            this.buffer.removeFirst();
+            this.bufferedBytes -= entry.bytes();
+            bytes += entry.bytes();
+            batch.add(entry.item());
+        }
+        return batch;
+    }
+
+    /* Exceptions thrown by the failure handler are rethrown, in which case the batch's items are lost */
+    @SuppressWarnings("IllegalCatch")
+    private void deliver(List<T> batch, long oldest) throws Exception
+    {
+        long start = System.nanoTime();
+        this.metrics.waitTimer().record(start - oldest, TimeUnit.NANOSECONDS);
+        this.metrics.sizeSummary().record(batch.size());
+        try {
+            logger.trace("{} flushing a batch of {} items", this.id, batch.size());
+            this.delegate.accept(batch);
+        }
+        catch (Exception e) {
+            this.metrics.failureCounter().increment();
+            logger.error("{} failed to flush a batch of {} items, handing it over to the failure handler: {}", this.id, batch.size(), e.getMessage());
+            this.failureHandler.handle(e, batch);
+        }
+        finally {
+            this.metrics.flushTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /* Expected to be called while holding the sink's monitor */
+    private void schedule()
+    {
+        if (this.scheduler == null || this.scheduled || this.closed || this.buffer.isEmpty())
+            return;
+
+        long delay = this.buffer.peekFirst().receivedAt() + this.maxLatency - System.nanoTime();
+        this.scheduler.schedule(this::flushExpired, Math.max(delay, 0), TimeUnit.NANOSECONDS);
+        this.scheduled = true;
+    }
+
+    @SuppressWarnings("IllegalCatch")
+    private void flushExpired()
+    {
+        try {
+            boolean flushed = true;
+            while (flushed && this.isExpired())
+                flushed = this.flush(true);
+        }
+        catch (Exception e) {
+            /* The timer has no caller to report the failure to */
+            logger.error("{} failure handler threw an {}, a batch has been lost: {}", this.id, e.getClass().getName(), e.getMessage());
+        }
+        finally {
+            synchronized (this)
+            {
+                this.scheduled = false;
+                this.schedule();
+            }
+        }
+    }
+
+    private synchronized boolean isExpired()
+    {
+        return !this.buffer.isEmpty() && System.nanoTime() - this.buffer.peekFirst().receivedAt() >= this.maxLatency;
+    }
+
+    /**
+     * Stops accepting outputs and flushes the remaining items.
+     */
+    @Override
+    public void close() throws Exception
+    {
+        synchronized (this)
+        {
+            if (this.closed)
+                return;
+            this.closed = true;
+        }
+        if (this.scheduler != null)
+        {
+            this.scheduler.shutdown();
+            this.scheduler.awaitTermination(this.maxLatency, TimeUnit.NANOSECONDS);
+        }
+        this.flush();
+    }
+
+    public static Builder<Output> builder()
+    {
+        return new Builder<>(output -> output);
+    }
+
+    /**
+     * @param projection the function turning outputs into the items handed over to the delegate, outputs projected to null are ignored
+     */
+    public static <T> Builder<T> builder(Function<Output, T> projection)
+    {
+        return new Builder<>(projection);
+    }
+
+    @FunctionalInterface
+    public interface BatchConsumer<T>
+    {
+        void accept(List<T> batch) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface BatchFailureHandler<T>
+    {
+        /**
+         * @param exception the exception thrown by the delegate
+         * @param batch the items of the batch the delegate failed to accept
+         */
+        void handle(Exception exception, List<T> batch) throws Exception;
+    }
+
+    private record Entry<T>(
+        T item,
+        long bytes,
+        long receivedAt
+    ) {}
+
+    public static final class Builder<T>
+    {
+        private final Function<Output, T> projection;
+        private String id;
+        private BatchConsumer<T> delegate;
+        private BatchFailureHandler<T> failureHandler;
+        private int maxBatchSize;
+        private Duration maxLatency;
+        private long maxBytes;
+        private ToLongFunction<T> sizeEstimator;
+        private MeterRegistry meterRegistry;
+
+        private Builder(Function<Output, T> projection)
+        {
+            this.projection = projection;
+            this.id = "batching-sink";
+            this.maxBatchSize = 100;
+            this.maxLatency = Duration.ofSeconds(1);
+        }
+
+        public Builder<T> setId(String id)
+        {
+            this.id = id;
+            return this;
+        }
+
+        public Builder<T> setDelegate(BatchConsumer<T> delegate)
+        {
+            this.delegate = delegate;
+            return this;
+        }
+
+        /**
+         * Sets the handler receiving batches the delegate failed to accept, it is required so that failed batches are never silently dropped.
+         * If the handler throws, the exception is rethrown to the caller of the flush (the run that filled the batch, {@link BatchingSink#flush()} or {@link BatchingSink#close()}), or logged for latency-triggered flushes.
+         */
+        public Builder<T> setFailureHandler(BatchFailureHandler<T> failureHandler)
+        {
+            this.failureHandler = failureHandler;
+            return this;
+        }
+
+        public Builder<T> setMaxBatchSize(int maxBatchSize)
+        {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets how long an item can wait before its batch is flushed, 1 second by default; a null value disables latency-triggered flushes.
+         */
+        public Builder<T> setMaxLatency(Duration maxLatency)
+        {
+            this.maxLatency = maxLatency;
+            return this;
+        }
+
+        /**
+         * Bounds the memory held by buffered items, by default only the number of items is bounded.
+         *
+         * @param maxBytes the total estimated size at which buffered items are flushed
+         * @param sizeEstimator the function estimating the size of an item, in bytes
+         */
+        public Builder<T> setMemoryBound(long maxBytes, ToLongFunction<T> sizeEstimator)
+        {
+            this.maxBytes = maxBytes;
+            this.sizeEstimator = sizeEstimator;
+            return this;
+        }
+
+        /**
+         * Sets the registry the batch meters are reported to, by default they are reported to the meter registry of the first pipeline executing the sink.
+         */
+        public Builder<T> setMeterRegistry(MeterRegistry meterRegistry)
+        {
+            this.meterRegistry = meterRegistry;
+            return this;
+        }
+
+        public BatchingSink<T> build()
+        {
+            return new BatchingSink<>(this);
+        }
+    }
+}
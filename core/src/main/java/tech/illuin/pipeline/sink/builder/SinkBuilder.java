@@ -2,6 +2,7 @@ package tech.illuin.pipeline.sink.builder;
 
 import tech.illuin.pipeline.builder.ComponentBuilder;
 import tech.illuin.pipeline.builder.runner_compiler.CompiledMethod;
+import tech.illuin.pipeline.sink.BatchingSink;
 import tech.illuin.pipeline.sink.Sink;
 import tech.illuin.pipeline.sink.annotation.SinkConfig;
 import tech.illuin.pipeline.sink.execution.error.SinkErrorHandler;
@@ -21,6 +22,7 @@ public class SinkBuilder extends ComponentBuilder<Object, Object, SinkDescriptor
     private SinkWrapper executionWrapper;
     private SinkErrorHandler errorHandler;
     private Boolean async;
+    private Boolean closeWithPipeline;
 
     public SinkBuilder()
     {
@@ -50,6 +52,8 @@ public class SinkBuilder extends ComponentBuilder<Object, Object, SinkDescriptor
             this.id = this.sink.defaultId();
         if (this.async == null)
             this.async = false;
+        if (this.closeWithPipeline == null)
+            this.closeWithPipeline = this.sink instanceof BatchingSink;
         if (this.executionWrapper == null)
             this.executionWrapper = SinkWrapper::noOp;
         if (this.errorHandler == null)
@@ -92,6 +96,16 @@ public class SinkBuilder extends ComponentBuilder<Object, Object, SinkDescriptor
         return this;
     }
 
+    /**
+     * Sets whether the sink should be closed along with the pipeline, which requires it to implement {@link AutoCloseable}.
+     * This is enabled by default for a {@link BatchingSink} so that its remaining items are flushed, and should be disabled for sinks shared with other pipelines.
+     */
+    public SinkBuilder setCloseWithPipeline(boolean closeWithPipeline)
+    {
+        this.closeWithPipeline = closeWithPipeline;
+        return this;
+    }
+
     @Override
     protected SinkDescriptor build()
     {
@@ -117,6 +131,7 @@ public class SinkBuilder extends ComponentBuilder<Object, Object, SinkDescriptor
             this.id,
             this.sink,
             this.async,
+            this.closeWithPipeline,
             this.executionWrapper,
             this.errorHandler
         );
@@ -126,5 +141,7 @@ public class SinkBuilder extends ComponentBuilder<Object, Object, SinkDescriptor
     {
         if (this.id == null)
             throw new IllegalStateException("A sink cannot have a null id, make sure the defaultId() return value is not null");
+        if (this.closeWithPipeline && !(this.sink instanceof AutoCloseable))
+            throw new IllegalStateException("The sink " + this.id + " cannot be closed along with the pipeline as it does not implement AutoCloseable");
     }
 }
@@ -14,26 +14,32 @@ public final class SinkDescriptor
     private final String id;
     private final Sink sink;
     private final boolean isAsync;
+    private final boolean closeWithPipeline;
     private final SinkWrapper executionWrapper;
+    private final Sink wrappedSink;
     private final SinkErrorHandler errorHandler;
 
     SinkDescriptor(
         String id,
         Sink sink,
         boolean isAsync,
+        boolean closeWithPipeline,
         SinkWrapper executionWrapper,
         SinkErrorHandler errorHandler
     ) {
         this.id = id;
         this.sink = sink;
         this.isAsync = isAsync;
+        this.closeWithPipeline = closeWithPipeline;
         this.executionWrapper = executionWrapper;
+        /* Descriptors are immutable, so the sink is wrapped once and for all instead of upon each execution */
+        this.wrappedSink = executionWrapper.wrap(sink);
         this.errorHandler = errorHandler;
     }
 
     public void execute(Output output, LocalContext ctx) throws Exception
     {
-        this.executionWrapper.wrap(this.sink).execute(output, ctx);
+        this.wrappedSink.execute(output, ctx);
     }
 
     public void handleException(Exception ex, Output output, LocalContext ctx) throws Exception
@@ -60,6 +66,11 @@ public final class SinkDescriptor
         return this.isAsync;
     }
 
+    public boolean closeWithPipeline()
+    {
+        return this.closeWithPipeline;
+    }
+
     public Sink sink()
     {
         return this.sink;
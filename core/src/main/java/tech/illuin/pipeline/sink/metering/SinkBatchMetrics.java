@@ -0,0 +1,60 @@
+package tech.illuin.pipeline.sink.metering;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import tech.illuin.pipeline.sink.BatchingSink;
+
+import java.util.Set;
+
+import static tech.illuin.pipeline.metering.MeterRegistryKey.*;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class SinkBatchMetrics
+{
+    private final DistributionSummary sizeSummary;
+    private final Timer flushTimer;
+    private final Timer waitTimer;
+    private final Counter failureCounter;
+
+    public SinkBatchMetrics(MeterRegistry meterRegistry, String sinkId, BatchingSink<?> sink)
+    {
+        Set<Tag> tags = Set.of(Tag.of("sink", sinkId));
+        Gauge.builder(PIPELINE_SINK_BATCH_PENDING_KEY.id(), sink, BatchingSink::pending)
+            .tags(fill(PIPELINE_SINK_BATCH_PENDING_KEY, tags))
+            .register(meterRegistry)
+        ;
+        this.sizeSummary = DistributionSummary.builder(PIPELINE_SINK_BATCH_SIZE_KEY.id())
+            .tags(fill(PIPELINE_SINK_BATCH_SIZE_KEY, tags))
+            .register(meterRegistry)
+        ;
+        this.flushTimer = meterRegistry.timer(PIPELINE_SINK_BATCH_FLUSH_KEY.id(), fill(PIPELINE_SINK_BATCH_FLUSH_KEY, tags));
+        this.waitTimer = meterRegistry.timer(PIPELINE_SINK_BATCH_WAIT_KEY.id(), fill(PIPELINE_SINK_BATCH_WAIT_KEY, tags));
+        this.failureCounter = meterRegistry.counter(PIPELINE_SINK_BATCH_FAILURE_KEY.id(), fill(PIPELINE_SINK_BATCH_FAILURE_KEY, tags));
+    }
+
+    public DistributionSummary sizeSummary()
+    {
+        return this.sizeSummary;
+    }
+
+    public Timer flushTimer()
+    {
+        return this.flushTimer;
+    }
+
+    public Timer waitTimer()
+    {
+        return this.waitTimer;
+    }
+
+    public Counter failureCounter()
+    {
+        return this.failureCounter;
+    }
+}
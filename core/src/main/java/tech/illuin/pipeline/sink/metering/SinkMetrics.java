@@ -5,6 +5,8 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import tech.illuin.pipeline.metering.BaseMetrics;
 import tech.illuin.pipeline.metering.MarkerManager;
+import tech.illuin.pipeline.metering.MeterCache;
+import tech.illuin.pipeline.metering.mdc.DefaultMDCManager;
 import tech.illuin.pipeline.metering.mdc.MDCManager;
 
 import java.util.Collection;
@@ -26,6 +28,11 @@ public class SinkMetrics extends BaseMetrics
         super(meterRegistry, markerManager, mdc);
     }
 
+    public SinkMetrics(MeterCache meterCache, SinkMarkerManager markerManager, ConstantMeters constantMeters)
+    {
+        super(meterCache, markerManager, new DefaultMDCManager(), constantMeters);
+    }
+
     @Override
     protected ConstantMeters initializeConstantMeters(MeterRegistry meterRegistry, MarkerManager markerManager)
     {
@@ -41,12 +48,9 @@ public class SinkMetrics extends BaseMetrics
     @Override
     public Counter errorCounter(Exception exception)
     {
-        return this.meterRegistry.counter(
-            PIPELINE_SINK_ERROR_TOTAL_KEY.id(),
-            fill(
-                PIPELINE_SINK_ERROR_TOTAL_KEY,
-                this.markerManager.tags(Tag.of("error", exception.getClass().getName()))
-            )
+        return this.counter(
+            PIPELINE_SINK_ERROR_TOTAL_KEY,
+            this.markerManager.tags(Tag.of("error", exception.getClass().getName()))
         );
     }
 }
@@ -2,8 +2,9 @@ package tech.illuin.pipeline.sink.runner;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import tech.illuin.pipeline.builder.runner_compiler.CompiledArguments;
 import tech.illuin.pipeline.builder.runner_compiler.CompiledMethod;
-import tech.illuin.pipeline.builder.runner_compiler.argument_resolver.mapper_factory.MethodArgumentMapper;
+import tech.illuin.pipeline.builder.runner_compiler.MethodInvoker;
 import tech.illuin.pipeline.builder.runner_compiler.argument_resolver.method_arguments.MethodArguments;
 import tech.illuin.pipeline.builder.runner_compiler.argument_resolver.method_arguments.MissingArgument;
 import tech.illuin.pipeline.commons.Reflection;
@@ -16,7 +17,6 @@ import tech.illuin.pipeline.step.runner.StepRunnerException;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -26,7 +26,9 @@ public class SinkRunner implements Sink, Describable
 {
     private final Object target;
     private Method method;
-    private List<MethodArgumentMapper<Object, Object>> argumentMappers;
+    private String signature;
+    private MethodInvoker invoker;
+    private CompiledArguments<Object, Object> arguments;
 
     private static final Logger logger = LoggerFactory.getLogger(SinkRunner.class);
 
@@ -40,7 +42,7 @@ public class SinkRunner implements Sink, Describable
     @Override
     public void execute(Output output, LocalContext context) throws Exception
     {
-        logger.trace("{}#{} launching sink over target {}#{}", context.pipelineTag().pipeline(), context.pipelineTag().uid(), this.target.getClass().getName(), Reflection.getMethodSignature(this.method));
+        logger.trace("{}#{} launching sink over target {}#{}", context.pipelineTag().pipeline(), context.pipelineTag().uid(), this.target.getClass().getName(), this.signature);
 
         try {
             MethodArguments<Object, Object> originalArguments = new MethodArguments<>(
@@ -57,15 +59,8 @@ public class SinkRunner implements Sink, Describable
                 context.observabilityManager(),
                 context.markerManager()
             );
-            List<MissingArgument> missingArgs = new ArrayList<>();
-            Object[] arguments = this.argumentMappers.stream()
-                .map(mapper -> mapper.map(originalArguments))
-                .peek(arg -> {
-                    if (arg instanceof MissingArgument missing)
-                        missingArgs.add(missing);
-                })
-                .toArray()
-            ;
+            Object[] arguments = this.arguments.map(originalArguments);
+            List<MissingArgument> missingArgs = CompiledArguments.missing(arguments);
 
             if (!missingArgs.isEmpty())
             {
@@ -74,7 +69,7 @@ public class SinkRunner implements Sink, Describable
                 return;
             }
 
-            this.method.invoke(this.target, arguments);
+            this.invoker.invoke(arguments);
         }
         catch (InvocationTargetException e) {
             if (e.getTargetException() instanceof Exception)
@@ -107,7 +102,9 @@ public class SinkRunner implements Sink, Describable
     public void build(CompiledMethod<SinkConfig, Object, Object> compiled)
     {
         this.method = compiled.method();
-        this.argumentMappers = compiled.mappers();
+        this.signature = Reflection.getMethodSignature(compiled.method());
+        this.invoker = compiled.invoker();
+        this.arguments = new CompiledArguments<>(compiled.mappers());
     }
 
     @Override
@@ -4,6 +4,7 @@ import tech.illuin.pipeline.input.indexer.Indexable;
 import tech.illuin.pipeline.step.execution.condition.StepCondition;
 import tech.illuin.pipeline.step.execution.error.StepErrorHandler;
 import tech.illuin.pipeline.step.execution.evaluator.ResultEvaluator;
+import tech.illuin.pipeline.step.execution.fingerprint.StepFingerprinter;
 
 import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
@@ -24,8 +25,11 @@ public @interface StepConfig
     String id() default "";
     String resultKey() default "";
     boolean pinned() default false;
+    boolean parallel() default false;
+    boolean incremental() default false;
     Class<? extends StepCondition> condition() default StepCondition.class;
     Class<? extends Indexable> conditionOnClass() default Indexable.class;
     Class<? extends ResultEvaluator> evaluator() default ResultEvaluator.class;
     Class<? extends StepErrorHandler> errorHandler() default StepErrorHandler.class;
+    Class<? extends StepFingerprinter> fingerprinter() default StepFingerprinter.class;
 }
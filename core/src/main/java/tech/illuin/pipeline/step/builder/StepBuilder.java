@@ -6,16 +6,21 @@ import tech.illuin.pipeline.input.indexer.Indexable;
 import tech.illuin.pipeline.step.Step;
 import tech.illuin.pipeline.step.annotation.StepConfig;
 import tech.illuin.pipeline.step.execution.condition.StepCondition;
+import tech.illuin.pipeline.step.execution.condition.TypeCondition;
 import tech.illuin.pipeline.step.execution.error.StepErrorHandler;
 import tech.illuin.pipeline.step.execution.evaluator.ResultEvaluator;
+import tech.illuin.pipeline.step.execution.fingerprint.StepFingerprinter;
 import tech.illuin.pipeline.step.execution.wrapper.StepWrapper;
+import tech.illuin.pipeline.step.runner.BatchStepRunner;
 import tech.illuin.pipeline.step.runner.StepRunner;
+import tech.illuin.pipeline.step.variant.BatchStep;
 import tech.illuin.pipeline.step.variant.IndexableStep;
 import tech.illuin.pipeline.step.variant.InputStep;
 import tech.illuin.pipeline.step.variant.PayloadStep;
 import tech.illuin.pipeline.step.variant.PipelineStep;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -26,10 +31,14 @@ public class StepBuilder<T extends Indexable, I> extends ComponentBuilder<T, I,
     private String id;
     private Step<T, I> step;
     private Boolean pinned;
+    private Boolean parallel;
+    private Boolean incremental;
+    private StepFingerprinter fingerprinter;
     private StepWrapper<T, I> executionWrapper;
     private StepCondition executionCondition;
     private ResultEvaluator resultEvaluator;
     private StepErrorHandler errorHandler;
+    private List<String> dependencies;
 
     public StepBuilder()
     {
@@ -44,17 +53,23 @@ public class StepBuilder<T extends Indexable, I> extends ComponentBuilder<T, I,
                 this.id = annotation.id();
             if (this.pinned == null)
                 this.pinned = annotation.pinned();
+            if (this.parallel == null)
+                this.parallel = annotation.parallel();
+            if (this.incremental == null)
+                this.incremental = annotation.incremental();
             if (this.executionCondition == null && annotation.condition() != null)
             {
                 if (annotation.condition() != StepCondition.class)
                     this.executionCondition = annotation.condition().getConstructor().newInstance();
                 else if (annotation.conditionOnClass() != Indexable.class)
-                    this.executionCondition = (idx, ctx) -> annotation.conditionOnClass().isInstance(idx);
+                    this.executionCondition = new TypeCondition(annotation.conditionOnClass());
             }
             if (this.resultEvaluator == null && annotation.evaluator() != null && annotation.evaluator() != ResultEvaluator.class)
                 this.resultEvaluator = annotation.evaluator().getConstructor().newInstance();
             if (this.errorHandler == null && annotation.errorHandler() != null && annotation.errorHandler() != StepErrorHandler.class)
                 this.errorHandler = annotation.errorHandler().getConstructor().newInstance();
+            if (this.fingerprinter == null && annotation.fingerprinter() != null && annotation.fingerprinter() != StepFingerprinter.class)
+                this.fingerprinter = annotation.fingerprinter().getConstructor().newInstance();
         }
         catch (InvocationTargetException | InstantiationException | IllegalAccessException | NoSuchMethodException e) {
             throw new RuntimeException("An error occurred while attempting to instantiate a StepConfig argument", e);
@@ -68,6 +83,12 @@ public class StepBuilder<T extends Indexable, I> extends ComponentBuilder<T, I,
             this.id = this.step.defaultId();
         if (this.pinned == null)
             this.pinned = false;
+        if (this.parallel == null)
+            this.parallel = false;
+        if (this.incremental == null)
+            this.incremental = false;
+        if (this.fingerprinter == null)
+            this.fingerprinter = StepFingerprinter.HASH_CODE;
         if (this.executionWrapper == null)
             this.executionWrapper = StepWrapper::noOp;
         if (this.executionCondition == null)
@@ -130,7 +151,7 @@ public class StepBuilder<T extends Indexable, I> extends ComponentBuilder<T, I,
 
     public StepBuilder<T, I> withCondition(Class<? extends Indexable> typeCondition)
     {
-        this.executionCondition = (idx, ctx) -> typeCondition.isInstance(idx);
+        this.executionCondition = new TypeCondition(typeCondition);
         return this;
     }
 
@@ -158,6 +179,47 @@ public class StepBuilder<T extends Indexable, I> extends ComponentBuilder<T, I,
         return this;
     }
 
+    /**
+     * Enables the concurrent execution of the step over its arguments, using the pipeline's step executor.
+     * Results are still evaluated and registered in argument order, so strategies such as STOP or DISCARD behave as in sequential mode.
+     */
+    public StepBuilder<T, I> setParallel(boolean parallel)
+    {
+        this.parallel = parallel;
+        return this;
+    }
+
+    /**
+     * Enables incremental re-runs: when the pipeline is run with a parent output, the step is skipped for arguments whose fingerprint matches the one recorded in the parent and which are equal to the argument indexed by the parent, the parent's results are then carried over instead.
+     * Unless a fingerprinter is provided, the fingerprint covers the argument and its current results produced by upstream steps, as per their {@code hashCode}; it is only suitable for steps which are pure functions of those.
+     * Arguments relying on identity equality are never skipped, and batch steps are always executed.
+     */
+    public StepBuilder<T, I> setIncremental(boolean incremental)
+    {
+        this.incremental = incremental;
+        return this;
+    }
+
+    /**
+     * Enables incremental re-runs with fingerprints computed by the provided function, see {@link #setIncremental(boolean)}.
+     */
+    public StepBuilder<T, I> setIncremental(StepFingerprinter fingerprinter)
+    {
+        this.incremental = true;
+        this.fingerprinter = fingerprinter;
+        return this;
+    }
+
+    /**
+     * Declares the ids of the steps this step depends on when the pipeline uses dependency-graph scheduling.
+     * This replaces the dependencies that would otherwise be inferred from the step's signature, calling it without arguments declares the step as independent.
+     */
+    public StepBuilder<T, I> withDependencies(String... stepIds)
+    {
+        this.dependencies = List.of(stepIds);
+        return this;
+    }
+
     @Override
     protected StepDescriptor<T, I> build()
     {
@@ -165,14 +227,26 @@ public class StepBuilder<T extends Indexable, I> extends ComponentBuilder<T, I,
             throw new IllegalStateException("A StepDescriptor cannot be built from a null step");
 
         Optional<StepConfig> config;
+        StepSignature signature;
         if (this.step instanceof StepRunner<T, I> stepRunner)
         {
             CompiledMethod<StepConfig, T, I> compiled = this.compiler.compile(stepRunner.target());
-            stepRunner.build(compiled);
+            /* Methods returning results keyed by argument uid are run once over all arguments */
+            if (BatchStepRunner.isBatchMethod(compiled.method()))
+            {
+                BatchStepRunner<T, I> batchRunner = new BatchStepRunner<>(stepRunner.target());
+                batchRunner.build(compiled);
+                this.step = batchRunner;
+            }
+            else
+                stepRunner.build(compiled);
             config = Optional.of(compiled.config());
+            signature = StepSignature.of(compiled.method());
         }
-        else
+        else {
             config = this.checkAnnotation(this.step);
+            signature = StepSignature.UNKNOWN;
+        }
 
         config.ifPresent(this::fillFromAnnotation);
 
@@ -183,10 +257,15 @@ public class StepBuilder<T extends Indexable, I> extends ComponentBuilder<T, I,
             this.id,
             this.step,
             this.pinned,
+            this.parallel,
+            this.incremental,
+            this.fingerprinter,
             this.executionWrapper,
             this.executionCondition,
             this.resultEvaluator,
-            this.errorHandler
+            this.errorHandler,
+            this.dependencies,
+            signature
         );
     }
 
@@ -194,5 +273,7 @@ public class StepBuilder<T extends Indexable, I> extends ComponentBuilder<T, I,
     {
         if (this.id == null)
             throw new IllegalStateException("A step cannot have a null id, make sure the defaultId() return value is not null");
+        if (this.step instanceof BatchStep && !this.executionWrapper.supportsBatch())
+            throw new IllegalStateException("Step " + this.id + " is a batch step, its execution wrapper cannot be applied to batches");
     }
 }
@@ -6,12 +6,20 @@ import tech.illuin.pipeline.input.indexer.Indexable;
 import tech.illuin.pipeline.output.Output;
 import tech.illuin.pipeline.step.Step;
 import tech.illuin.pipeline.step.execution.condition.StepCondition;
+import tech.illuin.pipeline.step.execution.condition.TypeCondition;
 import tech.illuin.pipeline.step.execution.error.StepErrorHandler;
 import tech.illuin.pipeline.step.execution.evaluator.ResultEvaluator;
 import tech.illuin.pipeline.step.execution.evaluator.StepStrategy;
+import tech.illuin.pipeline.step.execution.fingerprint.StepFingerprinter;
 import tech.illuin.pipeline.step.execution.wrapper.StepWrapper;
 import tech.illuin.pipeline.step.result.Result;
 import tech.illuin.pipeline.step.result.Results;
+import tech.illuin.pipeline.step.variant.BatchStep;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
@@ -21,32 +29,71 @@ public final class StepDescriptor<T extends Indexable, I>
     private final String id;
     private final Step<T, I> step;
     private final boolean pinned;
+    private final boolean parallel;
+    private final boolean incremental;
+    private final StepFingerprinter fingerprinter;
     private final StepWrapper<T, I> executionWrapper;
+    private final Step<T, I> wrappedStep;
     private final StepCondition activationPredicate;
     private final ResultEvaluator resultEvaluator;
     private final StepErrorHandler errorHandler;
+    private final List<String> dependencies;
+    private final StepSignature signature;
 
     StepDescriptor(
         String id,
         Step<T, I> step,
         boolean pinned,
+        boolean parallel,
+        boolean incremental,
+        StepFingerprinter fingerprinter,
         StepWrapper<T, I> executionWrapper,
         StepCondition activationPredicate,
         ResultEvaluator resultEvaluator,
-        StepErrorHandler errorHandler
+        StepErrorHandler errorHandler,
+        List<String> dependencies,
+        StepSignature signature
     ) {
         this.id = id;
         this.step = step;
         this.pinned = pinned;
+        this.parallel = parallel;
+        this.incremental = incremental;
+        this.fingerprinter = fingerprinter;
         this.executionWrapper = executionWrapper;
+        /* Descriptors are immutable, so the step is wrapped once and for all instead of upon each execution */
+        this.wrappedStep = executionWrapper.wrap(step);
         this.activationPredicate = activationPredicate;
         this.resultEvaluator = resultEvaluator;
         this.errorHandler = errorHandler;
+        this.dependencies = dependencies;
+        this.signature = signature;
     }
 
     public Result execute(T data, I input, Output output, LocalContext ctx) throws Exception
     {
-        return this.executionWrapper.wrap(this.step).execute(data, input, output, ctx);
+        return this.wrappedStep.execute(data, input, output, ctx);
+    }
+
+    /**
+     * Runs a {@link BatchStep} over all of its arguments at once.
+     * The execution wrapper applies to the batch call as a whole: should it return something other than the batch results (e.g. a fallback result), that result is assigned to every argument.
+     * Wrappers which do not {@link StepWrapper#supportsBatch() support batches} are rejected when the descriptor is built.
+     */
+    public Map<String, Result> executeBatch(List<T> data, I input, Output output, LocalContext ctx) throws Exception
+    {
+        if (!(this.step instanceof BatchStep<T, I> batchStep))
+            throw new IllegalStateException("Step " + this.id + " is not a batch step");
+
+        Step<T, I> batchCall = (object, in, payload, results, context) -> new BatchResults(batchStep.executeBatch(data, in, payload, output.results(), context));
+        Result result = this.executionWrapper.wrap(batchCall).execute(data.get(0), input, output, ctx);
+
+        Map<String, Result> results = new HashMap<>();
+        if (result instanceof BatchResults batchResults)
+            results.putAll(batchResults.results());
+        else
+            data.forEach(object -> results.put(object.uid(), result));
+        return results;
     }
 
     public boolean canExecute(Indexable indexable, Context ctx)
@@ -54,6 +101,14 @@ public final class StepDescriptor<T extends Indexable, I>
         return this.activationPredicate.canExecute(indexable, ctx);
     }
 
+    /**
+     * @return the type of the items this step can execute over, as restricted by its activation predicate
+     */
+    public Class<? extends Indexable> argumentType()
+    {
+        return this.activationPredicate instanceof TypeCondition condition ? condition.type() : Indexable.class;
+    }
+
     public StepStrategy postEvaluation(Result result, Indexable object, I input, LocalContext ctx)
     {
         return this.resultEvaluator.evaluate(result, object, input, ctx);
@@ -74,6 +129,26 @@ public final class StepDescriptor<T extends Indexable, I>
         return this.pinned;
     }
 
+    public boolean isParallel()
+    {
+        return this.parallel;
+    }
+
+    public boolean isIncremental()
+    {
+        return this.incremental && !this.isBatch();
+    }
+
+    public StepFingerprinter fingerprinter()
+    {
+        return this.fingerprinter;
+    }
+
+    public boolean isBatch()
+    {
+        return this.step instanceof BatchStep;
+    }
+
     public Step<T, I> step()
     {
         return this.step;
@@ -98,4 +173,18 @@ public final class StepDescriptor<T extends Indexable, I>
     {
         return this.errorHandler;
     }
+
+    public Optional<List<String>> dependencies()
+    {
+        return Optional.ofNullable(this.dependencies);
+    }
+
+    public StepSignature signature()
+    {
+        return this.signature;
+    }
+
+    private record BatchResults(
+        Map<String, ? extends Result> results
+    ) implements Result {}
 }
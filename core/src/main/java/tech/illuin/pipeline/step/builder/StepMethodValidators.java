@@ -2,6 +2,7 @@ package tech.illuin.pipeline.step.builder;
 
 import tech.illuin.pipeline.builder.runner_compiler.MethodValidator;
 import tech.illuin.pipeline.step.builder.runner_compiler.ResultCollectionReturnType;
+import tech.illuin.pipeline.step.builder.runner_compiler.ResultMapReturnType;
 import tech.illuin.pipeline.step.builder.runner_compiler.ResultOptionalReturnType;
 import tech.illuin.pipeline.step.builder.runner_compiler.ResultReturnType;
 
@@ -13,7 +14,8 @@ public final class StepMethodValidators
     public static final MethodValidator validator = MethodValidator.or(
         new ResultReturnType(),
         new ResultCollectionReturnType(),
-        new ResultOptionalReturnType()
+        new ResultOptionalReturnType(),
+        new ResultMapReturnType()
     );
 
     private StepMethodValidators() {}
@@ -0,0 +1,110 @@
+package tech.illuin.pipeline.step.builder;
+
+import tech.illuin.pipeline.annotation.Current;
+import tech.illuin.pipeline.annotation.Latest;
+import tech.illuin.pipeline.commons.Reflection;
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.step.result.Result;
+import tech.illuin.pipeline.step.result.ResultView;
+import tech.illuin.pipeline.step.result.Results;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Describes which result types a step is known to consume and produce, as far as can be told from its declaration.
+ * When a step reads results in a way that cannot be statically resolved (e.g. through a {@link Results} argument or by name), it is flagged as consuming any result.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public record StepSignature(
+    Set<Class<? extends Result>> consumedTypes,
+    boolean consumesAny,
+    Set<Class<? extends Result>> producedTypes
+) {
+    public static final StepSignature UNKNOWN = new StepSignature(Set.of(), true, Set.of(Result.class));
+
+    public boolean mayConsume(Class<? extends Result> type)
+    {
+        return this.consumesAny || this.consumedTypes.stream().anyMatch(c -> c.isAssignableFrom(type) || type.isAssignableFrom(c));
+    }
+
+    public boolean mayProduceFor(StepSignature consumer)
+    {
+        return this.producedTypes.stream().anyMatch(consumer::mayConsume);
+    }
+
+    public static StepSignature of(Method method)
+    {
+        Set<Class<? extends Result>> consumed = new HashSet<>();
+        boolean consumesAny = false;
+        for (Parameter parameter : method.getParameters())
+        {
+            Current current = parameter.getAnnotation(Current.class);
+            Latest latest = parameter.getAnnotation(Latest.class);
+
+            if (current != null || latest != null)
+            {
+                String name = current != null ? current.name() : latest.name();
+                Optional<Class<? extends Result>> type = name == null || name.isBlank()
+                    ? resolveParameterType(parameter)
+                    : Optional.empty()
+                ;
+                /* Name-based lookups cannot be matched against producers ahead of time */
+                if (type.isPresent())
+                    consumed.add(type.get());
+                else
+                    consumesAny = true;
+            }
+            else if (isResultAccessor(parameter.getType()))
+                consumesAny = true;
+        }
+
+        return new StepSignature(Set.copyOf(consumed), consumesAny, Set.of(resolveReturnType(method)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<Class<? extends Result>> resolveParameterType(Parameter parameter)
+    {
+        if (Result.class.isAssignableFrom(parameter.getType()))
+            return Optional.of((Class<? extends Result>) parameter.getType());
+        return Reflection.getOptionalParameter(parameter, Result.class)
+            .or(() -> Reflection.getStreamParameter(parameter, Result.class))
+            .map(c -> (Class<? extends Result>) c)
+        ;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Result> resolveReturnType(Method method)
+    {
+        Class<?> returnType = method.getReturnType();
+        if (Result.class.isAssignableFrom(returnType))
+            return (Class<? extends Result>) returnType;
+
+        boolean isWrapper = Optional.class.equals(returnType) || Collection.class.isAssignableFrom(returnType) || Map.class.isAssignableFrom(returnType);
+        if (isWrapper && method.getGenericReturnType() instanceof ParameterizedType parameterized)
+        {
+            /* The result type is the last type argument, which covers the values of batch step maps */
+            Type[] arguments = parameterized.getActualTypeArguments();
+            Type last = arguments[arguments.length - 1];
+            if (last instanceof Class<?> c && Result.class.isAssignableFrom(c))
+                return (Class<? extends Result>) c;
+        }
+        return Result.class;
+    }
+
+    private static boolean isResultAccessor(Class<?> type)
+    {
+        return Results.class.isAssignableFrom(type)
+            || ResultView.class.isAssignableFrom(type)
+            || Output.class.isAssignableFrom(type)
+        ;
+    }
+}
@@ -0,0 +1,46 @@
+package tech.illuin.pipeline.step.builder.runner_compiler;
+
+import tech.illuin.pipeline.builder.runner_compiler.MethodValidator;
+import tech.illuin.pipeline.step.result.Result;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Map;
+
+public class ResultMapReturnType implements MethodValidator
+{
+    @Override
+    public boolean validate(Method method)
+    {
+        if (!Map.class.isAssignableFrom(method.getReturnType()))
+            return false;
+
+        Type genericReturnType = method.getGenericReturnType();
+        if (!(genericReturnType instanceof ParameterizedType parameterizedType))
+            return false;
+
+        Type[] arguments = parameterizedType.getActualTypeArguments();
+        if (arguments.length != 2 || !String.class.equals(arguments[0]))
+            return false;
+
+        return isResultType(arguments[1]);
+    }
+
+    /* Accepts both Map<String, R> and Map<String, ? extends R> with R a Result subtype */
+    private static boolean isResultType(Type type)
+    {
+        if (type instanceof Class<?> valueType)
+            return Result.class.isAssignableFrom(valueType);
+        if (type instanceof WildcardType wildcardType)
+            return wildcardType.getLowerBounds().length == 0 && isResultType(wildcardType.getUpperBounds()[0]);
+        return false;
+    }
+
+    @Override
+    public String description()
+    {
+        return "The return value of a batch step method has to be a Map<String, ? extends Result> subtype";
+    }
+}
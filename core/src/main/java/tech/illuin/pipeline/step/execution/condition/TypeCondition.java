@@ -0,0 +1,30 @@
+package tech.illuin.pipeline.step.execution.condition;
+
+import tech.illuin.pipeline.context.Context;
+import tech.illuin.pipeline.input.indexer.Indexable;
+
+/**
+ * Restricts a step to the indexed items of a given type, the step phase leverages it for only iterating over the matching partitions of the index.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class TypeCondition implements StepCondition
+{
+    private final Class<? extends Indexable> type;
+
+    public TypeCondition(Class<? extends Indexable> type)
+    {
+        this.type = type;
+    }
+
+    @Override
+    public boolean canExecute(Indexable indexable, Context context)
+    {
+        return this.type.isInstance(indexable);
+    }
+
+    public Class<? extends Indexable> type()
+    {
+        return this.type;
+    }
+}
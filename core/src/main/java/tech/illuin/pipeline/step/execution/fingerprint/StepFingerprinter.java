@@ -0,0 +1,50 @@
+package tech.illuin.pipeline.step.execution.fingerprint;
+
+import tech.illuin.pipeline.input.indexer.Indexable;
+import tech.illuin.pipeline.step.result.ResultDescriptor;
+import tech.illuin.pipeline.step.result.Results;
+
+import java.util.Iterator;
+
+/**
+ * Computes the fingerprint of the content an incremental step's result depends on, a step is skipped when its fingerprint matches the one recorded in the parent run.
+ * A fingerprint match is then confirmed by comparing the argument with the one indexed by the parent run with {@code equals}, so arguments of types relying on identity equality are never skipped.
+ * Upstream results are only covered by the fingerprint, implementations should derive it from their content (e.g. a 64-bit digest of the fields the step reads) rather than from 32-bit hash codes whenever collisions matter.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+@FunctionalInterface
+public interface StepFingerprinter
+{
+    /**
+     * @param argument the argument the step is about to be executed over
+     * @param upstream the results registered over the argument by upstream steps of the current run
+     * @return the fingerprint, any value but {@link ResultDescriptor#NO_FINGERPRINT}
+     */
+    long fingerprint(Indexable argument, Results upstream);
+
+    StepFingerprinter HASH_CODE = StepFingerprinter::hashCodes;
+
+    /* Default implementations */
+
+    /**
+     * Mixes the {@code hashCode} of the argument and of its current upstream results, the pipeline input is left out as it usually holds the whole document of which the argument is a part.
+     */
+    private static long hashCodes(Indexable argument, Results upstream)
+    {
+        long hash = mix(0x9E3779B97F4A7C15L, argument.hashCode());
+        Iterator<ResultDescriptor<?>> descriptors = upstream.descriptors().current().iterator();
+        while (descriptors.hasNext())
+            hash = mix(hash, descriptors.next().result().hashCode());
+        return hash;
+    }
+
+    /* Murmur3 finalizer over the running hash */
+    private static long mix(long hash, int value)
+    {
+        long h = (hash ^ value) * 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -16,8 +16,31 @@ public interface StepWrapper<T extends Indexable, I>
         return step;
     }
 
+    /**
+     * A batch step is wrapped as a single call executed with the first argument of the batch, so wrappers relying on the argument (e.g. caching) cannot apply to it.
+     *
+     * @return whether this wrapper can be applied to a batch step
+     */
+    default boolean supportsBatch()
+    {
+        return true;
+    }
+
     default StepWrapper<T, I> andThen(StepWrapper<T, I> nextWrapper)
     {
-        return step -> nextWrapper.wrap(this.wrap(step));
+        StepWrapper<T, I> firstWrapper = this;
+        return new StepWrapper<>() {
+            @Override
+            public Step<T, I> wrap(Step<T, I> step)
+            {
+                return nextWrapper.wrap(firstWrapper.wrap(step));
+            }
+
+            @Override
+            public boolean supportsBatch()
+            {
+                return firstWrapper.supportsBatch() && nextWrapper.supportsBatch();
+            }
+        };
     }
 }
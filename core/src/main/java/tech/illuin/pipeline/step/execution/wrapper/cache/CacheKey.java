@@ -0,0 +1,15 @@
+package tech.illuin.pipeline.step.execution.wrapper.cache;
+
+import tech.illuin.pipeline.input.indexer.Indexable;
+
+/**
+ * Extracts the key under which a step's result is cached, it should cover everything the step's result depends on.
+ * A {@code null} key bypasses the cache.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+@FunctionalInterface
+public interface CacheKey<T extends Indexable, I>
+{
+    Object key(T object, I input);
+}
@@ -0,0 +1,72 @@
+package tech.illuin.pipeline.step.execution.wrapper.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import tech.illuin.pipeline.context.LocalContext;
+import tech.illuin.pipeline.input.indexer.Indexable;
+import tech.illuin.pipeline.step.Step;
+import tech.illuin.pipeline.step.result.Result;
+import tech.illuin.pipeline.step.result.ResultView;
+
+import java.util.Optional;
+
+import static tech.illuin.pipeline.metering.MeterRegistryKey.fill;
+
+/**
+ * Upon a cache hit, the wrapped step is not executed and the cached result is returned in its place.
+ * Concurrent misses over the same key may execute the wrapped step more than once, the last result is the one kept.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class CacheStep<T extends Indexable, I> implements Step<T, I>
+{
+    private final Step<T, I> step;
+    private final CacheKey<T, I> key;
+    private final ResultCache cache;
+
+    public static final String HIT_KEY = "pipeline.step.cache.hit";
+    public static final String MISS_KEY = "pipeline.step.cache.miss";
+    public static final String EVICTION_KEY = "pipeline.step.cache.eviction";
+
+    public CacheStep(Step<T, I> step, CacheKey<T, I> key, ResultCache cache)
+    {
+        this.step = step;
+        this.key = key;
+        this.cache = cache;
+    }
+
+    @Override
+    public Result execute(T object, I input, Object payload, ResultView view, LocalContext context) throws Exception
+    {
+        Object cacheKey = this.key.key(object, input);
+        if (cacheKey == null)
+            return this.step.execute(object, input, payload, view, context);
+
+        Optional<Result> cached = this.cache.get(cacheKey);
+        if (cached.isPresent())
+        {
+            counter(HIT_KEY, context).increment();
+            return cached.get();
+        }
+
+        counter(MISS_KEY, context).increment();
+        Result result = this.step.execute(object, input, payload, view, context);
+
+        int evicted = this.cache.put(cacheKey, result);
+        if (evicted > 0)
+            counter(EVICTION_KEY, context).increment(evicted);
+        return result;
+    }
+
+    private static Counter counter(String key, LocalContext context)
+    {
+        MeterRegistry registry = context.observabilityManager().meterRegistry();
+        return registry.counter(key, fill(key, context.markerManager().tags()));
+    }
+
+    @Override
+    public String defaultId()
+    {
+        return "cache." + this.step.defaultId();
+    }
+}
@@ -0,0 +1,48 @@
+package tech.illuin.pipeline.step.execution.wrapper.cache;
+
+import tech.illuin.pipeline.input.indexer.Indexable;
+import tech.illuin.pipeline.step.Step;
+import tech.illuin.pipeline.step.execution.wrapper.StepWrapper;
+
+import java.time.Duration;
+
+/**
+ * Memoizes the results of a step which is a pure function of its arguments, as identified by a {@link CacheKey}.
+ * The cache is held by the wrapper, so a wrapper instance should only be used for a single step.
+ * Results are keyed by argument, hence the wrapper cannot be applied to a batch step.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class CacheWrapper<T extends Indexable, I> implements StepWrapper<T, I>
+{
+    private final CacheKey<T, I> key;
+    private final ResultCache cache;
+
+    public CacheWrapper(CacheKey<T, I> key, ResultCache cache)
+    {
+        this.key = key;
+        this.cache = cache;
+    }
+
+    public CacheWrapper(CacheKey<T, I> key, int maximumSize, Duration ttl)
+    {
+        this(key, new LRUResultCache(maximumSize, ttl));
+    }
+
+    public CacheWrapper(CacheKey<T, I> key, int maximumSize)
+    {
+        this(key, new LRUResultCache(maximumSize));
+    }
+
+    @Override
+    public Step<T, I> wrap(Step<T, I> step)
+    {
+        return new CacheStep<>(step, this.key, this.cache);
+    }
+
+    @Override
+    public boolean supportsBatch()
+    {
+        return false;
+    }
+}
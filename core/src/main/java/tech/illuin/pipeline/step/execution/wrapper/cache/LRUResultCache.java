@@ -0,0 +1,95 @@
+package tech.illuin.pipeline.step.execution.wrapper.cache;
+
+import tech.illuin.pipeline.step.result.Result;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded {@link ResultCache} evicting its least recently used entries, entries can also be given a time-to-live after which they are no longer returned.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class LRUResultCache implements ResultCache
+{
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    /* Access-ordered, the eldest entry is the least recently used one */
+    private final LinkedHashMap<Object, Entry> entries;
+
+    public LRUResultCache(int maximumSize)
+    {
+        this(maximumSize, null);
+    }
+
+    public LRUResultCache(int maximumSize, Duration ttl)
+    {
+        this(maximumSize, ttl, System::nanoTime);
+    }
+
+    /**
+     * @param maximumSize the maximum number of entries
+     * @param ttl the time-to-live of an entry, entries never expire if null
+     * @param ticker the source of time, in nanoseconds
+     */
+    public LRUResultCache(int maximumSize, Duration ttl, LongSupplier ticker)
+    {
+        if (maximumSize <= 0)
+            throw new IllegalArgumentException("The maximum size of a cache has to be strictly positive");
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl == null ? 0 : ttl.toNanos();
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<>(16, 0.75F, true);
+    }
+
+    @Override
+    public synchronized Optional<Result> get(Object key)
+    {
+        Entry entry = this.entries.get(key);
+        if (entry == null)
+            return Optional.empty();
+        if (this.isExpired(entry))
+        {
+            this.entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.result());
+    }
+
+    @Override
+    public synchronized int put(Object key, Result result)
+    {
+        this.entries.put(key, new Entry(result, this.ticker.getAsLong()));
+
+        int evicted = 0;
+        Iterator<Map.Entry<Object, Entry>> iterator = this.entries.entrySet().iterator();
+        while (this.entries.size() > this.maximumSize && iterator.hasNext())
+        {
+            iterator.next();
+            iterator.remove();
+            evicted++;
+        }
+        return evicted;
+    }
+
+    @Override
+    public synchronized int size()
+    {
+        return this.entries.size();
+    }
+
+    private boolean isExpired(Entry entry)
+    {
+        return this.ttlNanos > 0 && this.ticker.getAsLong() - entry.createdAt() >= this.ttlNanos;
+    }
+
+    private record Entry(
+        Result result,
+        long createdAt
+    ) {}
+}
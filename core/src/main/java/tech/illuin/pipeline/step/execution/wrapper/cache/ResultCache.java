@@ -0,0 +1,24 @@
+package tech.illuin.pipeline.step.execution.wrapper.cache;
+
+import tech.illuin.pipeline.step.result.Result;
+
+import java.util.Optional;
+
+/**
+ * Storage backing a {@link CacheStep}, implementations have to support concurrent access.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public interface ResultCache
+{
+    Optional<Result> get(Object key);
+
+    /**
+     * @param key the key to cache the result under
+     * @param result the result to cache
+     * @return the number of entries evicted in order to make room for the new one
+     */
+    int put(Object key, Result result);
+
+    int size();
+}
@@ -5,6 +5,8 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import tech.illuin.pipeline.metering.BaseMetrics;
 import tech.illuin.pipeline.metering.MarkerManager;
+import tech.illuin.pipeline.metering.MeterCache;
+import tech.illuin.pipeline.metering.mdc.DefaultMDCManager;
 import tech.illuin.pipeline.metering.mdc.MDCManager;
 import tech.illuin.pipeline.step.result.Result;
 
@@ -27,6 +29,11 @@ public class StepMetrics extends BaseMetrics
         super(meterRegistry, markerManager, mdc);
     }
 
+    public StepMetrics(MeterCache meterCache, StepMarkerManager markerManager, ConstantMeters constantMeters)
+    {
+        super(meterCache, markerManager, new DefaultMDCManager(), constantMeters);
+    }
+
     @Override
     protected ConstantMeters initializeConstantMeters(MeterRegistry meterRegistry, MarkerManager markerManager)
     {
@@ -41,23 +48,17 @@ public class StepMetrics extends BaseMetrics
 
     public Counter resultCounter(Result result)
     {
-        return this.meterRegistry.counter(
-            PIPELINE_STEP_RESULT_TOTAL_KEY.id(),
-            fill(
-                PIPELINE_STEP_RESULT_TOTAL_KEY,
-                this.markerManager.tags(Tag.of("result", result.name()))
-            )
+        return this.counter(
+            PIPELINE_STEP_RESULT_TOTAL_KEY,
+            this.markerManager.tags(Tag.of("result", result.name()))
         );
     }
 
     public Counter errorCounter(Exception exception)
     {
-        return this.meterRegistry.counter(
-            PIPELINE_STEP_ERROR_TOTAL_KEY.id(),
-            fill(
-                PIPELINE_STEP_ERROR_TOTAL_KEY,
-                this.markerManager.tags(Tag.of("error", exception.getClass().getName()))
-            )
+        return this.counter(
+            PIPELINE_STEP_ERROR_TOTAL_KEY,
+            this.markerManager.tags(Tag.of("error", exception.getClass().getName()))
         );
     }
 }
@@ -0,0 +1,37 @@
+package tech.illuin.pipeline.step.result;
+
+import tech.illuin.pipeline.commons.SnapshotList;
+
+/**
+ * {@link ResultContainer} which can be read while results are registered from another thread, e.g. when steps are scheduled concurrently.
+ * Each uid's results are held in a {@link SnapshotList}: readers never block and iterate over a snapshot, appending a result does not copy the uid's previous ones.
+ * Writers are serialized on the container.
+ * This is the type produced by the {@link tech.illuin.pipeline.output.factory.ConcurrentOutputFactory}, the default {@link ResultContainer} is not thread-safe.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class ConcurrentResultContainer extends ResultContainer
+{
+    public ConcurrentResultContainer()
+    {
+        super(true);
+    }
+
+    @Override
+    public synchronized ResultContainer register(String uid, ResultDescriptor<?> result)
+    {
+        return super.register(uid, result);
+    }
+
+    @Override
+    public synchronized ResultContainer inherit(ResultContainer results)
+    {
+        return super.inherit(results);
+    }
+
+    @Override
+    public synchronized ResultContainer inherit(ResultView view)
+    {
+        return super.inherit(view);
+    }
+}
@@ -1,23 +1,54 @@
 package tech.illuin.pipeline.step.result;
 
+import tech.illuin.pipeline.commons.SnapshotList;
 import tech.illuin.pipeline.input.indexer.Indexable;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
+ * A container can inherit from other containers (e.g. the output of a parent run): inherited containers are referenced read-only instead of being copied, only new registrations are stored locally and lookups fall through the layers.
+ * Inherited containers are expected not to change afterward, which is the case of a finished run's output.
+ * Results registered in the container itself are its current results: each one is assigned the next value of the container's sequence upon registration, which orders them by registration.
+ * When looking up the latest result, current results take precedence over inherited ones, and containers inherited later over those inherited earlier.
+ *
  * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
  */
 public class ResultContainer implements Results
 {
     private final Instant createdAt;
+    /* Starts above the sequences of inherited containers, so that sequences are comparable across layers */
+    private final AtomicLong sequence;
+    private final boolean concurrent;
     private final Map<String, List<ResultDescriptor<?>>> results;
+    private final ResultIndex index;
+    private final Map<String, ResultIndex> scopedIndexes;
+    private final Supplier<List<ResultDescriptor<?>>> listFactory;
+    private final List<Layer> layers;
 
     public ResultContainer()
+    {
+        this(false);
+    }
+
+    /**
+     * @param concurrent whether the container can be read while it is written from another thread, see {@link ConcurrentResultContainer}
+     */
+    protected ResultContainer(boolean concurrent)
     {
         this.createdAt = Instant.now();
-        this.results = new HashMap<>();
+        this.sequence = new AtomicLong();
+        this.concurrent = concurrent;
+        this.results = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.listFactory = concurrent ? SnapshotList::new : ArrayList::new;
+        this.index = new ResultIndex(concurrent);
+        this.scopedIndexes = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.layers = concurrent ? new CopyOnWriteArrayList<>() : new ArrayList<>();
     }
 
     public Instant createdAt()
@@ -25,26 +56,73 @@ public class ResultContainer implements Results
         return this.createdAt;
     }
 
+    /**
+     * Registers a current result, the registered descriptor is a copy of the provided one bearing its sequence number in this container.
+     */
     public ResultContainer register(String uid, ResultDescriptor<?> result)
     {
-        if (!this.results.containsKey(uid))
-            this.results.put(uid, new ArrayList<>());
-        this.results.get(uid).add(result);
+        ResultDescriptor<?> registered = result.withSequence(this.sequence.incrementAndGet());
+        this.results.computeIfAbsent(uid, k -> this.listFactory.get()).add(registered);
+        this.scopedIndexes.computeIfAbsent(uid, k -> new ResultIndex(this.concurrent)).register(registered);
+        this.index.register(registered);
         return this;
     }
 
+    /**
+     * Copies all results from the provided container, including inherited ones, into a snapshot inherited by this container: they are not current results of this container.
+     * Prefer {@link #inherit(ResultContainer)} for making them available without copying them.
+     */
     public void register(ResultContainer results)
     {
-        results.results.forEach((key, value) -> {
-            for (ResultDescriptor<?> result : value)
-                this.register(key, result);
-        });
+        ResultContainer snapshot = new ResultContainer();
+        results.entries().forEachOrdered(entry -> snapshot.register(entry.uid(), entry.descriptor()));
+        this.inherit(snapshot);
     }
 
+    /**
+     * Copies the results of the provided view into a snapshot inherited by this container, see {@link #register(ResultContainer)}.
+     */
     public void register(ResultView view)
     {
         ScopedResults scoped = view.self();
-        scoped.descriptors().stream().forEach(result -> this.register(scoped.uid(), result));
+        ResultContainer snapshot = new ResultContainer();
+        scoped.container().entries()
+            .filter(entry -> entry.uid().equals(scoped.uid()))
+            .forEachOrdered(entry -> snapshot.register(entry.uid(), entry.descriptor()))
+        ;
+        this.inherit(snapshot);
+    }
+
+    /**
+     * Makes all results from the provided container visible in this one, without copying them.
+     *
+     * @param results the container to inherit from
+     * @return this container
+     */
+    public ResultContainer inherit(ResultContainer results)
+    {
+        this.sequence.accumulateAndGet(results.lastSequence(), Math::max);
+        this.layers.add(new Layer(results, null));
+        return this;
+    }
+
+    /**
+     * Makes the results of a single uid from the provided view visible in this one, without copying them.
+     *
+     * @param view the view to inherit from
+     * @return this container
+     */
+    public ResultContainer inherit(ResultView view)
+    {
+        ScopedResults scoped = view.self();
+        this.sequence.accumulateAndGet(scoped.container().lastSequence(), Math::max);
+        this.layers.add(new Layer(scoped.container(), scoped.uid()));
+        return this;
+    }
+
+    long lastSequence()
+    {
+        return this.sequence.get();
     }
 
     @Override
@@ -53,16 +131,131 @@ public class ResultContainer implements Results
         return new GlobalResultDescriptors(this);
     }
 
+    /**
+     * @return all results with the uid they are attached to, from the lowest precedence to the highest: inherited ones, then current ones
+     */
+    public Stream<Entry> entries()
+    {
+        return Stream.concat(this.inheritedEntries(), this.currentEntries());
+    }
+
+    /**
+     * @return the inherited results with the uid they are attached to, layer by layer in the order they were inherited, each in its own precedence order
+     */
+    public Stream<Entry> inheritedEntries()
+    {
+        return this.layers.stream().flatMap(Layer::entries);
+    }
+
+    /**
+     * @return the current results with the uid they are attached to, in registration order
+     */
+    public Stream<Entry> currentEntries()
+    {
+        return this.currentEntries(0);
+    }
+
+    /**
+     * @param after the sequence number after which results are returned, e.g. the last one already processed
+     * @return the current results registered after the provided sequence number, with the uid they are attached to, in registration order
+     */
+    public Stream<Entry> currentEntries(long after)
+    {
+        return this.results.entrySet().stream()
+            .flatMap(entry -> entry.getValue().stream().filter(descriptor -> descriptor.sequence() > after).map(descriptor -> new Entry(entry.getKey(), descriptor)))
+            .sorted(Comparator.comparingLong(entry -> entry.descriptor().sequence()))
+        ;
+    }
+
     Stream<ResultDescriptor<?>> descriptorStream()
     {
-        return this.results.values().stream().flatMap(Collection::stream);
+        Stream<ResultDescriptor<?>> local = this.currentDescriptorStream();
+        if (this.layers.isEmpty())
+            return local;
+        return Stream.concat(this.layers.stream().flatMap(Layer::descriptorStream), local);
     }
 
     Stream<ResultDescriptor<?>> descriptorStream(String uid)
     {
-        if (!this.results.containsKey(uid))
-            return Stream.empty();
-        return this.results.get(uid).stream();
+        Stream<ResultDescriptor<?>> local = this.currentDescriptorStream(uid);
+        if (this.layers.isEmpty())
+            return local;
+        return Stream.concat(this.layers.stream().flatMap(layer -> layer.descriptorStream(uid)), local);
+    }
+
+    Stream<ResultDescriptor<?>> currentDescriptorStream()
+    {
+        return this.results.values().stream().flatMap(Collection::stream);
+    }
+
+    Stream<ResultDescriptor<?>> currentDescriptorStream(String uid)
+    {
+        List<ResultDescriptor<?>> descriptors = this.results.get(uid);
+        return descriptors == null ? Stream.empty() : descriptors.stream();
+    }
+
+    <R extends Result> Optional<ResultDescriptor<R>> currentDescriptor(Class<R> type)
+    {
+        return this.index.latest(type);
+    }
+
+    Optional<ResultDescriptor<?>> currentDescriptor(String name)
+    {
+        return this.index.latest(name);
+    }
+
+    <R extends Result> Optional<ResultDescriptor<R>> currentDescriptor(String uid, Class<R> type)
+    {
+        ResultIndex scoped = this.scopedIndexes.get(uid);
+        return scoped == null ? Optional.empty() : scoped.latest(type);
+    }
+
+    Optional<ResultDescriptor<?>> currentDescriptor(String uid, String name)
+    {
+        ResultIndex scoped = this.scopedIndexes.get(uid);
+        return scoped == null ? Optional.empty() : scoped.latest(name);
+    }
+
+    <R extends Result> Optional<ResultDescriptor<R>> latestDescriptor(Class<R> type)
+    {
+        Optional<ResultDescriptor<R>> latest = this.currentDescriptor(type);
+        for (int i = this.layers.size() - 1 ; latest.isEmpty() && i >= 0 ; --i)
+            latest = this.layers.get(i).latestDescriptor(type);
+        return latest;
+    }
+
+    Optional<ResultDescriptor<?>> latestDescriptor(String name)
+    {
+        Optional<ResultDescriptor<?>> latest = this.currentDescriptor(name);
+        for (int i = this.layers.size() - 1 ; latest.isEmpty() && i >= 0 ; --i)
+            latest = this.layers.get(i).latestDescriptor(name);
+        return latest;
+    }
+
+    <R extends Result> Optional<ResultDescriptor<R>> latestDescriptor(String uid, Class<R> type)
+    {
+        Optional<ResultDescriptor<R>> latest = this.currentDescriptor(uid, type);
+        for (int i = this.layers.size() - 1 ; latest.isEmpty() && i >= 0 ; --i)
+            latest = this.layers.get(i).latestDescriptor(uid, type);
+        return latest;
+    }
+
+    Optional<ResultDescriptor<?>> latestDescriptor(String uid, String name)
+    {
+        Optional<ResultDescriptor<?>> latest = this.currentDescriptor(uid, name);
+        for (int i = this.layers.size() - 1 ; latest.isEmpty() && i >= 0 ; --i)
+            latest = this.layers.get(i).latestDescriptor(uid, name);
+        return latest;
+    }
+
+    /**
+     * @return the uids for which this container holds results, including inherited ones
+     */
+    public Stream<String> uids()
+    {
+        if (this.layers.isEmpty())
+            return this.results.keySet().stream();
+        return Stream.concat(this.layers.stream().flatMap(Layer::uids), this.results.keySet().stream()).distinct();
     }
 
     @Override
@@ -73,7 +266,9 @@ public class ResultContainer implements Results
 
     public int size()
     {
-        return this.results.size();
+        if (this.layers.isEmpty())
+            return this.results.size();
+        return (int) this.uids().count();
     }
 
     public ResultView view(Indexable indexable)
@@ -95,4 +290,67 @@ public class ResultContainer implements Results
     {
         return new ScopedResults(uid, this);
     }
+
+    /**
+     * A result along with the uid of the object it is attached to.
+     */
+    public record Entry(
+        String uid,
+        ResultDescriptor<?> descriptor
+    ) {}
+
+    /**
+     * An inherited container, optionally restricted to a single uid.
+     */
+    private record Layer(
+        ResultContainer container,
+        String uid
+    ) {
+        Stream<Entry> entries()
+        {
+            return this.uid == null ? this.container.entries() : this.container.entries().filter(entry -> this.uid.equals(entry.uid()));
+        }
+
+        Stream<ResultDescriptor<?>> descriptorStream()
+        {
+            return this.uid == null ? this.container.descriptorStream() : this.container.descriptorStream(this.uid);
+        }
+
+        Stream<ResultDescriptor<?>> descriptorStream(String uid)
+        {
+            return this.covers(uid) ? this.container.descriptorStream(uid) : Stream.empty();
+        }
+
+        <R extends Result> Optional<ResultDescriptor<R>> latestDescriptor(Class<R> type)
+        {
+            return this.uid == null ? this.container.latestDescriptor(type) : this.container.latestDescriptor(this.uid, type);
+        }
+
+        Optional<ResultDescriptor<?>> latestDescriptor(String name)
+        {
+            return this.uid == null ? this.container.latestDescriptor(name) : this.container.latestDescriptor(this.uid, name);
+        }
+
+        <R extends Result> Optional<ResultDescriptor<R>> latestDescriptor(String uid, Class<R> type)
+        {
+            return this.covers(uid) ? this.container.latestDescriptor(uid, type) : Optional.empty();
+        }
+
+        Optional<ResultDescriptor<?>> latestDescriptor(String uid, String name)
+        {
+            return this.covers(uid) ? this.container.latestDescriptor(uid, name) : Optional.empty();
+        }
+
+        Stream<String> uids()
+        {
+            if (this.uid == null)
+                return this.container.uids();
+            return this.container.descriptorStream(this.uid).findAny().isPresent() ? Stream.of(this.uid) : Stream.empty();
+        }
+
+        private boolean covers(String uid)
+        {
+            return this.uid == null || this.uid.equals(uid);
+        }
+    }
 }
@@ -6,16 +6,39 @@ import tech.illuin.pipeline.output.ComponentTag;
 import java.time.Instant;
 
 /**
+ * Descriptors are ordered by their {@code sequence}, a monotonic number assigned by a {@link ResultContainer} upon registration, and which is 0 until then.
+ * It decides which descriptor is the latest without any clock read, and without ambiguity when several results share a creation date; {@code createdAt} is kept for display.
+ * Results of incremental steps also carry the {@code fingerprint} of the arguments they were produced from, other results have {@link #NO_FINGERPRINT}.
+ *
  * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
  */
 public record ResultDescriptor<R extends Result>(
     String uid,
     ComponentTag tag,
     Instant createdAt,
+    long sequence,
+    long fingerprint,
     R result
 ) implements Indexable {
+    public static final long NO_FINGERPRINT = 0;
+
+    public ResultDescriptor(String uid, ComponentTag tag, Instant createdAt, R result)
+    {
+        this(uid, tag, createdAt, 0, NO_FINGERPRINT, result);
+    }
+
     public ResultDescriptor(String uid, ComponentTag tag, R result)
     {
         this(uid, tag, Instant.now(), result);
     }
+
+    public ResultDescriptor<R> withFingerprint(long fingerprint)
+    {
+        return new ResultDescriptor<>(this.uid, this.tag, this.createdAt, this.sequence, fingerprint, this.result);
+    }
+
+    ResultDescriptor<R> withSequence(long sequence)
+    {
+        return new ResultDescriptor<>(this.uid, this.tag, this.createdAt, sequence, this.fingerprint, this.result);
+    }
 }
@@ -36,7 +36,7 @@ public interface ResultDescriptors
     {
         return this.stream()
            .filter(rd -> type.isInstance(rd.result()))
-           .max(Comparator.comparing(ResultDescriptor::createdAt))
+           .max(Comparator.comparingLong(ResultDescriptor::sequence))
            .map(rd -> (ResultDescriptor<R>) rd)
         ;
     }
@@ -50,21 +50,22 @@ public interface ResultDescriptors
     {
         return this.stream()
            .filter(rd -> Objects.equals(rd.result().name(), name))
-           .max(Comparator.comparing(ResultDescriptor::createdAt))
+           .max(Comparator.comparingLong(ResultDescriptor::sequence))
         ;
     }
 
-    default Stream<ResultDescriptor<?>> current()
-    {
-        return this.stream().filter(r -> r.createdAt().isAfter(this.currentStart()));
-    }
+    /**
+     * Current descriptors are the ones registered in the underlying container itself, as opposed to inherited ones.
+     * This is decided upon registration rather than from creation dates, which do not tell registered and inherited results apart.
+     */
+    Stream<ResultDescriptor<?>> current();
 
     @SuppressWarnings("unchecked")
     default <R extends Result> Optional<ResultDescriptor<R>> current(Class<R> type)
     {
         return this.current()
             .filter(rd -> type.isInstance(rd.result()))
-            .max(Comparator.comparing(ResultDescriptor::createdAt))
+            .max(Comparator.comparingLong(ResultDescriptor::sequence))
             .map(rd -> (ResultDescriptor<R>) rd)
         ;
     }
@@ -78,7 +79,7 @@ public interface ResultDescriptors
     {
         return this.current()
            .filter(rd -> Objects.equals(rd.result().name(), name))
-           .max(Comparator.comparing(ResultDescriptor::createdAt))
+           .max(Comparator.comparingLong(ResultDescriptor::sequence))
         ;
     }
 }
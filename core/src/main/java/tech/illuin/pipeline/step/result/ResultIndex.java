@@ -0,0 +1,75 @@
+package tech.illuin.pipeline.step.result;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BinaryOperator;
+
+/**
+ * Secondary index over a set of {@link ResultDescriptor}, maintaining a pointer to the latest descriptor for each result type (including its supertypes) and each result name.
+ * Pointers are updated upon registration, so latest lookups are O(1) instead of a scan over all descriptors.
+ * The latest descriptor is the one with the highest sequence number, which matches the ordering used by {@link ResultDescriptors}.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+final class ResultIndex
+{
+    private final Map<Class<?>, ResultDescriptor<?>> latestByType;
+    private final Map<String, ResultDescriptor<?>> latestByName;
+
+    private static final BinaryOperator<ResultDescriptor<?>> LATEST = (current, candidate) -> candidate.sequence() > current.sequence() ? candidate : current;
+
+    /* The type hierarchy of a result class is computed once per class */
+    private static final ClassValue<List<Class<?>>> HIERARCHY = new ClassValue<>() {
+        @Override
+        protected List<Class<?>> computeValue(Class<?> type)
+        {
+            List<Class<?>> hierarchy = new ArrayList<>();
+            collect(type, hierarchy);
+            return List.copyOf(hierarchy);
+        }
+    };
+
+    /**
+     * @param concurrent whether the index can be read while it is updated from another thread
+     */
+    ResultIndex(boolean concurrent)
+    {
+        this.latestByType = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.latestByName = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
+
+    void register(ResultDescriptor<?> descriptor)
+    {
+        for (Class<?> type : HIERARCHY.get(descriptor.result().getClass()))
+            this.latestByType.merge(type, descriptor, LATEST);
+
+        String name = descriptor.result().name();
+        if (name != null)
+            this.latestByName.merge(name, descriptor, LATEST);
+    }
+
+    @SuppressWarnings("unchecked")
+    <R extends Result> Optional<ResultDescriptor<R>> latest(Class<R> type)
+    {
+        return Optional.ofNullable((ResultDescriptor<R>) this.latestByType.get(type));
+    }
+
+    Optional<ResultDescriptor<?>> latest(String name)
+    {
+        return Optional.ofNullable(this.latestByName.get(name));
+    }
+
+    private static void collect(Class<?> type, List<Class<?>> hierarchy)
+    {
+        if (type == null || !Result.class.isAssignableFrom(type) || hierarchy.contains(type))
+            return;
+        hierarchy.add(type);
+        collect(type.getSuperclass(), hierarchy);
+        for (Class<?> itf : type.getInterfaces())
+            collect(itf, hierarchy);
+    }
+}
@@ -1,6 +1,7 @@
 package tech.illuin.pipeline.step.result;
 
 import java.time.Instant;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 /**
@@ -33,4 +34,39 @@ public final class ScopedResultDescriptors implements ResultDescriptors
     {
         return this.container.createdAt();
     }
+
+    @Override
+    public <R extends Result> Optional<ResultDescriptor<R>> latest(Class<R> type)
+    {
+        return this.container.latestDescriptor(this.uid, type);
+    }
+
+    @Override
+    public Optional<ResultDescriptor<?>> latest(String name)
+    {
+        if (name == null)
+            return ResultDescriptors.super.latest(name);
+        return this.container.latestDescriptor(this.uid, name);
+    }
+
+    /* Current descriptors are the ones registered in the container itself, as opposed to inherited ones */
+    @Override
+    public Stream<ResultDescriptor<?>> current()
+    {
+        return this.container.currentDescriptorStream(this.uid);
+    }
+
+    @Override
+    public <R extends Result> Optional<ResultDescriptor<R>> current(Class<R> type)
+    {
+        return this.container.currentDescriptor(this.uid, type);
+    }
+
+    @Override
+    public Optional<ResultDescriptor<?>> current(String name)
+    {
+        if (name == null)
+            return ResultDescriptors.super.current(name);
+        return this.container.currentDescriptor(this.uid, name);
+    }
 }
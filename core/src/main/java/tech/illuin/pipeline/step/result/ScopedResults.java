@@ -22,6 +22,11 @@ public final class ScopedResults implements Results
         return this.uid;
     }
 
+    ResultContainer container()
+    {
+        return this.container;
+    }
+
     @Override
     public Stream<Result> stream()
     {
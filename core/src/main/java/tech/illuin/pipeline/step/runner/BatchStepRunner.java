@@ -0,0 +1,151 @@
+package tech.illuin.pipeline.step.runner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tech.illuin.pipeline.annotation.Current;
+import tech.illuin.pipeline.annotation.Latest;
+import tech.illuin.pipeline.builder.runner_compiler.CompiledArguments;
+import tech.illuin.pipeline.builder.runner_compiler.CompiledMethod;
+import tech.illuin.pipeline.builder.runner_compiler.MethodInvoker;
+import tech.illuin.pipeline.builder.runner_compiler.argument_resolver.method_arguments.MethodArguments;
+import tech.illuin.pipeline.builder.runner_compiler.argument_resolver.method_arguments.MissingArgument;
+import tech.illuin.pipeline.commons.Reflection;
+import tech.illuin.pipeline.context.LocalContext;
+import tech.illuin.pipeline.input.indexer.Indexable;
+import tech.illuin.pipeline.observer.descriptor.describable.Describable;
+import tech.illuin.pipeline.step.annotation.StepConfig;
+import tech.illuin.pipeline.step.result.Result;
+import tech.illuin.pipeline.step.result.ResultView;
+import tech.illuin.pipeline.step.result.Results;
+import tech.illuin.pipeline.step.variant.BatchStep;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runner for {@link StepConfig} methods returning a {@code Map<String, ? extends Result>}, the {@link tech.illuin.pipeline.annotation.Object} parameter of such methods receives the list of all arguments.
+ * As there is no single argument to scope them to, batch methods cannot ask for a {@link ResultView} or for self-scoped {@link Current} and {@link Latest} results.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class BatchStepRunner<T extends Indexable, I> implements BatchStep<T, I>, Describable
+{
+    private final java.lang.Object target;
+    private Method method;
+    private String signature;
+    private MethodInvoker invoker;
+    private CompiledArguments<List<T>, I> arguments;
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchStepRunner.class);
+
+    public BatchStepRunner(java.lang.Object target)
+    {
+        if (target == null)
+            throw new IllegalArgumentException("The target of a BatchStepRunner cannot be null");
+        this.target = target;
+    }
+
+    public static boolean isBatchMethod(Method method)
+    {
+        return Map.class.isAssignableFrom(method.getReturnType());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, ? extends Result> executeBatch(List<T> objects, I input, Object payload, Results results, LocalContext context) throws Exception
+    {
+        logger.trace("{}#{} launching batch step over target {}#{}", context.pipelineTag().pipeline(), context.pipelineTag().uid(), this.target.getClass().getName(), this.signature);
+
+        try {
+            MethodArguments<List<T>, I> originalArguments = new MethodArguments<>(
+                objects,
+                input,
+                payload,
+                null,
+                null,
+                results,
+                context,
+                context.pipelineTag(),
+                context.componentTag(),
+                context.uidGenerator(),
+                context.observabilityManager(),
+                context.markerManager()
+            );
+            Object[] arguments = this.arguments.map(originalArguments);
+            List<MissingArgument> missingArgs = CompiledArguments.missing(arguments);
+
+            if (!missingArgs.isEmpty())
+            {
+                for (MissingArgument missingArg : missingArgs)
+                    logger.trace("Found missing argument for batch step {}: {}", this.target.getClass().getName(), missingArg.message());
+                return Collections.emptyMap();
+            }
+
+            Object result = this.invoker.invoke(arguments);
+
+            if (result instanceof Map<?, ?> mResult)
+                return (Map<String, ? extends Result>) mResult;
+
+            if (result == null)
+                throw new StepRunnerException("Batch step method returned a null result");
+            throw new StepRunnerException("Batch step method returned an unexpected result type " + result.getClass().getName());
+        }
+        catch (InvocationTargetException e) {
+            if (e.getTargetException() instanceof Exception)
+                throw (Exception) e.getTargetException();
+
+            throw new StepRunnerException(
+                "The target method " + this.method.getName() + " of batch step runner " + context.pipelineTag().pipeline() + "#" + context.componentTag().id()
+                    + " has thrown an unexpected exception of type " + e.getTargetException().getClass().getName(),
+                e.getTargetException()
+            );
+        }
+        catch (IllegalAccessException e) {
+            throw new StepRunnerException(
+                "The target method " + this.method.getName() + " of batch step runner " + context.pipelineTag().pipeline() + "#" + context.componentTag().id()
+                    + " unexpectedly has illegal access",
+                e
+            );
+        }
+    }
+
+    @Override
+    public String defaultId()
+    {
+        return this.target.getClass().getName() + "#" + this.method.getName();
+    }
+
+    public Object target()
+    {
+        return this.target;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void build(CompiledMethod<StepConfig, T, I> compiled)
+    {
+        for (Parameter parameter : compiled.method().getParameters())
+        {
+            Current current = parameter.getAnnotation(Current.class);
+            Latest latest = parameter.getAnnotation(Latest.class);
+            boolean isSelfScoped = (current != null && current.self()) || (latest != null && latest.self());
+            if (isSelfScoped || ResultView.class.isAssignableFrom(parameter.getType()))
+                throw new IllegalStateException("Batch step method " + compiled.method().getName() + " cannot access argument-scoped results (parameter " + parameter.getName() + ")");
+        }
+
+        this.method = compiled.method();
+        this.signature = Reflection.getMethodSignature(compiled.method());
+        this.invoker = compiled.invoker();
+        /* Mappers are agnostic of the object type, the @Object mapper simply forwards the whole argument list */
+        this.arguments = new CompiledArguments<>((List) compiled.mappers());
+    }
+
+    @Override
+    public Object describe()
+    {
+        return this.target();
+    }
+}
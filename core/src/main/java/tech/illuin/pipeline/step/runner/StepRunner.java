@@ -2,8 +2,9 @@ package tech.illuin.pipeline.step.runner;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import tech.illuin.pipeline.builder.runner_compiler.CompiledArguments;
 import tech.illuin.pipeline.builder.runner_compiler.CompiledMethod;
-import tech.illuin.pipeline.builder.runner_compiler.argument_resolver.mapper_factory.MethodArgumentMapper;
+import tech.illuin.pipeline.builder.runner_compiler.MethodInvoker;
 import tech.illuin.pipeline.builder.runner_compiler.argument_resolver.method_arguments.MethodArguments;
 import tech.illuin.pipeline.builder.runner_compiler.argument_resolver.method_arguments.MissingArgument;
 import tech.illuin.pipeline.commons.Reflection;
@@ -18,7 +19,6 @@ import tech.illuin.pipeline.step.result.ResultView;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -30,7 +30,9 @@ public class StepRunner<T extends Indexable, I> implements Step<T, I>, Describab
 {
     private final java.lang.Object target;
     private Method method;
-    private List<MethodArgumentMapper<T, I>> argumentMappers;
+    private String signature;
+    private MethodInvoker invoker;
+    private CompiledArguments<T, I> arguments;
 
     private static final Logger logger = LoggerFactory.getLogger(StepRunner.class);
 
@@ -44,7 +46,7 @@ public class StepRunner<T extends Indexable, I> implements Step<T, I>, Describab
     @Override
     public Result execute(T object, I input, Object payload, ResultView results, LocalContext context) throws Exception
     {
-        logger.trace("{}#{} launching step over target {}#{}", context.pipelineTag().pipeline(), context.pipelineTag().uid(), this.target.getClass().getName(), Reflection.getMethodSignature(this.method));
+        logger.trace("{}#{} launching step over target {}#{}", context.pipelineTag().pipeline(), context.pipelineTag().uid(), this.target.getClass().getName(), this.signature);
 
         try {
             MethodArguments<T, I> originalArguments = new MethodArguments<>(
@@ -61,15 +63,8 @@ public class StepRunner<T extends Indexable, I> implements Step<T, I>, Describab
                 context.observabilityManager(),
                 context.markerManager()
             );
-            List<MissingArgument> missingArgs = new ArrayList<>();
-            java.lang.Object[] arguments = this.argumentMappers.stream()
-                .map(mapper -> mapper.map(originalArguments))
-                .peek(arg -> {
-                    if (arg instanceof MissingArgument missing)
-                        missingArgs.add(missing);
-                })
-                .toArray()
-            ;
+            Object[] arguments = this.arguments.map(originalArguments);
+            List<MissingArgument> missingArgs = CompiledArguments.missing(arguments);
 
             if (!missingArgs.isEmpty())
             {
@@ -78,7 +73,7 @@ public class StepRunner<T extends Indexable, I> implements Step<T, I>, Describab
                 return MultiResult.empty();
             }
 
-            Object result = this.method.invoke(this.target, arguments);
+            Object result = this.invoker.invoke(arguments);
 
             /* Valid cases should have corresponding MethodValidators */
             if (result instanceof Result)
@@ -126,7 +121,9 @@ public class StepRunner<T extends Indexable, I> implements Step<T, I>, Describab
     public void build(CompiledMethod<StepConfig, T, I> compiled)
     {
         this.method = compiled.method();
-        this.argumentMappers = compiled.mappers();
+        this.signature = Reflection.getMethodSignature(compiled.method());
+        this.invoker = compiled.invoker();
+        this.arguments = new CompiledArguments<>(compiled.mappers());
     }
 
     @Override
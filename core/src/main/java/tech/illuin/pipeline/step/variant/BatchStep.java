@@ -0,0 +1,37 @@
+package tech.illuin.pipeline.step.variant;
+
+import tech.illuin.pipeline.context.LocalContext;
+import tech.illuin.pipeline.input.indexer.Indexable;
+import tech.illuin.pipeline.step.Step;
+import tech.illuin.pipeline.step.result.MultiResult;
+import tech.illuin.pipeline.step.result.Result;
+import tech.illuin.pipeline.step.result.ResultView;
+import tech.illuin.pipeline.step.result.Results;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A step which processes all of its arguments in a single call, and returns their results keyed by argument uid.
+ * The step phase then evaluates and registers each result against its argument, as it would have done for separate calls.
+ * Arguments with no entry in the returned map are given an empty result.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+@FunctionalInterface
+public interface BatchStep<T extends Indexable, I> extends Step<T, I>
+{
+    Map<String, ? extends Result> executeBatch(List<T> objects, I input, Object payload, Results results, LocalContext context) throws Exception;
+
+    /**
+     * Runs the step over a batch of a single argument.
+     *
+     * @see #executeBatch(List, Object, Object, Results, LocalContext)
+     */
+    @Override
+    default Result execute(T object, I input, Object payload, ResultView results, LocalContext context) throws Exception
+    {
+        Result result = this.executeBatch(List.of(object), input, payload, results, context).get(object.uid());
+        return result == null ? MultiResult.empty() : result;
+    }
+}
@@ -1,11 +1,13 @@
 package tech.illuin.pipeline.step.variant;
 
+import io.micrometer.tracing.Span;
 import tech.illuin.pipeline.Pipeline;
 import tech.illuin.pipeline.PipelineException;
 import tech.illuin.pipeline.annotation.Experimental;
 import tech.illuin.pipeline.context.LocalContext;
-import tech.illuin.pipeline.context.SimpleContext;
+import tech.illuin.pipeline.context.NestedContext;
 import tech.illuin.pipeline.input.indexer.Indexable;
+import tech.illuin.pipeline.metering.manager.ObservabilityLevel;
 import tech.illuin.pipeline.output.Output;
 import tech.illuin.pipeline.step.Step;
 import tech.illuin.pipeline.step.result.Result;
@@ -34,15 +36,17 @@ public final class PipelineStep<I> implements Step<Indexable, I>
     public Result execute(Indexable object, I input, Object payload, ResultView results, LocalContext context) throws Exception
     {
         try {
-            /* TODO: Bad design -> this should be challenged ASAP */
+            /*
+             * The nested run sees the parent's payload and the current object's results through a read-only layer,
+             * and the parent's context by reference: nothing is copied, and writes from the nested run remain local to it.
+             */
             Output prev = new Output(
                 context.pipelineTag(),
                 payload,
                 context
             );
-            prev.results().register(results);
-            Output out = this.pipeline.run(input, new SimpleContext(prev)
-                .copyFrom(context)
+            prev.results().inherit(results);
+            Output out = this.pipeline.run(input, new NestedContext(prev, context, currentSpan(context))
                 .set(PARENT_PIPELINE, context.pipelineTag())
             );
             return this.resultMapper.apply(out);
@@ -52,6 +56,15 @@ public final class PipelineStep<I> implements Step<Indexable, I>
         }
     }
 
+    /* When the enclosing run is traced, the step span is in scope */
+    private static Span currentSpan(LocalContext context)
+    {
+        if (context.observabilityManager().level() == ObservabilityLevel.METRICS_ONLY)
+            return Span.NOOP;
+        Span span = context.observabilityManager().tracer().currentSpan();
+        return span == null ? Span.NOOP : span;
+    }
+
     @Override
     public String defaultId()
     {
@@ -0,0 +1,76 @@
+package tech.illuin.pipeline.builder.runner_compiler;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class MethodInvokerTest
+{
+    @Test
+    public void testInvoke_shouldHandleReturnTypes() throws Exception
+    {
+        Target target = new Target();
+
+        MethodInvoker sum = MethodInvoker.of(target, Target.class.getMethod("sum", int.class, Integer.class));
+        MethodInvoker append = MethodInvoker.of(target, Target.class.getMethod("append", String.class));
+        MethodInvoker concat = MethodInvoker.of(null, Target.class.getMethod("concat", String.class, String.class));
+
+        Assertions.assertEquals(5, sum.invoke(new Object[]{ 2, 3 }));
+        Assertions.assertNull(append.invoke(new Object[]{ "a" }));
+        Assertions.assertEquals(List.of("a"), target.values);
+        Assertions.assertEquals("ab", concat.invoke(new Object[]{ "a", "b" }));
+    }
+
+    @Test
+    public void testInvoke_shouldWrapExceptions() throws Exception
+    {
+        MethodInvoker invoker = MethodInvoker.of(new Target(), Target.class.getMethod("fail"));
+
+        InvocationTargetException e = Assertions.assertThrows(InvocationTargetException.class, () -> invoker.invoke(new Object[0]));
+        Assertions.assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    public void testInvoke_shouldMatchReflection() throws Exception
+    {
+        Target target = new Target();
+        Method method = Target.class.getMethod("sum", int.class, Integer.class);
+
+        Assertions.assertEquals(
+            MethodInvoker.reflective(target, method).invoke(new Object[]{ 4, 5 }),
+            MethodInvoker.of(target, method).invoke(new Object[]{ 4, 5 })
+        );
+    }
+
+    public static class Target
+    {
+        private final List<String> values = new ArrayList<>();
+
+        public int sum(int a, Integer b)
+        {
+            return a + b;
+        }
+
+        public void append(String value)
+        {
+            this.values.add(value);
+        }
+
+        public void fail()
+        {
+            throw new IllegalStateException("This is an error");
+        }
+
+        public static String concat(String a, String b)
+        {
+            return a + b;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package tech.illuin.pipeline.commons;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import tech.illuin.pipeline.Pipeline;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class VirtualThreadsTest
+{
+    @Test
+    public void testNewExecutor_shouldFallBackWithoutFactory()
+    {
+        ExecutorService fallback = Executors.newFixedThreadPool(1);
+        try {
+            Assertions.assertSame(fallback, VirtualThreads.newExecutor(null, () -> fallback));
+        }
+        finally {
+            fallback.shutdown();
+        }
+    }
+
+    @Test
+    public void testNewExecutor_shouldUseFactory()
+    {
+        ExecutorService executor = Assertions.assertDoesNotThrow(() -> VirtualThreads.newExecutor(
+            Executors.class.getMethod("newSingleThreadExecutor"),
+            () -> Assertions.fail("The fallback should not be used when a factory is available")
+        ));
+        Assertions.assertNotNull(executor);
+        executor.shutdown();
+    }
+
+    @Test
+    public void testBuilder_shouldFallBackToPreviousExecutor()
+    {
+        Assumptions.assumeFalse(VirtualThreads.isAvailable(), "Virtual threads are supported by the current runtime");
+
+        ExecutorService previous = Executors.newFixedThreadPool(1);
+        try {
+            var builder = Pipeline.of("test-virtual-threads-fallback")
+                .setStepExecutor(previous)
+                .setVirtualThreads(true)
+            ;
+            Assertions.assertSame(previous, builder.stepExecutorProvider().get());
+        }
+        finally {
+            previous.shutdown();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package tech.illuin.pipeline.execution;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.execution.async.RejectionPolicy;
+import tech.illuin.pipeline.execution.async.RunRejectedException;
+import tech.illuin.pipeline.generic.pipeline.TestResult;
+import tech.illuin.pipeline.output.Output;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static tech.illuin.pipeline.generic.Tests.sleep;
+import static tech.illuin.pipeline.metering.MeterRegistryKey.*;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class AsyncRunTest
+{
+    @Test
+    public void testPipeline_shouldRunAsync()
+    {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CountDownLatch latch = new CountDownLatch(1);
+        Pipeline<Integer> pipeline = Assertions.assertDoesNotThrow(() -> createAsyncPipeline(meterRegistry, latch, RejectionPolicy.QUEUE));
+
+        MDC.put("request_id", "abc");
+        List<CompletableFuture<Output>> futures = IntStream.range(0, 10).mapToObj(pipeline::runAsync).toList();
+        MDC.remove("request_id");
+
+        /* 2 runs are blocked by the latch, the 8 others are waiting in the queue */
+        Assertions.assertEquals(2, meterRegistry.get(PIPELINE_ASYNC_IN_FLIGHT_KEY.id()).gauge().value());
+        Assertions.assertEquals(8, meterRegistry.get(PIPELINE_ASYNC_QUEUE_SIZE_KEY.id()).gauge().value());
+
+        latch.countDown();
+        List<Output> outputs = futures.stream().map(CompletableFuture::join).toList();
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        for (int i = 0 ; i < 10 ; ++i)
+        {
+            Assertions.assertEquals(
+                "value-" + i + "-abc",
+                outputs.get(i).results().current(TestResult.class).map(TestResult::status).orElse(null)
+            );
+        }
+        Assertions.assertEquals(0, meterRegistry.get(PIPELINE_ASYNC_IN_FLIGHT_KEY.id()).gauge().value());
+        Assertions.assertEquals(0, meterRegistry.get(PIPELINE_ASYNC_QUEUE_SIZE_KEY.id()).gauge().value());
+        Assertions.assertEquals(10, meterRegistry.get(PIPELINE_ASYNC_WAIT_KEY.id()).timer().count());
+    }
+
+    @Test
+    public void testPipeline_shouldRejectBeyondQueueCapacity()
+    {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CountDownLatch latch = new CountDownLatch(1);
+        Pipeline<Integer> pipeline = Assertions.assertDoesNotThrow(() -> createAsyncPipeline(meterRegistry, latch, RejectionPolicy.QUEUE));
+
+        List<CompletableFuture<Output>> futures = IntStream.range(0, 12).mapToObj(pipeline::runAsync).toList();
+        latch.countDown();
+
+        assertRejected(futures.subList(10, 12));
+        futures.subList(0, 10).forEach(f -> Assertions.assertDoesNotThrow(f::join));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals(2, meterRegistry.get(PIPELINE_ASYNC_REJECTED_TOTAL_KEY.id()).counter().count());
+    }
+
+    @Test
+    public void testPipeline_shouldRejectBeyondMaxInFlight()
+    {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CountDownLatch latch = new CountDownLatch(1);
+        Pipeline<Integer> pipeline = Assertions.assertDoesNotThrow(() -> createAsyncPipeline(meterRegistry, latch, RejectionPolicy.REJECT));
+
+        List<CompletableFuture<Output>> futures = IntStream.range(0, 5).mapToObj(pipeline::runAsync).toList();
+        latch.countDown();
+
+        assertRejected(futures.subList(2, 5));
+        futures.subList(0, 2).forEach(f -> Assertions.assertDoesNotThrow(f::join));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals(3, meterRegistry.get(PIPELINE_ASYNC_REJECTED_TOTAL_KEY.id()).counter().count());
+    }
+
+    @Test
+    public void testPipeline_shouldRunOnCaller()
+    {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CountDownLatch latch = new CountDownLatch(1);
+        Pipeline<Integer> pipeline = Assertions.assertDoesNotThrow(() -> createAsyncPipeline(meterRegistry, latch, RejectionPolicy.CALLER_RUNS));
+
+        List<CompletableFuture<Output>> futures = IntStream.range(0, 2).mapToObj(pipeline::runAsync).toList();
+        /* Both slots are taken, the next run is performed by the current thread which blocks until the latch is released */
+        CompletableFuture.runAsync(() -> {
+            sleep(Duration.ofMillis(100));
+            latch.countDown();
+        });
+        CompletableFuture<Output> callerRun = pipeline.runAsync(2);
+
+        Assertions.assertTrue(callerRun.isDone());
+        Assertions.assertDoesNotThrow(callerRun::join);
+        futures.forEach(f -> Assertions.assertDoesNotThrow(f::join));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals(0, meterRegistry.get(PIPELINE_ASYNC_REJECTED_TOTAL_KEY.id()).counter().count());
+    }
+
+    @Test
+    public void testPipeline_shouldPropagateError()
+    {
+        CountDownLatch latch = new CountDownLatch(0);
+        Pipeline<Integer> pipeline = Assertions.assertDoesNotThrow(() -> createAsyncPipeline(new SimpleMeterRegistry(), latch, RejectionPolicy.QUEUE));
+
+        CompletableFuture<Output> future = pipeline.runAsync(-1);
+        CompletionException exception = Assertions.assertThrows(CompletionException.class, future::join);
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+    }
+
+    @Test
+    public void testPipeline_shouldPropagateThrowable()
+    {
+        Pipeline<Integer> pipeline = Assertions.assertDoesNotThrow(() -> Pipeline.<Integer>of("test-async-error")
+            .registerStep((object, input, payload, results, context) -> {
+                if (input < 0)
+                    throw new AssertionError("Negative input");
+                return new TestResult("value", "value-" + input);
+            })
+            .setMaxInFlightRuns(1)
+            .build()
+        );
+
+        CompletableFuture<Output> failed = pipeline.runAsync(-1);
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        /* The slot is released, so the next run goes through */
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.runAsync(1).get(5, TimeUnit.SECONDS));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertInstanceOf(AssertionError.class, exception.getCause());
+        Assertions.assertEquals("value-1", output.results().current(TestResult.class).map(TestResult::status).orElse(null));
+    }
+
+    private static void assertRejected(List<CompletableFuture<Output>> futures)
+    {
+        for (CompletableFuture<Output> future : futures)
+        {
+            CompletionException exception = Assertions.assertThrows(CompletionException.class, future::join);
+            Assertions.assertInstanceOf(RunRejectedException.class, exception.getCause());
+        }
+    }
+
+    public static Pipeline<Integer> createAsyncPipeline(MeterRegistry meterRegistry, CountDownLatch latch, RejectionPolicy policy)
+    {
+        return Pipeline.<Integer>of("test-async")
+            .registerStep((object, input, payload, results, context) -> {
+                if (input < 0)
+                    throw new IllegalArgumentException("Negative input");
+                if (!latch.await(5, TimeUnit.SECONDS))
+                    throw new IllegalStateException("Latch was not released in time");
+                return new TestResult("value", "value-" + input + "-" + MDC.get("request_id"));
+            })
+            .setMaxInFlightRuns(2)
+            .setRunQueueCapacity(8)
+            .setRejectionPolicy(policy)
+            .setMeterRegistry(meterRegistry)
+            .build()
+        ;
+    }
+}
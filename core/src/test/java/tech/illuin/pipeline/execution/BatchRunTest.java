@@ -0,0 +1,90 @@
+package tech.illuin.pipeline.execution;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.generic.pipeline.TestResult;
+import tech.illuin.pipeline.output.Output;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static tech.illuin.pipeline.metering.MeterRegistryKey.*;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class BatchRunTest
+{
+    @Test
+    public void testPipeline_shouldRunBatch()
+    {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Pipeline<Integer> pipeline = Assertions.assertDoesNotThrow(() -> createBatchPipeline(meterRegistry));
+
+        List<Integer> inputs = IntStream.range(0, 100).boxed().toList();
+        List<Output> outputs = Assertions.assertDoesNotThrow(() -> pipeline.runAll(inputs));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        assertOutputs(inputs, outputs);
+        Assertions.assertEquals(100, meterRegistry.get(PIPELINE_RUN_TOTAL_KEY.id()).counter().count());
+        Assertions.assertEquals(1, meterRegistry.get(PIPELINE_BATCH_RUN_SUCCESS_KEY.id()).counter().count());
+        Assertions.assertEquals(100, meterRegistry.get(PIPELINE_BATCH_INPUT_TOTAL_KEY.id()).counter().count());
+        Assertions.assertEquals(1, meterRegistry.get(PIPELINE_BATCH_RUN_KEY.id()).timer().count());
+    }
+
+    @Test
+    public void testPipeline_shouldRunBatchConcurrently()
+    {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Pipeline<Integer> pipeline = Assertions.assertDoesNotThrow(() -> createBatchPipeline(meterRegistry));
+
+        List<Integer> inputs = IntStream.range(0, 100).boxed().toList();
+        List<Output> outputs = Assertions.assertDoesNotThrow(() -> pipeline.runAll(inputs.stream(), 4));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        assertOutputs(inputs, outputs);
+        Assertions.assertEquals(100, meterRegistry.get(PIPELINE_RUN_TOTAL_KEY.id()).counter().count());
+        Assertions.assertEquals(1, meterRegistry.get(PIPELINE_BATCH_RUN_SUCCESS_KEY.id()).counter().count());
+    }
+
+    @Test
+    public void testPipeline_shouldFailBatch()
+    {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Pipeline<Integer> pipeline = Assertions.assertDoesNotThrow(() -> createBatchPipeline(meterRegistry));
+
+        List<Integer> inputs = IntStream.range(-1, 100).boxed().toList();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> pipeline.runAll(inputs.stream(), 4));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals(1, meterRegistry.get(PIPELINE_BATCH_RUN_FAILURE_KEY.id()).counter().count());
+    }
+
+    private static void assertOutputs(List<Integer> inputs, List<Output> outputs)
+    {
+        Assertions.assertEquals(inputs.size(), outputs.size());
+        for (int i = 0 ; i < inputs.size() ; ++i)
+        {
+            Assertions.assertEquals(
+                "value-" + inputs.get(i),
+                outputs.get(i).results().current(TestResult.class).map(TestResult::status).orElse(null)
+            );
+        }
+    }
+
+    public static Pipeline<Integer> createBatchPipeline(MeterRegistry meterRegistry)
+    {
+        return Pipeline.<Integer>of("test-batch")
+            .registerStep((object, input, payload, results, context) -> {
+                if (input < 0)
+                    throw new IllegalArgumentException("Negative input");
+                return new TestResult("value", "value-" + input);
+            })
+            .setMeterRegistry(meterRegistry)
+            .build()
+        ;
+    }
+}
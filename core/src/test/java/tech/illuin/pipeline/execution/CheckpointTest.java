@@ -0,0 +1,321 @@
+package tech.illuin.pipeline.execution;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.PipelineException;
+import tech.illuin.pipeline.execution.checkpoint.Checkpoint;
+import tech.illuin.pipeline.execution.checkpoint.CheckpointDelta;
+import tech.illuin.pipeline.execution.checkpoint.CheckpointJournal;
+import tech.illuin.pipeline.execution.checkpoint.FileCheckpointJournal;
+import tech.illuin.pipeline.generic.model.B;
+import tech.illuin.pipeline.generic.pipeline.TestResult;
+import tech.illuin.pipeline.input.indexer.MultiIndexer;
+import tech.illuin.pipeline.execution.error.PipelineErrorHandler;
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.output.codec.CodecRegistry;
+import tech.illuin.pipeline.output.codec.OutputCodec;
+import tech.illuin.pipeline.output.codec.ValueCodec;
+import tech.illuin.pipeline.step.result.ResultContainer;
+import tech.illuin.pipeline.step.variant.IndexableStep;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static tech.illuin.pipeline.step.execution.evaluator.StepStrategy.CONTINUE;
+import static tech.illuin.pipeline.step.execution.evaluator.StepStrategy.DISCARD_AND_CONTINUE;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class CheckpointTest
+{
+    @Test
+    public void testResume_shouldSkipCompletedSteps(@TempDir Path directory)
+    {
+        Map<String, Integer> executions = new ConcurrentHashMap<>();
+        AtomicBoolean fail = new AtomicBoolean(true);
+        Pipeline<String> pipeline = createPipeline(new FileCheckpointJournal(directory, createCodec()), executions, fail);
+
+        PipelineException exception = Assertions.assertThrows(PipelineException.class, () -> pipeline.run("b1:x,b2:yy,b3:zzz"));
+        String runUid = exception.tag().uid();
+        Assertions.assertEquals(Map.of("upper:b1", 1, "upper:b2", 1, "upper:b3", 1, "length:b1", 1), executions);
+
+        /* The first step and the discard it triggered are not replayed, the second step is run again from scratch */
+        fail.set(false);
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.resume(runUid));
+        Assertions.assertEquals(Map.of("upper:b1", 1, "upper:b2", 1, "upper:b3", 1, "length:b1", 2, "length:b3", 1), executions);
+
+        Assertions.assertEquals(runUid, output.tag().uid());
+        Assertions.assertEquals("X", status(output, "b1", "upper"));
+        Assertions.assertEquals("X:1", status(output, "b1", "length"));
+        Assertions.assertNull(status(output, "b2", "length"));
+        Assertions.assertEquals("ZZZ:3", status(output, "b3", "length"));
+        Assertions.assertEquals(3, output.index().size());
+        Assertions.assertTrue(output.finishedAt().isPresent());
+
+        /* Checkpoints are dropped once the run completes */
+        Assertions.assertDoesNotThrow(() -> Assertions.assertEquals(0, Files.list(directory).count()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> pipeline.resume(runUid));
+        Assertions.assertDoesNotThrow(pipeline::close);
+    }
+
+    @Test
+    public void testResume_shouldFailWithoutJournal()
+    {
+        Pipeline<String> pipeline = createPipeline(null, new ConcurrentHashMap<>(), new AtomicBoolean(false));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> pipeline.resume("some-run"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> ((Pipeline<String>) (input, context) -> null).resume("some-run"));
+        Assertions.assertDoesNotThrow(pipeline::close);
+    }
+
+    @Test
+    public void testJournal_shouldIgnoreTruncatedRecord(@TempDir Path directory)
+    {
+        Map<String, Integer> executions = new ConcurrentHashMap<>();
+        CheckpointJournal journal = new FileCheckpointJournal(directory, createCodec());
+        Pipeline<String> pipeline = createPipeline(journal, executions, new AtomicBoolean(true));
+
+        PipelineException exception = Assertions.assertThrows(PipelineException.class, () -> pipeline.run("b1:x"));
+        String runUid = exception.tag().uid();
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertDoesNotThrow(() -> {
+            Path file;
+            try (var files = Files.list(directory)) {
+                file = files.findFirst().orElseThrow();
+            }
+            long size = Files.size(file);
+            /* Simulates a write interrupted midway */
+            Files.write(file, new byte[]{ 0, 0, 1, 0, 12, 34 }, StandardOpenOption.APPEND);
+
+            Checkpoint checkpoint = journal.last(runUid).orElseThrow();
+            Assertions.assertEquals(size, Files.size(file));
+            Assertions.assertEquals("b1:x", checkpoint.input());
+            Assertions.assertTrue(checkpoint.completedSteps().get(0));
+            Assertions.assertFalse(checkpoint.completedSteps().get(1));
+
+            checkpoint.completedSteps().set(1);
+            journal.append(checkpoint);
+            Assertions.assertTrue(journal.last(runUid).orElseThrow().completedSteps().get(1));
+            Assertions.assertEquals("b1:x", journal.last(runUid).orElseThrow().input());
+        });
+    }
+
+    @Test
+    public void testJournal_shouldOnlyAppendDeltasAfterInitialization(@TempDir Path directory)
+    {
+        List<Object> records = new ArrayList<>();
+        CheckpointJournal file = new FileCheckpointJournal(directory, createCodec());
+        CheckpointJournal journal = new CheckpointJournal() {
+            @Override
+            public void append(Checkpoint checkpoint) throws IOException
+            {
+                /* The checkpoint references the run's output, which keeps changing afterward */
+                records.add(checkpoint.output().results().stream().count());
+                file.append(checkpoint);
+            }
+
+            @Override
+            public void append(CheckpointDelta delta) throws IOException
+            {
+                records.add(delta);
+                file.append(delta);
+            }
+
+            @Override
+            public Optional<Checkpoint> last(String runUid) throws IOException
+            {
+                return file.last(runUid);
+            }
+
+            @Override
+            public void complete(String runUid) throws IOException
+            {
+                file.complete(runUid);
+            }
+        };
+        Pipeline<String> pipeline = createPipeline(journal, new ConcurrentHashMap<>(), new AtomicBoolean(true));
+
+        PipelineException exception = Assertions.assertThrows(PipelineException.class, () -> pipeline.run("b1:x,b2:yy"));
+        String runUid = exception.tag().uid();
+
+        /* The full checkpoint precedes any result, the delta only holds the results of the completed step */
+        Assertions.assertEquals(2, records.size());
+        Assertions.assertEquals(0L, records.get(0));
+        CheckpointDelta delta = Assertions.assertInstanceOf(CheckpointDelta.class, records.get(1));
+        Assertions.assertEquals(List.of("b1", "b2"), delta.results().stream().map(ResultContainer.Entry::uid).toList());
+        Assertions.assertTrue(delta.completedSteps().get(0));
+        Assertions.assertTrue(delta.discarded().get(1));
+
+        Checkpoint last = Assertions.assertDoesNotThrow(() -> journal.last(runUid).orElseThrow());
+        Assertions.assertEquals("X", status(last.output(), "b1", "upper"));
+        Assertions.assertEquals("YY", status(last.output(), "b2", "upper"));
+        Assertions.assertEquals(delta.completedSteps(), last.completedSteps());
+        Assertions.assertEquals(delta.discarded(), last.discarded());
+        Assertions.assertDoesNotThrow(pipeline::close);
+    }
+
+    @Test
+    public void testRun_shouldDropCheckpointsWhenRecovered(@TempDir Path directory)
+    {
+        Pipeline<String> pipeline = createPipeline(
+            new FileCheckpointJournal(directory, createCodec()),
+            new ConcurrentHashMap<>(),
+            new AtomicBoolean(true),
+            (ex, previous, input, context, tag) -> previous
+        );
+
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run("b1:x"));
+        Assertions.assertEquals("X", status(output, "b1", "upper"));
+        Assertions.assertDoesNotThrow(() -> Assertions.assertEquals(0, Files.list(directory).count()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> pipeline.resume(output.tag().uid()));
+        Assertions.assertDoesNotThrow(pipeline::close);
+    }
+
+    private static String status(Output output, String uid, String name)
+    {
+        return output.results().of(uid).current(name).map(TestResult.class::cast).map(TestResult::status).orElse(null);
+    }
+
+    private static Pipeline<String> createPipeline(CheckpointJournal journal, Map<String, Integer> executions, AtomicBoolean fail)
+    {
+        return createPipeline(journal, executions, fail, (ex, previous, input, context, tag) -> {
+            throw new PipelineException(tag, context, ex.getMessage(), ex);
+        });
+    }
+
+    private static Pipeline<String> createPipeline(CheckpointJournal journal, Map<String, Integer> executions, AtomicBoolean fail, PipelineErrorHandler errorHandler)
+    {
+        return Assertions.assertDoesNotThrow(() -> Pipeline.<String>of("test-checkpoint", (input, context, generator) -> Document.parse(input))
+            .registerIndexer((MultiIndexer<Document>) Document::parts)
+            .registerStep(builder -> builder
+                .step((IndexableStep<B>) (object, results, context) -> {
+                    executions.merge("upper:" + object.uid(), 1, Integer::sum);
+                    return new TestResult("upper", object.name().toUpperCase());
+                })
+                .withId("upper")
+                .withEvaluation((res, obj, in, ctx) -> obj.uid().equals("b2") ? DISCARD_AND_CONTINUE : CONTINUE)
+            )
+            .registerStep(builder -> builder
+                .step((IndexableStep<B>) (object, results, context) -> {
+                    executions.merge("length:" + object.uid(), 1, Integer::sum);
+                    if (fail.get())
+                        throw new IllegalStateException("Interrupted run");
+                    String upper = results.self().current("upper").map(TestResult.class::cast).map(TestResult::status).orElseThrow();
+                    return new TestResult("length", upper + ":" + upper.length());
+                })
+                .withId("length")
+            )
+            .setCheckpointJournal(journal)
+            .setErrorHandler(errorHandler)
+            .build()
+        );
+    }
+
+    private static OutputCodec createCodec()
+    {
+        return new OutputCodec(new CodecRegistry()
+            .register(0, String.class, new StringCodec())
+            .register(1, Document.class, new DocumentCodec())
+            .register(2, B.class, new BCodec())
+            .register(3, TestResult.class, new TestResultCodec())
+        );
+    }
+
+    private record Document(
+        List<B> parts
+    ) {
+        static Document parse(String input)
+        {
+            return new Document(Arrays.stream(input.split(","))
+                .map(part -> part.split(":"))
+                .map(part -> new B(part[0], part[1]))
+                .toList()
+            );
+        }
+    }
+
+    private static class StringCodec implements ValueCodec<String>
+    {
+        @Override
+        public void write(String value, DataOutput out) throws IOException
+        {
+            out.writeUTF(value);
+        }
+
+        @Override
+        public String read(DataInput in) throws IOException
+        {
+            return in.readUTF();
+        }
+    }
+
+    private static class BCodec implements ValueCodec<B>
+    {
+        @Override
+        public void write(B value, DataOutput out) throws IOException
+        {
+            out.writeUTF(value.uid());
+            out.writeUTF(value.name());
+        }
+
+        @Override
+        public B read(DataInput in) throws IOException
+        {
+            return new B(in.readUTF(), in.readUTF());
+        }
+    }
+
+    private static class DocumentCodec implements ValueCodec<Document>
+    {
+        private final BCodec parts = new BCodec();
+
+        @Override
+        public void write(Document value, DataOutput out) throws IOException
+        {
+            out.writeInt(value.parts().size());
+            for (B part : value.parts())
+                this.parts.write(part, out);
+        }
+
+        @Override
+        public Document read(DataInput in) throws IOException
+        {
+            int size = in.readInt();
+            List<B> parts = new ArrayList<>(size);
+            for (int i = 0 ; i < size ; ++i)
+                parts.add(this.parts.read(in));
+            return new Document(parts);
+        }
+    }
+
+    private static class TestResultCodec implements ValueCodec<TestResult>
+    {
+        @Override
+        public void write(TestResult value, DataOutput out) throws IOException
+        {
+            out.writeUTF(value.name());
+            out.writeUTF(value.status());
+        }
+
+        @Override
+        public TestResult read(DataInput in) throws IOException
+        {
+            return new TestResult(in.readUTF(), in.readUTF());
+        }
+    }
+}
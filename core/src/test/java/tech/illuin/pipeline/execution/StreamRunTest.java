@@ -0,0 +1,220 @@
+package tech.illuin.pipeline.execution;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.generic.pipeline.TestResult;
+import tech.illuin.pipeline.output.Output;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static tech.illuin.pipeline.generic.Tests.sleep;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class StreamRunTest
+{
+    @Test
+    public void testPipeline_shouldStreamIterator()
+    {
+        Pipeline<Integer> pipeline = Assertions.assertDoesNotThrow(StreamRunTest::createStreamPipeline);
+
+        CollectingSubscriber subscriber = new CollectingSubscriber(1);
+        pipeline.runStream(IntStream.range(0, 50).iterator(), 4).subscribe(subscriber);
+
+        Assertions.assertTrue(subscriber.await());
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertNull(subscriber.error);
+        assertOutputs(50, subscriber.outputs);
+    }
+
+    @Test
+    public void testPipeline_shouldStreamPublisher()
+    {
+        Pipeline<Integer> pipeline = Assertions.assertDoesNotThrow(StreamRunTest::createStreamPipeline);
+
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        try (SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>())
+        {
+            pipeline.runStream(publisher, 2).subscribe(subscriber);
+            IntStream.range(0, 20).forEach(publisher::submit);
+        }
+
+        Assertions.assertTrue(subscriber.await());
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertNull(subscriber.error);
+        assertOutputs(20, subscriber.outputs);
+    }
+
+    @Test
+    public void testPipeline_shouldHonourBackpressure()
+    {
+        Pipeline<Integer> pipeline = Assertions.assertDoesNotThrow(StreamRunTest::createStreamPipeline);
+        CountingIterator inputs = new CountingIterator(1000);
+
+        CollectingSubscriber subscriber = new CollectingSubscriber(0);
+        pipeline.runStream(inputs, 2, 4).subscribe(subscriber);
+        subscriber.subscription.request(3);
+        sleep(Duration.ofMillis(300));
+
+        /* 3 outputs were emitted, which leaves room for up to 4 more inputs in the buffer */
+        Assertions.assertEquals(3, subscriber.outputs.size());
+        Assertions.assertTrue(inputs.pulled.get() <= 7, "Pulled " + inputs.pulled.get() + " inputs");
+
+        subscriber.subscription.cancel();
+        Assertions.assertDoesNotThrow(pipeline::close);
+    }
+
+    @Test
+    public void testPipeline_shouldFailStream()
+    {
+        Pipeline<Integer> pipeline = Assertions.assertDoesNotThrow(StreamRunTest::createStreamPipeline);
+
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        pipeline.runStream(List.of(0, 1, 2, -1, 4, 5).iterator(), 2).subscribe(subscriber);
+
+        Assertions.assertTrue(subscriber.await());
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        assertOutputs(3, subscriber.outputs);
+    }
+
+    @Test
+    public void testPipeline_shouldFailStreamOnError()
+    {
+        Pipeline<Integer> pipeline = Assertions.assertDoesNotThrow(() -> Pipeline.<Integer>of("test-stream-error")
+            .registerStep((object, input, payload, results, context) -> {
+                if (input < 0)
+                    throw new AssertionError("Negative input");
+                return new TestResult("value", "value-" + input);
+            })
+            .build()
+        );
+
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        pipeline.runStream(List.of(0, 1, -1, 3).iterator(), 1).subscribe(subscriber);
+
+        Assertions.assertTrue(subscriber.await());
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertInstanceOf(AssertionError.class, subscriber.error);
+        assertOutputs(2, subscriber.outputs);
+    }
+
+    private static void assertOutputs(int expected, List<Output> outputs)
+    {
+        Assertions.assertEquals(expected, outputs.size());
+        for (int i = 0 ; i < expected ; ++i)
+        {
+            Assertions.assertEquals(
+                "value-" + i,
+                outputs.get(i).results().current(TestResult.class).map(TestResult::status).orElse(null)
+            );
+        }
+    }
+
+    public static Pipeline<Integer> createStreamPipeline()
+    {
+        return Pipeline.<Integer>of("test-stream")
+            .registerStep((object, input, payload, results, context) -> {
+                if (input < 0)
+                    throw new IllegalArgumentException("Negative input");
+                /* Later inputs finish first, outputs should nonetheless be emitted in order */
+                sleep(Duration.ofMillis(input % 3 == 0 ? 20 : 5));
+                return new TestResult("value", "value-" + input);
+            })
+            .build()
+        ;
+    }
+
+    private static class CollectingSubscriber implements Flow.Subscriber<Output>
+    {
+        private final long batch;
+        private final List<Output> outputs = new CopyOnWriteArrayList<>();
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+
+        private CollectingSubscriber(long batch)
+        {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription)
+        {
+            this.subscription = subscription;
+            if (this.batch > 0)
+                subscription.request(this.batch);
+        }
+
+        @Override
+        public void onNext(Output item)
+        {
+            this.outputs.add(item);
+            /* Requesting one at a time when the batch is 1, this exercises reentrant requests */
+            if (this.batch == 1)
+                this.subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable)
+        {
+            this.error = throwable;
+            this.terminated.countDown();
+        }
+
+        @Override
+        public void onComplete()
+        {
+            this.terminated.countDown();
+        }
+
+        private boolean await()
+        {
+            try {
+                return this.terminated.await(10, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private static class CountingIterator implements Iterator<Integer>
+    {
+        private final int size;
+        private final AtomicInteger pulled = new AtomicInteger(0);
+
+        private CountingIterator(int size)
+        {
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.pulled.get() < this.size;
+        }
+
+        @Override
+        public Integer next()
+        {
+            return this.pulled.getAndIncrement();
+        }
+    }
+}
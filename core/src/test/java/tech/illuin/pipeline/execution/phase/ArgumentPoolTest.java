@@ -0,0 +1,87 @@
+package tech.illuin.pipeline.execution.phase;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.illuin.pipeline.execution.phase.impl.ArgumentPool;
+import tech.illuin.pipeline.generic.model.A;
+import tech.illuin.pipeline.generic.model.B;
+import tech.illuin.pipeline.input.indexer.IndexContainer;
+import tech.illuin.pipeline.input.uid_generator.TSIDGenerator;
+
+import java.util.Collections;
+import java.util.stream.IntStream;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class ArgumentPoolTest
+{
+    @Test
+    public void testSelect_shouldFollowIndexOrder()
+    {
+        ArgumentPool pool = new ArgumentPool(createIndex(10));
+        ArgumentPool.Selection selection = pool.select(false, idx -> Integer.parseInt(((B) idx).name()) % 2 == 0);
+
+        Assertions.assertEquals(
+            IntStream.range(0, 10).filter(i -> i % 2 == 0).mapToObj(String::valueOf).toList(),
+            selection.arguments().stream().map(idx -> ((B) idx).name()).toList()
+        );
+        Assertions.assertArrayEquals(new int[]{ 0, 2, 4, 6, 8 }, selection.positions());
+    }
+
+    @Test
+    public void testSelect_shouldSkipDiscarded()
+    {
+        ArgumentPool pool = new ArgumentPool(createIndex(10));
+        pool.discard(0);
+        pool.discard(3);
+        pool.discard(9);
+
+        Assertions.assertArrayEquals(new int[]{ 1, 2, 4, 5, 6, 7, 8 }, pool.select(false, idx -> true).positions());
+        Assertions.assertEquals(10, pool.select(true, idx -> true).arguments().size());
+        Assertions.assertTrue(pool.isDiscarded(3));
+        Assertions.assertFalse(pool.isDiscarded(4));
+    }
+
+    @Test
+    public void testDiscardAll_shouldSpareLaterItems()
+    {
+        IndexContainer index = createIndex(5);
+        ArgumentPool pool = new ArgumentPool(index);
+        pool.discardAll();
+
+        Assertions.assertTrue(pool.select(false, idx -> true).arguments().isEmpty());
+
+        index.index(new B(TSIDGenerator.INSTANCE.generate(), "5"));
+        ArgumentPool.Selection selection = pool.select(false, idx -> true);
+
+        Assertions.assertEquals(6, pool.size());
+        Assertions.assertArrayEquals(new int[]{ 5 }, selection.positions());
+    }
+
+    @Test
+    public void testSelect_shouldOnlyIterateTypePartition()
+    {
+        IndexContainer index = createIndex(4);
+        index.index(new A(TSIDGenerator.INSTANCE.generate(), Collections.emptyList()));
+        index.index(new A(TSIDGenerator.INSTANCE.generate(), Collections.emptyList()));
+        ArgumentPool pool = new ArgumentPool(index);
+        pool.discard(5);
+
+        ArgumentPool.Selection selection = pool.select(false, A.class, idx -> {
+            Assertions.assertInstanceOf(A.class, idx);
+            return true;
+        });
+
+        Assertions.assertArrayEquals(new int[]{ 4 }, selection.positions());
+        Assertions.assertArrayEquals(new int[]{ 4, 5 }, pool.select(true, A.class, idx -> true).positions());
+    }
+
+    private static IndexContainer createIndex(int size)
+    {
+        IndexContainer index = new IndexContainer();
+        for (int i = 0 ; i < size ; ++i)
+            index.index(new B(TSIDGenerator.INSTANCE.generate(), String.valueOf(i)));
+        return index;
+    }
+}
@@ -7,6 +7,7 @@ import tech.illuin.pipeline.generic.model.B;
 import tech.illuin.pipeline.input.uid_generator.TSIDGenerator;
 
 import java.util.Collections;
+import java.util.List;
 
 /**
  * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
@@ -47,4 +48,43 @@ public class IndexContainerTest
         Assertions.assertTrue(container.get(a0.uid(), A.class).isPresent());
         Assertions.assertSame(container.get(a0.uid()).orElse(null), a0);
     }
+
+    @Test
+    public void testContainer_shouldKeepInsertionOrder()
+    {
+        var container = new IndexContainer();
+
+        var b0 = new B(TSIDGenerator.INSTANCE.generate(), "0");
+        var a0 = new A(TSIDGenerator.INSTANCE.generate(), Collections.emptyList());
+        var b1 = new B(TSIDGenerator.INSTANCE.generate(), "1");
+        var a1 = new A(TSIDGenerator.INSTANCE.generate(), Collections.emptyList());
+
+        container.index(b0).index(a0).index(b1).index(a1);
+
+        Assertions.assertEquals(List.of(b0, a0, b1, a1), container.stream().toList());
+        Assertions.assertEquals(List.of(b0, b1), container.stream(B.class).toList());
+        Assertions.assertEquals(List.of(a0, a1), container.stream(A.class).toList());
+        Assertions.assertEquals(List.of(b0, a0, b1, a1), container.stream(Indexable.class).toList());
+        Assertions.assertEquals(List.of(1, 3), container.entries(A.class).stream().map(IndexContainer.Entry::position).toList());
+    }
+
+    @Test
+    public void testContainer_shouldReplaceInPlace()
+    {
+        var container = new IndexContainer();
+
+        var uid = TSIDGenerator.INSTANCE.generate();
+        var b0 = new B(TSIDGenerator.INSTANCE.generate(), "0");
+        var b1 = new B(uid, "1");
+        var b2 = new B(TSIDGenerator.INSTANCE.generate(), "2");
+        var a1 = new A(uid, Collections.emptyList());
+
+        container.index(b0).index(b1).index(b2);
+        container.index(a1);
+
+        Assertions.assertEquals(3, container.size());
+        Assertions.assertEquals(List.of(b0, a1, b2), container.stream().toList());
+        Assertions.assertEquals(List.of(b0, b2), container.stream(B.class).toList());
+        Assertions.assertEquals(List.of(a1), container.stream(A.class).toList());
+    }
 }
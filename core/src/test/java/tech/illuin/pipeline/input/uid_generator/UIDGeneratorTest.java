@@ -11,7 +11,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tech.illuin.pipeline.Pipeline;
 import tech.illuin.pipeline.generic.pipeline.TestResult;
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.step.result.ResultDescriptor;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -186,6 +189,27 @@ public class UIDGeneratorTest
         Assertions.assertEquals(1, counter.get());
     }
 
+    @Test
+    public void testPipeline__runScoped()
+    {
+        Pipeline<Object> pipeline = createPipeline("test-run-scoped", new RunScopedUIDGenerator(KSUIDGenerator.INSTANCE), uid -> {}, new AtomicInteger(0));
+
+        Output first = Assertions.assertDoesNotThrow(() -> pipeline.run());
+        Output second = Assertions.assertDoesNotThrow(() -> pipeline.run());
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals(27, first.tag().uid().length());
+        Assertions.assertEquals(Ksuid.from(first.tag().uid()).toString(), first.tag().uid());
+
+        List<String> firstUids = first.results().descriptors().current().map(ResultDescriptor::uid).toList();
+        List<String> secondUids = second.results().descriptors().current().map(ResultDescriptor::uid).toList();
+        Assertions.assertEquals(2, firstUids.size());
+        Assertions.assertEquals(2, firstUids.stream().distinct().count());
+        Assertions.assertTrue(firstUids.stream().allMatch(uid -> uid.startsWith(first.tag().uid() + "-")));
+        Assertions.assertTrue(first.results().descriptors().current().allMatch(rd -> rd.tag().uid().startsWith(first.tag().uid() + "-")));
+        Assertions.assertTrue(secondUids.stream().noneMatch(firstUids::contains));
+    }
+
     private static Pipeline<Object> createPipeline(String name, UIDGenerator generator, Consumer<String> uidTest, AtomicInteger counter)
     {
         return Assertions.assertDoesNotThrow(() -> Pipeline.of(name)
@@ -0,0 +1,110 @@
+package tech.illuin.pipeline.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.generic.pipeline.TestResult;
+import tech.illuin.pipeline.input.indexer.Indexable;
+import tech.illuin.pipeline.input.uid_generator.TSIDGenerator;
+import tech.illuin.pipeline.metering.MeterCache;
+import tech.illuin.pipeline.metering.tag.MetricTags;
+import tech.illuin.pipeline.output.ComponentFamily;
+import tech.illuin.pipeline.output.ComponentTag;
+import tech.illuin.pipeline.output.PipelineTag;
+import tech.illuin.pipeline.sink.execution.wrapper.SinkWrapper;
+import tech.illuin.pipeline.step.builder.StepAssembler;
+import tech.illuin.pipeline.step.execution.wrapper.StepWrapper;
+import tech.illuin.pipeline.step.metering.StepMarkerManager;
+import tech.illuin.pipeline.step.metering.StepMetrics;
+import tech.illuin.pipeline.step.variant.InputStep;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static tech.illuin.pipeline.input.author_resolver.AuthorResolver.ANONYMOUS;
+import static tech.illuin.pipeline.metering.MeterRegistryKey.PIPELINE_STEP_RESULT_TOTAL_KEY;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class MeterCacheTest
+{
+    @Test
+    public void testStepMetrics_shouldShareMetersByTags()
+    {
+        MeterCache cache = new MeterCache(new SimpleMeterRegistry());
+
+        StepMetrics metrics0 = cache.stepMetrics(new StepMarkerManager(createTag("test-cache", "step"), new MetricTags().put("test", "a")));
+        StepMetrics metrics1 = cache.stepMetrics(new StepMarkerManager(createTag("test-cache", "step"), new MetricTags().put("test", "a")));
+        StepMetrics metrics2 = cache.stepMetrics(new StepMarkerManager(createTag("test-cache", "step"), new MetricTags().put("test", "b")));
+
+        Assertions.assertSame(metrics0.constantMeters(), metrics1.constantMeters());
+        Assertions.assertNotSame(metrics0.constantMeters(), metrics2.constantMeters());
+        Assertions.assertNotSame(metrics0.runTimer(), metrics2.runTimer());
+    }
+
+    @Test
+    public void testCounter_shouldBeCached()
+    {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MeterCache cache = new MeterCache(registry);
+
+        var counter0 = cache.counter(PIPELINE_STEP_RESULT_TOTAL_KEY, List.of(Tag.of("result", "a")));
+        var counter1 = cache.counter(PIPELINE_STEP_RESULT_TOTAL_KEY, List.of(Tag.of("result", "a")));
+        var counter2 = cache.counter(PIPELINE_STEP_RESULT_TOTAL_KEY, List.of(Tag.of("result", "b")));
+
+        Assertions.assertSame(counter0, counter1);
+        Assertions.assertNotSame(counter0, counter2);
+        Assertions.assertEquals(2, registry.find(PIPELINE_STEP_RESULT_TOTAL_KEY.id()).counters().size());
+    }
+
+    @Test
+    public void testPipeline_shouldWrapOnce()
+    {
+        AtomicInteger stepWraps = new AtomicInteger(0);
+        AtomicInteger sinkWraps = new AtomicInteger(0);
+        StepWrapper<Indexable, String> stepWrapper = step -> {
+            stepWraps.incrementAndGet();
+            return step;
+        };
+        SinkWrapper sinkWrapper = sink -> {
+            sinkWraps.incrementAndGet();
+            return sink;
+        };
+        StepAssembler<Indexable, String> assembler = builder -> builder
+            .step((InputStep<String>) (in, results, ctx) -> new TestResult("wrapped", in))
+            .withWrapper(stepWrapper)
+        ;
+
+        Pipeline<String> pipeline = Assertions.assertDoesNotThrow(() -> Pipeline.<String>of("test-wrap-once")
+            .registerStep(assembler)
+            .registerSink(builder -> builder
+                .sink((output, ctx) -> {})
+                .withWrapper(sinkWrapper)
+            )
+            .build()
+        );
+
+        for (int i = 0; i < 3; ++i)
+        {
+            String input = "run-" + i;
+            Assertions.assertDoesNotThrow(() -> pipeline.run(input));
+        }
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals(1, stepWraps.get());
+        Assertions.assertEquals(1, sinkWraps.get());
+    }
+
+    private static ComponentTag createTag(String pipeline, String step)
+    {
+        return new ComponentTag(
+            TSIDGenerator.INSTANCE.generate(),
+            new PipelineTag(TSIDGenerator.INSTANCE.generate(), pipeline, ANONYMOUS),
+            step,
+            ComponentFamily.STEP
+        );
+    }
+}
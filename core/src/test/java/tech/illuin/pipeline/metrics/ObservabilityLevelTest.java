@@ -0,0 +1,218 @@
+package tech.illuin.pipeline.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.builder.SimplePipelineBuilder;
+import tech.illuin.pipeline.generic.pipeline.TestResult;
+import tech.illuin.pipeline.metering.manager.DefaultObservabilityManager;
+import tech.illuin.pipeline.metering.manager.ObservabilityLevel;
+import tech.illuin.pipeline.metering.manager.ObservabilityManager;
+import tech.illuin.pipeline.step.variant.InputStep;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static tech.illuin.pipeline.metering.MeterRegistryKey.PIPELINE_RUN_KEY;
+import static tech.illuin.pipeline.metering.MeterRegistryKey.PIPELINE_STEP_RUN_KEY;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class ObservabilityLevelTest
+{
+    @Test
+    public void testPipeline_full_shouldTraceAndSetMDC()
+    {
+        CountingTracer tracer = new CountingTracer();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        List<String> markers = Collections.synchronizedList(new ArrayList<>());
+
+        Pipeline<String> pipeline = Assertions.assertDoesNotThrow(() -> createPipeline("test-level-full", tracer, registry, markers)
+            .setObservabilityLevel(ObservabilityLevel.FULL)
+            .build()
+        );
+        Assertions.assertDoesNotThrow(() -> pipeline.run("input"));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertTrue(tracer.spans.get() > 0);
+        Assertions.assertEquals(List.of("mdc-step"), markers);
+        Assertions.assertEquals(1, registry.get(PIPELINE_RUN_KEY.id()).timer().count());
+    }
+
+    @Test
+    public void testPipeline_metricsOnly_shouldOnlyRecordMetrics()
+    {
+        CountingTracer tracer = new CountingTracer();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        List<String> markers = Collections.synchronizedList(new ArrayList<>());
+
+        Pipeline<String> pipeline = Assertions.assertDoesNotThrow(() -> createPipeline("test-level-metrics-only", tracer, registry, markers)
+            .setObservabilityLevel(ObservabilityLevel.METRICS_ONLY)
+            .build()
+        );
+        Assertions.assertDoesNotThrow(() -> pipeline.run("input"));
+        Assertions.assertDoesNotThrow(() -> pipeline.runAsync("input").join());
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals(0, tracer.spans.get());
+        Assertions.assertEquals(0, tracer.scopes.get());
+        Assertions.assertEquals(2, markers.size());
+        Assertions.assertTrue(markers.stream().allMatch("none"::equals));
+        Assertions.assertEquals(2, registry.get(PIPELINE_RUN_KEY.id()).timer().count());
+        Assertions.assertEquals(2, registry.get(PIPELINE_STEP_RUN_KEY.id()).timer().count());
+    }
+
+    @Test
+    public void testPipeline_sampled_shouldFollowSamplingRate()
+    {
+        CountingTracer neverTracer = new CountingTracer();
+        CountingTracer alwaysTracer = new CountingTracer();
+        List<String> markers = Collections.synchronizedList(new ArrayList<>());
+
+        Pipeline<String> never = Assertions.assertDoesNotThrow(() -> createPipeline("test-level-sampled-never", neverTracer, new SimpleMeterRegistry(), markers)
+            .setObservabilityLevel(ObservabilityLevel.SAMPLED, 0)
+            .build()
+        );
+        Pipeline<String> always = Assertions.assertDoesNotThrow(() -> createPipeline("test-level-sampled-always", alwaysTracer, new SimpleMeterRegistry(), markers)
+            .setObservabilityLevel(ObservabilityLevel.SAMPLED, 1)
+            .build()
+        );
+        for (int i = 0 ; i < 10 ; ++i)
+        {
+            Assertions.assertDoesNotThrow(() -> never.run("input"));
+            Assertions.assertDoesNotThrow(() -> always.run("input"));
+        }
+        Assertions.assertDoesNotThrow(never::close);
+        Assertions.assertDoesNotThrow(always::close);
+
+        Assertions.assertEquals(0, neverTracer.spans.get());
+        Assertions.assertTrue(alwaysTracer.spans.get() >= 10);
+        Assertions.assertEquals(10, markers.stream().filter("mdc-step"::equals).count());
+    }
+
+    @Test
+    public void testPipeline_nested_shouldFollowEnclosingRun()
+    {
+        CountingTracer tracer = new CountingTracer();
+        List<String> markers = Collections.synchronizedList(new ArrayList<>());
+
+        Pipeline<String> nested = Assertions.assertDoesNotThrow(() -> createPipeline("test-level-nested", tracer, new SimpleMeterRegistry(), markers)
+            .setObservabilityLevel(ObservabilityLevel.FULL)
+            .build()
+        );
+        Pipeline<String> pipeline = Assertions.assertDoesNotThrow(() -> Pipeline.<String>of("test-level-enclosing")
+            .registerStep(nested.asStep())
+            .setObservabilityLevel(ObservabilityLevel.METRICS_ONLY)
+            .build()
+        );
+        Assertions.assertDoesNotThrow(() -> pipeline.run("input"));
+        Assertions.assertDoesNotThrow(pipeline::close);
+        Assertions.assertDoesNotThrow(nested::close);
+
+        Assertions.assertEquals(0, tracer.spans.get());
+        Assertions.assertEquals(List.of("none"), markers);
+    }
+
+    @Test
+    public void testPipeline_shouldRejectInvalidSamplingRate()
+    {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Pipeline.<String>of("test-level-invalid")
+            .setObservabilityLevel(ObservabilityLevel.SAMPLED, 1.5)
+            .build()
+        );
+    }
+
+    @Test
+    public void testPipeline_shouldRejectLevelOnUnsupportedBuilder()
+    {
+        ObservabilityManager.Builder delegate = new DefaultObservabilityManager.Builder();
+        ObservabilityManager.Builder builder = new ObservabilityManager.Builder() {
+            @Override
+            public MeterRegistry meterRegistry()
+            {
+                return delegate.meterRegistry();
+            }
+
+            @Override
+            public void setMeterRegistry(MeterRegistry meterRegistry)
+            {
+                delegate.setMeterRegistry(meterRegistry);
+            }
+
+            @Override
+            public Tracer tracer()
+            {
+                return delegate.tracer();
+            }
+
+            @Override
+            public void setTracer(Tracer tracer)
+            {
+                delegate.setTracer(tracer);
+            }
+
+            @Override
+            public ObservabilityManager build()
+            {
+                return delegate.build();
+            }
+        };
+
+        SimplePipelineBuilder<String> pipelineBuilder = Pipeline.<String>of("test-level-unsupported").setObservabilityManager(builder);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> pipelineBuilder.setObservabilityLevel(ObservabilityLevel.METRICS_ONLY));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> pipelineBuilder.setObservabilityLevel(ObservabilityLevel.SAMPLED, 0.5));
+        Assertions.assertEquals(ObservabilityLevel.FULL, builder.level());
+    }
+
+    private static SimplePipelineBuilder<String> createPipeline(String name, CountingTracer tracer, SimpleMeterRegistry registry, List<String> markers)
+    {
+        return Pipeline.<String>of(name)
+            .registerStep(builder -> builder
+                .step((InputStep<String>) (in, results, ctx) -> {
+                    String marker = MDC.get("step");
+                    markers.add(marker == null ? "none" : marker);
+                    return new TestResult("mdc", in);
+                })
+                .withId("mdc-step")
+            )
+            .addObservabilityComponent(registry)
+            .addObservabilityComponent(tracer.proxy())
+        ;
+    }
+
+    /**
+     * Minimal tracer counting the spans it creates and the scopes it opens.
+     */
+    private static class CountingTracer
+    {
+        private final AtomicInteger spans = new AtomicInteger(0);
+        private final AtomicInteger scopes = new AtomicInteger(0);
+
+        private Tracer proxy()
+        {
+            return (Tracer) Proxy.newProxyInstance(Tracer.class.getClassLoader(), new Class<?>[]{ Tracer.class }, (proxy, method, args) -> switch (method.getName()) {
+                case "nextSpan" -> {
+                    this.spans.incrementAndGet();
+                    yield Span.NOOP;
+                }
+                case "withSpan" -> {
+                    this.scopes.incrementAndGet();
+                    yield (Tracer.SpanInScope) () -> {};
+                }
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "CountingTracer";
+                default -> null;
+            });
+        }
+    }
+}
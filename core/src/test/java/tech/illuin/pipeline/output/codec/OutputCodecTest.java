@@ -0,0 +1,221 @@
+package tech.illuin.pipeline.output.codec;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.generic.model.B;
+import tech.illuin.pipeline.generic.pipeline.TestResult;
+import tech.illuin.pipeline.input.indexer.MultiIndexer;
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.step.result.ResultDescriptor;
+import tech.illuin.pipeline.step.variant.IndexableStep;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class OutputCodecTest
+{
+    @Test
+    public void testRoundTrip()
+    {
+        Pipeline<List<B>> pipeline = createPipeline();
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run(List.of(new B("b1", "x"), new B("b2", "yy"))));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        for (boolean compress : new boolean[]{ false, true })
+        {
+            OutputCodec codec = new OutputCodec(createRegistry(), compress);
+            Output decoded = Assertions.assertDoesNotThrow(() -> codec.decode(codec.encode(output)));
+
+            Assertions.assertEquals(output.tag(), decoded.tag());
+            Assertions.assertEquals(output.createdAt(), decoded.createdAt());
+            Assertions.assertEquals(output.finishedAt(), decoded.finishedAt());
+            Assertions.assertEquals(output.payload(), decoded.payload());
+            Assertions.assertEquals(output.index().stream().toList(), decoded.index().stream().toList());
+            Assertions.assertEquals(2, decoded.index().stream(B.class).count());
+
+            Assertions.assertEquals(2, decoded.results().size());
+            Assertions.assertEquals("X", status(decoded, "b1", "upper"));
+            Assertions.assertEquals("YY", status(decoded, "b2", "upper"));
+            Assertions.assertEquals("YY:2", status(decoded, "b2", "length"));
+            Assertions.assertEquals(
+                output.results().of("b2").descriptors().stream().map(ResultDescriptor::tag).toList(),
+                decoded.results().of("b2").descriptors().stream().map(ResultDescriptor::tag).toList()
+            );
+        }
+    }
+
+    @Test
+    public void testRoundTrip_shouldPreserveInheritedResults()
+    {
+        Pipeline<List<B>> pipeline = createPipeline();
+        Output first = Assertions.assertDoesNotThrow(() -> pipeline.run(List.of(new B("b1", "x"))));
+        Output second = Assertions.assertDoesNotThrow(() -> pipeline.run(List.of(new B("b1", "zz")), pipeline.newContext(first)));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        OutputCodec codec = new OutputCodec(createRegistry());
+        Output decoded = Assertions.assertDoesNotThrow(() -> codec.decode(codec.encode(second)));
+
+        Assertions.assertEquals(4, decoded.results().of("b1").descriptors().stream().count());
+        Assertions.assertEquals(2, decoded.results().of("b1").descriptors().current().count());
+        Assertions.assertEquals("ZZ", status(decoded, "b1", "upper"));
+        Assertions.assertEquals("ZZ", decoded.results().of("b1").latest("upper").map(TestResult.class::cast).map(TestResult::status).orElse(null));
+    }
+
+    @Test
+    public void testReader_shouldSkipSections()
+    {
+        Pipeline<List<B>> pipeline = createPipeline();
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run(List.of(new B("b1", "x"), new B("b2", "yy"))));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        OutputCodec codec = new OutputCodec(createRegistry(), true);
+        byte[] bytes = Assertions.assertDoesNotThrow(() -> codec.encode(output));
+
+        List<String> statuses = new ArrayList<>();
+        Assertions.assertDoesNotThrow(() -> {
+            try (OutputReader reader = codec.open(new ByteArrayInputStream(bytes))) {
+                Assertions.assertEquals(output.tag(), reader.tag());
+                reader.results((uid, descriptor, current) -> {
+                    Assertions.assertTrue(current);
+                    statuses.add(uid + ":" + ((TestResult) descriptor.result()).status());
+                });
+                Assertions.assertThrows(IllegalStateException.class, reader::payload);
+            }
+        });
+        Assertions.assertEquals(List.of("b1:X", "b2:YY", "b1:X:1", "b2:YY:2"), statuses);
+    }
+
+    @Test
+    public void testEncode_shouldFailOnUnregisteredType()
+    {
+        Pipeline<List<B>> pipeline = createPipeline();
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run(List.of(new B("b1", "x"))));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        OutputCodec codec = new OutputCodec(new CodecRegistry().register(1, B.class, new BCodec()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> codec.encode(output));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> createRegistry().register(1, String.class, new NameCodec()));
+    }
+
+    @Test
+    public void testDecode_shouldFailOnInvalidData()
+    {
+        OutputCodec codec = new OutputCodec(createRegistry());
+        Assertions.assertThrows(IOException.class, () -> codec.decode(new byte[]{ 1, 2, 3, 4, 5, 6 }));
+    }
+
+    private static String status(Output output, String uid, String name)
+    {
+        return output.results().of(uid).current(name).map(TestResult.class::cast).map(TestResult::status).orElse(null);
+    }
+
+    private static CodecRegistry createRegistry()
+    {
+        return new CodecRegistry()
+            .register(0, Document.class, new DocumentCodec())
+            .register(1, B.class, new BCodec())
+            .register(2, TestResult.class, new TestResultCodec())
+        ;
+    }
+
+    private static Pipeline<List<B>> createPipeline()
+    {
+        return Assertions.assertDoesNotThrow(() -> Pipeline.<List<B>>of("test-codec", (input, context, generator) -> new Document(input))
+            .registerIndexer((MultiIndexer<Document>) Document::parts)
+            .registerStep(builder -> builder
+                .step((IndexableStep<B>) (object, results, context) -> new TestResult("upper", object.name().toUpperCase()))
+                .withId("upper")
+            )
+            .registerStep(builder -> builder
+                .step((IndexableStep<B>) (object, results, context) -> {
+                    String upper = results.self().current("upper").map(TestResult.class::cast).map(TestResult::status).orElseThrow();
+                    return new TestResult("length", upper + ":" + upper.length());
+                })
+                .withId("length")
+            )
+            .build()
+        );
+    }
+
+    private record Document(
+        List<B> parts
+    ) {}
+
+    private static class BCodec implements ValueCodec<B>
+    {
+        @Override
+        public void write(B value, DataOutput out) throws IOException
+        {
+            out.writeUTF(value.uid());
+            out.writeUTF(value.name());
+        }
+
+        @Override
+        public B read(DataInput in) throws IOException
+        {
+            return new B(in.readUTF(), in.readUTF());
+        }
+    }
+
+    private static class DocumentCodec implements ValueCodec<Document>
+    {
+        private final BCodec parts = new BCodec();
+
+        @Override
+        public void write(Document value, DataOutput out) throws IOException
+        {
+            out.writeInt(value.parts().size());
+            for (B part : value.parts())
+                this.parts.write(part, out);
+        }
+
+        @Override
+        public Document read(DataInput in) throws IOException
+        {
+            int size = in.readInt();
+            List<B> parts = new ArrayList<>(size);
+            for (int i = 0 ; i < size ; ++i)
+                parts.add(this.parts.read(in));
+            return new Document(parts);
+        }
+    }
+
+    private static class TestResultCodec implements ValueCodec<TestResult>
+    {
+        @Override
+        public void write(TestResult value, DataOutput out) throws IOException
+        {
+            out.writeUTF(value.name());
+            out.writeUTF(value.status());
+        }
+
+        @Override
+        public TestResult read(DataInput in) throws IOException
+        {
+            return new TestResult(in.readUTF(), in.readUTF());
+        }
+    }
+
+    private static class NameCodec implements ValueCodec<String>
+    {
+        @Override
+        public void write(String value, DataOutput out) throws IOException
+        {
+            out.writeUTF(value);
+        }
+
+        @Override
+        public String read(DataInput in) throws IOException
+        {
+            return in.readUTF();
+        }
+    }
+}
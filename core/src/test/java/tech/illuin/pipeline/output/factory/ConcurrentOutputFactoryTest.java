@@ -0,0 +1,160 @@
+package tech.illuin.pipeline.output.factory;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.context.LocalContext;
+import tech.illuin.pipeline.context.SimpleContext;
+import tech.illuin.pipeline.execution.phase.StepScheduling;
+import tech.illuin.pipeline.generic.model.A;
+import tech.illuin.pipeline.generic.model.B;
+import tech.illuin.pipeline.generic.pipeline.TestResult;
+import tech.illuin.pipeline.generic.pipeline.step.TestStep;
+import tech.illuin.pipeline.input.indexer.ConcurrentIndexContainer;
+import tech.illuin.pipeline.input.indexer.IndexContainer;
+import tech.illuin.pipeline.input.indexer.MultiIndexer;
+import tech.illuin.pipeline.input.uid_generator.TSIDGenerator;
+import tech.illuin.pipeline.input.uid_generator.UIDGenerator;
+import tech.illuin.pipeline.output.ComponentFamily;
+import tech.illuin.pipeline.output.ComponentTag;
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.output.PipelineTag;
+import tech.illuin.pipeline.step.result.ConcurrentResultContainer;
+import tech.illuin.pipeline.step.result.ResultContainer;
+import tech.illuin.pipeline.step.result.ResultDescriptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class ConcurrentOutputFactoryTest
+{
+    private static final int WRITERS = 8;
+    private static final int ITEMS = 500;
+
+    @Test
+    public void testOutput_shouldSupportConcurrentWrites()
+    {
+        Output output = new ConcurrentOutputFactory<Void>().create(new PipelineTag("test", "test-concurrent", null), null, null, new SimpleContext());
+        ComponentTag tag = new ComponentTag(null, output.tag(), "step", ComponentFamily.STEP);
+
+        Assertions.assertInstanceOf(ConcurrentIndexContainer.class, output.index());
+        Assertions.assertInstanceOf(ConcurrentResultContainer.class, output.results());
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            /* The reader checks that snapshots are always consistent: positions are contiguous and follow insertion order */
+            Future<Integer> reader = executor.submit(() -> {
+                start.await();
+                int reads = 0;
+                while (writing.get())
+                {
+                    List<IndexContainer.Entry<?>> entries = new ArrayList<>(output.index().entries());
+                    for (int i = 0 ; i < entries.size() ; ++i)
+                        Assertions.assertEquals(i, entries.get(i).position());
+                    output.results().descriptors().stream().forEach(Assertions::assertNotNull);
+                    ++reads;
+                }
+                return reads;
+            });
+
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0 ; w < WRITERS ; ++w)
+            {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0 ; i < ITEMS ; ++i)
+                    {
+                        B b = new B(TSIDGenerator.INSTANCE.generate(), String.valueOf(i));
+                        output.index().index(b);
+                        output.results().register(b.uid(), new ResultDescriptor<>(TSIDGenerator.INSTANCE.generate(), tag, new TestResult("b", b.name())));
+                        output.results().register(output.tag().uid(), new ResultDescriptor<>(TSIDGenerator.INSTANCE.generate(), tag, new TestResult("global", b.name())));
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> writer : writers)
+                Assertions.assertDoesNotThrow(() -> writer.get(10, TimeUnit.SECONDS));
+            writing.set(false);
+            Assertions.assertTrue(Assertions.assertDoesNotThrow(() -> reader.get(10, TimeUnit.SECONDS)) > 0);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(WRITERS * ITEMS, output.index().size());
+        Assertions.assertEquals(WRITERS * ITEMS, output.index().stream(B.class).count());
+        Assertions.assertEquals(WRITERS * ITEMS, output.results().of(output.tag().uid()).stream().count());
+        Assertions.assertEquals(WRITERS * ITEMS * 2, output.results().descriptors().stream().count());
+    }
+
+    @Test
+    public void testPipeline_shouldUseConcurrentContainers()
+    {
+        List<String> statuses = Collections.synchronizedList(new ArrayList<>());
+
+        Pipeline<Void> pipeline = Assertions.assertDoesNotThrow(() -> Pipeline.of("test-concurrent-output-factory", (Void input, LocalContext context, UIDGenerator generator) -> new A(
+                generator.generate(),
+                IntStream.range(0, 8).mapToObj(i -> new B(generator.generate(), "b" + i)).toList()
+            ))
+            .registerIndexer((MultiIndexer<A>) A::bs)
+            .registerStep(builder -> builder
+                .step(new TestStep<B>("1", B::name))
+                .setParallel(true)
+            )
+            .registerSink((out, ctx) -> {
+                if (out.index() instanceof ConcurrentIndexContainer)
+                    out.results().stream(TestResult.class).forEach(r -> statuses.add(r.status()));
+            }, true)
+            .setStepExecutor(Executors.newFixedThreadPool(4))
+            .setOutputFactory(new ConcurrentOutputFactory<>())
+            .build()
+        );
+
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run());
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertInstanceOf(ConcurrentResultContainer.class, output.results());
+        Assertions.assertEquals(8, output.results().stream(TestResult.class).count());
+        Assertions.assertEquals(IntStream.range(0, 8).mapToObj(i -> "b" + i).collect(Collectors.toSet()), Set.copyOf(statuses));
+    }
+
+    @Test
+    public void testPipeline_shouldInstallConcurrentFactoryForConcurrentScheduling()
+    {
+        Pipeline<Void> sequential = Assertions.assertDoesNotThrow(() -> Pipeline.<Void>of("test-sequential-output")
+            .registerStep(builder -> builder.step(new TestStep<>("1", "ok")))
+            .build()
+        );
+        Pipeline<Void> graph = Assertions.assertDoesNotThrow(() -> Pipeline.<Void>of("test-graph-output")
+            .registerStep(builder -> builder.step(new TestStep<>("1", "ok")))
+            .setStepScheduling(StepScheduling.DEPENDENCY_GRAPH)
+            .build()
+        );
+
+        Output sequentialOutput = Assertions.assertDoesNotThrow(() -> sequential.run());
+        Output graphOutput = Assertions.assertDoesNotThrow(() -> graph.run());
+        Assertions.assertDoesNotThrow(sequential::close);
+        Assertions.assertDoesNotThrow(graph::close);
+
+        Assertions.assertEquals(ResultContainer.class, sequentialOutput.results().getClass());
+        Assertions.assertInstanceOf(ConcurrentResultContainer.class, graphOutput.results());
+        Assertions.assertInstanceOf(ConcurrentIndexContainer.class, graphOutput.index());
+    }
+}
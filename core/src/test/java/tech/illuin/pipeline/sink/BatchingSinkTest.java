@@ -0,0 +1,226 @@
+package tech.illuin.pipeline.sink;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.context.LocalContext;
+import tech.illuin.pipeline.generic.model.B;
+import tech.illuin.pipeline.output.Output;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class BatchingSinkTest
+{
+    @Test
+    public void testPipeline_shouldFlushBySize()
+    {
+        List<List<Output>> batches = new CopyOnWriteArrayList<>();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BatchingSink<Output> sink = BatchingSink.builder()
+            .setId("size-sink")
+            .setDelegate(batches::add)
+            .setFailureHandler(BatchingSinkTest::fail)
+            .setMaxBatchSize(3)
+            .setMaxLatency(null)
+            .build()
+        ;
+        /* Batch meters are reported to the registry of the pipeline executing the sink */
+        Pipeline<String> pipeline = createPipeline(sink, meterRegistry);
+
+        for (int i = 0 ; i < 7 ; ++i)
+        {
+            int index = i;
+            Assertions.assertDoesNotThrow(() -> pipeline.run("input-" + index));
+        }
+
+        Assertions.assertEquals(List.of(3, 3), batches.stream().map(List::size).toList());
+        Assertions.assertEquals(1, sink.pending());
+        Assertions.assertEquals("input-0", name(batches.get(0).get(0)));
+        Assertions.assertEquals("input-5", name(batches.get(1).get(2)));
+
+        /* Closing the pipeline flushes the remainder */
+        Assertions.assertDoesNotThrow(pipeline::close);
+        Assertions.assertEquals(List.of(3, 3, 1), batches.stream().map(List::size).toList());
+        Assertions.assertEquals(0, sink.pending());
+
+        Assertions.assertEquals(3, meterRegistry.get("pipeline.sink.batch.size").tag("sink", "size-sink").summary().count());
+        Assertions.assertEquals(7, meterRegistry.get("pipeline.sink.batch.size").tag("sink", "size-sink").summary().totalAmount());
+        Assertions.assertEquals(3, meterRegistry.get("pipeline.sink.batch.flush").tag("sink", "size-sink").timer().count());
+        Assertions.assertThrows(IllegalStateException.class, () -> sink.execute(batches.get(0).get(0), null));
+    }
+
+    @Test
+    public void testPipeline_shouldFlushByLatency()
+    {
+        List<List<Output>> batches = new CopyOnWriteArrayList<>();
+        BatchingSink<Output> sink = BatchingSink.builder()
+            .setDelegate(batches::add)
+            .setFailureHandler(BatchingSinkTest::fail)
+            .setMaxBatchSize(100)
+            .setMaxLatency(Duration.ofMillis(50))
+            .build()
+        ;
+        Pipeline<String> pipeline = createPipeline(sink);
+
+        Assertions.assertDoesNotThrow(() -> pipeline.run("input-0"));
+        Assertions.assertDoesNotThrow(() -> pipeline.run("input-1"));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (batches.isEmpty() && System.currentTimeMillis() < deadline)
+            Assertions.assertDoesNotThrow(() -> Thread.sleep(10));
+
+        Assertions.assertEquals(List.of(2), batches.stream().map(List::size).toList());
+        Assertions.assertEquals(0, sink.pending());
+        Assertions.assertDoesNotThrow(pipeline::close);
+        Assertions.assertEquals(1, batches.size());
+    }
+
+    @Test
+    public void testPipeline_shouldFlushByMemoryBound()
+    {
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        BatchingSink<String> sink = BatchingSink.builder(output -> "skip".equals(name(output)) ? null : name(output))
+            .setDelegate(batches::add)
+            .setFailureHandler(BatchingSinkTest::fail)
+            .setMaxLatency(null)
+            .setMemoryBound(10, String::length)
+            .build()
+        ;
+        Pipeline<String> pipeline = createPipeline(sink);
+
+        Stream.of("aaaa", "skip", "bbbb", "cccc").forEach(input -> Assertions.assertDoesNotThrow(() -> pipeline.run(input)));
+
+        /* The third item exceeds the bound, it is left for the next batch */
+        Assertions.assertEquals(List.of(List.of("aaaa", "bbbb")), batches);
+        Assertions.assertEquals(1, sink.pending());
+
+        Assertions.assertDoesNotThrow(pipeline::close);
+        Assertions.assertEquals(List.of(List.of("aaaa", "bbbb"), List.of("cccc")), batches);
+    }
+
+    @Test
+    public void testPipeline_shouldHandOverFailedBatches()
+    {
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        List<List<String>> failed = new CopyOnWriteArrayList<>();
+        BatchingSink<String> sink = BatchingSink.builder(BatchingSinkTest::name)
+            .setDelegate(batch -> {
+                if (batch.contains("input-1"))
+                    throw new IllegalStateException("Unavailable");
+                batches.add(batch);
+            })
+            .setFailureHandler((e, batch) -> failed.add(batch))
+            .setMaxBatchSize(2)
+            .setMaxLatency(null)
+            .build()
+        ;
+        Pipeline<String> pipeline = createPipeline(sink);
+
+        /* The run filling the failed batch is unaffected, and the outputs of the run before it are not lost */
+        Stream.of("input-0", "input-1", "input-2", "input-3").forEach(input -> Assertions.assertDoesNotThrow(() -> pipeline.run(input)));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals(List.of(List.of("input-0", "input-1")), failed);
+        Assertions.assertEquals(List.of(List.of("input-2", "input-3")), batches);
+    }
+
+    @Test
+    public void testPipeline_shouldRethrowFailureHandlerErrors()
+    {
+        BatchingSink<Output> sink = BatchingSink.builder()
+            .setDelegate(batch -> { throw new IllegalStateException("Unavailable"); })
+            .setFailureHandler((e, batch) -> { throw e; })
+            .setMaxBatchSize(1)
+            .setMaxLatency(null)
+            .build()
+        ;
+        Pipeline<String> pipeline = createPipeline(sink);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> pipeline.run("input"));
+        Assertions.assertDoesNotThrow(pipeline::close);
+    }
+
+    @Test
+    public void testPipeline_shouldOnlyCloseOptedInSinks()
+    {
+        ClosingSink plain = new ClosingSink();
+        ClosingSink optedIn = new ClosingSink();
+        List<List<Output>> batches = new CopyOnWriteArrayList<>();
+        BatchingSink<Output> shared = BatchingSink.builder()
+            .setDelegate(batches::add)
+            .setFailureHandler(BatchingSinkTest::fail)
+            .setMaxLatency(null)
+            .build()
+        ;
+        Pipeline<String> pipeline = Assertions.assertDoesNotThrow(() -> Pipeline.<String>of("test-batching-sink", (input, context, generator) -> new B(generator.generate(), input))
+            .registerSink(plain)
+            .registerSink(builder -> builder.sink(optedIn).setCloseWithPipeline(true))
+            .registerSink(builder -> builder.sink(shared).setCloseWithPipeline(false))
+            .build()
+        );
+
+        Assertions.assertDoesNotThrow(() -> pipeline.run("input"));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertFalse(plain.closed);
+        Assertions.assertTrue(optedIn.closed);
+        Assertions.assertEquals(1, shared.pending());
+        Assertions.assertDoesNotThrow(shared::close);
+        Assertions.assertEquals(1, batches.size());
+    }
+
+    @Test
+    public void testBuild_shouldRejectInvalidConfiguration()
+    {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BatchingSink.builder().setFailureHandler(BatchingSinkTest::fail).build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BatchingSink.builder().setDelegate(batch -> {}).build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BatchingSink.builder().setDelegate(batch -> {}).setFailureHandler(BatchingSinkTest::fail).setMaxBatchSize(0).build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BatchingSink.builder().setDelegate(batch -> {}).setFailureHandler(BatchingSinkTest::fail).setMaxLatency(Duration.ZERO).build());
+    }
+
+    private static void fail(Exception exception, List<?> batch) throws Exception
+    {
+        throw exception;
+    }
+
+    private static String name(Output output)
+    {
+        return output.payload(B.class).name();
+    }
+
+    private static Pipeline<String> createPipeline(BatchingSink<?> sink)
+    {
+        return createPipeline(sink, new SimpleMeterRegistry());
+    }
+
+    private static Pipeline<String> createPipeline(BatchingSink<?> sink, MeterRegistry meterRegistry)
+    {
+        return Assertions.assertDoesNotThrow(() -> Pipeline.<String>of("test-batching-sink", (input, context, generator) -> new B(generator.generate(), input))
+            .registerSink(sink)
+            .setMeterRegistry(meterRegistry)
+            .build()
+        );
+    }
+
+    private static class ClosingSink implements Sink, AutoCloseable
+    {
+        private boolean closed;
+
+        @Override
+        public void execute(Output output, LocalContext context) {}
+
+        @Override
+        public void close()
+        {
+            this.closed = true;
+        }
+    }
+}
@@ -2,10 +2,14 @@ package tech.illuin.pipeline.sink;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
 import tech.illuin.pipeline.Pipeline;
 
+import java.time.Duration;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static tech.illuin.pipeline.generic.Tests.sleep;
+
 /**
  * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
  */
@@ -47,6 +51,22 @@ public class SinkTest
         Assertions.assertEquals(3, counter.get());
     }
 
+    @Test
+    public void testPipeline_shouldLaunchSinks__withVirtualThreads()
+    {
+        var counter = new AtomicInteger(0);
+        var propagated = new AtomicInteger(0);
+
+        Pipeline<?> pipeline = Assertions.assertDoesNotThrow(() -> createPipelineWithSinks_virtualThreads(counter, propagated));
+        MDC.put("request_id", "abc");
+        Assertions.assertDoesNotThrow(() -> pipeline.run());
+        MDC.remove("request_id");
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals(100, counter.get());
+        Assertions.assertEquals(100, propagated.get());
+    }
+
     public static Pipeline<?> createPipelineWithSinks(AtomicInteger counter)
     {
         return Pipeline.of("test-sink")
@@ -78,4 +98,19 @@ public class SinkTest
             .build()
         ;
     }
+
+    public static Pipeline<?> createPipelineWithSinks_virtualThreads(AtomicInteger counter, AtomicInteger propagated)
+    {
+        var builder = Pipeline.of("test-sink-virtual-threads").setVirtualThreads(true);
+        for (int i = 0 ; i < 100 ; ++i)
+        {
+            builder.registerSink((o, ctx) -> {
+                sleep(Duration.ofMillis(50));
+                if ("abc".equals(MDC.get("request_id")))
+                    propagated.incrementAndGet();
+                counter.incrementAndGet();
+            }, true);
+        }
+        return builder.build();
+    }
 }
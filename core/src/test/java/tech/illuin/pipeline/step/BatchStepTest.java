@@ -0,0 +1,207 @@
+package tech.illuin.pipeline.step;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.annotation.Object;
+import tech.illuin.pipeline.builder.PayloadPipelineBuilder;
+import tech.illuin.pipeline.context.LocalContext;
+import tech.illuin.pipeline.generic.model.A;
+import tech.illuin.pipeline.generic.model.B;
+import tech.illuin.pipeline.generic.pipeline.TestResult;
+import tech.illuin.pipeline.input.indexer.MultiIndexer;
+import tech.illuin.pipeline.input.uid_generator.UIDGenerator;
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.step.annotation.StepConfig;
+import tech.illuin.pipeline.step.builder.StepAssembler;
+import tech.illuin.pipeline.step.execution.wrapper.StepWrapper;
+import tech.illuin.pipeline.step.execution.wrapper.cache.CacheWrapper;
+import tech.illuin.pipeline.step.result.Result;
+import tech.illuin.pipeline.step.result.Results;
+import tech.illuin.pipeline.step.variant.BatchStep;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class BatchStepTest
+{
+    @Test
+    public void testPipeline_shouldRunBatchOnce()
+    {
+        CountingBatchStep step = new CountingBatchStep(objects -> objects.stream().collect(Collectors.toMap(
+            B::uid,
+            b -> new TestResult("batch", b.name())
+        )));
+
+        Pipeline<Void> pipeline = Assertions.assertDoesNotThrow(() -> createBatchPipeline(8, builder -> builder.step(step)));
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run());
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals(1, step.calls.get());
+        assertResults(output, 8);
+    }
+
+    @Test
+    public void testPipeline_shouldRunBatchRunner()
+    {
+        BatchRunner runner = new BatchRunner();
+
+        Pipeline<Void> pipeline = Assertions.assertDoesNotThrow(() -> createBatchPipeline(8, builder -> builder.step(runner)));
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run());
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals(1, runner.calls.get());
+        assertResults(output, 8);
+        Assertions.assertEquals("batch-runner", output.results().descriptors().stream().findFirst().orElseThrow().tag().id());
+    }
+
+    @Test
+    public void testPipeline_shouldRunWildcardBatchRunner()
+    {
+        WildcardBatchRunner runner = new WildcardBatchRunner();
+
+        Pipeline<Void> pipeline = Assertions.assertDoesNotThrow(() -> createBatchPipeline(8, builder -> builder.step(runner)));
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run());
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals(1, runner.calls.get());
+        assertResults(output, 8);
+    }
+
+    @Test
+    public void testPipeline_shouldSkipMissingResults()
+    {
+        CountingBatchStep step = new CountingBatchStep(objects -> objects.stream()
+            .filter(b -> !b.name().equals("b3"))
+            .collect(Collectors.toMap(B::uid, b -> new TestResult("batch", b.name())))
+        );
+
+        Pipeline<Void> pipeline = Assertions.assertDoesNotThrow(() -> createBatchPipeline(8, builder -> builder.step(step)));
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run());
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals(7, output.results().descriptors().stream().count());
+        B b3 = output.payload(A.class).bs().get(3);
+        Assertions.assertTrue(output.results(b3).current(TestResult.class).isEmpty());
+    }
+
+    @Test
+    public void testPipeline_shouldHandleBatchError()
+    {
+        AtomicInteger handled = new AtomicInteger(0);
+        CountingBatchStep step = new CountingBatchStep(objects -> {
+            throw new IllegalStateException("Some error");
+        });
+
+        Pipeline<Void> pipeline = Assertions.assertDoesNotThrow(() -> createBatchPipeline(8, builder -> builder
+            .step(step)
+            .withErrorHandler((ex, in, payload, results, ctx) -> {
+                handled.incrementAndGet();
+                return new TestResult("batch", "error");
+            })
+        ));
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run());
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals(1, handled.get());
+        Assertions.assertEquals(8, output.results().descriptors().stream().count());
+        Assertions.assertTrue(output.results().descriptors().stream().allMatch(rd -> ((TestResult) rd.result()).status().equals("error")));
+    }
+
+    @Test
+    public void testPipeline_shouldRejectCacheWrapper()
+    {
+        CacheWrapper<B, Void> cache = new CacheWrapper<>((object, input) -> object.name(), 10);
+        StepWrapper<B, Void> noOp = StepWrapper::noOp;
+
+        Assertions.assertThrows(IllegalStateException.class, () -> createBatchPipeline(8, builder -> builder
+            .step(new CountingBatchStep(objects -> Map.of()))
+            .withWrapper(cache)
+        ));
+        Assertions.assertThrows(IllegalStateException.class, () -> createBatchPipeline(8, builder -> builder
+            .step(new BatchRunner())
+            .withWrapper(noOp.andThen(cache))
+        ));
+
+        /* The same wrapper remains usable on a regular step */
+        Pipeline<Void> pipeline = Assertions.assertDoesNotThrow(() -> createBatchPipeline(8, builder -> builder
+            .step((Step<B, Void>) (object, input, payload, results, context) -> new TestResult("batch", object.name()))
+            .withWrapper(noOp.andThen(cache))
+        ));
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run());
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        assertResults(output, 8);
+    }
+
+    private static void assertResults(Output output, int count)
+    {
+        List<B> bs = output.payload(A.class).bs();
+        Assertions.assertEquals(count, output.results().descriptors().stream().count());
+        for (B b : bs)
+            Assertions.assertEquals(b.name(), output.results(b).current(TestResult.class).map(TestResult::status).orElse(null));
+    }
+
+    public static Pipeline<Void> createBatchPipeline(int count, StepAssembler<B, Void> assembler)
+    {
+        return new PayloadPipelineBuilder<Void>()
+           .setId("test-batch-step")
+           .setInitializer((Void input, LocalContext context, UIDGenerator generator) -> new A(
+               generator.generate(),
+               IntStream.range(0, count).mapToObj(i -> new B(generator.generate(), "b" + i)).toList()
+           ))
+           .registerIndexer((MultiIndexer<A>) A::bs)
+           .registerStep(assembler)
+           .build()
+        ;
+    }
+
+    private static class CountingBatchStep implements BatchStep<B, Void>
+    {
+        private final Function<List<B>, Map<String, ? extends Result>> function;
+        private final AtomicInteger calls = new AtomicInteger(0);
+
+        private CountingBatchStep(Function<List<B>, Map<String, ? extends Result>> function)
+        {
+            this.function = function;
+        }
+
+        @Override
+        public Map<String, ? extends Result> executeBatch(List<B> objects, Void input, java.lang.Object payload, Results results, LocalContext context)
+        {
+            this.calls.incrementAndGet();
+            return this.function.apply(objects);
+        }
+    }
+
+    public static class BatchRunner
+    {
+        private final AtomicInteger calls = new AtomicInteger(0);
+
+        @StepConfig(id = "batch-runner")
+        public Map<String, TestResult> execute(@Object List<B> objects, Results results)
+        {
+            this.calls.incrementAndGet();
+            return objects.stream().collect(Collectors.toMap(B::uid, b -> new TestResult("batch", b.name())));
+        }
+    }
+
+    public static class WildcardBatchRunner
+    {
+        private final AtomicInteger calls = new AtomicInteger(0);
+
+        @StepConfig(id = "wildcard-batch-runner")
+        public Map<String, ? extends Result> execute(@Object List<B> objects)
+        {
+            this.calls.incrementAndGet();
+            return objects.stream().collect(Collectors.toMap(B::uid, b -> new TestResult("batch", b.name())));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package tech.illuin.pipeline.step;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.annotation.Current;
+import tech.illuin.pipeline.annotation.Input;
+import tech.illuin.pipeline.execution.phase.StepScheduling;
+import tech.illuin.pipeline.execution.phase.impl.StepGraph;
+import tech.illuin.pipeline.input.indexer.Indexable;
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.step.annotation.StepConfig;
+import tech.illuin.pipeline.step.builder.StepAssembler;
+import tech.illuin.pipeline.step.builder.StepBuilder;
+import tech.illuin.pipeline.step.builder.StepDescriptor;
+import tech.illuin.pipeline.step.execution.evaluator.StepStrategy;
+import tech.illuin.pipeline.step.result.Result;
+import tech.illuin.pipeline.step.variant.InputStep;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static tech.illuin.pipeline.generic.Tests.sleep;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class GraphSchedulingTest
+{
+    @Test
+    public void testGraph_shouldInferDependencies()
+    {
+        List<StepDescriptor<Indexable, String>> steps = Stream.<StepAssembler<Indexable, String>>of(
+            builder -> builder.step(new Enrich<>("a", ResultA::new)),
+            builder -> builder.step(new Enrich<>("b", ResultB::new)),
+            builder -> builder.step(new Combine()),
+            builder -> builder.step((object, input, payload, results, context) -> new ResultA("unknown")),
+            builder -> builder.step((object, input, payload, results, context) -> new ResultB("independent")).withDependencies()
+        ).map(assembler -> assembler.build(new StepBuilder<>())).toList();
+
+        StepGraph graph = Assertions.assertDoesNotThrow(() -> StepGraph.of(steps));
+
+        Assertions.assertEquals(Set.of(), graph.upstream(0));
+        Assertions.assertEquals(Set.of(), graph.upstream(1));
+        Assertions.assertEquals(Set.of(0, 1), graph.upstream(2));
+        Assertions.assertEquals(Set.of(0, 1, 2), graph.upstream(3));
+        Assertions.assertEquals(Set.of(), graph.upstream(4));
+    }
+
+    @Test
+    public void testGraph_shouldRejectUnknownDependency()
+    {
+        List<StepDescriptor<Indexable, String>> steps = Stream.<StepAssembler<Indexable, String>>of(
+            builder -> builder.step(new Enrich<>("a", ResultA::new)).withDependencies("combine"),
+            builder -> builder.step(new Combine())
+        ).map(assembler -> assembler.build(new StepBuilder<>())).toList();
+
+        Assertions.assertThrows(IllegalStateException.class, () -> StepGraph.of(steps));
+    }
+
+    @Test
+    public void testPipeline_shouldRunIndependentStepsConcurrently()
+    {
+        Pipeline<String> pipeline = Assertions.assertDoesNotThrow(GraphSchedulingTest::createGraphPipeline);
+
+        long start = System.nanoTime();
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run("input"));
+        long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        /* Sequential scheduling would take at least 3 x 200ms */
+        Assertions.assertTrue(elapsed < 500, "Graph run took " + elapsed + "ms");
+        Assertions.assertEquals("a:input+b:input+c:input", output.results().current(Combined.class).map(Combined::value).orElse(null));
+    }
+
+    @Test
+    public void testPipeline_shouldHandleAbort()
+    {
+        Pipeline<String> pipeline = Assertions.assertDoesNotThrow(() -> Pipeline.<String>of("test-graph-abort")
+            .registerStep(builder -> builder
+                .step(new Enrich<>("a", ResultA::new))
+                .withEvaluation((res, obj, in, ctx) -> StepStrategy.ABORT)
+            )
+            .registerStep(new Combine())
+            .setStepScheduling(StepScheduling.DEPENDENCY_GRAPH)
+            .setStepExecutor(Executors.newFixedThreadPool(4))
+            .build()
+        );
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run("input"));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertTrue(output.results().current(ResultA.class).isPresent());
+        Assertions.assertTrue(output.results().current(Combined.class).isEmpty());
+    }
+
+    @Test
+    public void testPipeline_shouldNotLaunchStepsAfterAbort()
+    {
+        AtomicBoolean downstreamRan = new AtomicBoolean(false);
+        Pipeline<String> pipeline = Assertions.assertDoesNotThrow(() -> Pipeline.<String>of("test-graph-abort-sibling")
+            .registerStep(builder -> builder
+                .step((InputStep<String>) (input, results, context) -> new ResultA("a:" + input))
+                .withId("abort")
+                .withDependencies()
+                .withEvaluation((res, obj, in, ctx) -> StepStrategy.ABORT)
+            )
+            .registerStep(builder -> builder
+                .step(new Enrich<>("b", ResultB::new))
+                .withId("sibling")
+                .withDependencies()
+            )
+            .registerStep(builder -> builder
+                .step((InputStep<String>) (input, results, context) -> {
+                    downstreamRan.set(true);
+                    return new ResultC("c:" + input);
+                })
+                .withId("downstream")
+                .withDependencies("sibling")
+            )
+            .setStepScheduling(StepScheduling.DEPENDENCY_GRAPH)
+            .setStepExecutor(Executors.newFixedThreadPool(4))
+            .build()
+        );
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run("input"));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        /* The sibling was already in-flight when the abort was consumed, its downstream step must not be launched */
+        Assertions.assertTrue(output.results().current(ResultA.class).isPresent());
+        Assertions.assertTrue(output.results().current(ResultB.class).isPresent());
+        Assertions.assertTrue(output.results().current(ResultC.class).isEmpty());
+        Assertions.assertFalse(downstreamRan.get());
+    }
+
+    public static Pipeline<String> createGraphPipeline()
+    {
+        return Pipeline.<String>of("test-graph")
+            .registerStep(new Enrich<>("a", ResultA::new))
+            .registerStep(new Enrich<>("b", ResultB::new))
+            .registerStep(new Enrich<>("c", ResultC::new))
+            .registerStep(new Combine())
+            .setStepScheduling(StepScheduling.DEPENDENCY_GRAPH)
+            .setStepExecutor(Executors.newFixedThreadPool(4))
+            .build()
+        ;
+    }
+
+    public static class Enrich<R extends Result>
+    {
+        private final String name;
+        private final Function<String, R> factory;
+
+        public Enrich(String name, Function<String, R> factory)
+        {
+            this.name = name;
+            this.factory = factory;
+        }
+
+        @StepConfig
+        public R enrich(@Input String input)
+        {
+            sleep(Duration.ofMillis(200));
+            return this.factory.apply(this.name + ":" + input);
+        }
+    }
+
+    public static class Combine
+    {
+        @StepConfig(id = "combine")
+        public Combined combine(@Current ResultA a, @Current ResultB b, @Current ResultC c)
+        {
+            return new Combined(a.value() + "+" + b.value() + "+" + c.value());
+        }
+    }
+
+    public record ResultA(String value) implements Result {}
+    public record ResultB(String value) implements Result {}
+    public record ResultC(String value) implements Result {}
+    public record Combined(String value) implements Result {}
+}
@@ -0,0 +1,106 @@
+package tech.illuin.pipeline.step;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.generic.model.B;
+import tech.illuin.pipeline.generic.pipeline.TestResult;
+import tech.illuin.pipeline.input.indexer.MultiIndexer;
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.step.execution.fingerprint.StepFingerprinter;
+import tech.illuin.pipeline.step.result.ResultDescriptor;
+import tech.illuin.pipeline.step.variant.IndexableStep;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class IncrementalTest
+{
+    @Test
+    public void testPipeline_shouldSkipUnchangedArguments()
+    {
+        Map<String, Integer> executions = new ConcurrentHashMap<>();
+        Pipeline<List<B>> pipeline = createPipeline(executions);
+
+        Output first = Assertions.assertDoesNotThrow(() -> pipeline.run(List.of(new B("b1", "x"), new B("b2", "y"))));
+        Assertions.assertEquals(Map.of("upper:b1", 1, "upper:b2", 1, "length:b1", 1, "length:b2", 1), executions);
+
+        /* Only b2 changed, so only b2 is re-processed by both the step and its downstream step */
+        Output second = Assertions.assertDoesNotThrow(() -> pipeline.run(List.of(new B("b1", "x"), new B("b2", "zz")), pipeline.newContext(first)));
+        Assertions.assertEquals(Map.of("upper:b1", 1, "upper:b2", 2, "length:b1", 1, "length:b2", 2), executions);
+
+        Assertions.assertEquals("X", status(second, "b1", "upper"));
+        Assertions.assertEquals("X:1", status(second, "b1", "length"));
+        Assertions.assertEquals("ZZ", status(second, "b2", "upper"));
+        Assertions.assertEquals("ZZ:2", status(second, "b2", "length"));
+        Assertions.assertTrue(second.results().of("b1").descriptors().current().allMatch(rd -> rd.fingerprint() != ResultDescriptor.NO_FINGERPRINT));
+
+        /* Carried over results are recorded with their fingerprint, so the chain goes on over successive runs */
+        Assertions.assertDoesNotThrow(() -> pipeline.run(List.of(new B("b1", "x"), new B("b2", "zz")), pipeline.newContext(second)));
+        Assertions.assertEquals(Map.of("upper:b1", 1, "upper:b2", 2, "length:b1", 1, "length:b2", 2), executions);
+
+        /* Without a parent, everything is executed */
+        Assertions.assertDoesNotThrow(() -> pipeline.run(List.of(new B("b1", "x"), new B("b2", "zz"))));
+        Assertions.assertDoesNotThrow(pipeline::close);
+        Assertions.assertEquals(Map.of("upper:b1", 2, "upper:b2", 3, "length:b1", 2, "length:b2", 3), executions);
+    }
+
+    @Test
+    public void testPipeline_shouldConfirmFingerprintMatches()
+    {
+        Map<String, Integer> executions = new ConcurrentHashMap<>();
+        /* A constant fingerprint collides for every argument, only the equality check tells changed arguments apart */
+        Pipeline<List<B>> pipeline = createPipeline(executions, (argument, upstream) -> 42);
+
+        Output first = Assertions.assertDoesNotThrow(() -> pipeline.run(List.of(new B("b1", "x"), new B("b2", "y"))));
+        Output second = Assertions.assertDoesNotThrow(() -> pipeline.run(List.of(new B("b1", "x"), new B("b2", "zz")), pipeline.newContext(first)));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals(Map.of("upper:b1", 1, "upper:b2", 2, "length:b1", 1, "length:b2", 2), executions);
+        Assertions.assertEquals("ZZ", status(second, "b2", "upper"));
+        Assertions.assertEquals(42, second.results().of("b1").descriptors().current().findFirst().map(ResultDescriptor::fingerprint).orElse(0L));
+    }
+
+    private static String status(Output output, String uid, String name)
+    {
+        return output.results().of(uid).current(name).map(TestResult.class::cast).map(TestResult::status).orElse(null);
+    }
+
+    private static Pipeline<List<B>> createPipeline(Map<String, Integer> executions)
+    {
+        return createPipeline(executions, StepFingerprinter.HASH_CODE);
+    }
+
+    private static Pipeline<List<B>> createPipeline(Map<String, Integer> executions, StepFingerprinter fingerprinter)
+    {
+        return Assertions.assertDoesNotThrow(() -> Pipeline.<List<B>>of("test-incremental", (input, context, generator) -> new Document(input))
+            .registerIndexer((MultiIndexer<Document>) Document::parts)
+            .registerStep(builder -> builder
+                .step((IndexableStep<B>) (object, results, context) -> {
+                    executions.merge("upper:" + object.uid(), 1, Integer::sum);
+                    return new TestResult("upper", object.name().toUpperCase());
+                })
+                .withId("upper")
+                .setIncremental(fingerprinter)
+            )
+            .registerStep(builder -> builder
+                .step((IndexableStep<B>) (object, results, context) -> {
+                    executions.merge("length:" + object.uid(), 1, Integer::sum);
+                    String upper = results.self().current("upper").map(TestResult.class::cast).map(TestResult::status).orElseThrow();
+                    return new TestResult("length", upper + ":" + upper.length());
+                })
+                .withId("length")
+                .setIncremental(fingerprinter)
+            )
+            .build()
+        );
+    }
+
+    private record Document(
+        List<B> parts
+    ) {}
+}
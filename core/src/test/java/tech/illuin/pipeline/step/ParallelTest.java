@@ -0,0 +1,121 @@
+package tech.illuin.pipeline.step;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.context.LocalContext;
+import tech.illuin.pipeline.generic.model.A;
+import tech.illuin.pipeline.generic.model.B;
+import tech.illuin.pipeline.generic.pipeline.TestResult;
+import tech.illuin.pipeline.generic.pipeline.step.TestStep;
+import tech.illuin.pipeline.input.indexer.MultiIndexer;
+import tech.illuin.pipeline.input.uid_generator.UIDGenerator;
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.step.execution.evaluator.ResultEvaluator;
+import tech.illuin.pipeline.step.execution.evaluator.StepStrategy;
+import tech.illuin.pipeline.step.result.ResultDescriptor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static tech.illuin.pipeline.generic.Tests.sleep;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class ParallelTest
+{
+    @Test
+    public void testPipeline_shouldRunConcurrently()
+    {
+        AtomicInteger running = new AtomicInteger(0);
+        AtomicInteger maxRunning = new AtomicInteger(0);
+
+        Pipeline<Void> pipeline = Assertions.assertDoesNotThrow(() -> createParallelPipeline(8, b -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(Duration.ofMillis(50));
+            running.decrementAndGet();
+            return b.name();
+        }));
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run());
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertTrue(maxRunning.get() > 1);
+        Assertions.assertEquals(8, output.results().descriptors().stream().count());
+        /* Results are registered in argument order regardless of completion order */
+        List<ResultDescriptor<?>> descriptors = output.payload(A.class).bs().stream()
+            .<ResultDescriptor<?>>map(b -> output.results(b).descriptors().current().findFirst().orElseThrow())
+            .toList()
+        ;
+        for (int i = 0 ; i < descriptors.size() ; ++i)
+        {
+            Assertions.assertEquals("b" + i, ((TestResult) descriptors.get(i).result()).status());
+            if (i > 0)
+                Assertions.assertFalse(descriptors.get(i).createdAt().isBefore(descriptors.get(i - 1).createdAt()));
+        }
+    }
+
+    @Test
+    public void testPipeline_shouldStopLikeSequential()
+    {
+        AtomicInteger executed = new AtomicInteger(0);
+
+        Pipeline<Void> pipeline = Assertions.assertDoesNotThrow(() -> createParallelPipeline(
+            8,
+            b -> {
+                executed.incrementAndGet();
+                return b.name();
+            },
+            (res, obj, in, ctx) -> ((TestResult) res).status().equals("b2") ? StepStrategy.STOP : StepStrategy.CONTINUE
+        ));
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run());
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertTrue(executed.get() >= 3);
+        Assertions.assertEquals(
+            Set.of("b0", "b1", "b2"),
+            output.results().descriptors().stream().map(rd -> ((TestResult) rd.result()).status()).collect(Collectors.toSet())
+        );
+    }
+
+    @Test
+    public void testPipeline_shouldPropagateError()
+    {
+        Pipeline<Void> pipeline = Assertions.assertDoesNotThrow(() -> createParallelPipeline(8, b -> {
+            if (b.name().equals("b5"))
+                throw new IllegalStateException("Some error");
+            return b.name();
+        }));
+
+        Assertions.assertThrows(IllegalStateException.class, pipeline::run);
+        Assertions.assertDoesNotThrow(pipeline::close);
+    }
+
+    public static Pipeline<Void> createParallelPipeline(int count, Function<B, String> function)
+    {
+        return createParallelPipeline(count, function, (res, obj, in, ctx) -> StepStrategy.CONTINUE);
+    }
+
+    public static Pipeline<Void> createParallelPipeline(int count, Function<B, String> function, ResultEvaluator evaluator)
+    {
+        return Pipeline.of("test-parallel", (Void input, LocalContext context, UIDGenerator generator) -> new A(
+               generator.generate(),
+               IntStream.range(0, count).mapToObj(i -> new B(generator.generate(), "b" + i)).toList()
+           ))
+           .registerIndexer((MultiIndexer<A>) A::bs)
+           .registerStep(builder -> builder
+               .step(new TestStep<B>("1", function))
+               .withEvaluation(evaluator)
+               .setParallel(true)
+           )
+           .setStepExecutor(Executors.newFixedThreadPool(4))
+           .build()
+        ;
+    }
+}
@@ -3,8 +3,14 @@ package tech.illuin.pipeline.step;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.context.Context;
+import tech.illuin.pipeline.context.SimpleContext;
 import tech.illuin.pipeline.execution.phase.PipelinePhaseTest.Counters;
+import tech.illuin.pipeline.generic.pipeline.TestResult;
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.output.PipelineTag;
 import tech.illuin.pipeline.step.execution.evaluator.StepStrategy;
+import tech.illuin.pipeline.step.variant.PipelineStep;
 
 import static tech.illuin.pipeline.execution.phase.PipelinePhaseTest.createPipeline;
 
@@ -84,4 +90,32 @@ public class PipelineStepTest
         Assertions.assertEquals(0, counters.sink_sync.get());
         Assertions.assertEquals(0, counters.sink_async.get());
     }
+
+    @Test
+    public void testPipeline__nestedContext()
+    {
+        Pipeline<Object> subPipeline = Pipeline.of("test-nested-context")
+            .registerStep((in, results, ctx) -> {
+                ctx.set("nested", true);
+                return new TestResult(
+                    ctx.get("outer", String.class).orElse("none"),
+                    ctx.get(PipelineStep.PARENT_PIPELINE, PipelineTag.class).map(PipelineTag::pipeline).orElse("none")
+                );
+            })
+            .build()
+        ;
+        Pipeline<Object> pipeline = Pipeline.of("test-enclosing-nested-context").registerStep(subPipeline.asStep()).build();
+
+        Context context = new SimpleContext().set("outer", "value");
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run(null, context));
+        Assertions.assertDoesNotThrow(pipeline::close);
+        Assertions.assertDoesNotThrow(subPipeline::close);
+
+        TestResult result = output.results().latest(TestResult.class).orElseThrow();
+        Assertions.assertEquals("value", result.name());
+        Assertions.assertEquals("test-enclosing-nested-context", result.status());
+        /* Writes from the nested run do not leak into the enclosing context */
+        Assertions.assertFalse(context.has("nested"));
+        Assertions.assertFalse(context.has(PipelineStep.PARENT_PIPELINE));
+    }
 }
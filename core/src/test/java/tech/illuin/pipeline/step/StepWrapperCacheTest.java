@@ -0,0 +1,104 @@
+package tech.illuin.pipeline.step;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.generic.pipeline.TestResult;
+import tech.illuin.pipeline.input.indexer.Indexable;
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.step.execution.wrapper.cache.CacheStep;
+import tech.illuin.pipeline.step.execution.wrapper.cache.CacheWrapper;
+import tech.illuin.pipeline.step.execution.wrapper.cache.LRUResultCache;
+import tech.illuin.pipeline.step.result.Result;
+import tech.illuin.pipeline.step.variant.InputStep;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class StepWrapperCacheTest
+{
+    @Test
+    public void testPipeline_shouldSkipCachedStep()
+    {
+        AtomicInteger executions = new AtomicInteger(0);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        Pipeline<String> pipeline = Assertions.assertDoesNotThrow(() -> Pipeline.<String>of("test-cache")
+            .setMeterRegistry(registry)
+            .registerStep(builder -> builder
+                .step((InputStep<String>) (in, results, ctx) -> {
+                    executions.incrementAndGet();
+                    return new TestResult("cached", in);
+                })
+                .withWrapper(new CacheWrapper<Indexable, String>((object, input) -> input, 1))
+            )
+            .build()
+        );
+
+        List<String> statuses = List.of("a", "a", "b", "b", "a").stream()
+            .map(input -> Assertions.assertDoesNotThrow(() -> pipeline.run(input)))
+            .map(output -> output.results().current(TestResult.class).map(TestResult::status).orElse(null))
+            .toList()
+        ;
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals(List.of("a", "a", "b", "b", "a"), statuses);
+        Assertions.assertEquals(3, executions.get());
+        Assertions.assertEquals(2, registry.find(CacheStep.HIT_KEY).counter().count());
+        Assertions.assertEquals(3, registry.find(CacheStep.MISS_KEY).counter().count());
+        Assertions.assertEquals(2, registry.find(CacheStep.EVICTION_KEY).counter().count());
+    }
+
+    @Test
+    public void testPipeline_shouldBypassNullKey()
+    {
+        AtomicInteger executions = new AtomicInteger(0);
+
+        Pipeline<String> pipeline = Assertions.assertDoesNotThrow(() -> Pipeline.<String>of("test-cache-bypass")
+            .registerStep(builder -> builder
+                .step((InputStep<String>) (in, results, ctx) -> new TestResult("cached", Integer.toString(executions.incrementAndGet())))
+                .withWrapper(new CacheWrapper<Indexable, String>((object, input) -> null, 10))
+            )
+            .build()
+        );
+
+        Output first = Assertions.assertDoesNotThrow(() -> pipeline.run("a"));
+        Output second = Assertions.assertDoesNotThrow(() -> pipeline.run("a"));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals("1", first.results().current(TestResult.class).map(TestResult::status).orElse(null));
+        Assertions.assertEquals("2", second.results().current(TestResult.class).map(TestResult::status).orElse(null));
+    }
+
+    @Test
+    public void testCache_shouldEvict()
+    {
+        AtomicLong ticker = new AtomicLong(0);
+        LRUResultCache cache = new LRUResultCache(2, Duration.ofNanos(100), ticker::get);
+        Result a = new TestResult("a", "ok");
+        Result b = new TestResult("b", "ok");
+        Result c = new TestResult("c", "ok");
+
+        Assertions.assertEquals(0, cache.put("a", a));
+        Assertions.assertEquals(0, cache.put("b", b));
+        /* Reading "a" makes "b" the least recently used entry */
+        Assertions.assertEquals(a, cache.get("a").orElse(null));
+        Assertions.assertEquals(1, cache.put("c", c));
+
+        Assertions.assertTrue(cache.get("b").isEmpty());
+        Assertions.assertEquals(c, cache.get("c").orElse(null));
+        Assertions.assertEquals(2, cache.size());
+
+        ticker.set(100);
+        Assertions.assertTrue(cache.get("a").isEmpty());
+        Assertions.assertEquals(1, cache.size());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new LRUResultCache(0));
+    }
+}
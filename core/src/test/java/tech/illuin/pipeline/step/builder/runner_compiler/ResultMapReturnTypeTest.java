@@ -0,0 +1,70 @@
+package tech.illuin.pipeline.step.builder.runner_compiler;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.illuin.pipeline.generic.pipeline.TestResult;
+import tech.illuin.pipeline.step.result.Result;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+public class ResultMapReturnTypeTest
+{
+    private static final ResultMapReturnType validator = new ResultMapReturnType();
+
+    @Test
+    public void test_resultMap_shouldSucceed()
+    {
+        Assertions.assertTrue(validator.validate(getMethod("resultMap")));
+        Assertions.assertTrue(validator.validate(getMethod("wildcardResultMap")));
+        Assertions.assertTrue(validator.validate(getMethod("wildcardSubtypeMap")));
+    }
+
+    @Test
+    public void test_invalidGenericMap_shouldFail()
+    {
+        Assertions.assertFalse(validator.validate(getMethod("invalidGenericMap")));
+        Assertions.assertFalse(validator.validate(getMethod("invalidWildcardMap")));
+        Assertions.assertFalse(validator.validate(getMethod("lowerBoundedMap")));
+    }
+
+    private static Method getMethod(String name)
+    {
+        try {
+            return ResultMapReturnTypeTest.class.getDeclaredMethod(name);
+        }
+        catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, TestResult> resultMap()
+    {
+        return Map.of();
+    }
+
+    private static Map<String, ? extends Result> wildcardResultMap()
+    {
+        return Map.of();
+    }
+
+    private static Map<String, ? extends TestResult> wildcardSubtypeMap()
+    {
+        return Map.of();
+    }
+
+    private static Map<String, Integer> invalidGenericMap()
+    {
+        return Map.of();
+    }
+
+    private static Map<String, ?> invalidWildcardMap()
+    {
+        return Map.of();
+    }
+
+    private static Map<String, ? super Result> lowerBoundedMap()
+    {
+        return Map.of();
+    }
+}
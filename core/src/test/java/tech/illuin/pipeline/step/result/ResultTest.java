@@ -9,6 +9,11 @@ import tech.illuin.pipeline.output.ComponentFamily;
 import tech.illuin.pipeline.output.ComponentTag;
 import tech.illuin.pipeline.output.PipelineTag;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 /**
  * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
  */
@@ -161,6 +166,130 @@ public class ResultTest
         Assertions.assertEquals(6, secondGenView.latest(TestResult.class).map(TestResult::value).orElse(-1));
     }
 
+    @Test
+    public void testResultContainer_byHierarchy()
+    {
+        var container = new ResultContainer();
+        Instant now = Instant.now();
+
+        String first = uidGenerator.generate();
+        String second = uidGenerator.generate();
+        container.register(first, createDescriptor(new TestResult(0), now.plusMillis(10)));
+        container.register(second, createDescriptor(new ScoredResult(1), now.plusMillis(30)));
+        container.register(first, createDescriptor(new ScoredResult(2), now.plusMillis(20)));
+        /* Stamped before the others but created last, its sequence makes it the latest regardless of the clock */
+        container.register(first, createDescriptor(new ScoredResult(3), now.minusMillis(10)));
+
+        Assertions.assertEquals(3, container.latest(Scored.class).map(Scored::score).orElse(-1));
+        Assertions.assertEquals(3, container.latest(ScoredResult.class).map(ScoredResult::score).orElse(-1));
+        Assertions.assertInstanceOf(ScoredResult.class, container.latest(Result.class).orElse(null));
+        Assertions.assertEquals(0, container.latest(TestResult.class).map(TestResult::value).orElse(-1));
+        Assertions.assertEquals(3, container.of(first).latest(Scored.class).map(Scored::score).orElse(-1));
+        Assertions.assertEquals(1, container.of(second).latest(Scored.class).map(Scored::score).orElse(-1));
+        Assertions.assertTrue(container.of(second).latest(TestResult.class).isEmpty());
+        Assertions.assertTrue(container.of(uidGenerator.generate()).latest(Scored.class).isEmpty());
+
+        Assertions.assertTrue(container.current(ScoredResult.class).isPresent());
+        Assertions.assertTrue(container.of(first).descriptors().current("scored").isPresent());
+        Assertions.assertEquals(3, container.of(first).descriptors().latest("scored").map(ResultDescriptor::result).map(ScoredResult.class::cast).map(ScoredResult::score).orElse(-1));
+    }
+
+    @Test
+    public void testResultContainer_sequence()
+    {
+        Instant now = Instant.now();
+        var parent = new ResultContainer();
+        String uid = uidGenerator.generate();
+        parent.register(uid, createDescriptor(new TestResult(0), now));
+
+        /* Descriptors are created in reverse order and share the same timestamp, only their registration order tells them apart */
+        List<ResultDescriptor<TestResult>> descriptors = new ArrayList<>();
+        for (int i = 5 ; i >= 1 ; --i)
+            descriptors.add(0, createDescriptor(new TestResult(i), now));
+        var container = new ResultContainer().inherit(parent);
+        descriptors.forEach(descriptor -> container.register(uid, descriptor));
+
+        Assertions.assertEquals(5, container.latest(TestResult.class).map(TestResult::value).orElse(-1));
+        Assertions.assertEquals(5, container.descriptors().stream(TestResult.class).max(Comparator.comparingLong(ResultDescriptor::sequence)).map(ResultDescriptor::result).map(TestResult::value).orElse(-1));
+        Assertions.assertEquals(List.of(1, 2, 3, 4, 5), container.current().map(TestResult.class::cast).map(TestResult::value).toList());
+        Assertions.assertEquals(5, container.of(uid).current(TestResult.class).map(TestResult::value).orElse(-1));
+        Assertions.assertEquals(3, container.of(uid).descriptors().current("3").map(ResultDescriptor::result).map(TestResult.class::cast).map(TestResult::value).orElse(-1));
+        /* Inherited results are not current, and rank below current ones */
+        Assertions.assertTrue(container.descriptors().current("0").isEmpty());
+        Assertions.assertTrue(container.descriptors().latest("0").isPresent());
+        Assertions.assertTrue(container.descriptors().latest("0").get().sequence() < container.descriptors().latest("1").get().sequence());
+    }
+
+    @Test
+    public void testResultContainer_layered()
+    {
+        Instant now = Instant.now();
+        var parent = new ResultContainer();
+
+        String first = uidGenerator.generate();
+        String second = uidGenerator.generate();
+        parent.register(first, createDescriptor(new TestResult(0), now.minusMillis(30)));
+        parent.register(second, createDescriptor(new TestResult(1), now.minusMillis(20)));
+
+        var child = new ResultContainer().inherit(parent);
+
+        Assertions.assertEquals(2, child.size());
+        Assertions.assertEquals(2, child.stream().count());
+        Assertions.assertEquals(0, child.current().count());
+        Assertions.assertTrue(child.current(TestResult.class).isEmpty());
+        Assertions.assertEquals(1, child.latest(TestResult.class).map(TestResult::value).orElse(-1));
+        Assertions.assertEquals(0, child.of(first).latest(TestResult.class).map(TestResult::value).orElse(-1));
+
+        child.register(first, createDescriptor(new TestResult(2)));
+
+        Assertions.assertEquals(3, child.stream().count());
+        Assertions.assertEquals(2, parent.stream().count());
+        Assertions.assertEquals(2, child.current(TestResult.class).map(TestResult::value).orElse(-1));
+        Assertions.assertEquals(2, child.latest(TestResult.class).map(TestResult::value).orElse(-1));
+        Assertions.assertEquals(2, child.latest("2").map(TestResult.class::cast).map(TestResult::value).orElse(-1));
+        Assertions.assertEquals(List.of(0, 2), child.of(first).stream(TestResult.class).map(TestResult::value).toList());
+        Assertions.assertEquals(1, child.of(second).latest(TestResult.class).map(TestResult::value).orElse(-1));
+
+        /* A scoped layer only exposes the results of a single uid */
+        var scoped = new ResultContainer().inherit(child.view(first));
+
+        Assertions.assertEquals(1, scoped.size());
+        Assertions.assertEquals(List.of(0, 2), scoped.stream(TestResult.class).map(TestResult::value).toList());
+        Assertions.assertTrue(scoped.of(second).latest(TestResult.class).isEmpty());
+        Assertions.assertTrue(scoped.latest("1").isEmpty());
+
+        /* Copying a layered container copies its inherited results as well */
+        var copy = new ResultContainer();
+        copy.register(child);
+
+        Assertions.assertEquals(3, copy.stream().count());
+        Assertions.assertEquals(2, copy.latest(TestResult.class).map(TestResult::value).orElse(-1));
+    }
+
+    @Test
+    public void testResultContainer_currentIgnoresCreationDate()
+    {
+        String uid = uidGenerator.generate();
+        ResultContainer parent = new ResultContainer();
+        ResultDescriptor<TestResult> descriptor = createDescriptor(new TestResult(0), Instant.now().plusSeconds(60));
+        parent.register(uid, descriptor);
+
+        ResultContainer child = new ResultContainer();
+        child.inherit(parent);
+
+        /* The inherited descriptor was created after the child container, it nonetheless isn't current */
+        Assertions.assertEquals(0, child.descriptors().current().count());
+        Assertions.assertEquals(0, child.of(uid).descriptors().current().count());
+        Assertions.assertEquals(1, parent.descriptors().current().count());
+        Assertions.assertEquals(0, descriptor.sequence());
+        Assertions.assertEquals(ResultDescriptor.NO_FINGERPRINT, descriptor.fingerprint());
+    }
+
+    private static <R extends Result> ResultDescriptor<R> createDescriptor(R result, Instant createdAt)
+    {
+        return new ResultDescriptor<>(uidGenerator.generate(), createTag(), createdAt, result);
+    }
+
     private static <R extends Result> ResultDescriptor<R> createDescriptor(R result)
     {
         return new ResultDescriptor<>(uidGenerator.generate(), createTag(), result);
@@ -196,6 +325,21 @@ public class ResultTest
         }
     }
 
+    private interface Scored extends Result
+    {
+        int score();
+    }
+
+    private record ScoredResult(
+        int score
+    ) implements Scored {
+        @Override
+        public String name()
+        {
+            return "scored";
+        }
+    }
+
     private enum Names {
         first, second, third
     }
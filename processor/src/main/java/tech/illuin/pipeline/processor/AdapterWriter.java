@@ -0,0 +1,118 @@
+package tech.illuin.pipeline.processor;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.type.TypeKind;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Writes the source of a {@code RunnerAdapterProcessor.Adapter}.
+ * All names are fully qualified, so that the generated code cannot clash with the target's own imports or nested types.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+final class AdapterWriter
+{
+    private final boolean generatedAnnotation;
+
+    private static final String COMPILER_PACKAGE = "tech.illuin.pipeline.builder.runner_compiler";
+    private static final String MAPPER = "tech.illuin.pipeline.builder.runner_compiler.argument_resolver.mapper_factory.MethodArgumentMapper<java.lang.Object, java.lang.Object>";
+
+    /**
+     * @param generatedAnnotation whether javax.annotation.processing.Generated is available to the compiled sources
+     */
+    AdapterWriter(boolean generatedAnnotation)
+    {
+        this.generatedAnnotation = generatedAnnotation;
+    }
+
+    String write(Adapter adapter)
+    {
+        ExecutableElement method = adapter.method();
+        boolean isStatic = method.getModifiers().contains(Modifier.STATIC);
+        String config = adapter.kind().configType();
+
+        StringBuilder source = new StringBuilder();
+        if (!adapter.pkg().isUnnamed())
+            source.append("package ").append(adapter.pkg().getQualifiedName()).append(";\n\n");
+
+        if (this.generatedAnnotation)
+            source.append("@javax.annotation.processing.Generated(\"").append(RunnerAdapterProcessor.class.getName()).append("\")\n");
+        source.append("@java.lang.SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        source.append("public final class ").append(adapter.simpleName())
+            .append(" implements ").append(COMPILER_PACKAGE).append(".RunnerAdapter<").append(config).append(", java.lang.Object, java.lang.Object>\n");
+        source.append("{\n");
+
+        source.append("    private static final java.lang.reflect.Method METHOD = ").append(COMPILER_PACKAGE).append(".RunnerAdapters.method(")
+            .append(adapter.targetName()).append(".class, \"").append(method.getSimpleName()).append("\"")
+            .append(adapter.parameterTypes().stream().map(type -> ", " + type + ".class").collect(Collectors.joining()))
+            .append(");\n\n");
+
+        source.append("    @java.lang.Override\n");
+        source.append("    public ").append(COMPILER_PACKAGE).append(".CompiledMethod<").append(config).append(", java.lang.Object, java.lang.Object> compile(java.lang.Object target)\n");
+        source.append("    {\n");
+        if (!isStatic)
+            source.append("        ").append(adapter.targetName()).append(" typed = (").append(adapter.targetName()).append(") target;\n");
+        source.append("        return new ").append(COMPILER_PACKAGE).append(".CompiledMethod<>(\n");
+        source.append("            METHOD,\n");
+        source.append("            java.util.List.<").append(MAPPER).append(">of(");
+        source.append(adapter.mappers().stream().map(mapper -> "\n                " + mapper).collect(Collectors.joining(",")));
+        source.append(adapter.mappers().isEmpty() ? "),\n" : "\n            ),\n");
+        source.append("            METHOD.getAnnotation(").append(config).append(".class),\n");
+        source.append("            arguments -> invoke(").append(isStatic ? "" : "typed, ").append("arguments)\n");
+        source.append("        );\n");
+        source.append("    }\n\n");
+
+        source.append("    private static java.lang.Object invoke(").append(isStatic ? "" : adapter.targetName() + " target, ").append("java.lang.Object[] arguments) throws java.lang.reflect.InvocationTargetException\n");
+        source.append("    {\n");
+        source.append("        try {\n");
+        String call = (isStatic ? adapter.targetName() : "target") + "." + method.getSimpleName() + "(" + this.castArguments(adapter.parameterTypes()) + ")";
+        if (method.getReturnType().getKind() == TypeKind.VOID)
+            source.append("            ").append(call).append(";\n            return null;\n");
+        else
+            source.append("            return ").append(call).append(";\n");
+        source.append("        }\n");
+        source.append("        catch (java.lang.Throwable t) {\n");
+        source.append("            throw new java.lang.reflect.InvocationTargetException(t);\n");
+        source.append("        }\n");
+        source.append("    }\n");
+        source.append("}\n");
+
+        return source.toString();
+    }
+
+    private String castArguments(List<String> parameterTypes)
+    {
+        return IntStream.range(0, parameterTypes.size())
+            .mapToObj(i -> "(" + parameterTypes.get(i) + ") arguments[" + i + "]")
+            .collect(Collectors.joining(", "))
+        ;
+    }
+
+    /**
+     * @param kind the kind of component
+     * @param pkg the package of both the target and the adapter
+     * @param simpleName the adapter's simple name
+     * @param targetName the target's erased source name
+     * @param method the adapted method
+     * @param parameterTypes the method's erased parameter types
+     * @param mappers the source of each parameter's argument mapper
+     */
+    record Adapter(
+        ComponentKind kind,
+        PackageElement pkg,
+        String simpleName,
+        String targetName,
+        ExecutableElement method,
+        List<String> parameterTypes,
+        List<String> mappers
+    ) {
+        String qualifiedName()
+        {
+            return this.pkg.isUnnamed() ? this.simpleName : this.pkg.getQualifiedName() + "." + this.simpleName;
+        }
+    }
+}
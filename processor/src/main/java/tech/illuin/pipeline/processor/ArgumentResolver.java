@@ -0,0 +1,164 @@
+package tech.illuin.pipeline.processor;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolves method parameters into the source of their argument mapper, following the same rules as the runtime method argument resolvers.
+ * Parameters which would not resolve at runtime are not resolved here either: their adapter is not generated, and the pipeline builder reports the error as usual.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+final class ArgumentResolver
+{
+    private final SourceTypes types;
+
+    private static final String METHOD_ARGUMENTS = "tech.illuin.pipeline.builder.runner_compiler.argument_resolver.method_arguments.MethodArguments";
+    private static final String RESULT = "tech.illuin.pipeline.step.result.Result";
+    private static final String OPTIONAL = "java.util.Optional";
+    private static final String STREAM = "java.util.stream.Stream";
+
+    ArgumentResolver(SourceTypes types)
+    {
+        this.types = types;
+    }
+
+    /**
+     * @param kind the kind of component the method belongs to
+     * @param parameter the method parameter
+     * @param from the package of the generated adapter
+     * @return the source of the parameter's argument mapper, if it could be resolved
+     */
+    Optional<String> resolve(ComponentKind kind, VariableElement parameter, PackageElement from)
+    {
+        List<? extends AnnotationMirror> categories = parameter.getAnnotationMirrors().stream()
+            .filter(a -> ComponentKind.ANNOTATIONS.contains(annotationName(a)))
+            .toList()
+        ;
+
+        if (categories.size() > 1)
+            return Optional.empty();
+        if (categories.size() == 1 && !kind.legalAnnotations().contains(annotationName(categories.get(0))))
+            return Optional.empty();
+
+        AnnotationMirror category = categories.isEmpty() ? null : categories.get(0);
+        TypeMirror type = parameter.asType();
+
+        for (ArgumentRule rule : kind.rules())
+        {
+            if (this.canHandle(rule, category, type))
+                return this.produce(rule, category, type, from);
+        }
+        return Optional.empty();
+    }
+
+    private boolean canHandle(ArgumentRule rule, AnnotationMirror category, TypeMirror type)
+    {
+        return switch (rule.match()) {
+            case ANNOTATION -> category != null && rule.type().equals(annotationName(category));
+            case SUBTYPE -> this.types.isSubtype(type, rule.type());
+            case SUPERTYPE -> this.types.isSupertype(type, rule.type());
+        };
+    }
+
+    private Optional<String> produce(ArgumentRule rule, AnnotationMirror category, TypeMirror type, PackageElement from)
+    {
+        return switch (rule) {
+            case INPUT -> Optional.of(METHOD_ARGUMENTS + "::input");
+            case OBJECT -> Optional.of(METHOD_ARGUMENTS + "::object");
+            case PAYLOAD -> Optional.of(METHOD_ARGUMENTS + "::payload");
+            case CURRENT, LATEST -> this.produceResult(rule, category, type, from);
+            case CONTEXT_KEY -> this.produceContextKey(rule, category, type, from);
+            default -> this.types.classLiteral(type, from).map(literal -> rule.factory() + ".of(" + literal + ")");
+        };
+    }
+
+    private Optional<String> produceResult(ArgumentRule rule, AnnotationMirror category, TypeMirror type, PackageElement from)
+    {
+        String name = this.constant(value(category, "name"));
+        String self = this.constant(value(category, "self"));
+
+        if (this.types.isSubtype(type, RESULT))
+        {
+            String required = this.constant(value(category, "required"));
+            return this.types.classLiteral(type, from).map(literal -> rule.factory() + ".single(" + name + ", " + required + ", " + self + ", " + literal + ")");
+        }
+        if (this.types.is(type, OPTIONAL))
+        {
+            return this.typeArgument(type)
+                .filter(argument -> this.types.isSubtype(argument, RESULT))
+                .flatMap(argument -> this.types.classLiteral(argument, from))
+                .map(literal -> rule.factory() + ".optional(" + name + ", " + self + ", " + literal + ")")
+            ;
+        }
+        if (this.types.is(type, STREAM))
+        {
+            return this.typeArgument(type)
+                .filter(argument -> this.types.isSubtype(argument, RESULT))
+                .flatMap(argument -> this.types.classLiteral(argument, from))
+                .map(literal -> rule.factory() + ".stream(" + name + ", " + self + ", " + literal + ")")
+            ;
+        }
+        return Optional.empty();
+    }
+
+    private Optional<String> produceContextKey(ArgumentRule rule, AnnotationMirror category, TypeMirror type, PackageElement from)
+    {
+        String key = this.constant(value(category, "value"));
+
+        if (this.types.is(type, OPTIONAL))
+        {
+            return this.typeArgument(type)
+                .flatMap(argument -> this.types.classLiteral(argument, from))
+                .map(literal -> rule.factory() + ".optional(" + key + ", " + literal + ")")
+            ;
+        }
+
+        TypeMirror valueType = type.getKind().isPrimitive()
+            ? this.types.types().boxedClass((PrimitiveType) type).asType()
+            : type
+        ;
+        return this.types.classLiteral(valueType, from).map(literal -> rule.factory() + ".required(" + key + ", " + literal + ")");
+    }
+
+    /* Only plain type arguments are supported, same as Reflection.getOptionalParameter and Reflection.getStreamParameter */
+    private Optional<TypeMirror> typeArgument(TypeMirror type)
+    {
+        List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        if (arguments.size() != 1 || arguments.get(0).getKind() != TypeKind.DECLARED)
+            return Optional.empty();
+        return Optional.of(arguments.get(0));
+    }
+
+    private String constant(AnnotationValue value)
+    {
+        return this.types.elements().getConstantExpression(value.getValue());
+    }
+
+    private AnnotationValue value(AnnotationMirror annotation, String name)
+    {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values = this.types.elements().getElementValuesWithDefaults(annotation);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet())
+        {
+            if (entry.getKey().getSimpleName().contentEquals(name))
+                return entry.getValue();
+        }
+        throw new IllegalStateException("Annotation " + annotationName(annotation) + " has no value named " + name);
+    }
+
+    private static String annotationName(AnnotationMirror annotation)
+    {
+        return ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+}
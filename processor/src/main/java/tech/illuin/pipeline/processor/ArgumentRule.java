@@ -0,0 +1,72 @@
+package tech.illuin.pipeline.processor;
+
+/**
+ * The mapper factories a method parameter can be resolved with, along with the way each of them decides whether it can handle a parameter.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+enum ArgumentRule
+{
+    INPUT(Match.ANNOTATION, "tech.illuin.pipeline.annotation.Input", "InputMapperFactory"),
+    OBJECT(Match.ANNOTATION, "tech.illuin.pipeline.annotation.Object", "ObjectMapperFactory"),
+    PAYLOAD(Match.ANNOTATION, "tech.illuin.pipeline.annotation.Payload", "PayloadMapperFactory"),
+    CURRENT(Match.ANNOTATION, "tech.illuin.pipeline.annotation.Current", "CurrentMapperFactory"),
+    LATEST(Match.ANNOTATION, "tech.illuin.pipeline.annotation.Latest", "LatestMapperFactory"),
+    CONTEXT_KEY(Match.ANNOTATION, "tech.illuin.pipeline.annotation.Context", "ContextKeyMapperFactory"),
+    CONTEXT(Match.SUBTYPE, "tech.illuin.pipeline.context.Context", "ContextMapperFactory"),
+    OUTPUT(Match.SUBTYPE, "tech.illuin.pipeline.output.Output", "OutputMapperFactory"),
+    RESULTS(Match.SUPERTYPE, "tech.illuin.pipeline.step.result.Results", "ResultsMapperFactory"),
+    RESULT_VIEW(Match.SUPERTYPE, "tech.illuin.pipeline.step.result.ResultView", "ResultViewMapperFactory"),
+    UID_GENERATOR(Match.SUBTYPE, "tech.illuin.pipeline.input.uid_generator.UIDGenerator", "UIDGeneratorMapperFactory"),
+    PIPELINE_TAG(Match.SUBTYPE, "tech.illuin.pipeline.output.PipelineTag", "PipelineTagMapperFactory"),
+    COMPONENT_TAG(Match.SUBTYPE, "tech.illuin.pipeline.output.ComponentTag", "ComponentTagMapperFactory"),
+    OBSERVABILITY_MANAGER(Match.SUBTYPE, "tech.illuin.pipeline.metering.manager.ObservabilityManager", "ObservabilityManagerMapperFactory"),
+    MARKER_MANAGER(Match.SUBTYPE, "tech.illuin.pipeline.metering.MarkerManager", "MarkerManagerMapperFactory"),
+    ;
+
+    private final Match match;
+    private final String type;
+    private final String factory;
+
+    private static final String FACTORY_PACKAGE = "tech.illuin.pipeline.builder.runner_compiler.argument_resolver.mapper_factory";
+
+    ArgumentRule(Match match, String type, String factory)
+    {
+        this.match = match;
+        this.type = type;
+        this.factory = factory;
+    }
+
+    Match match()
+    {
+        return this.match;
+    }
+
+    /**
+     * @return the annotation or parameter type the rule matches on
+     */
+    String type()
+    {
+        return this.type;
+    }
+
+    String annotation()
+    {
+        return this.match == Match.ANNOTATION ? this.type : null;
+    }
+
+    String factory()
+    {
+        return FACTORY_PACKAGE + "." + this.factory;
+    }
+
+    enum Match
+    {
+        /* The parameter is annotated with the rule's annotation */
+        ANNOTATION,
+        /* The parameter type is a subtype of the rule's type */
+        SUBTYPE,
+        /* The parameter type is a supertype of the rule's type */
+        SUPERTYPE,
+    }
+}
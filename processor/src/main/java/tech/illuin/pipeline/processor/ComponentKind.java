@@ -0,0 +1,68 @@
+package tech.illuin.pipeline.processor;
+
+import java.util.List;
+import java.util.Set;
+
+import static tech.illuin.pipeline.processor.ArgumentRule.*;
+
+/**
+ * Mirrors the config annotations and the method argument resolvers of each runner-based component.
+ * Rules are listed in the order the matching resolver tries its mapper factories, so that a parameter resolves to the same mapper at compile-time and at runtime.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+enum ComponentKind
+{
+    STEP(
+        "tech.illuin.pipeline.step.annotation.StepConfig",
+        Set.of(INPUT.annotation(), OBJECT.annotation(), PAYLOAD.annotation(), CURRENT.annotation(), LATEST.annotation(), CONTEXT_KEY.annotation()),
+        List.of(INPUT, OBJECT, PAYLOAD, CURRENT, LATEST, CONTEXT, CONTEXT_KEY, RESULTS, RESULT_VIEW, UID_GENERATOR, PIPELINE_TAG, COMPONENT_TAG, OBSERVABILITY_MANAGER, MARKER_MANAGER)
+    ),
+    SINK(
+        "tech.illuin.pipeline.sink.annotation.SinkConfig",
+        Set.of(INPUT.annotation(), PAYLOAD.annotation(), CURRENT.annotation(), LATEST.annotation(), CONTEXT_KEY.annotation()),
+        List.of(INPUT, PAYLOAD, OUTPUT, CURRENT, LATEST, CONTEXT, CONTEXT_KEY, RESULTS, UID_GENERATOR, PIPELINE_TAG, COMPONENT_TAG, OBSERVABILITY_MANAGER, MARKER_MANAGER)
+    ),
+    INITIALIZER(
+        "tech.illuin.pipeline.input.initializer.annotation.InitializerConfig",
+        Set.of(INPUT.annotation(), CONTEXT_KEY.annotation()),
+        List.of(INPUT, CONTEXT, CONTEXT_KEY, UID_GENERATOR, PIPELINE_TAG, COMPONENT_TAG, OBSERVABILITY_MANAGER, MARKER_MANAGER)
+    ),
+    ;
+
+    private final String configType;
+    private final Set<String> legalAnnotations;
+    private final List<ArgumentRule> rules;
+
+    /* Annotations recognized by the argument resolvers, whether they are legal for the component or not */
+    static final Set<String> ANNOTATIONS = Set.of(
+        INPUT.annotation(), OBJECT.annotation(), PAYLOAD.annotation(), CURRENT.annotation(), LATEST.annotation(), CONTEXT_KEY.annotation()
+    );
+
+    ComponentKind(String configType, Set<String> legalAnnotations, List<ArgumentRule> rules)
+    {
+        this.configType = configType;
+        this.legalAnnotations = legalAnnotations;
+        this.rules = rules;
+    }
+
+    String configType()
+    {
+        return this.configType;
+    }
+
+    String configSimpleName()
+    {
+        return this.configType.substring(this.configType.lastIndexOf('.') + 1);
+    }
+
+    Set<String> legalAnnotations()
+    {
+        return this.legalAnnotations;
+    }
+
+    List<ArgumentRule> rules()
+    {
+        return this.rules;
+    }
+}
@@ -0,0 +1,195 @@
+package tech.illuin.pipeline.processor;
+
+import tech.illuin.pipeline.processor.AdapterWriter.Adapter;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a {@code RunnerAdapter} for each class declaring a {@code @StepConfig}, {@code @SinkConfig} or {@code @InitializerConfig} method.
+ * Adapters are picked up by the component builders, which fall back to reflection for classes without one.
+ * Methods the generated code cannot reach (e.g. private methods or classes) or whose parameters cannot be resolved are skipped with a note, the runtime compiler will then either handle them or report the error.
+ * A GraalVM reflection configuration covering the adapters and their target methods is generated alongside.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+@SupportedAnnotationTypes({
+    "tech.illuin.pipeline.step.annotation.StepConfig",
+    "tech.illuin.pipeline.sink.annotation.SinkConfig",
+    "tech.illuin.pipeline.input.initializer.annotation.InitializerConfig",
+})
+public class RunnerAdapterProcessor extends AbstractProcessor
+{
+    private SourceTypes types;
+    private ArgumentResolver resolver;
+    private AdapterWriter writer;
+    private final Set<String> generated = new HashSet<>();
+    private final List<String> reflectionEntries = new ArrayList<>();
+
+    static final String REFLECTION_CONFIG = "META-INF/native-image/tech.illuin/data-pipeline-adapters/reflect-config.json";
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv)
+    {
+        super.init(processingEnv);
+        this.types = new SourceTypes(processingEnv.getElementUtils(), processingEnv.getTypeUtils());
+        this.resolver = new ArgumentResolver(this.types);
+        this.writer = new AdapterWriter(processingEnv.getElementUtils().getTypeElement("javax.annotation.processing.Generated") != null);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round)
+    {
+        for (ComponentKind kind : ComponentKind.values())
+        {
+            TypeElement config = this.processingEnv.getElementUtils().getTypeElement(kind.configType());
+            if (config == null)
+                continue;
+
+            Map<TypeElement, List<ExecutableElement>> candidates = new LinkedHashMap<>();
+            for (Element element : round.getElementsAnnotatedWith(config))
+            {
+                if (element.getKind() == ElementKind.METHOD)
+                    candidates.computeIfAbsent((TypeElement) element.getEnclosingElement(), t -> new ArrayList<>()).add((ExecutableElement) element);
+            }
+            candidates.forEach((target, methods) -> this.process(kind, target, methods));
+        }
+
+        if (round.processingOver() && !this.reflectionEntries.isEmpty())
+            this.writeReflectionConfig();
+
+        /* Config annotations are left unclaimed, other processors may be interested in them */
+        return false;
+    }
+
+    private void process(ComponentKind kind, TypeElement target, List<ExecutableElement> methods)
+    {
+        PackageElement pkg = this.types.elements().getPackageOf(target);
+        String binaryName = this.types.elements().getBinaryName(target).toString();
+        String qualifiedName = binaryName.replace('$', '_') + "_" + kind.configSimpleName() + "Adapter";
+
+        if (!this.generated.add(qualifiedName))
+            return;
+        /* The runtime compiler reports classes with several candidate methods */
+        if (methods.size() > 1)
+        {
+            this.skip(target, kind, "it declares more than one method");
+            return;
+        }
+
+        ExecutableElement method = methods.get(0);
+        if (target.getModifiers().contains(Modifier.ABSTRACT) || target.getKind().isInterface())
+            return;
+        if (method.getModifiers().contains(Modifier.PRIVATE) || !this.types.isAccessible(target, pkg))
+        {
+            this.skip(target, kind, "it is not accessible from package " + pkg.getQualifiedName());
+            return;
+        }
+
+        List<String> parameterTypes = new ArrayList<>();
+        List<String> mappers = new ArrayList<>();
+        for (VariableElement parameter : method.getParameters())
+        {
+            Optional<String> type = this.types.name(parameter.asType(), pkg);
+            Optional<String> mapper = this.resolver.resolve(kind, parameter, pkg);
+            if (type.isEmpty() || mapper.isEmpty())
+            {
+                this.skip(target, kind, "parameter " + parameter.getSimpleName() + " could not be resolved");
+                return;
+            }
+            parameterTypes.add(type.get());
+            mappers.add(mapper.get());
+        }
+
+        Adapter adapter = new Adapter(
+            kind,
+            pkg,
+            pkg.isUnnamed() ? qualifiedName : qualifiedName.substring(pkg.getQualifiedName().length() + 1),
+            this.types.name(target.asType(), pkg).orElseThrow(),
+            method,
+            parameterTypes,
+            mappers
+        );
+        this.write(adapter, target);
+
+        this.reflectionEntries.add(reflectionEntry(adapter.qualifiedName(), "<init>", List.of()));
+        this.reflectionEntries.add(reflectionEntry(
+            binaryName,
+            method.getSimpleName().toString(),
+            method.getParameters().stream().map(p -> this.types.binaryName(p.asType())).toList()
+        ));
+    }
+
+    private void write(Adapter adapter, TypeElement target)
+    {
+        try {
+            JavaFileObject file = this.processingEnv.getFiler().createSourceFile(adapter.qualifiedName(), target);
+            try (Writer out = file.openWriter()) {
+                out.write(this.writer.write(adapter));
+            }
+        }
+        catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write runner adapter " + adapter.qualifiedName() + ": " + e.getMessage(), target);
+        }
+    }
+
+    private void writeReflectionConfig()
+    {
+        try {
+            FileObject file = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", REFLECTION_CONFIG);
+            try (Writer out = file.openWriter()) {
+                out.write(this.reflectionEntries.stream().collect(Collectors.joining(",\n", "[\n", "\n]\n")));
+            }
+        }
+        catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write the runner adapters reflection config: " + e.getMessage());
+        }
+    }
+
+    private void skip(TypeElement target, ComponentKind kind, String reason)
+    {
+        this.processingEnv.getMessager().printMessage(
+            Diagnostic.Kind.NOTE,
+            "No runner adapter generated for @" + kind.configSimpleName() + " method of " + target.getQualifiedName() + " as " + reason + ", it will be compiled through reflection",
+            target
+        );
+    }
+
+    private static String reflectionEntry(String type, String method, List<String> parameterTypes)
+    {
+        return "  {\"name\": \"" + type + "\", \"methods\": [{\"name\": \"" + method + "\", \"parameterTypes\": ["
+            + parameterTypes.stream().map(p -> "\"" + p + "\"").collect(Collectors.joining(", "))
+            + "]}]}"
+        ;
+    }
+}
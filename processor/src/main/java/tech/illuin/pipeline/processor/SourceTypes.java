@@ -0,0 +1,124 @@
+package tech.illuin.pipeline.processor;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.Optional;
+
+/**
+ * Renders types as they can be referenced from generated sources.
+ * Generated code only ever refers to erased types, generic signatures are left to unchecked casts.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+final class SourceTypes
+{
+    private final Elements elements;
+    private final Types types;
+
+    SourceTypes(Elements elements, Types types)
+    {
+        this.elements = elements;
+        this.types = types;
+    }
+
+    Elements elements()
+    {
+        return this.elements;
+    }
+
+    Types types()
+    {
+        return this.types;
+    }
+
+    /**
+     * @param type a type
+     * @param from the package of the generated source
+     * @return the erased type's source name, if it can be referenced from the provided package
+     */
+    Optional<String> name(TypeMirror type, PackageElement from)
+    {
+        TypeMirror erased = this.types.erasure(type);
+        if (!this.isAccessible(erased, from))
+            return Optional.empty();
+        return Optional.of(erased.toString());
+    }
+
+    Optional<String> classLiteral(TypeMirror type, PackageElement from)
+    {
+        return this.name(type, from).map(name -> name + ".class");
+    }
+
+    /**
+     * @param type a type
+     * @return the erased type's binary name, as expected by reflection configurations
+     */
+    String binaryName(TypeMirror type)
+    {
+        TypeMirror erased = this.types.erasure(type);
+        if (erased instanceof ArrayType array)
+            return this.binaryName(array.getComponentType()) + "[]";
+        if (erased instanceof DeclaredType declared)
+            return this.elements.getBinaryName((TypeElement) declared.asElement()).toString();
+        return erased.toString();
+    }
+
+    boolean isSubtype(TypeMirror type, String supertype)
+    {
+        TypeElement element = this.elements.getTypeElement(supertype);
+        if (element == null || type.getKind() != TypeKind.DECLARED)
+            return false;
+        return this.types.isSubtype(this.types.erasure(type), this.types.erasure(element.asType()));
+    }
+
+    boolean isSupertype(TypeMirror type, String subtype)
+    {
+        TypeElement element = this.elements.getTypeElement(subtype);
+        if (element == null || type.getKind() != TypeKind.DECLARED)
+            return false;
+        return this.types.isSubtype(this.types.erasure(element.asType()), this.types.erasure(type));
+    }
+
+    boolean is(TypeMirror type, String name)
+    {
+        return type.getKind() == TypeKind.DECLARED && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(name);
+    }
+
+    boolean isAccessible(TypeMirror type, PackageElement from)
+    {
+        if (type instanceof ArrayType array)
+            return this.isAccessible(array.getComponentType(), from);
+        if (type instanceof DeclaredType declared)
+            return this.isAccessible((TypeElement) declared.asElement(), from);
+        return type.getKind().isPrimitive() || type.getKind() == TypeKind.VOID;
+    }
+
+    /**
+     * @param type a type element
+     * @param from the package of the generated source
+     * @return whether the type and all its enclosing types can be referenced from the provided package
+     */
+    boolean isAccessible(TypeElement type, PackageElement from)
+    {
+        boolean samePackage = this.elements.getPackageOf(type).equals(from);
+        for (Element current = type ; current.getKind() != ElementKind.PACKAGE ; current = current.getEnclosingElement())
+        {
+            if (!current.getKind().isClass() && !current.getKind().isInterface())
+                return false;
+            if (current.getModifiers().contains(Modifier.PRIVATE))
+                return false;
+            if (!current.getModifiers().contains(Modifier.PUBLIC) && !samePackage)
+                return false;
+        }
+        return true;
+    }
+}
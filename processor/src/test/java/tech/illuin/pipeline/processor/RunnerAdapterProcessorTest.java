@@ -0,0 +1,162 @@
+package tech.illuin.pipeline.processor;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.illuin.pipeline.Pipeline;
+import tech.illuin.pipeline.annotation.Context;
+import tech.illuin.pipeline.annotation.Current;
+import tech.illuin.pipeline.annotation.Input;
+import tech.illuin.pipeline.annotation.Latest;
+import tech.illuin.pipeline.annotation.Object;
+import tech.illuin.pipeline.builder.runner_compiler.CompiledMethod;
+import tech.illuin.pipeline.builder.runner_compiler.RunnerAdapter;
+import tech.illuin.pipeline.builder.runner_compiler.RunnerAdapters;
+import tech.illuin.pipeline.input.indexer.Indexable;
+import tech.illuin.pipeline.input.indexer.SingleIndexer;
+import tech.illuin.pipeline.input.initializer.Initializer;
+import tech.illuin.pipeline.input.initializer.annotation.InitializerConfig;
+import tech.illuin.pipeline.input.uid_generator.UIDGenerator;
+import tech.illuin.pipeline.output.ComponentTag;
+import tech.illuin.pipeline.output.Output;
+import tech.illuin.pipeline.sink.Sink;
+import tech.illuin.pipeline.sink.annotation.SinkConfig;
+import tech.illuin.pipeline.step.Step;
+import tech.illuin.pipeline.step.annotation.StepConfig;
+import tech.illuin.pipeline.step.result.Result;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The components below are compiled with the processor, see the module's compiler configuration.
+ *
+ * @author Pierre Lecerf (pierre.lecerf@illuin.tech)
+ */
+public class RunnerAdapterProcessorTest
+{
+    @Test
+    public void testProcessor__shouldGenerateAdapters()
+    {
+        Assertions.assertTrue(RunnerAdapters.find(AdaptedInitializer.class, InitializerConfig.class).isPresent());
+        Assertions.assertTrue(RunnerAdapters.find(AdaptedStep.class, StepConfig.class).isPresent());
+        Assertions.assertTrue(RunnerAdapters.find(StaticStep.class, StepConfig.class).isPresent());
+        Assertions.assertTrue(RunnerAdapters.find(AdaptedSink.class, SinkConfig.class).isPresent());
+
+        Assertions.assertTrue(RunnerAdapters.find(AdaptedStep.class, SinkConfig.class).isEmpty());
+        Assertions.assertTrue(RunnerAdapters.find(FallbackStep.class, StepConfig.class).isEmpty());
+    }
+
+    @Test
+    public void testProcessor__shouldCompileTarget() throws Exception
+    {
+        RunnerAdapter<StepConfig, java.lang.Object, java.lang.Object> adapter = RunnerAdapters.<StepConfig, java.lang.Object, java.lang.Object>find(StaticStep.class, StepConfig.class).orElseThrow();
+        CompiledMethod<StepConfig, java.lang.Object, java.lang.Object> compiled = adapter.compile(new StaticStep());
+
+        Assertions.assertEquals(StaticStep.class.getMethod("execute", String.class), compiled.method());
+        Assertions.assertEquals("static-step", compiled.config().id());
+        Assertions.assertEquals(1, compiled.mappers().size());
+        Assertions.assertEquals(new ItemResult("static(a)"), compiled.invoker().invoke(new java.lang.Object[]{ "a" }));
+    }
+
+    @Test
+    public void testPipeline__shouldRunAdapters()
+    {
+        AdaptedSink sink = new AdaptedSink();
+        Pipeline<java.lang.Object> pipeline = Pipeline.of("test-adapters", Initializer.of(new AdaptedInitializer()))
+            .registerIndexer(SingleIndexer.auto())
+            .registerStep(Step.of(new StaticStep()))
+            .registerStep(Step.of(new AdaptedStep<>()))
+            .registerStep(Step.of(new FallbackStep()))
+            .registerSink(Sink.of(sink))
+            .build()
+        ;
+
+        Output output = Assertions.assertDoesNotThrow(() -> pipeline.run("input", ctx -> ctx.set("factor", 3)));
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertEquals("input", output.payload(Item.class).value());
+        Assertions.assertEquals(
+            List.of("adapted-sink:static(input)", "adapted-sink:static(input)->input*3", "adapted-sink:fallback(false)"),
+            sink.collected
+        );
+    }
+
+    @Test
+    public void testProcessor__shouldGenerateReflectionConfig() throws IOException
+    {
+        URL config = this.getClass().getClassLoader().getResource(RunnerAdapterProcessor.REFLECTION_CONFIG);
+        Assertions.assertNotNull(config);
+
+        try (InputStream stream = config.openStream()) {
+            String content = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+            Assertions.assertTrue(content.contains("\"" + RunnerAdapters.adapterName(AdaptedStep.class, StepConfig.class) + "\""));
+            Assertions.assertTrue(content.contains("\"" + AdaptedStep.class.getName() + "\""));
+            Assertions.assertFalse(content.contains(FallbackStep.class.getName()));
+        }
+    }
+
+    public record Item(
+        String uid,
+        String value
+    ) implements Indexable {}
+
+    public record ItemResult(
+        String status
+    ) implements Result {}
+
+    public static class AdaptedInitializer
+    {
+        @InitializerConfig(id = "adapted-initializer")
+        public Item execute(@Input String data, UIDGenerator generator)
+        {
+            return new Item(generator.generate(), data);
+        }
+    }
+
+    public static class StaticStep
+    {
+        @StepConfig(id = "static-step")
+        public static ItemResult execute(@Input String input)
+        {
+            return new ItemResult("static(" + input + ")");
+        }
+    }
+
+    public static class AdaptedStep<T extends Indexable>
+    {
+        @StepConfig(id = "adapted-step")
+        public Result execute(@Object T object, @Input String input, @Latest Optional<ItemResult> latest, @Context("factor") int factor)
+        {
+            return new ItemResult(latest.map(ItemResult::status).orElse("none") + "->" + input + "*" + factor);
+        }
+    }
+
+    /* The hidden result type cannot be referenced from generated code, so this step is compiled through reflection */
+    public static class FallbackStep
+    {
+        @StepConfig(id = "fallback-step")
+        public Result execute(@Latest Optional<Hidden> hidden)
+        {
+            return new ItemResult("fallback(" + hidden.isPresent() + ")");
+        }
+
+        private record Hidden() implements Result {}
+    }
+
+    public static class AdaptedSink
+    {
+        private final List<String> collected = new ArrayList<>();
+
+        @SinkConfig(id = "adapted-sink")
+        public void execute(@Current Stream<ItemResult> results, ComponentTag tag)
+        {
+            results.forEach(result -> this.collected.add(tag.id() + ":" + result.status()));
+        }
+    }
+}
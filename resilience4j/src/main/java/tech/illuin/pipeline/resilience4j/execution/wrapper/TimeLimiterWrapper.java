@@ -3,6 +3,7 @@ package tech.illuin.pipeline.resilience4j.execution.wrapper;
 import io.github.resilience4j.timelimiter.TimeLimiter;
 import io.github.resilience4j.timelimiter.TimeLimiterConfig;
 import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import tech.illuin.pipeline.commons.VirtualThreads;
 import tech.illuin.pipeline.input.indexer.Indexable;
 import tech.illuin.pipeline.input.uid_generator.KSUIDGenerator;
 import tech.illuin.pipeline.resilience4j.execution.wrapper.config.timelimiter.TimeLimiterWrapperConfig;
@@ -47,6 +48,19 @@ public class TimeLimiterWrapper<T extends Indexable, I> implements StepWrapper<T
         this(config, executor, TimeLimiterWrapperConfig.NOOP_WRAPPER_CONFIG);
     }
 
+    /**
+     * Creates a wrapper running time-limited steps and sinks on virtual threads, falling back to the common {@link ForkJoinPool} (as the other constructors do) on runtimes without virtual threads.
+     */
+    public static <T extends Indexable, I> TimeLimiterWrapper<T, I> ofVirtualThreads(TimeLimiterConfig config, TimeLimiterWrapperConfig wrapperConfig)
+    {
+        return new TimeLimiterWrapper<>(config, VirtualThreads.newExecutor(ForkJoinPool::commonPool), wrapperConfig);
+    }
+
+    public static <T extends Indexable, I> TimeLimiterWrapper<T, I> ofVirtualThreads(TimeLimiterConfig config)
+    {
+        return ofVirtualThreads(config, TimeLimiterWrapperConfig.NOOP_WRAPPER_CONFIG);
+    }
+
     @Override
     public Step<T, I> wrap(Step<T, I> step)
     {
@@ -1,6 +1,8 @@
 package tech.illuin.pipeline.resilience4j.sink.wrapper.timelimiter;
 
 import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -38,11 +40,10 @@ public class TimeLimiterSink implements Sink
     {
         try {
             Map<String, String> mdc = MDC.getCopyOfContextMap();
-            this.limiter.executeFutureSupplier(() -> this.executor.submit(() -> {
-                MDC.setContextMap(mdc);
-                this.sink.execute(output, context);
-                return true;
-            }));
+            Span span = context.observabilityManager().tracer().currentSpan();
+            this.limiter.executeFutureSupplier(() -> this.executor.submit(
+                () -> this.executeInScope(output, context, mdc, span)
+            ));
 
             this.onSuccess(output, context);
         }
@@ -52,6 +53,17 @@ public class TimeLimiterSink implements Sink
         }
     }
 
+    private boolean executeInScope(Output output, LocalContext context, Map<String, String> mdc, Span span) throws Exception
+    {
+        if (mdc != null)
+            MDC.setContextMap(mdc);
+        try (Tracer.SpanInScope scope = context.observabilityManager().tracer().withSpan(span))
+        {
+            this.sink.execute(output, context);
+            return true;
+        }
+    }
+
     private void onSuccess(Output output, LocalContext context)
     {
         logger.trace(
@@ -1,6 +1,8 @@
 package tech.illuin.pipeline.resilience4j.step.wrapper.timelimiter;
 
 import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -40,10 +42,10 @@ public class TimeLimiterStep<T extends Indexable, I> implements Step<T, I>
     {
         try {
             Map<String, String> mdc = MDC.getCopyOfContextMap();
-            Result result = this.limiter.executeFutureSupplier(() -> this.executor.submit(() -> {
-                MDC.setContextMap(mdc);
-                return this.step.execute(object, input, payload, view, context);
-            }));
+            Span span = context.observabilityManager().tracer().currentSpan();
+            Result result = this.limiter.executeFutureSupplier(() -> this.executor.submit(
+                () -> this.executeInScope(object, input, payload, view, context, mdc, span)
+            ));
 
             this.onSuccess(object, input, payload, view, context);
             return result;
@@ -54,6 +56,16 @@ public class TimeLimiterStep<T extends Indexable, I> implements Step<T, I>
         }
     }
 
+    private Result executeInScope(T object, I input, Object payload, ResultView view, LocalContext context, Map<String, String> mdc, Span span) throws Exception
+    {
+        if (mdc != null)
+            MDC.setContextMap(mdc);
+        try (Tracer.SpanInScope scope = context.observabilityManager().tracer().withSpan(span))
+        {
+            return this.step.execute(object, input, payload, view, context);
+        }
+    }
+
     private void onSuccess(T object, I input, Object payload, ResultView view, LocalContext context)
     {
         logger.trace(
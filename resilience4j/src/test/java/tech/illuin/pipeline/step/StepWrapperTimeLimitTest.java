@@ -52,6 +52,17 @@ public class StepWrapperTimeLimitTest
         Assertions.assertTrue(output.results().current("3").isPresent());
     }
 
+    @Test
+    public void testPipeline_shouldTimeout__withVirtualThreads()
+    {
+        Pipeline<?> pipeline = Assertions.assertDoesNotThrow(() -> createTimeoutPipeline(StepWrapperTimeLimitTest::addVirtualTimeLimitedStep));
+
+        PipelineException ex = Assertions.assertThrows(PipelineException.class, pipeline::run);
+        Assertions.assertDoesNotThrow(pipeline::close);
+
+        Assertions.assertTrue(ex.getCause() instanceof TimeoutException);
+    }
+
     public static Pipeline<?> createTimeoutPipeline(StepAssembler<?, Object> timeLimitedAssembler)
     {
         return Pipeline.of("test-error-timelimit")
@@ -76,6 +87,20 @@ public class StepWrapperTimeLimitTest
         ;
     }
 
+    public static void addVirtualTimeLimitedStep(StepBuilder<?, ?> builder)
+    {
+        builder
+            .step(new TestStep<>("2", b -> {
+                sleep(Duration.ofMillis(300));
+                return "ok";
+            }))
+            .withWrapper(TimeLimiterWrapper.ofVirtualThreads(TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(100))
+                .build()
+            ))
+        ;
+    }
+
     public static void addTimeLimitedStepWithErrorHandler(StepBuilder<?, ?> builder)
     {
         addTimeLimitedStep(builder);